@@ -0,0 +1,122 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.benchmarks;
+
+import info.softex.dictionary.core.formats.source.SourceFileNames;
+import info.softex.dictionary.core.testutils.SyntheticBaseGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Synthetic content the benchmarks run against. The bases are produced by the 
+ * <code>SyntheticBaseGenerator</code> with a fixed seed, so the same words number 
+ * always produces the same base and the numbers are comparable between the runs.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class BenchmarkBases {
+	
+	public final static long SEED = 20261017L;
+	
+	protected final static String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+	
+	/**
+	 * Creates the sorted unique words list, the words consist of 3 to 12 latin letters.
+	 */
+	public static List<String> createWords(int wordsNumber) {
+		Random random = new Random(SEED);
+		Set<String> words = new TreeSet<String>();
+		while (words.size() < wordsNumber) {
+			int length = 3 + random.nextInt(10);
+			StringBuilder sb = new StringBuilder(length);
+			for (int i = 0; i < length; i++) {
+				sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+			}
+			words.add(sb.toString());
+		}
+		return new ArrayList<String>(words);
+	}
+	
+	/**
+	 * Creates the DSL article body of the word, it contains several translation 
+	 * lines with the design tags and a reference to the neighbouring word.
+	 */
+	public static String createDSLArticle(List<String> words, int id) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("\t[m1][p]n.[/p] [trn]").append(words.get(id)).append(" translation [i]").append(id).append("[/i][/trn][/m]\n");
+		sb.append("\t[m1][trn][c gray]see also[/c] [ref]").append(words.get((id + 1) % words.size())).append("[/ref][/trn][/m]\n");
+		sb.append("\t[m1][*][trn][ex]an example of the [b]").append(words.get(id)).append("[/b] usage in the sentence[/ex][/trn][/*][/m]\n");
+		return sb.toString();
+	}
+	
+	/**
+	 * Creates the HTML article of the word, similar to the converted DSL one.
+	 */
+	public static String createHtmlArticle(List<String> words, int id) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<b>").append(words.get(id)).append("</b> <i>n.</i> ").append(words.get(id)).append(" translation ").append(id);
+		sb.append("<br>see also <a href=\"").append(words.get((id + 1) % words.size())).append("\">");
+		sb.append(words.get((id + 1) % words.size())).append("</a>");
+		sb.append("<br><i>an example of the ").append(words.get(id)).append(" usage in the sentence</i>");
+		return sb.toString();
+	}
+	
+	/**
+	 * Creates the synthetic DSL source directory in the temporary directory.
+	 * The existing directory is reused.
+	 */
+	public static File createDSLBase(int wordsNumber) throws IOException {
+		File dir = new File(System.getProperty("java.io.tmpdir"), "dictan-benchmarks-dsl-" + wordsNumber);
+		File articles = new File(dir, SourceFileNames.FILE_DSL_ARTICLES_NO_EXT + SourceFileNames.FILE_DSL_EXT_MAIN);
+		if (!articles.isFile()) {
+			SyntheticBaseGenerator generator = new SyntheticBaseGenerator();
+			generator.setSeed(SEED);
+			generator.setHeadwordsNumber(wordsNumber);
+			generator.generateDSLBase(dir);
+		}
+		return dir;
+	}
+	
+	/**
+	 * Creates the FDB base converted from the synthetic DSL base. The existing base is reused.
+	 */
+	public static File createFDBBase(int wordsNumber) throws Exception {
+		File fdbFile = new File(System.getProperty("java.io.tmpdir"), "dictan-benchmarks-" + wordsNumber + ".fdb");
+		if (!fdbFile.isFile()) {
+			File temp = new File(fdbFile.getPath() + ".tmp");
+			SyntheticBaseGenerator.convertDSLToFDB(createDSLBase(wordsNumber), temp, null);
+			if (!temp.renameTo(fdbFile)) {
+				throw new IOException("Couldn't rename " + temp + " to " + fdbFile);
+			}
+		}
+		return fdbFile;
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.benchmarks;
+
+import info.softex.dictionary.core.testutils.SyntheticBaseGenerator;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full DSL to FDB conversion benchmark, each invocation converts the whole generated 
+ * DSL base to a new FDB file. The conversion is single-threaded by design, the 
+ * multi-threaded case is covered by the concurrent conversions of different bases.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+@Fork(1)
+public class ConversionBenchmark {
+	
+	@Param({"20000"})
+	protected int wordsNumber;
+	
+	protected File dslDir;
+	
+	protected File fdbFile;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		dslDir = BenchmarkBases.createDSLBase(wordsNumber);
+		fdbFile = File.createTempFile("dictan-benchmarks-conversion-", ".fdb");
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		fdbFile.delete();
+	}
+	
+	@Benchmark
+	public File convertDSLToFDB() throws Exception {
+		SyntheticBaseGenerator.convertDSLToFDB(dslDir, fdbFile, null);
+		return fdbFile;
+	}
+	
+	@Benchmark
+	@Threads(2)
+	public File convertDSLToFDBMt() throws Exception {
+		SyntheticBaseGenerator.convertDSLToFDB(dslDir, fdbFile, null);
+		return fdbFile;
+	}
+
+}
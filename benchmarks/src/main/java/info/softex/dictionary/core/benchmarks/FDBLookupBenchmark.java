@@ -0,0 +1,207 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.benchmarks;
+
+import info.softex.dictionary.core.attributes.ArticleInfo;
+import info.softex.dictionary.core.attributes.WordInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.formats.fdb.FDBBaseReader;
+import info.softex.dictionary.core.formats.fdb.FDBConstants;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookup and search benchmarks of the FDB reader. The warm benchmarks share one loaded 
+ * reader, the cold ones load a new reader before each invocation, so the word list blocks 
+ * and the article blocks are read from the base file. The <code>Mt</code> variants run 
+ * the same operation at 4 threads against the shared reader.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FDBLookupBenchmark {
+	
+	@Param({"50000"})
+	protected int wordsNumber;
+	
+	@Param({"2"})
+	protected int connectionsPoolSize;
+	
+	protected File fdbFile;
+	
+	protected FDBBaseReader reader;
+	
+	protected List<String> words;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		fdbFile = BenchmarkBases.createFDBBase(wordsNumber);
+		reader = createReader(fdbFile, connectionsPoolSize);
+		words = new ArrayList<String>(reader.getWords());
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		reader.close();
+	}
+	
+	protected static FDBBaseReader createReader(File fdbFile, int connectionsPoolSize) throws Exception {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_CONNECTIONS_POOL_SIZE, connectionsPoolSize);
+		FDBBaseReader reader = new FDBBaseReader(fdbFile, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		return reader;
+	}
+	
+	protected int randomId() {
+		return ThreadLocalRandom.current().nextInt(wordsNumber);
+	}
+	
+	@Benchmark
+	public int searchWordIndex() throws Exception {
+		return reader.searchWordIndex(words.get(randomId()), false);
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public int searchWordIndexMt() throws Exception {
+		return reader.searchWordIndex(words.get(randomId()), false);
+	}
+	
+	@Benchmark
+	public ArticleInfo getRawArticleInfoWarm() throws Exception {
+		return reader.getRawArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public ArticleInfo getRawArticleInfoWarmMt() throws Exception {
+		return reader.getRawArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	public ArticleInfo getArticleInfoWarm() throws Exception {
+		return reader.getArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public ArticleInfo getArticleInfoWarmMt() throws Exception {
+		return reader.getArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	public Map<Integer, String> getWordsLikePrefix() throws Exception {
+		return reader.getWordsLike(words.get(randomId()).substring(0, 2) + "%", 50);
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public Map<Integer, String> getWordsLikePrefixMt() throws Exception {
+		return reader.getWordsLike(words.get(randomId()).substring(0, 2) + "%", 50);
+	}
+	
+	@Benchmark
+	public Map<Integer, String> getWordsLikeInfix() throws Exception {
+		return reader.getWordsLike("%" + words.get(randomId()).substring(1, 3) + "%", 50);
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public Map<Integer, String> getWordsLikeInfixMt() throws Exception {
+		return reader.getWordsLike("%" + words.get(randomId()).substring(1, 3) + "%", 50);
+	}
+	
+	/**
+	 * Cold reads: every invocation uses a freshly loaded reader, the loading isn't measured.
+	 */
+	@State(Scope.Thread)
+	public static class ColdReader {
+		
+		protected FDBBaseReader reader;
+		
+		@Setup(Level.Invocation)
+		public void setUp(FDBLookupBenchmark benchmark) throws Exception {
+			reader = createReader(benchmark.fdbFile, benchmark.connectionsPoolSize);
+		}
+		
+		@TearDown(Level.Invocation)
+		public void tearDown() throws Exception {
+			reader.close();
+		}
+		
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 10, batchSize = 1)
+	@Measurement(iterations = 50, batchSize = 1)
+	public ArticleInfo getRawArticleInfoCold(ColdReader cold) throws Exception {
+		return cold.reader.getRawArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 10, batchSize = 1)
+	@Measurement(iterations = 50, batchSize = 1)
+	public ArticleInfo getArticleInfoCold(ColdReader cold) throws Exception {
+		return cold.reader.getArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 10, batchSize = 1)
+	@Measurement(iterations = 50, batchSize = 1)
+	public int searchWordIndexCold(ColdReader cold) throws Exception {
+		return cold.reader.searchWordIndex(words.get(randomId()), false);
+	}
+
+}
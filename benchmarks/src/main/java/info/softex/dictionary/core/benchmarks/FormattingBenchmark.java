@@ -0,0 +1,129 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.benchmarks;
+
+import info.softex.dictionary.core.attributes.BasePropertiesInfo.AbbreviationsFormattingMode;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo.ArticlesFormattingInjectWordMode;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo.ArticlesFormattingMode;
+import info.softex.dictionary.core.formats.dsl.utils.DSLReadFormatUtils;
+import info.softex.dictionary.core.utils.ArticleHtmlFormatter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Article formatting benchmarks: the HTML preparation of the read articles 
+ * and the DSL to the adapted HTML conversion.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormattingBenchmark {
+	
+	protected final static int ARTICLES_NUMBER = 1000;
+	
+	@Param({"FULL", "DSL"})
+	protected ArticlesFormattingMode articlesFormattingMode;
+	
+	protected List<String> words;
+	
+	protected String[] articles;
+	
+	protected String[] dslArticles;
+	
+	protected Set<String> abbreviations;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		words = BenchmarkBases.createWords(ARTICLES_NUMBER);
+		articles = new String[ARTICLES_NUMBER];
+		dslArticles = new String[ARTICLES_NUMBER];
+		for (int i = 0; i < ARTICLES_NUMBER; i++) {
+			dslArticles[i] = BenchmarkBases.createDSLArticle(words, i);
+			articles[i] = articlesFormattingMode == ArticlesFormattingMode.DSL ? 
+				DSLReadFormatUtils.convertDSLToAdaptedHtml(dslArticles[i]) : BenchmarkBases.createHtmlArticle(words, i);
+		}
+		abbreviations = new HashSet<String>();
+		abbreviations.add("n.");
+		abbreviations.add("v.");
+		abbreviations.add("adj.");
+	}
+	
+	protected int randomId() {
+		return ThreadLocalRandom.current().nextInt(ARTICLES_NUMBER);
+	}
+	
+	protected String prepareArticle(int id) {
+		return ArticleHtmlFormatter.prepareArticle(
+			words.get(id), articles[id], abbreviations, 
+			articlesFormattingMode.name(), ArticlesFormattingInjectWordMode.AUTO.name(), 
+			AbbreviationsFormattingMode.valueOf(articlesFormattingMode.name()).name(), false
+		);
+	}
+	
+	@Benchmark
+	public String prepareArticle() {
+		return prepareArticle(randomId());
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public String prepareArticleMt() {
+		return prepareArticle(randomId());
+	}
+	
+	@Benchmark
+	public String convertDSLToAdaptedHtml() {
+		return DSLReadFormatUtils.convertDSLToAdaptedHtml(dslArticles[randomId()]);
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public String convertDSLToAdaptedHtmlMt() {
+		return DSLReadFormatUtils.convertDSLToAdaptedHtml(dslArticles[randomId()]);
+	}
+
+}
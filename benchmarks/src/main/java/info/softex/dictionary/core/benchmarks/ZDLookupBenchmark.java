@@ -0,0 +1,172 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.benchmarks;
+
+import info.softex.dictionary.core.attributes.ArticleInfo;
+import info.softex.dictionary.core.attributes.WordInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.formats.zd.ZDBaseReader;
+import info.softex.dictionary.core.regional.BasicRegionalResolver;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookup and search benchmarks of the ZD reader. The library has no ZD writer, 
+ * so the base isn't generated and must be passed as <code>-p zdFile=/path/to/base.zd</code>.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZDLookupBenchmark {
+	
+	@Param({""})
+	protected String zdFile;
+	
+	protected ZDBaseReader reader;
+	
+	protected List<String> words;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		reader = createReader(zdFile);
+		words = reader.getWords();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		reader.close();
+	}
+	
+	protected static ZDBaseReader createReader(String zdFile) throws Exception {
+		File file = new File(zdFile);
+		if (zdFile.isEmpty() || !file.isFile()) {
+			throw new IllegalArgumentException("The ZD base isn't found, pass it as -p zdFile=/path/to/base.zd: " + zdFile);
+		}
+		ZDBaseReader reader = new ZDBaseReader(file, new BasicRegionalResolver(), new BasicCollatorFactory());
+		reader.load();
+		return reader;
+	}
+	
+	protected int randomId() {
+		return ThreadLocalRandom.current().nextInt(words.size());
+	}
+	
+	@Benchmark
+	public int searchWordIndex() {
+		return reader.searchWordIndex(words.get(randomId()), false);
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public int searchWordIndexMt() {
+		return reader.searchWordIndex(words.get(randomId()), false);
+	}
+	
+	@Benchmark
+	public ArticleInfo getRawArticleInfoWarm() throws Exception {
+		return reader.getRawArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public ArticleInfo getRawArticleInfoWarmMt() throws Exception {
+		return reader.getRawArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	public ArticleInfo getArticleInfoWarm() throws Exception {
+		return reader.getArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	public Map<Integer, String> getWordsLikePrefix() throws Exception {
+		return reader.getWordsLike(words.get(randomId()).substring(0, 1) + "%", 50);
+	}
+	
+	@Benchmark
+	public Map<Integer, String> getWordsLikeInfix() throws Exception {
+		return reader.getWordsLike("%" + words.get(randomId()).substring(0, 1) + "%", 50);
+	}
+	
+	/**
+	 * Cold reads: every invocation uses a freshly loaded reader, the loading isn't measured.
+	 */
+	@State(Scope.Thread)
+	public static class ColdReader {
+		
+		protected ZDBaseReader reader;
+		
+		@Setup(Level.Invocation)
+		public void setUp(ZDLookupBenchmark benchmark) throws Exception {
+			reader = createReader(benchmark.zdFile);
+		}
+		
+		@TearDown(Level.Invocation)
+		public void tearDown() throws Exception {
+			reader.close();
+		}
+		
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 10, batchSize = 1)
+	@Measurement(iterations = 50, batchSize = 1)
+	public ArticleInfo getRawArticleInfoCold(ColdReader cold) throws Exception {
+		return cold.reader.getRawArticleInfo(new WordInfo(randomId()));
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 10, batchSize = 1)
+	@Measurement(iterations = 50, batchSize = 1)
+	public ArticleInfo getArticleInfoCold(ColdReader cold) throws Exception {
+		return cold.reader.getArticleInfo(new WordInfo(randomId()));
+	}
+
+}
@@ -0,0 +1,408 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.benchmarks.load;
+
+import info.softex.dictionary.core.attributes.MediaResourceKey;
+import info.softex.dictionary.core.attributes.WordInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.formats.api.BaseReader;
+import info.softex.dictionary.core.formats.dsl.DSLBaseReader;
+import info.softex.dictionary.core.formats.fdb.FDBBaseReader;
+import info.softex.dictionary.core.formats.fdb.FDBConstants;
+import info.softex.dictionary.core.formats.source.SourceBaseReader;
+import info.softex.dictionary.core.formats.source.SourceFileNames;
+import info.softex.dictionary.core.formats.zd.ZDBaseReader;
+import info.softex.dictionary.core.formats.zd.ZDConstants;
+import info.softex.dictionary.core.metrics.BasicMetricsRecorder;
+import info.softex.dictionary.core.metrics.LatencyHistogram;
+import info.softex.dictionary.core.regional.BasicRegionalResolver;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load driver replaying the lookup mix against any base reader (FDB, ZD, DSL, Source).
+ * The words, media resources and abbreviations are requested with the Zipf distributed 
+ * popularity. The driver reports the throughput and the latency percentiles per operation.
+ * 
+ * The arguments are <code>key=value</code> pairs:
+ * <pre>
+ * base=path            - FDB or ZD file, DSL or Source directory (required)
+ * format=FDB|ZD|DSL|SOURCE - detected by the file extension or the directory content if omitted
+ * threads=4            - number of the client threads
+ * rate=0               - target total rate, operations per second, 0 is unlimited
+ * duration=30          - measurement time, seconds
+ * warmup=10            - warm-up time, seconds, it isn't reported
+ * zipf=1.0             - Zipf exponent of the popularity
+ * mix=exact:40,prefix:20,article:30,media:5,abbreviation:5
+ * seed=1               - seed of the client threads randoms
+ * param.name=value     - FDB and ZD reader parameters, e.g. param.connectionsPoolSize=4
+ * </pre>
+ * 
+ * At the limited rate the operations are scheduled at the fixed intervals and the latency 
+ * is measured from the scheduled time, so the stalls aren't hidden by the delayed requests.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class LoadDriver {
+	
+	public static enum BaseFormats {
+		FDB, ZD, DSL, SOURCE
+	}
+	
+	protected final static int PREFIX_LENGTH = 3;
+	protected final static int PREFIX_LIMIT = 20;
+	
+	protected final static double[] PERCENTILES = {50, 99, 99.9};
+	
+	protected final Map<String, String> settings;
+	
+	protected BaseReader reader;
+	protected BasicMetricsRecorder metrics;
+	protected LookupMix mix;
+	
+	protected List<String> words;
+	protected List<String> mediaKeys;
+	protected List<String> abbreviationKeys;
+	
+	protected ZipfSampler wordsSampler;
+	protected ZipfSampler mediaSampler;
+	protected ZipfSampler abbreviationsSampler;
+	
+	protected boolean likeSearchSupported;
+	
+	protected volatile boolean running = true;
+	protected volatile Statistics statistics = new Statistics();
+	
+	public LoadDriver(Map<String, String> settings) {
+		this.settings = settings;
+	}
+	
+	public static void main(String[] args) throws Exception {
+		
+		Map<String, String> settings = new LinkedHashMap<String, String>();
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			if (eq <= 0) {
+				System.err.println("Wrong argument, key=value is expected: " + arg);
+				return;
+			}
+			settings.put(arg.substring(0, eq), arg.substring(eq + 1));
+		}
+		
+		if (!settings.containsKey("base")) {
+			System.err.println("Usage: LoadDriver base=<path> [format=FDB|ZD|DSL|SOURCE] [threads=4] [rate=0] " + 
+				"[duration=30] [warmup=10] [zipf=1.0] [mix=" + LookupMix.DEFAULT_MIX + "] [seed=1] [param.<name>=<value>]");
+			return;
+		}
+		
+		LoadDriver driver = new LoadDriver(settings);
+		driver.open();
+		try {
+			driver.run(System.out);
+		} finally {
+			driver.close();
+		}
+		
+	}
+	
+	public void open() throws Exception {
+		
+		File base = new File(settings.get("base"));
+		BaseFormats format = settings.containsKey("format") ? 
+			BaseFormats.valueOf(settings.get("format").toUpperCase()) : detectFormat(base);
+		
+		metrics = new BasicMetricsRecorder();
+		Map<String, Object> params = new HashMap<String, Object>();
+		for (Map.Entry<String, String> entry : settings.entrySet()) {
+			if (entry.getKey().startsWith("param.")) {
+				params.put(entry.getKey().substring("param.".length()), parseParamValue(entry.getValue()));
+			}
+		}
+		
+		long t1 = System.currentTimeMillis();
+		
+		switch (format) {
+			case FDB:
+				params.put(FDBConstants.PARAM_KEY_METRICS, metrics);
+				reader = new FDBBaseReader(base, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+				break;
+			case ZD:
+				params.put(ZDConstants.PARAM_KEY_METRICS, metrics);
+				reader = new ZDBaseReader(base, new BasicRegionalResolver(), new BasicCollatorFactory(), params);
+				break;
+			case DSL:
+				reader = new DSLBaseReader(base);
+				break;
+			default:
+				reader = new SourceBaseReader(base);
+				break;
+		}
+		reader.load();
+		
+		words = reader.getWords();
+		mediaKeys = new ArrayList<String>(reader.getMediaResourceKeys());
+		abbreviationKeys = new ArrayList<String>(reader.getAbbreviationKeys());
+		likeSearchSupported = reader.getFormatInfo().isLikeSearchSupported();
+		
+		// Operations without the data are excluded from the mix
+		mix = LookupMix.parse(getSetting("mix", LookupMix.DEFAULT_MIX));
+		double exponent = Double.parseDouble(getSetting("zipf", "1.0"));
+		if (words.isEmpty()) {
+			throw new IllegalStateException("The base has no words: " + base);
+		}
+		wordsSampler = new ZipfSampler(words.size(), exponent);
+		if (mediaKeys.isEmpty()) {
+			mix = mix.contains(LookupOperations.MEDIA) ? mix.without(LookupOperations.MEDIA) : mix;
+		} else {
+			mediaSampler = new ZipfSampler(mediaKeys.size(), exponent);
+		}
+		if (abbreviationKeys.isEmpty()) {
+			mix = mix.contains(LookupOperations.ABBREVIATION) ? mix.without(LookupOperations.ABBREVIATION) : mix;
+		} else {
+			abbreviationsSampler = new ZipfSampler(abbreviationKeys.size(), exponent);
+		}
+		
+		System.out.println("Base: " + base + ", format: " + format + ", words: " + words.size() + ", media: " + mediaKeys.size() + 
+			", abbreviations: " + abbreviationKeys.size() + ", load time: " + (System.currentTimeMillis() - t1) + " ms");
+		
+	}
+	
+	public void run(PrintStream out) throws Exception {
+		
+		final int threads = Integer.parseInt(getSetting("threads", "4"));
+		final double rate = Double.parseDouble(getSetting("rate", "0"));
+		final long seed = Long.parseLong(getSetting("seed", "1"));
+		long warmup = Long.parseLong(getSetting("warmup", "10"));
+		long duration = Long.parseLong(getSetting("duration", "30"));
+		
+		final long intervalNanos = rate > 0 ? (long) (threads * 1e9 / rate) : 0;
+		
+		out.println("Threads: " + threads + ", rate: " + (rate > 0 ? rate + " ops/s" : "unlimited") + ", mix: " + mix + 
+			", warm-up: " + warmup + " s, duration: " + duration + " s");
+		
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		for (int t = 0; t < threads; t++) {
+			final Random random = new Random(seed + t);
+			futures.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					runClient(random, intervalNanos);
+				}
+			}));
+		}
+		
+		TimeUnit.SECONDS.sleep(warmup);
+		metrics.reset();
+		statistics = new Statistics();
+		long t1 = System.nanoTime();
+		
+		TimeUnit.SECONDS.sleep(duration);
+		Statistics measured = statistics;
+		long elapsed = System.nanoTime() - t1;
+		running = false;
+		
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+		
+		report(out, measured, elapsed);
+		
+	}
+	
+	public void close() throws Exception {
+		if (reader != null) {
+			reader.close();
+		}
+	}
+	
+	protected void runClient(Random random, long intervalNanos) {
+		
+		long scheduled = System.nanoTime();
+		
+		while (running) {
+			
+			LookupOperations operation = mix.next(random);
+			Object query = createQuery(operation, random);
+			
+			long start;
+			if (intervalNanos > 0) {
+				long now;
+				while ((now = System.nanoTime()) < scheduled) {
+					LockSupport.parkNanos(scheduled - now);
+				}
+				start = scheduled;
+				scheduled += intervalNanos;
+			} else {
+				start = System.nanoTime();
+			}
+			
+			Statistics stats = statistics;
+			try {
+				execute(operation, query);
+				stats.record(operation, System.nanoTime() - start);
+			} catch (Exception e) {
+				if (stats.errors.getAndIncrement() == 0) {
+					System.err.println("Operation " + operation + " failed for " + query + ": " + e);
+				}
+			}
+			
+		}
+		
+	}
+	
+	/**
+	 * Resolves the requested word or key, it's done before the operation timing.
+	 */
+	protected Object createQuery(LookupOperations operation, Random random) {
+		switch (operation) {
+			case EXACT:
+				return words.get(wordsSampler.sampleId(random));
+			case PREFIX:
+				String word = words.get(wordsSampler.sampleId(random));
+				return word.substring(0, Math.min(PREFIX_LENGTH, word.length()));
+			case ARTICLE:
+				int id = wordsSampler.sampleId(random);
+				return new WordInfo(id, words.get(id));
+			case MEDIA:
+				return new MediaResourceKey(mediaKeys.get(mediaSampler.sampleId(random)));
+			default:
+				return abbreviationKeys.get(abbreviationsSampler.sampleId(random));
+		}
+	}
+	
+	protected Object execute(LookupOperations operation, Object query) throws Exception {
+		switch (operation) {
+			case EXACT:
+				return reader.searchWordIndex((String) query, false);
+			case PREFIX:
+				if (likeSearchSupported) {
+					return reader.getWordsLike(query + "%", PREFIX_LIMIT);
+				}
+				return reader.searchWordIndex((String) query, false);
+			case ARTICLE:
+				return reader.getArticleInfo((WordInfo) query);
+			case MEDIA:
+				return reader.getMediaResourceInfo((MediaResourceKey) query);
+			default:
+				return reader.getAbbreviationInfo((String) query);
+		}
+	}
+	
+	protected void report(PrintStream out, Statistics stats, long elapsedNanos) {
+		
+		double seconds = elapsedNanos / 1e9;
+		
+		out.println();
+		out.println(String.format("%-14s %10s %12s %10s %10s %10s %10s %10s", 
+			"Operation", "Count", "Ops/s", "Mean, us", "p50, us", "p99, us", "p999, us", "Max, us"));
+		
+		for (Map.Entry<LookupOperations, LatencyHistogram> entry : stats.histograms.entrySet()) {
+			printRow(out, entry.getKey().name(), entry.getValue(), seconds);
+		}
+		printRow(out, "TOTAL", stats.total, seconds);
+		out.println("Errors: " + stats.errors.get());
+		
+		out.println();
+		out.println("Reader metrics: " + metrics);
+		
+	}
+	
+	protected static void printRow(PrintStream out, String name, LatencyHistogram histogram, double seconds) {
+		long count = histogram.getCount();
+		if (count == 0) {
+			return;
+		}
+		out.println(String.format("%-14s %10d %12.1f %10.1f %10.1f %10.1f %10.1f %10.1f", name, count, count / seconds, 
+			histogram.getMean() / 1e3, histogram.getPercentile(PERCENTILES[0]) / 1e3, histogram.getPercentile(PERCENTILES[1]) / 1e3, 
+			histogram.getPercentile(PERCENTILES[2]) / 1e3, histogram.getMax() / 1e3));
+	}
+	
+	protected String getSetting(String key, String defaultValue) {
+		String value = settings.get(key);
+		return value != null ? value : defaultValue;
+	}
+	
+	protected static BaseFormats detectFormat(File base) {
+		String name = base.getName().toLowerCase();
+		if (base.isFile()) {
+			if (name.endsWith(".zd")) {
+				return BaseFormats.ZD;
+			}
+			return BaseFormats.FDB;
+		}
+		File dsl = new File(base, SourceFileNames.FILE_DSL_ARTICLES_NO_EXT + SourceFileNames.FILE_DSL_EXT_MAIN);
+		return dsl.isFile() ? BaseFormats.DSL : BaseFormats.SOURCE;
+	}
+	
+	/**
+	 * The readers expect the numeric parameters as numbers.
+	 */
+	protected static Object parseParamValue(String value) {
+		try {
+			return Integer.valueOf(value);
+		} catch (NumberFormatException e) {
+			return value;
+		}
+	}
+	
+	/**
+	 * Latencies of one measurement phase, in nanoseconds.
+	 */
+	protected static class Statistics {
+		
+		protected final Map<LookupOperations, LatencyHistogram> histograms = new EnumMap<LookupOperations, LatencyHistogram>(LookupOperations.class);
+		protected final LatencyHistogram total = new LatencyHistogram();
+		protected final AtomicLong errors = new AtomicLong();
+		
+		protected Statistics() {
+			for (LookupOperations operation : LookupOperations.values()) {
+				histograms.put(operation, new LatencyHistogram());
+			}
+		}
+		
+		protected void record(LookupOperations operation, long nanos) {
+			histograms.get(operation).record(nanos);
+			total.record(nanos);
+		}
+		
+	}
+
+}
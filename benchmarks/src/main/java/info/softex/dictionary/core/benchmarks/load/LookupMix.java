@@ -0,0 +1,113 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.benchmarks.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted mix of the lookup operations, parsed from the string like 
+ * <code>exact:40,prefix:20,article:30,media:5,abbreviation:5</code>.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class LookupMix {
+	
+	public final static String DEFAULT_MIX = "exact:40,prefix:20,article:30,media:5,abbreviation:5";
+	
+	protected final Map<LookupOperations, Integer> weights;
+	
+	protected final LookupOperations[] operations;
+	protected final int[] cumulativeWeights;
+	protected final int totalWeight;
+	
+	public LookupMix(Map<LookupOperations, Integer> inWeights) {
+		
+		this.weights = new EnumMap<LookupOperations, Integer>(LookupOperations.class);
+		for (Map.Entry<LookupOperations, Integer> entry : inWeights.entrySet()) {
+			if (entry.getValue() > 0) {
+				this.weights.put(entry.getKey(), entry.getValue());
+			}
+		}
+		
+		if (this.weights.isEmpty()) {
+			throw new IllegalArgumentException("The lookup mix is empty");
+		}
+		
+		this.operations = new LookupOperations[this.weights.size()];
+		this.cumulativeWeights = new int[this.weights.size()];
+		int i = 0;
+		int total = 0;
+		for (Map.Entry<LookupOperations, Integer> entry : this.weights.entrySet()) {
+			total += entry.getValue();
+			operations[i] = entry.getKey();
+			cumulativeWeights[i] = total;
+			i++;
+		}
+		this.totalWeight = total;
+		
+	}
+	
+	public static LookupMix parse(String mix) {
+		Map<LookupOperations, Integer> weights = new EnumMap<LookupOperations, Integer>(LookupOperations.class);
+		for (String item : mix.split(",")) {
+			String[] pair = item.trim().split(":");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("Wrong lookup mix item: " + item);
+			}
+			weights.put(LookupOperations.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+		}
+		return new LookupMix(weights);
+	}
+	
+	/**
+	 * Returns the mix without the operation, e.g. if the base has no media resources.
+	 */
+	public LookupMix without(LookupOperations operation) {
+		Map<LookupOperations, Integer> reduced = new EnumMap<LookupOperations, Integer>(weights);
+		reduced.remove(operation);
+		return new LookupMix(reduced);
+	}
+	
+	public boolean contains(LookupOperations operation) {
+		return weights.containsKey(operation);
+	}
+	
+	public LookupOperations next(Random random) {
+		int value = random.nextInt(totalWeight);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (value < cumulativeWeights[i]) {
+				return operations[i];
+			}
+		}
+		return operations[operations.length - 1];
+	}
+	
+	@Override
+	public String toString() {
+		return weights.toString();
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.benchmarks.load;
+
+import java.util.Random;
+
+/**
+ * Samples ranks from 1 to n by the Zipf law, the probability of the rank k is 
+ * proportional to 1 / k^exponent. The rejection-inversion method (W. Hormann, 
+ * G. Derflinger) takes the constant memory, so it suits tens of millions of ranks.
+ * 
+ * The ranks are scattered over the ids by a fixed bijection, so the popular 
+ * words aren't the alphabetic neighbours.
+ * 
+ * The instance is immutable and thread safe, the random is passed by the caller.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZipfSampler {
+	
+	protected final static long SCATTER_MULTIPLIER = 2654435761L;
+	
+	protected final int elementsNumber;
+	protected final double exponent;
+	
+	protected final double hIntegralX1;
+	protected final double hIntegralElements;
+	protected final double s;
+	
+	protected final long scatterMultiplier;
+	
+	public ZipfSampler(int elementsNumber, double exponent) {
+		if (elementsNumber <= 0) {
+			throw new IllegalArgumentException("Elements number must be positive: " + elementsNumber);
+		}
+		if (exponent <= 0) {
+			throw new IllegalArgumentException("Exponent must be positive: " + exponent);
+		}
+		this.elementsNumber = elementsNumber;
+		this.exponent = exponent;
+		this.hIntegralX1 = hIntegral(1.5) - 1d;
+		this.hIntegralElements = hIntegral(elementsNumber + 0.5);
+		this.s = 2d - hIntegralInverse(hIntegral(2.5) - h(2));
+		this.scatterMultiplier = findScatterMultiplier(elementsNumber);
+	}
+	
+	public int getElementsNumber() {
+		return elementsNumber;
+	}
+	
+	/**
+	 * Returns the rank from 1 (the most popular) to the elements number.
+	 */
+	public int sampleRank(Random random) {
+		while (true) {
+			double u = hIntegralElements + random.nextDouble() * (hIntegralX1 - hIntegralElements);
+			double x = hIntegralInverse(u);
+			int k = (int) (x + 0.5);
+			if (k < 1) {
+				k = 1;
+			} else if (k > elementsNumber) {
+				k = elementsNumber;
+			}
+			if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+				return k;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the id from 0 to the elements number - 1, the ids of the popular 
+	 * ranks are spread over the whole range.
+	 */
+	public int sampleId(Random random) {
+		return (int) ((sampleRank(random) - 1) * scatterMultiplier % elementsNumber);
+	}
+	
+	protected static long findScatterMultiplier(int elementsNumber) {
+		long multiplier = SCATTER_MULTIPLIER % elementsNumber;
+		while (multiplier > 1 && gcd(multiplier, elementsNumber) != 1) {
+			multiplier--;
+		}
+		return Math.max(multiplier, 1);
+	}
+	
+	protected static long gcd(long a, long b) {
+		while (b != 0) {
+			long t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+	
+	protected double hIntegral(double x) {
+		double logX = Math.log(x);
+		return helper2((1d - exponent) * logX) * logX;
+	}
+	
+	protected double h(double x) {
+		return Math.exp(-exponent * Math.log(x));
+	}
+	
+	protected double hIntegralInverse(double x) {
+		double t = x * (1d - exponent);
+		if (t < -1d) {
+			t = -1d;
+		}
+		return Math.exp(helper1(t) * x);
+	}
+	
+	/**
+	 * log(1 + x) / x, precise near 0
+	 */
+	protected static double helper1(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.log1p(x) / x;
+		}
+		return 1 - x * (0.5 - x * (1d / 3 - 0.25 * x));
+	}
+	
+	/**
+	 * (exp(x) - 1) / x, precise near 0
+	 */
+	protected static double helper2(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.expm1(x) / x;
+		}
+		return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+	}
+
+}
@@ -19,8 +19,11 @@
 
 package info.softex.dictionary.core.attributes;
 
+import info.softex.dictionary.core.io.ByteBufferInputStream;
+
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * 
@@ -28,6 +31,7 @@ import java.io.InputStream;
  *
  * @modified version 3.4,	07/08/2012
  * @modified version 4.6,	02/21/2015
+ * @modified version 4.8,	10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -36,6 +40,7 @@ public class MediaResourceInfo {
 	
 	private MediaResourceKey key;
 	private byte[] byteArray;
+	private ByteBuffer byteBuffer;
 	
 	public MediaResourceInfo(MediaResourceKey key, byte[] byteArray) {
 		this.key = key;
@@ -43,14 +48,50 @@ public class MediaResourceInfo {
 	}
 	
 	public byte[] getByteArray() {
+		if (byteArray == null && byteBuffer != null) {
+			byte[] data = new byte[byteBuffer.remaining()];
+			byteBuffer.duplicate().get(data);
+			byteArray = data;
+		}
 		return byteArray;
 	}
 	
 	public void setByteArray(byte[] byteArray) {
 		this.byteArray = byteArray;
+		this.byteBuffer = null;
+	}
+	
+	/**
+	 * The buffer isn't copied until the byte array is requested, so big 
+	 * resources can be streamed from a mapped file or an inflated block.
+	 */
+	public void setByteBuffer(ByteBuffer byteBuffer) {
+		this.byteBuffer = byteBuffer;
+		this.byteArray = null;
+	}
+	
+	/**
+	 * @return the read-only buffer with the resource bytes between its position and limit, 
+	 * the array isn't materialized 
+	 */
+	public ByteBuffer getByteBuffer() {
+		if (byteBuffer != null) {
+			return byteBuffer.asReadOnlyBuffer();
+		}
+		return byteArray != null ? ByteBuffer.wrap(byteArray).asReadOnlyBuffer() : null;
+	}
+	
+	public int getSize() {
+		if (byteBuffer != null) {
+			return byteBuffer.remaining();
+		}
+		return byteArray != null ? byteArray.length : 0;
 	}
 	
 	public InputStream getInputStream() {
+		if (byteArray == null && byteBuffer != null) {
+			return new ByteBufferInputStream(byteBuffer);
+		}
 		return new ByteArrayInputStream(byteArray);
 	}
 	
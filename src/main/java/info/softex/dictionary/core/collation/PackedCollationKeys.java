@@ -0,0 +1,134 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.collation;
+
+import java.util.Arrays;
+
+/**
+ * Collation keys of a sorted word list packed into a single byte arena. 
+ * 
+ * The keys are compared as unsigned bytes, which gives the same order as 
+ * <code>CollationKey.compareTo</code> for the keys produced by <code>toByteArray()</code>. 
+ * So the word list can be searched w/o running the collator at every probe.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class PackedCollationKeys {
+	
+	protected final byte[] arena;
+	
+	// Start of every key in the arena plus the end of the last one
+	protected final int[] offsets;
+	
+	public PackedCollationKeys(byte[] arena, int[] offsets) {
+		this.arena = arena;
+		this.offsets = offsets;
+	}
+	
+	public int size() {
+		return offsets.length - 1;
+	}
+	
+	public byte[] getKey(int index) {
+		return Arrays.copyOfRange(arena, offsets[index], offsets[index + 1]);
+	}
+	
+	public boolean equalsKey(int index, byte[] key) {
+		return compare(index, key) == 0;
+	}
+	
+	/**
+	 * @return the same as {@link java.util.Collections#binarySearch(java.util.List, Object)}
+	 */
+	public int binarySearch(byte[] key) {
+		int low = 0;
+		int high = size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = compare(mid, key);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+	
+	public long getMemorySize() {
+		return arena.length + 4L * offsets.length;
+	}
+	
+	protected int compare(int index, byte[] key) {
+		int pos = offsets[index];
+		int end = offsets[index + 1];
+		int len = Math.min(end - pos, key.length);
+		for (int i = 0; i < len; i++) {
+			int cmp = (arena[pos + i] & 0xFF) - (key[i] & 0xFF);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return (end - pos) - key.length;
+	}
+	
+	/**
+	 * Appends the keys in the order of the words.
+	 */
+	public static class Builder {
+		
+		private byte[] arena;
+		private int[] offsets;
+		private int size = 0;
+		
+		public Builder(int expectedSize) {
+			this.offsets = new int[Math.max(expectedSize, 1) + 1];
+			this.arena = new byte[Math.max(expectedSize, 1) * 16];
+		}
+		
+		public Builder add(byte[] key) {
+			int pos = offsets[size];
+			if (pos + key.length > arena.length) {
+				arena = Arrays.copyOf(arena, Math.max(pos + key.length, arena.length * 2));
+			}
+			System.arraycopy(key, 0, arena, pos, key.length);
+			if (size + 1 == offsets.length) {
+				offsets = Arrays.copyOf(offsets, offsets.length * 2);
+			}
+			offsets[++size] = pos + key.length;
+			return this;
+		}
+		
+		public int size() {
+			return size;
+		}
+		
+		public PackedCollationKeys build() {
+			return new PackedCollationKeys(Arrays.copyOf(arena, offsets[size]), Arrays.copyOf(offsets, size + 1));
+		}
+		
+	}
+	
+}
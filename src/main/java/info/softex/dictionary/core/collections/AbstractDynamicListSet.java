@@ -20,10 +20,28 @@
 package info.softex.dictionary.core.collections;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import info.softex.dictionary.core.metrics.MetricsRecorder;
+import info.softex.dictionary.core.metrics.MetricsUtils;
+import info.softex.dictionary.core.metrics.NoOpMetricsRecorder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +55,7 @@ import org.slf4j.LoggerFactory;
  * @modified version 1.8,	02/10/2011
  * @modified version 1.9,	02/16/2011
  * @modified version 2.6,	09/18/2011
+ * @modified version 4.8,	10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -44,25 +63,101 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractDynamicListSet<T> extends AbstractList<T> implements RandomAccess, Set<T> {
 
 	private final Logger log = LoggerFactory.getLogger(AbstractDynamicListSet.class.getSimpleName());
+	
+	protected static final int RESTORE_LOCKS_NUMBER = 32;
+	
+	protected static final int RESIDENT_SEGMENTS_NUMBER = 8;
 
 	protected final int maxSize;
 	protected final int blockSize;
 	
-	protected final CacheBlockReferenceTypes referenceType;
+	// Could be changed by the cache mode, the blocks restored before keep their references
+	protected volatile CacheBlockReferenceTypes referenceType;
+	
+	// Recently used blocks pinned by the LRU cache mode, null if the mode isn't used
+	protected volatile ResidentBlocks<T> residentBlocks = null;
 
-	// Stores the content of strong blocks which could be added at deferable classes
+	// Stores the content of strong blocks which could be added at deferable classes,
+	// must be filled in the constructor only as it's read without locks
 	protected final HashMap<Integer, List<T>> strongBlockList;
 	
 	protected final BasicCacheBlock<T>[] weakBlocksList;
 	
-	// Necessary for quick returns
-	protected int lastRequestedBlockNumber = -1;
+	// Last block requested by the current thread, necessary for quick returns 
+	// without sharing the mutable state between the threads
+	protected final ThreadLocal<BlockHint<T>> lastBlockHint = new ThreadLocal<BlockHint<T>>();
+	
+	// Updated on the block changes only, used for the logging
+	protected volatile int lastRequestedBlockNumber = -1;
 	
 	// Necessary for file tracking
-	protected int lastRestoredBlockNumber = -1;
+	protected volatile int lastRestoredBlockNumber = -1;
+	
+	// Striped locks guarding the restores, a single lock is used if concurrent restores aren't supported
+	protected final Object[] restoreLocks;
+	
+	// Number of blocks restored in background ahead of a sequential scroll, 0 disables prefetching
+	protected volatile int prefetchDepth = 0;
+	protected volatile Executor prefetchExecutor = null;
+	
+	// Blocks submitted to the prefetch executor but not restored yet, guarded by itself
+	protected final BitSet prefetchQueued = new BitSet();
+	
+	protected volatile MetricsRecorder metrics = NoOpMetricsRecorder.INSTANCE;
+	
+	protected static class BlockHint<T> {
+		final int blockNumber;
+		final List<T> content;
+		BlockHint(int blockNumber, List<T> content) {
+			this.blockNumber = blockNumber;
+			this.content = content;
+		}
+	}
 
-	// Necessary to avoid reloads of the same elements
-	protected List<T> lastSelectedBlockContent;
+	/**
+	 * LRU of the pinned blocks split into segments by the block number, so the recency 
+	 * updates of the concurrent readers rarely contend for the same lock. Every segment 
+	 * evicts its own eldest block, the total number of the pinned blocks stays bounded.
+	 */
+	protected static class ResidentBlocks<T> {
+		
+		protected final LinkedHashMap<Integer, List<T>>[] segments;
+		
+		@SuppressWarnings("unchecked")
+		ResidentBlocks(int blocksNumber) {
+			blocksNumber = Math.max(blocksNumber, 1);
+			int segmentsNumber = Math.min(RESIDENT_SEGMENTS_NUMBER, blocksNumber);
+			this.segments = new LinkedHashMap[segmentsNumber];
+			for (int i = 0; i < segmentsNumber; i++) {
+				final int capacity = blocksNumber / segmentsNumber + (i < blocksNumber % segmentsNumber ? 1 : 0);
+				this.segments[i] = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+					private static final long serialVersionUID = 1L;
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+						return size() > capacity;
+					}
+				};
+			}
+		}
+		
+		void touch(int blockNumber, List<T> content) {
+			LinkedHashMap<Integer, List<T>> segment = this.segments[blockNumber % this.segments.length];
+			synchronized (segment) {
+				segment.put(blockNumber, content);
+			}
+		}
+		
+		int size() {
+			int size = 0;
+			for (LinkedHashMap<Integer, List<T>> segment : this.segments) {
+				synchronized (segment) {
+					size += segment.size();
+				}
+			}
+			return size;
+		}
+		
+	}
 
 	/**
 	 * blocksList must be filled out in the superclass!
@@ -85,36 +180,49 @@ public abstract class AbstractDynamicListSet<T> extends AbstractList<T> implemen
 		// Storage for the content of strong blocks
 		this.strongBlockList = new HashMap<Integer, List<T>>();
 		
+		this.restoreLocks = new Object[Math.max(1, Math.min(blockNumber, RESTORE_LOCKS_NUMBER))];
+		for (int i = 0; i < restoreLocks.length; i++) {
+			this.restoreLocks[i] = new Object();
+		}
+		
 		log.debug("Number of Blocks: " + blockNumber + " | (" + maxSize + "/" + blockSize + ")");
 		
 	}
 
 	/**
-	 * Synchronized because the the internal data changes
+	 * Not synchronized, the cached blocks are returned without locks, 
+	 * the restores are guarded by the striped locks.
 	 */
 	@Override
-	public synchronized T get(final int index) {
+	public T get(final int index) {
 		
 		int blockNumber = index / blockSize;
 		int elementNumber = index % blockSize;
 		
-		// Use a quick response if the block number was selected last time
-		if (this.lastRequestedBlockNumber == blockNumber) {
-			//log.debug("AWL | Cached in last selected " + index + " | Block Number: " + blockNumber);
-			return this.lastSelectedBlockContent.get(elementNumber);
+		// Use a quick response if the block number was selected last time by this thread
+		BlockHint<T> hint = this.lastBlockHint.get();
+		if (hint != null && hint.blockNumber == blockNumber) {
+			return hint.content.get(elementNumber);
 		}
 
 		// Find among the content of strong blocks
-		if (this.strongBlockList.containsKey(blockNumber)) {
-			List<T> blockContent = this.strongBlockList.get(blockNumber);
-			if (blockContent != null) {
-				//log.info("AWL | Cached in strong storage " + index + " | Block Number: " + blockNumber);
-				return blockContent.get(elementNumber);
-			}
+		List<T> strongContent = this.strongBlockList.get(blockNumber);
+		if (strongContent != null) {
+			return strongContent.get(elementNumber);
 		}
 		
 		List<T> blockContent = getBlockContent(blockNumber);
 		T elem = blockContent.get(elementNumber);
+		
+		this.lastBlockHint.set(new BlockHint<T>(blockNumber, blockContent));
+		
+		// Prefetch ahead in the direction of the scroll
+		if (this.prefetchDepth > 0 && hint != null) {
+			int direction = blockNumber - hint.blockNumber;
+			if (direction == 1 || direction == -1) {
+				schedulePrefetch(blockNumber, direction);
+			}
+		}
 
 	    //log.trace("Get " + index + " | BN: " + blockNumber + " | " + toStringCounters() + ", Elem: " + elem);
 		
@@ -132,6 +240,119 @@ public abstract class AbstractDynamicListSet<T> extends AbstractList<T> implemen
 		return maxSize;
 	}
 	
+	/**
+	 * Enables the asynchronous restore of the next blocks when the list is
+	 * accessed sequentially. If the executor is null, a single daemon thread
+	 * executor with a queue bounded by the depth is created.
+	 */
+	public void setPrefetch(int depth, Executor executor) {
+		if (depth > 0 && executor == null) {
+			executor = createPrefetchExecutor(depth);
+		}
+		synchronized (this.prefetchQueued) {
+			this.prefetchExecutor = executor;
+			this.prefetchDepth = Math.max(depth, 0);
+			this.prefetchQueued.clear();
+		}
+	}
+	
+	public void setMetricsRecorder(MetricsRecorder metrics) {
+		this.metrics = NoOpMetricsRecorder.nonNull(metrics);
+	}
+	
+	public int getPrefetchDepth() {
+		return this.prefetchDepth;
+	}
+	
+	public static ThreadPoolExecutor createPrefetchExecutor(int queueSize) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+			1, 1, 30, TimeUnit.SECONDS, 
+			new ArrayBlockingQueue<Runnable>(Math.max(queueSize, 1)),
+			new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "Word List Prefetch");
+					thread.setDaemon(true);
+					return thread;
+				}
+			}
+		);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	/**
+	 * Sets the residency policy of the blocks restored afterwards. STRONG pins
+	 * every block, SOFT leaves them to GC, LRU pins up to the given number of 
+	 * the recently used blocks and keeps the rest weakly referenced.
+	 */
+	public void setCacheMode(DynamicListCacheModes mode, int lruBlocksNumber) {
+		switch (mode) {
+			case STRONG: 
+				this.residentBlocks = null;
+				this.referenceType = CacheBlockReferenceTypes.STRONG; 
+				break;
+			case SOFT: 
+				this.residentBlocks = null;
+				this.referenceType = CacheBlockReferenceTypes.SOFT; 
+				break;
+			case LRU:
+				this.residentBlocks = new ResidentBlocks<T>(lruBlocksNumber);
+				this.referenceType = CacheBlockReferenceTypes.WEAK;
+				break;
+		}
+		log.debug("Cache mode: {}, LRU blocks: {}", mode, lruBlocksNumber);
+	}
+	
+	/**
+	 * Restores all blocks which aren't loaded yet. The restores run on the given
+	 * number of threads if the subclass supports concurrent restores.
+	 */
+	public void preload(int threadsNumber) {
+		long start = System.currentTimeMillis();
+		if (threadsNumber <= 1 || !isConcurrentRestoreSupported() || this.weakBlocksList.length < 2) {
+			for (int i = 0; i < this.weakBlocksList.length; i++) {
+				loadBlockContent(i);
+			}
+		} else {
+			ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadsNumber, this.weakBlocksList.length));
+			try {
+				List<Future<?>> results = new ArrayList<Future<?>>(this.weakBlocksList.length);
+				for (int i = 0; i < this.weakBlocksList.length; i++) {
+					final int blockNumber = i;
+					results.add(executor.submit(new Runnable() {
+						@Override
+						public void run() {
+							loadBlockContent(blockNumber);
+						}
+					}));
+				}
+				for (Future<?> result : results) {
+					result.get();
+				}
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RestoreBlockException) {
+					throw (RestoreBlockException) e.getCause();
+				}
+				throw new RestoreBlockException(-1, "Preload error occured", e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RestoreBlockException(-1, "Preload interrupted", e);
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+		log.debug("Preloaded blocks: {}, threads: {}, time: {} ms", new Object[] {this.weakBlocksList.length, threadsNumber, System.currentTimeMillis() - start});
+	}
+	
+	/**
+	 * Returns true if the block content is currently available without a restore.
+	 */
+	public boolean isBlockLoaded(final int blockNumber) {
+		return this.strongBlockList.get(blockNumber) != null || 
+			this.weakBlocksList[blockNumber].getElementsReference().get() != null;
+	}
+	
 	// Protected methods ------------------------
 
 	/**
@@ -143,41 +364,137 @@ public abstract class AbstractDynamicListSet<T> extends AbstractList<T> implemen
 	 */
 	protected abstract List<T> restoreBlockContent(BasicCacheBlock<T> block) throws Exception;
 	
+	/**
+	 * Returns true if restoreBlockContent can be called for different blocks
+	 * at the same time. Otherwise all restores are serialized by a single lock.
+	 */
+	protected boolean isConcurrentRestoreSupported() {
+		return false;
+	}
+	
+	protected Object getRestoreLock(final int blockNumber) {
+		return isConcurrentRestoreSupported() ? this.restoreLocks[blockNumber % this.restoreLocks.length] : this.restoreLocks[0];
+	}
+	
 	protected List<T> getBlockContent(final int blockNumber) {
 		
+		List<T> curDynamicElements = loadBlockContent(blockNumber);
+		
+		if (this.lastRequestedBlockNumber != blockNumber) {
+			this.lastRequestedBlockNumber = blockNumber;
+		}
+		
+		//log.debug("Returning Block Content: " + block.blockNumber + ", Size:" + curDynamicElements.size());
+		
+		return curDynamicElements;
+	}
+	
+	protected List<T> loadBlockContent(final int blockNumber) {
+		
 		BasicCacheBlock<T> block = this.weakBlocksList[blockNumber];
 
 		List<T> curDynamicElements = block.getElementsReference().get();
 
 		if (curDynamicElements == null) {
-			try {
-				curDynamicElements = restoreBlockContent(block);
-				this.lastRestoredBlockNumber = block.getBlockNumber();
-			} catch (Exception e) {
-				
-				log.error("Error occured while restoring the block {}: ", block.getBlockNumber(), e);
-				
-				if (e instanceof RestoreBlockException) {
-					throw (RestoreBlockException)e;
-				} else {
-					throw new RestoreBlockException(block.getBlockNumber(), "Read error occured", e);
+			synchronized (getRestoreLock(blockNumber)) {
+				// Could be restored by another thread while waiting for the lock
+				curDynamicElements = block.getElementsReference().get();
+				if (curDynamicElements == null) {
+					curDynamicElements = restoreBlock(block);
 				}
 			}
+		}
+		
+		ResidentBlocks<T> resident = this.residentBlocks;
+		if (resident != null) {
+			resident.touch(blockNumber, curDynamicElements);
+		}
+		
+		return curDynamicElements;
+	}
+	
+	/**
+	 * Must be called while holding the restore lock of the block.
+	 */
+	protected List<T> restoreBlock(final BasicCacheBlock<T> block) {
+		MetricsRecorder metrics = this.metrics;
+		long start = MetricsUtils.startTiming(metrics);
+		
+		List<T> curDynamicElements;
+		try {
+			curDynamicElements = restoreBlockContent(block);
+			this.lastRestoredBlockNumber = block.getBlockNumber();
+		} catch (Exception e) {
 			
-			// Reject the case when the block is null
-			if (curDynamicElements == null) {
-				log.error("Block {} of size {} couldn't be restored", block.getBlockNumber(), blockSize); 
-				throw new RestoreBlockException(block.getBlockNumber(), "Null returned");
+			log.error("Error occured while restoring the block {}: ", block.getBlockNumber(), e);
+			
+			if (e instanceof RestoreBlockException) {
+				throw (RestoreBlockException)e;
+			} else {
+				throw new RestoreBlockException(block.getBlockNumber(), "Read error occured", e);
 			}
 		}
 		
-		this.lastRequestedBlockNumber = block.getBlockNumber();
-		this.lastSelectedBlockContent = curDynamicElements;
+		// Reject the case when the block is null
+		if (curDynamicElements == null) {
+			log.error("Block {} of size {} couldn't be restored", block.getBlockNumber(), blockSize); 
+			throw new RestoreBlockException(block.getBlockNumber(), "Null returned");
+		}
 		
-		//log.debug("Returning Block Content: " + block.blockNumber + ", Size:" + curDynamicElements.size());
+		if (metrics.isEnabled()) {
+			metrics.increment(MetricsRecorder.WORDS_BLOCK_RESTORES, 1);
+			MetricsUtils.stopTiming(metrics, MetricsRecorder.WORDS_BLOCK_RESTORE_TIME, start);
+		}
 		
 		return curDynamicElements;
 	}
 	
+	/**
+	 * Submits the restore of the next blocks which aren't loaded or queued yet.
+	 */
+	protected void schedulePrefetch(final int blockNumber, final int direction) {
+		synchronized (this.prefetchQueued) {
+			for (int i = 1; i <= this.prefetchDepth; i++) {
+				final int nextBlockNumber = blockNumber + i * direction;
+				if (nextBlockNumber < 0 || nextBlockNumber >= this.weakBlocksList.length) {
+					break;
+				}
+				if (this.prefetchQueued.get(nextBlockNumber) || isBlockLoaded(nextBlockNumber)) {
+					continue;
+				}
+				this.prefetchQueued.set(nextBlockNumber);
+				try {
+					this.prefetchExecutor.execute(new Runnable() {
+						@Override
+						public void run() {
+							prefetchBlock(nextBlockNumber);
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					// The queue is full, the block is restored on demand
+					this.prefetchQueued.clear(nextBlockNumber);
+					break;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Restores the block under its restore lock, the same way the get calls do.
+	 */
+	protected void prefetchBlock(final int blockNumber) {
+		synchronized (this.prefetchQueued) {
+			this.prefetchQueued.clear(blockNumber);
+		}
+		if (this.prefetchDepth <= 0) {
+			return;
+		}
+		try {
+			loadBlockContent(blockNumber);
+		} catch (RestoreBlockException e) {
+			log.warn("Prefetch of the block {} failed, it'll be restored on demand", blockNumber);
+		}
+	}
+	
 }
 
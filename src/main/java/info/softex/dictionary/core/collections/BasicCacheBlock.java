@@ -29,6 +29,7 @@ import java.util.List;
  * @since version 1.3, 11/12/2010
  * 
  * @modified version 2.6, 09/10/2011
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -37,7 +38,11 @@ public class BasicCacheBlock<E> {
 	
 	private final int blockNumber;
 	
-	private Reference<List<E>> elementsReference;
+	// Volatile to read the restored elements without locks
+	private volatile Reference<List<E>> elementsReference;
+	
+	// Pins the elements of the STRONG blocks, the reference is never cleared while it's set
+	private volatile List<E> strongElements;
 
 	public BasicCacheBlock(final int blockNumber, CacheBlockReferenceTypes refType) {
 		this.blockNumber = blockNumber;
@@ -53,7 +58,9 @@ public class BasicCacheBlock<E> {
 	}
 	
 	public void setElementsReference(List<E> elements, CacheBlockReferenceTypes refType) {
+		this.strongElements = refType == CacheBlockReferenceTypes.STRONG ? elements : null;
 		switch (refType) {
+			case STRONG:
 			case SOFT: this.elementsReference = new SoftReference<List<E>>(elements); break;
 			case WEAK: this.elementsReference = new WeakReference<List<E>>(elements); break;
 		}
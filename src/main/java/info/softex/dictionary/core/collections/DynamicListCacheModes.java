@@ -0,0 +1,59 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+/**
+ * Residency policies of the dynamic list blocks.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public enum DynamicListCacheModes {
+	
+	// All restored blocks are pinned, could be preloaded at once
+	STRONG,
+	
+	// Blocks are kept until the memory is required by GC
+	SOFT,
+	
+	// A limited number of the recently used blocks are pinned, the rest are weakly referenced
+	LRU;
+	
+	/**
+	 * Accepts a mode instance or its case insensitive name, returns the default value otherwise.
+	 */
+	public static DynamicListCacheModes parse(Object value, DynamicListCacheModes defaultValue) {
+		if (value instanceof DynamicListCacheModes) {
+			return (DynamicListCacheModes) value;
+		}
+		if (value != null) {
+			for (DynamicListCacheModes mode : values()) {
+				if (mode.name().equalsIgnoreCase(value.toString().trim())) {
+					return mode;
+				}
+			}
+		}
+		return defaultValue;
+	}
+	
+}
@@ -0,0 +1,260 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.collections;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of strings stored front-coded in a single UTF-8 byte buffer.
+ * 
+ * The strings are grouped into buckets. The first string of a bucket is stored 
+ * completely, others store only the length of the prefix shared with the previous 
+ * string and their suffix. Buckets are located by the restart table, so only 
+ * the part of a bucket up to the requested element is decoded. The list is the most 
+ * compact for sorted content, e.g. headwords.
+ * 
+ * The list is thread-safe, the buffer is never modified after the creation.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class FrontCodedStringList extends AbstractList<String> implements RandomAccess {
+	
+	public static final int BUCKET_SIZE_DEFAULT = 16;
+	
+	protected static final Charset UTF8 = Charset.forName("UTF-8");
+	
+	protected final ByteBuffer data;
+	protected final int[] restarts;
+	protected final int size;
+	protected final int bucketSize;
+	
+	/**
+	 * @param data - front-coded strings, the buffer isn't copied
+	 * @param restarts - absolute positions of the buckets in the data
+	 */
+	public FrontCodedStringList(ByteBuffer data, int[] restarts, int size, int bucketSize) {
+		if (bucketSize <= 0 || restarts.length != (size + bucketSize - 1) / bucketSize) {
+			throw new IllegalArgumentException("Restarts don't match the size " + size + " and bucket size " + bucketSize);
+		}
+		this.data = data.asReadOnlyBuffer();
+		this.restarts = restarts;
+		this.size = size;
+		this.bucketSize = bucketSize;
+	}
+	
+	public static FrontCodedStringList create(Iterable<String> strings, int bucketSize) {
+		Builder builder = new Builder(bucketSize);
+		for (String string : strings) {
+			builder.add(string);
+		}
+		return builder.build();
+	}
+	
+	@Override
+	public String get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		Decoder decoder = new Decoder(index / bucketSize);
+		for (int i = index % bucketSize; i > 0; i--) {
+			decoder.next();
+		}
+		return decoder.current();
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	public int getBucketSize() {
+		return bucketSize;
+	}
+	
+	/**
+	 * Searches the buckets by their first strings, then scans the bucket 
+	 * sequentially, so every probe decodes a single string.
+	 * 
+	 * @return the same as {@link java.util.Collections#binarySearch(java.util.List, Object, Comparator)}
+	 */
+	public int binarySearch(String key, Comparator<? super String> comparator) {
+		
+		int low = 0;
+		int high = restarts.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = comparator.compare(new Decoder(mid).current(), key);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid * bucketSize;
+			}
+		}
+		
+		// The key is either in the bucket before the insertion point or not found
+		int bucket = low - 1;
+		if (bucket < 0) {
+			return -1;
+		}
+		int index = bucket * bucketSize;
+		int end = Math.min(index + bucketSize, size);
+		Decoder decoder = new Decoder(bucket);
+		for (index++; index < end; index++) {
+			int cmp = comparator.compare(decoder.next(), key);
+			if (cmp == 0) {
+				return index;
+			} else if (cmp > 0) {
+				break;
+			}
+		}
+		return -(index + 1);
+	}
+	
+	/**
+	 * @return the number of bytes occupied by the data and the restart table
+	 */
+	public long getMemorySize() {
+		return data.capacity() + 4L * restarts.length;
+	}
+	
+	public ByteBuffer getData() {
+		return data.duplicate();
+	}
+	
+	public int[] getRestarts() {
+		return restarts;
+	}
+	
+	/**
+	 * Sequential decoder of a bucket.
+	 */
+	protected class Decoder {
+		
+		private final ByteBuffer buf;
+		private byte[] bytes = new byte[64];
+		private int length;
+		
+		Decoder(int bucket) {
+			buf = data.duplicate();
+			buf.position(restarts[bucket]);
+			length = 0;
+			read(0);
+		}
+		
+		String next() {
+			read(readVarInt(buf));
+			return current();
+		}
+		
+		String current() {
+			return new String(bytes, 0, length, UTF8);
+		}
+		
+		private void read(int shared) {
+			int suffix = readVarInt(buf);
+			length = shared + suffix;
+			if (length > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+			}
+			buf.get(bytes, shared, suffix);
+		}
+		
+	}
+	
+	protected static int readVarInt(ByteBuffer buf) {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = buf.get();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		return value;
+	}
+	
+	protected static void writeVarInt(ByteArrayOutputStream out, int value) {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+	
+	/**
+	 * Appends the strings one by one, e.g. while iterating a result set.
+	 */
+	public static class Builder {
+		
+		private final int bucketSize;
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+		private int[] restarts = new int[64];
+		private byte[] previous = new byte[0];
+		private int size = 0;
+		
+		public Builder(int bucketSize) {
+			if (bucketSize <= 0) {
+				throw new IllegalArgumentException("Bucket size must be positive: " + bucketSize);
+			}
+			this.bucketSize = bucketSize;
+		}
+		
+		public Builder add(String string) {
+			byte[] bytes = string.getBytes(UTF8);
+			int shared = 0;
+			if (size % bucketSize == 0) {
+				int bucket = size / bucketSize;
+				if (bucket == restarts.length) {
+					restarts = Arrays.copyOf(restarts, bucket * 2);
+				}
+				restarts[bucket] = out.size();
+			} else {
+				int max = Math.min(previous.length, bytes.length);
+				while (shared < max && previous[shared] == bytes[shared]) {
+					shared++;
+				}
+				writeVarInt(out, shared);
+			}
+			writeVarInt(out, bytes.length - shared);
+			out.write(bytes, shared, bytes.length - shared);
+			previous = bytes;
+			size++;
+			return this;
+		}
+		
+		public FrontCodedStringList build() {
+			int buckets = (size + bucketSize - 1) / bucketSize;
+			return new FrontCodedStringList(ByteBuffer.wrap(out.toByteArray()), Arrays.copyOf(restarts, buckets), size, bucketSize);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,75 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Byte-budgeted LRU cache of media resource data, it can be shared by several 
+ * readers because the keys are qualified by the base path. The cached buffers 
+ * are read-only, the heap ones backed by a much bigger array, e.g. by an inflated 
+ * block, are compacted on put so only the resource bytes count to the budget.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class MediaResourcesCache extends SizeBoundedLRUCache<String, ByteBuffer> {
+	
+	public static final long SIZE_DEFAULT = 8 * 1024 * 1024;
+	
+	public MediaResourcesCache(long maxSize) {
+		super(maxSize);
+	}
+	
+	public static String createKey(String basePath, String resourceKey) {
+		return basePath + '\n' + resourceKey;
+	}
+	
+	@Override
+	public ByteBuffer get(String key) {
+		ByteBuffer buffer = super.get(key);
+		return buffer != null ? buffer.duplicate() : null;
+	}
+	
+	@Override
+	public void put(String key, ByteBuffer buffer) {
+		if (buffer.remaining() > maxSize) {
+			return;
+		}
+		if (!buffer.isDirect() && buffer.capacity() > 2 * buffer.remaining()) {
+			byte[] data = new byte[buffer.remaining()];
+			buffer.duplicate().get(data);
+			buffer = ByteBuffer.wrap(data);
+		}
+		super.put(key, buffer.asReadOnlyBuffer());
+	}
+
+	/**
+	 * Direct buffers count by their remaining bytes, the heap ones by the whole array.
+	 */
+	@Override
+	protected long sizeOf(ByteBuffer buffer) {
+		return buffer.isDirect() ? buffer.remaining() : buffer.capacity();
+	}
+
+}
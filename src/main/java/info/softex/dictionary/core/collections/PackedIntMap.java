@@ -0,0 +1,141 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+import java.util.Arrays;
+
+/**
+ * Immutable int to int map stored as two sorted primitive arrays. Lookups 
+ * are binary searches which don't allocate, e.g. word redirects by word ids.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class PackedIntMap {
+	
+	protected final int[] keys;
+	protected final int[] values;
+	
+	/**
+	 * @param keys - ascending unique keys, the arrays aren't copied
+	 */
+	public PackedIntMap(int[] keys, int[] values) {
+		if (keys.length != values.length) {
+			throw new IllegalArgumentException("Keys and values have different lengths");
+		}
+		this.keys = keys;
+		this.values = values;
+	}
+	
+	public int get(int key, int defaultValue) {
+		int pos = Arrays.binarySearch(keys, key);
+		return pos >= 0 ? values[pos] : defaultValue;
+	}
+	
+	public boolean containsKey(int key) {
+		return Arrays.binarySearch(keys, key) >= 0;
+	}
+	
+	public int getKey(int index) {
+		return keys[index];
+	}
+	
+	public int getValue(int index) {
+		return values[index];
+	}
+	
+	public int size() {
+		return keys.length;
+	}
+	
+	public long getMemorySize() {
+		return keys.length * 8L;
+	}
+	
+	/**
+	 * Accepts the pairs in any order, the last value of a repeated key is kept.
+	 */
+	public static class Builder {
+		
+		protected int[] keys;
+		protected int[] values;
+		protected int size = 0;
+		protected boolean sorted = true;
+		
+		public Builder(int expectedSize) {
+			this.keys = new int[Math.max(expectedSize, 16)];
+			this.values = new int[keys.length];
+		}
+		
+		public Builder put(int key, int value) {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				values = Arrays.copyOf(values, size * 2);
+			}
+			if (size > 0 && keys[size - 1] >= key) {
+				sorted = false;
+			}
+			keys[size] = key;
+			values[size] = value;
+			size++;
+			return this;
+		}
+		
+		public PackedIntMap build() {
+			if (sorted) {
+				return new PackedIntMap(Arrays.copyOf(keys, size), Arrays.copyOf(values, size));
+			}
+			int[] order = sortedOrder(keys, size);
+			int[] outKeys = new int[order.length];
+			int[] outValues = new int[order.length];
+			for (int i = 0; i < order.length; i++) {
+				outKeys[i] = keys[order[i]];
+				outValues[i] = values[order[i]];
+			}
+			return new PackedIntMap(outKeys, outValues);
+		}
+		
+	}
+	
+	/**
+	 * @return the positions of the keys in the ascending key order, 
+	 * only the last position of a repeated key is included
+	 */
+	static int[] sortedOrder(int[] keys, int size) {
+		long[] pairs = new long[size];
+		for (int i = 0; i < size; i++) {
+			pairs[i] = ((long) keys[i] << 32) | i;
+		}
+		Arrays.sort(pairs);
+		int[] order = new int[size];
+		int unique = 0;
+		for (int i = 0; i < size; i++) {
+			if (i + 1 < size && (int) (pairs[i + 1] >> 32) == (int) (pairs[i] >> 32)) {
+				continue;
+			}
+			order[unique++] = (int) pairs[i];
+		}
+		return Arrays.copyOf(order, unique);
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+import java.util.Arrays;
+
+/**
+ * Immutable int to string map with sorted primitive keys and the values 
+ * packed into a single char arena, e.g. word mappings by word ids. 
+ * The lookup itself doesn't allocate, only the returned string is created.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class PackedStringMap {
+	
+	protected final int[] keys;
+	protected final int[] offsets;
+	protected final char[] chars;
+	
+	/**
+	 * @param keys - ascending unique keys
+	 * @param offsets - value start positions in the arena, keys.length + 1 elements
+	 */
+	public PackedStringMap(int[] keys, int[] offsets, char[] chars) {
+		if (offsets.length != keys.length + 1 || offsets[keys.length] != chars.length) {
+			throw new IllegalArgumentException("Offsets don't match the keys and chars");
+		}
+		this.keys = keys;
+		this.offsets = offsets;
+		this.chars = chars;
+	}
+	
+	public String get(int key) {
+		int pos = Arrays.binarySearch(keys, key);
+		return pos >= 0 ? new String(chars, offsets[pos], offsets[pos + 1] - offsets[pos]) : null;
+	}
+	
+	public boolean containsKey(int key) {
+		return Arrays.binarySearch(keys, key) >= 0;
+	}
+	
+	public int size() {
+		return keys.length;
+	}
+	
+	public long getMemorySize() {
+		return keys.length * 4L + offsets.length * 4L + chars.length * 2L;
+	}
+	
+	/**
+	 * Accepts the pairs in any order, the last value of a repeated key is kept. 
+	 * Null values are stored as empty strings.
+	 */
+	public static class Builder {
+		
+		protected int[] keys;
+		protected int[] offsets;
+		protected char[] chars;
+		protected int size = 0;
+		protected boolean sorted = true;
+		
+		public Builder(int expectedSize) {
+			this.keys = new int[Math.max(expectedSize, 16)];
+			this.offsets = new int[keys.length + 1];
+			this.chars = new char[keys.length * 8];
+		}
+		
+		public Builder put(int key, String value) {
+			if (value == null) {
+				value = "";
+			}
+			if (size + 1 == offsets.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				offsets = Arrays.copyOf(offsets, size * 2 + 1);
+			}
+			int start = offsets[size];
+			if (start + value.length() > chars.length) {
+				chars = Arrays.copyOf(chars, Math.max(chars.length * 2, start + value.length()));
+			}
+			value.getChars(0, value.length(), chars, start);
+			if (size > 0 && keys[size - 1] >= key) {
+				sorted = false;
+			}
+			keys[size] = key;
+			offsets[size + 1] = start + value.length();
+			size++;
+			return this;
+		}
+		
+		public PackedStringMap build() {
+			if (sorted) {
+				return new PackedStringMap(Arrays.copyOf(keys, size), Arrays.copyOf(offsets, size + 1), Arrays.copyOf(chars, offsets[size]));
+			}
+			int[] order = PackedIntMap.sortedOrder(keys, size);
+			int[] outKeys = new int[order.length];
+			int[] outOffsets = new int[order.length + 1];
+			for (int i = 0; i < order.length; i++) {
+				outKeys[i] = keys[order[i]];
+				outOffsets[i + 1] = outOffsets[i] + offsets[order[i] + 1] - offsets[order[i]];
+			}
+			char[] outChars = new char[outOffsets[order.length]];
+			for (int i = 0; i < order.length; i++) {
+				System.arraycopy(chars, offsets[order[i]], outChars, outOffsets[i], outOffsets[i + 1] - outOffsets[i]);
+			}
+			return new PackedStringMap(outKeys, outOffsets, outChars);
+		}
+		
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.collections;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe LRU cache limited by the total size of its values rather than 
+ * by the number of entries. The size of a value is defined by the subclass, 
+ * values bigger than the whole budget are never cached.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public abstract class SizeBoundedLRUCache<K, V> {
+	
+	protected final long maxSize;
+	
+	protected final LinkedHashMap<K, V> entries = new LinkedHashMap<K, V>(16, 0.75f, true);
+	
+	protected long size = 0;
+	
+	protected final AtomicLong hitsCount = new AtomicLong();
+	protected final AtomicLong missesCount = new AtomicLong();
+	
+	public SizeBoundedLRUCache(long maxSize) {
+		this.maxSize = maxSize;
+	}
+	
+	protected abstract long sizeOf(V value);
+	
+	public V get(K key) {
+		V value;
+		synchronized (entries) {
+			value = entries.get(key);
+		}
+		if (value != null) {
+			hitsCount.incrementAndGet();
+		} else {
+			missesCount.incrementAndGet();
+		}
+		return value;
+	}
+	
+	public void put(K key, V value) {
+		long valueSize = sizeOf(value);
+		if (valueSize > maxSize) {
+			return;
+		}
+		synchronized (entries) {
+			V previous = entries.put(key, value);
+			if (previous != null) {
+				size -= sizeOf(previous);
+			}
+			size += valueSize;
+			Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+			while (size > maxSize && iterator.hasNext()) {
+				Map.Entry<K, V> eldest = iterator.next();
+				if (eldest.getKey().equals(key)) {
+					continue;
+				}
+				size -= sizeOf(eldest.getValue());
+				iterator.remove();
+			}
+		}
+	}
+	
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			size = 0;
+		}
+	}
+	
+	public int getEntriesNumber() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+	
+	public long getSize() {
+		synchronized (entries) {
+			return size;
+		}
+	}
+	
+	public long getMaxSize() {
+		return maxSize;
+	}
+	
+	public long getHitsCount() {
+		return hitsCount.get();
+	}
+	
+	public long getMissesCount() {
+		return missesCount.get();
+	}
+	
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [size=" + getSize() + ", maxSize=" + maxSize + 
+			", hits=" + getHitsCount() + ", misses=" + getMissesCount() + "]";
+	}
+
+}
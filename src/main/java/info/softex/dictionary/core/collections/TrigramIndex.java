@@ -0,0 +1,347 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+import info.softex.dictionary.core.utils.SearchUtils.LikeExpression;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inverted index of the lower case character trigrams of a word list, it is 
+ * used to answer '%substring%' like queries w/o scanning all the words.
+ * 
+ * Each trigram refers to the ascending list of the word ids containing it. The 
+ * candidates are obtained by intersecting the lists of the query trigrams and 
+ * then verified against the words, so the result is the same as the one of 
+ * {@link info.softex.dictionary.core.utils.SearchUtils#searchSQLLike}.
+ * 
+ * The index can be saved to a sidecar file, which is stamped by the source 
+ * base file size and modification time.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class TrigramIndex {
+	
+	public static final String FILE_EXTENSION = ".trigrams";
+	
+	public static final int GRAM_LENGTH = 3;
+	
+	protected static final int FILE_SIGNATURE = 0x54524731; // TRG1
+	
+	private static final Logger log = LoggerFactory.getLogger(TrigramIndex.class);
+	
+	protected final int wordsNumber;
+	protected final long[] grams;
+	protected final int[] offsets;
+	protected final int[] postings;
+	
+	/**
+	 * @param grams - sorted trigrams
+	 * @param offsets - start positions of the trigram postings, grams.length + 1 elements
+	 * @param postings - ascending word ids of each trigram
+	 */
+	public TrigramIndex(int wordsNumber, long[] grams, int[] offsets, int[] postings) {
+		if (offsets.length != grams.length + 1 || offsets[grams.length] != postings.length) {
+			throw new IllegalArgumentException("Offsets don't match the trigrams and postings");
+		}
+		this.wordsNumber = wordsNumber;
+		this.grams = grams;
+		this.offsets = offsets;
+		this.postings = postings;
+	}
+	
+	public static TrigramIndex build(List<String> words) {
+		
+		long start = System.currentTimeMillis();
+		
+		// First pass, count the words of each trigram
+		Map<Long, Integer> slots = new HashMap<>();
+		int[] counts = new int[1024];
+		long[] wordGrams = new long[64];
+		int size = words.size();
+		for (int i = 0; i < size; i++) {
+			wordGrams = toGrams(words.get(i).toLowerCase(), wordGrams);
+			int number = uniqueGrams(wordGrams);
+			for (int j = 0; j < number; j++) {
+				Integer slot = slots.get(wordGrams[j]);
+				if (slot == null) {
+					slot = slots.size();
+					slots.put(wordGrams[j], slot);
+					if (slot == counts.length) {
+						counts = Arrays.copyOf(counts, counts.length * 2);
+					}
+				}
+				counts[slot]++;
+			}
+		}
+		
+		long[] grams = new long[slots.size()];
+		int i = 0;
+		for (Long gram : slots.keySet()) {
+			grams[i++] = gram;
+		}
+		Arrays.sort(grams);
+		
+		int[] offsets = new int[grams.length + 1];
+		for (Map.Entry<Long, Integer> entry : slots.entrySet()) {
+			offsets[Arrays.binarySearch(grams, entry.getKey()) + 1] = counts[entry.getValue()];
+		}
+		for (i = 0; i < grams.length; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		slots = null;
+		
+		// Second pass, fill the postings, the ids are ascending as the words are iterated in order
+		int[] postings = new int[offsets[grams.length]];
+		int[] cursors = Arrays.copyOf(offsets, grams.length);
+		for (i = 0; i < size; i++) {
+			wordGrams = toGrams(words.get(i).toLowerCase(), wordGrams);
+			int number = uniqueGrams(wordGrams);
+			for (int j = 0; j < number; j++) {
+				postings[cursors[Arrays.binarySearch(grams, wordGrams[j])]++] = i;
+			}
+		}
+		
+		log.info("Trigram index built | Words: {}, Trigrams: {}, Postings: {}, Time: {}", size, grams.length, postings.length, System.currentTimeMillis() - start);
+		
+		return new TrigramIndex(size, grams, offsets, postings);
+		
+	}
+	
+	/**
+	 * Reads the index from the sidecar file if it's valid for the source and the words, 
+	 * otherwise builds it and tries to save to the sidecar. 
+	 */
+	public static TrigramIndex loadOrBuild(File sidecar, File source, List<String> words) {
+		int wordsNumber = words.size();
+		if (sidecar.isFile()) {
+			try {
+				TrigramIndex index = read(sidecar, getStamp(source));
+				if (index != null && index.wordsNumber == wordsNumber) {
+					return index;
+				}
+				log.info("Trigram index sidecar is stale: {}", sidecar);
+			} catch (IOException e) {
+				log.warn("Trigram index sidecar can't be read: {}", sidecar, e);
+			}
+		}
+		TrigramIndex index = build(words);
+		try {
+			index.write(sidecar, getStamp(source));
+		} catch (IOException e) {
+			log.warn("Trigram index sidecar can't be saved, the index is kept in memory only: {}", sidecar);
+			sidecar.delete();
+		}
+		return index;
+	}
+	
+	/**
+	 * Searches the words by the SQL 'like' expression.
+	 * 
+	 * @return the words by their ids, or null if the index can't serve the expression, 
+	 * i.e. the expression value is shorter than a trigram 
+	 */
+	public TreeMap<Integer, String> search(List<String> words, String likeExp, int limit) {
+		
+		LikeExpression exp = new LikeExpression(likeExp);
+		String value = exp.getValue();
+		if (value.length() < GRAM_LENGTH || limit <= 0) {
+			return null;
+		}
+		
+		TreeMap<Integer, String> result = new TreeMap<>();
+		
+		long[] queryGrams = toGrams(value, new long[value.length()]);
+		int number = uniqueGrams(queryGrams);
+		
+		// Find the trigram postings, start from the shortest one
+		int[] froms = new int[number];
+		int[] tos = new int[number];
+		for (int i = 0; i < number; i++) {
+			int pos = Arrays.binarySearch(grams, queryGrams[i]);
+			if (pos < 0) {
+				return result;
+			}
+			froms[i] = offsets[pos];
+			tos[i] = offsets[pos + 1];
+			if (tos[i] - froms[i] < tos[0] - froms[0]) {
+				swap(froms, 0, i);
+				swap(tos, 0, i);
+			}
+		}
+		
+		// The other postings are narrowed as the candidates ascend
+		for (int p = froms[0]; p < tos[0]; p++) {
+			int id = postings[p];
+			boolean found = true;
+			for (int i = 1; i < number && found; i++) {
+				int pos = Arrays.binarySearch(postings, froms[i], tos[i], id);
+				if (pos >= 0) {
+					froms[i] = pos + 1;
+				} else {
+					froms[i] = -pos - 1;
+					found = false;
+				}
+			}
+			if (found) {
+				String word = words.get(id);
+				if (exp.matches(word)) {
+					result.put(id, word);
+					if (result.size() >= limit) {
+						break;
+					}
+				}
+			}
+		}
+		
+		return result;
+		
+	}
+	
+	public void write(File file, long stamp) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(FILE_SIGNATURE);
+			out.writeLong(stamp);
+			out.writeInt(wordsNumber);
+			out.writeInt(grams.length);
+			out.writeInt(postings.length);
+			for (long gram : grams) {
+				out.writeLong(gram);
+			}
+			for (int offset : offsets) {
+				out.writeInt(offset);
+			}
+			for (int posting : postings) {
+				out.writeInt(posting);
+			}
+		} finally {
+			out.close();
+		}
+	}
+	
+	/**
+	 * @return the index or null if the file stamp doesn't match
+	 */
+	public static TrigramIndex read(File file, long stamp) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != FILE_SIGNATURE) {
+				throw new IOException("Unknown trigram index signature");
+			}
+			if (in.readLong() != stamp) {
+				return null;
+			}
+			int wordsNumber = in.readInt();
+			long[] grams = new long[in.readInt()];
+			int[] postings = new int[in.readInt()];
+			int[] offsets = new int[grams.length + 1];
+			for (int i = 0; i < grams.length; i++) {
+				grams[i] = in.readLong();
+			}
+			for (int i = 0; i < offsets.length; i++) {
+				offsets[i] = in.readInt();
+			}
+			for (int i = 0; i < postings.length; i++) {
+				postings[i] = in.readInt();
+			}
+			return new TrigramIndex(wordsNumber, grams, offsets, postings);
+		} finally {
+			in.close();
+		}
+	}
+	
+	public static long getStamp(File source) {
+		return source.length() * 31 + source.lastModified();
+	}
+	
+	public int getWordsNumber() {
+		return wordsNumber;
+	}
+	
+	public int getTrigramsNumber() {
+		return grams.length;
+	}
+	
+	public long getMemorySize() {
+		return grams.length * 8L + offsets.length * 4L + postings.length * 4L;
+	}
+	
+	/**
+	 * Fills the trigrams of the string, the array is terminated by -1 if not filled completely.
+	 */
+	protected static long[] toGrams(String str, long[] buffer) {
+		int number = Math.max(str.length() - GRAM_LENGTH + 1, 0);
+		if (buffer.length <= number) {
+			buffer = new long[number + 1];
+		}
+		for (int i = 0; i < number; i++) {
+			buffer[i] = ((long) str.charAt(i) << 32) | ((long) str.charAt(i + 1) << 16) | str.charAt(i + 2);
+		}
+		buffer[number] = -1;
+		return buffer;
+	}
+	
+	/**
+	 * Sorts and removes the duplicate trigrams in the beginning of the array.
+	 * 
+	 * @return the number of the unique trigrams
+	 */
+	protected static int uniqueGrams(long[] buffer) {
+		int number = 0;
+		while (buffer[number] >= 0) {
+			number++;
+		}
+		Arrays.sort(buffer, 0, number);
+		int unique = 0;
+		for (int i = 0; i < number; i++) {
+			if (unique == 0 || buffer[unique - 1] != buffer[i]) {
+				buffer[unique++] = buffer[i];
+			}
+		}
+		return unique;
+	}
+	
+	private static void swap(int[] array, int i, int j) {
+		int temp = array[i];
+		array[i] = array[j];
+		array[j] = temp;
+	}
+
+}
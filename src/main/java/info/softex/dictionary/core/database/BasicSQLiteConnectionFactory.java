@@ -19,11 +19,16 @@
 
 package info.softex.dictionary.core.database;
 
+import java.io.File;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Map;
-import java.util.Properties;
+
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConfig.SynchronousMode;
+import org.sqlite.SQLiteConfig.TempStore;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +39,7 @@ import org.slf4j.LoggerFactory;
  * 
  * @modified version 3.9, 12/03/2013
  * @modified version 4.4, 03/19/2014
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -48,6 +54,10 @@ public class BasicSQLiteConnectionFactory implements DatabaseConnectionFactory {
 	protected static final String SYSPROP_SQLITE_LIB_MAPPING_KEY = "sqlitejdbc";
 	protected static final String SYSPROP_SQLITE_LIB_NAME = "libsqlitejdbc.jnilib";
 
+	protected static final int READ_CACHE_SIZE_DEFAULT = 4000;
+	protected static final int WRITE_CACHE_SIZE_DEFAULT = 20000;
+	protected static final long READ_MMAP_SIZE_DEFAULT = 256L * 1024 * 1024;
+	
 	protected static final String OS_NAME_KEY = "os.name";
 	protected static final String OS_MAC = "mac";
 	
@@ -70,6 +80,9 @@ public class BasicSQLiteConnectionFactory implements DatabaseConnectionFactory {
 	 * 
 	 * PROP_DATABASE_PATH - DB Path - required
 	 * PROP_JDBC_DRIVER - Driver class name - optional
+	 * DB_OPEN_READ_ONLY - Opens the DB read-only - optional
+	 * DB_PROFILE - Read or write tuning profile - optional
+	 * DB_CACHE_SIZE, DB_MMAP_SIZE - Override the profile values - optional
 	 * 
 	 */
 	@Override
@@ -97,26 +110,69 @@ public class BasicSQLiteConnectionFactory implements DatabaseConnectionFactory {
 
 		// http://www.xerial.org/trac/Xerial/wiki/SQLiteJDBC#RuninPure-Javamode
 		
-		//SQLiteConfig config = new SQLiteConfig();
-		//config.setSynchronous(SynchronousMode.OFF);
-		//config.enableRecursiveTriggers(false);
-		//config.setReadUncommited(true);
-		//config.setSharedCache(false);
-		//config.setTempStore(TempStore.DEFAULT);
-		//config.setReadOnly(true);  
-		//config.recursiveTriggers(true);
+		String profile = params != null ? params.get(DB_PROFILE) : null;
+		boolean readProfile = DB_PROFILE_READ.equals(profile);
+		boolean writeProfile = DB_PROFILE_WRITE.equals(profile);
+		boolean readOnly = readProfile || (params != null && "true".equals(params.get(DB_OPEN_READ_ONLY)));
 		
-		Properties props = new Properties();
-		props.put("synchronous", "OFF");
+		SQLiteConfig config = new SQLiteConfig();
+		config.setSynchronous(SynchronousMode.OFF);
+		config.setReadOnly(readOnly);
+		if (readProfile || writeProfile) {
+			config.setTempStore(TempStore.MEMORY);
+			config.setCacheSize(getIntParam(params, DB_CACHE_SIZE, readProfile ? READ_CACHE_SIZE_DEFAULT : WRITE_CACHE_SIZE_DEFAULT));
+		}
+		// Bases opened for lookups aren't changed while they are read, so the immutable 
+		// file URI lets SQLite skip the file locking and the change detection
+		String dbUrl = readProfile ? getImmutableFileUri(url) : url;
 		
 		// Create a database connection
-		Connection conn = DriverManager.getConnection("jdbc:sqlite:" + url, props);
-//		Connection conn = DriverManager.getConnection("jdbc:sqlite:" + url);
-//		Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath, config.toProperties());
+		Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbUrl, config.toProperties());
 		
-		//conn.setTransactionIsolation(Connection.TRANSACTION_READ_UNCOMMITTED);
+		// Pragmas returning results or unknown to the driver config
+		if (readProfile || writeProfile) {
+			Statement st = conn.createStatement();
+			try {
+				if (readProfile) {
+					st.execute("PRAGMA mmap_size=" + getLongParam(params, DB_MMAP_SIZE, READ_MMAP_SIZE_DEFAULT));
+					st.execute("PRAGMA query_only=1");
+				} else {
+					st.execute("PRAGMA journal_mode=MEMORY");
+				}
+			} finally {
+				st.close();
+			}
+		}
+		
+		log.debug("SQLite connection is created: {}, profile: {}, read-only: {}", new Object[] {url, profile, readOnly});
 		
 		return conn;
 	}
+	
+	/**
+	 * @return the escaped file URI with the immutable flag or the URL itself if it isn't a file path
+	 */
+	protected static String getImmutableFileUri(String url) {
+		if (url.startsWith(":") || url.startsWith("file:")) {
+			return url;
+		}
+		return new File(url).getAbsoluteFile().toURI().toString() + "?immutable=1";
+	}
+	
+	protected static long getLongParam(Map<String, String> params, String key, long defaultValue) {
+		String value = params != null ? params.get(key) : null;
+		if (value != null) {
+			try {
+				return Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				log.warn("Wrong value of {}: {}", key, value);
+			}
+		}
+		return defaultValue;
+	}
+	
+	protected static int getIntParam(Map<String, String> params, String key, int defaultValue) {
+		return (int) getLongParam(params, key, defaultValue);
+	}
 
 }
@@ -27,6 +27,8 @@ import java.util.Map;
  * 
  * @since version 2.6, 09/07/2011
  * 
+ * @modified version 4.8, 10/17/2026
+ * 
  * @author Dmitry Viktorov
  * 
  */
@@ -36,6 +38,15 @@ public interface DatabaseConnectionFactory {
 	public static final String DB_CREATE_IF_NECESSARY = "CREATE_IF_NECESSARY";
 	public static final String DB_OPEN_READ_ONLY = "OPEN_READONLY";
 	
+	// Tuning profile, DB_PROFILE_READ for dictionary lookups or DB_PROFILE_WRITE for bulk builds
+	public static final String DB_PROFILE = "PROFILE";
+	public static final String DB_PROFILE_READ = "READ";
+	public static final String DB_PROFILE_WRITE = "WRITE";
+	
+	// Override the profile values: page cache size in pages and memory mapped I/O size in bytes
+	public static final String DB_CACHE_SIZE = "CACHE_SIZE";
+	public static final String DB_MMAP_SIZE = "MMAP_SIZE";
+	
 	public static final String PROP_JDBC_DRIVER = "PROP_JDBC_DRIVER";
 
 	public Connection createConnection(String url, Map<String, String> params) throws SQLException;
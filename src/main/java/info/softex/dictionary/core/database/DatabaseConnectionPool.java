@@ -0,0 +1,193 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of database connections. Connections are created lazily through 
+ * the {@link DatabaseConnectionFactory} up to the pool size; when all of them 
+ * are borrowed, the caller waits until one is released. 
+ * 
+ * Closing the pool closes the idle connections at once and the borrowed ones 
+ * when they are released, the waiting and the following callers fail.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class DatabaseConnectionPool {
+	
+	private static final Logger log = LoggerFactory.getLogger(DatabaseConnectionPool.class);
+	
+	protected final DatabaseConnectionFactory conFactory;
+	protected final String url;
+	protected final Map<String, String> params;
+	
+	protected final int maxSize;
+	
+	// Guarded by itself, the pool waits on it for the released connections
+	protected final Deque<PooledConnection> idleConnections;
+	protected final List<PooledConnection> allConnections;
+	
+	// Connections being created outside of the lock, counted against the pool size
+	protected int pendingConnections = 0;
+	
+	protected volatile boolean closed = false;
+	
+	public DatabaseConnectionPool(DatabaseConnectionFactory conFactory, String url, Map<String, String> params, int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Pool size must be positive: " + maxSize);
+		}
+		this.conFactory = conFactory;
+		this.url = url;
+		this.params = params;
+		this.maxSize = maxSize;
+		this.idleConnections = new ArrayDeque<PooledConnection>(maxSize);
+		this.allConnections = new ArrayList<PooledConnection>(maxSize);
+	}
+	
+	/**
+	 * Creates a pool of the single already opened connection.
+	 */
+	public DatabaseConnectionPool(Connection connection) {
+		this(null, null, null, 1);
+		PooledConnection pooled = new PooledConnection(connection);
+		allConnections.add(pooled);
+		idleConnections.add(pooled);
+	}
+	
+	public PooledConnection acquire() throws SQLException {
+		
+		synchronized (idleConnections) {
+			while (true) {
+				if (closed) {
+					throw new SQLException("The connection pool is closed: " + url);
+				}
+				PooledConnection pooled = idleConnections.poll();
+				if (pooled != null) {
+					return pooled;
+				}
+				if (allConnections.size() + pendingConnections < maxSize) {
+					pendingConnections++;
+					break;
+				}
+				try {
+					idleConnections.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SQLException("Interrupted while waiting for a connection: " + url);
+				}
+			}
+		}
+		
+		// The connection is opened w/o holding the lock, the slot is reserved above
+		PooledConnection pooled = null;
+		try {
+			pooled = new PooledConnection(conFactory.createConnection(url, params));
+		} finally {
+			synchronized (idleConnections) {
+				pendingConnections--;
+				if (pooled != null && !closed) {
+					allConnections.add(pooled);
+					log.debug("Connection {} of {} is created: {}", new Object[] {allConnections.size(), maxSize, url});
+				} else {
+					// Another waiter may create the connection instead of the failed one
+					idleConnections.notify();
+				}
+			}
+		}
+		
+		if (closed) {
+			closeQuietly(pooled);
+			throw new SQLException("The connection pool is closed: " + url);
+		}
+		
+		return pooled;
+		
+	}
+	
+	/**
+	 * Returns the connection to the pool, or closes it if the pool is closed.
+	 */
+	public void release(PooledConnection pooled) {
+		if (pooled == null) {
+			return;
+		}
+		synchronized (idleConnections) {
+			if (!closed) {
+				idleConnections.offer(pooled);
+				idleConnections.notify();
+				return;
+			}
+			allConnections.remove(pooled);
+		}
+		closeQuietly(pooled);
+	}
+	
+	public int getMaxSize() {
+		return maxSize;
+	}
+	
+	public boolean isClosed() {
+		return closed;
+	}
+	
+	public void close() throws SQLException {
+		List<PooledConnection> idle;
+		synchronized (idleConnections) {
+			closed = true;
+			idle = new ArrayList<PooledConnection>(idleConnections);
+			allConnections.removeAll(idle);
+			idleConnections.clear();
+			idleConnections.notifyAll();
+		}
+		SQLException error = null;
+		for (PooledConnection pooled : idle) {
+			try {
+				pooled.close();
+			} catch (SQLException e) {
+				error = e;
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+	
+	protected void closeQuietly(PooledConnection pooled) {
+		try {
+			pooled.close();
+		} catch (SQLException e) {
+			log.warn("Connection close error: {}", url, e);
+		}
+	}
+
+}
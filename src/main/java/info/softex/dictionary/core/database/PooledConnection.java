@@ -0,0 +1,69 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection handed out by {@link DatabaseConnectionPool}. Prepared statements
+ * are created once per connection and reused by all subsequent borrowers, 
+ * so the instance must be used by one thread at a time.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class PooledConnection {
+	
+	protected final Connection connection;
+	
+	protected final Map<String, PreparedStatement> statements = new HashMap<String, PreparedStatement>();
+	
+	public PooledConnection(Connection connection) {
+		this.connection = connection;
+	}
+	
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		PreparedStatement statement = statements.get(sql);
+		if (statement == null) {
+			statement = connection.prepareStatement(sql);
+			statements.put(sql, statement);
+		}
+		return statement;
+	}
+	
+	public Connection getConnection() {
+		return connection;
+	}
+	
+	public void close() throws SQLException {
+		for (PreparedStatement statement : statements.values()) {
+			statement.close();
+		}
+		statements.clear();
+		connection.close();
+	}
+
+}
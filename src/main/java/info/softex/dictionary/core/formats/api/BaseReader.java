@@ -43,6 +43,7 @@ import java.util.Set;
  * @modified version 4.2,	03/06/2014
  * @modified version 4.6,	02/01/2015
  * @modified version 4.7,	03/26/2015
+ * @modified version 4.8,	10/17/2026
  *  
  * @author Dmitry Viktorov
  * 
@@ -140,4 +141,13 @@ public interface BaseReader {
 	 */
 	public ArticleInfo getRawArticleInfo(WordInfo wordInfo) throws BaseFormatException;
 	
+	/**
+	 * Returns the raw articles of many words at once. The implementations group 
+	 * the ids by the storage blocks, so every block is read and decoded only once.
+	 * 
+	 * @param ids - word ids, must be valid indexes of the word list
+	 * @return articles in the order of the ids
+	 */
+	public List<ArticleInfo> getRawArticleInfos(int[] ids) throws BaseFormatException;
+	
 }
@@ -52,6 +52,7 @@ import org.slf4j.LoggerFactory;
  * @since version 4.6,		01/26/2015
  * 
  * @modified version 4.7,	03/23/2015
+ * @modified version 4.8,	10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -164,6 +165,11 @@ public class DSLBaseReader extends SourceBaseReader {
 		return null;
 	}
 	
+	@Override
+	protected long getArticlePosition(int wordId) {
+		return dslArticleReader.getLinePointers().get(wordId);
+	}
+	
 	@Override
 	public ArticleInfo getAdaptedArticleInfo(WordInfo wordInfo) throws BaseFormatException {
 		ArticleInfo articleInfo = getRawArticleInfo(wordInfo);
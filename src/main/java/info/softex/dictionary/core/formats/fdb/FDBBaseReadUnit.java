@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -32,6 +33,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.Collator;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -48,9 +50,20 @@ import info.softex.dictionary.core.attributes.BaseResourceInfo;
 import info.softex.dictionary.core.attributes.LanguageDirectionsInfo;
 import info.softex.dictionary.core.attributes.WordInfo;
 import info.softex.dictionary.core.collation.AbstractCollatorFactory;
+import info.softex.dictionary.core.collation.PackedCollationKeys;
+import info.softex.dictionary.core.collections.DynamicListCacheModes;
+import info.softex.dictionary.core.collections.FrontCodedStringList;
+import info.softex.dictionary.core.collections.PackedIntMap;
+import info.softex.dictionary.core.collections.PackedStringMap;
+import info.softex.dictionary.core.collections.TrigramIndex;
+import info.softex.dictionary.core.database.DatabaseConnectionPool;
+import info.softex.dictionary.core.database.PooledConnection;
 import info.softex.dictionary.core.formats.api.BaseFormatException;
 import info.softex.dictionary.core.formats.fdb.collections.FDBDynamicListSet;
 import info.softex.dictionary.core.io.SmartInflaterInputStream;
+import info.softex.dictionary.core.metrics.MetricsRecorder;
+import info.softex.dictionary.core.metrics.MetricsUtils;
+import info.softex.dictionary.core.metrics.NoOpMetricsRecorder;
 import info.softex.dictionary.core.utils.SearchUtils;
 
 /**
@@ -61,6 +74,7 @@ import info.softex.dictionary.core.utils.SearchUtils;
  * @modified version 4.2, 03/05/2014
  * @modified version 4.6, 01/28/2015
  * @modified version 4.7, 03/26/2015
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -74,7 +88,7 @@ public class FDBBaseReadUnit {
 	
 	protected final String baseFilePath;
 	
-	protected final Connection connection;
+	protected final DatabaseConnectionPool connectionPool;
 	
 	protected List<String> words = null;
 	protected TreeMap<Integer, Integer> wordsRedirects = null;
@@ -86,51 +100,86 @@ public class FDBBaseReadUnit {
 	protected Collator collator = null; 
 	
 	protected final int wordListBlockSize;
+	protected boolean wordListResident = false;
+	protected boolean wordsCollationKeysEnabled = false;
 	
-	protected PreparedStatement selWordIdByWordSt;
-	protected PreparedStatement selWordRedirectByWordIdSt;
-	protected PreparedStatement selWordMappingByWordIdSt;
+	// Stored collation keys of the words, null if they are absent or don't match the collator
+	protected PackedCollationKeys wordsCollationKeys = null;
 	
-	protected PreparedStatement selWordsBy1LikeExpSt;
-    protected PreparedStatement selWordsBy2LikeExpSt;
-
-	protected PreparedStatement selArticleBlockByIdSt;
-	protected PreparedStatement selMediaResourceIdByKey;
-	protected PreparedStatement selMediaResourceBlockById; 
+	// Redirects and mappings preloaded at the base loading, null if they aren't resident
+	protected boolean wordsRelationsResident = false;
+	protected PackedIntMap residentRedirects = null;
+	protected PackedStringMap residentMappings = null;
+	
+	// Number of word list blocks restored ahead of a sequential scroll
+	protected int wordListPrefetchDepth = 0;
+	
+	// Residency policy of the word list blocks
+	protected DynamicListCacheModes wordListCacheMode = DynamicListCacheModes.SOFT;
+	protected int wordListCacheBlocks = FDBConstants.VALUE_WORD_LIST_CACHE_BLOCKS_DEFAULT;
+	protected boolean wordListPreload = false;
+	
+	// Built or read from the sidecar on the first infix search
+	protected boolean wordsTrigramIndexEnabled = false;
+	protected volatile TrigramIndex wordsTrigramIndex = null;
 	
-	protected PreparedStatement selBaseResourceByKey;
+	protected MetricsRecorder metrics = NoOpMetricsRecorder.INSTANCE;
+	
+	// Relations and mappings tables exist since FDB version 3
+	protected boolean relationsTablesExist = false;
 	
 	protected final AbstractCollatorFactory collatorFactory;
 	
 	protected final boolean main;
-	protected boolean loaded;
+	protected volatile boolean loaded;
+	
+	protected final int partNumber;
+	protected final FDBBlocksCache articleBlocksCache;
+	
+	// Start ids of the blocks, read once to avoid the MAX() sub-query per lookup
+	protected volatile FDBBlocksDirectory articleBlocksDirectory = null;
+	protected volatile FDBBlocksDirectory mediaBlocksDirectory = null;
 	
 	public FDBBaseReadUnit(boolean main, String baseFilePath, Connection connection, int wordListBlockSize, AbstractCollatorFactory collatorFactory) throws SQLException {
-		this.main = main;
+		this(main, baseFilePath, new DatabaseConnectionPool(connection), wordListBlockSize, collatorFactory);
+	}
+	
+	public FDBBaseReadUnit(boolean main, String baseFilePath, DatabaseConnectionPool connectionPool, int wordListBlockSize, AbstractCollatorFactory collatorFactory) throws SQLException {
+		this(main ? 1 : 0, baseFilePath, connectionPool, wordListBlockSize, collatorFactory, null);
+	}
+	
+	/**
+	 * Every read borrows a connection from the pool for the time of the request only, 
+	 * so the unit can be shared by threads as long as the pool holds more than one connection.
+	 * 
+	 * @param partNumber - 1 for the main base, 2 and higher for the secondary parts
+	 * @param articleBlocksCache - cache of decompressed article blocks, may be null
+	 */
+	public FDBBaseReadUnit(int partNumber, String baseFilePath, DatabaseConnectionPool connectionPool, int wordListBlockSize, AbstractCollatorFactory collatorFactory, FDBBlocksCache articleBlocksCache) throws SQLException {
+		this.main = partNumber == 1;
+		this.partNumber = partNumber;
+		this.articleBlocksCache = articleBlocksCache;
 		this.baseFilePath = baseFilePath;
-		this.connection = connection;
+		this.connectionPool = connectionPool;
 		this.wordListBlockSize = wordListBlockSize;
 		this.collatorFactory = collatorFactory;
 		
-		// Initialize Prepared Statements
+		// Check the tables for FDB version 3 and higher
 		if (main) {
-			selWordIdByWordSt = connection.prepareStatement(FDBSQLReadStatements.SELECT_WORD_ID_BY_WORD);
-			selMediaResourceIdByKey = connection.prepareStatement(FDBSQLReadStatements.SELECT_MEDIA_RESOURCE_ID_BY_MEDIA_RESOURCE_KEY);
-			selBaseResourceByKey = connection.prepareStatement(FDBSQLReadStatements.SELECT_BASE_RESOURCE_BY_KEY);
-			
-	        selWordsBy1LikeExpSt = connection.prepareStatement(FDBSQLReadStatements.SELECT_WORDS_BY_1_LIKE_EXP);
-	        selWordsBy2LikeExpSt = connection.prepareStatement(FDBSQLReadStatements.SELECT_WORDS_BY_2_LIKE_EXP);
-			
-			// Initialize statements for FDB version 3 and higher
-			ResultSet rs = connection.createStatement().executeQuery(FDBSQLReadStatements.CHECK_TABLE_WORDS_RELATIONS_EXISTS);
-			if (rs.next() && rs.getInt(1) > 0) {
-    			selWordRedirectByWordIdSt = connection.prepareStatement(FDBSQLReadStatements.SELECT_WORD_RELATION_REDIRECT_BY_WORD_ID);
-    			selWordMappingByWordIdSt = connection.prepareStatement(FDBSQLReadStatements.SELECT_WORD_MAPPING_BY_WORD_ID);
-    			log.info("FDB version 3 or higher is detected");
+			PooledConnection con = connectionPool.acquire();
+			try {
+				Statement st = con.getConnection().createStatement();
+				ResultSet rs = st.executeQuery(FDBSQLReadStatements.CHECK_TABLE_WORDS_RELATIONS_EXISTS);
+				if (rs.next() && rs.getInt(1) > 0) {
+					relationsTablesExist = true;
+					log.info("FDB version 3 or higher is detected");
+				}
+				rs.close();
+				st.close();
+			} finally {
+				connectionPool.release(con);
 			}
 		}
-		selMediaResourceBlockById = connection.prepareStatement(FDBSQLReadStatements.SELECT_MEDIA_RESOURCE_BLOCK_BY_MEDIA_RESOURCE_ID);
-		selArticleBlockByIdSt = connection.prepareStatement(FDBSQLReadStatements.SELECT_ARTICLE_BLOCK_BY_ID);
 		
 	}
 	
@@ -145,9 +194,11 @@ public class FDBBaseReadUnit {
 		baseInfo.setBaseFileSize(new File(baseFilePath).length());
 		baseInfo.setMediaBaseSeparate(false);
 		
+		PooledConnection con = null;
 		try {
 			
-			Statement statement = connection.createStatement();
+			con = connectionPool.acquire();
+			Statement statement = con.getConnection().createStatement();
 			ResultSet rs = statement.executeQuery(FDBSQLReadStatements.SELECT_ALL_BASE_PROPERTIES);
 			
 			while (rs.next()) {
@@ -161,6 +212,7 @@ public class FDBBaseReadUnit {
 			}
 			
 			rs.close();
+			statement.close();
 			
 			if (baseInfo.getMediaResourcesNumber() > 0) {
 				baseInfo.setMediaFormatName(baseInfo.getFormatName());
@@ -185,6 +237,12 @@ public class FDBBaseReadUnit {
 		} catch (Exception e) {
 			log.error("Error", e);
 			throw new BaseFormatException("Couldn't load BasePropertiesInfo: " + e.getMessage(), BaseFormatException.ERROR_CANT_LOAD_BASE_PROPERIES);
+		} finally {
+			connectionPool.release(con);
+		}
+		
+		if (baseInfo.getFormatVersion() > FDBConstants.MAX_SUPPORTED_FDB_VERSION) {
+			throw new BaseFormatException("FDB version is not supported: " + baseInfo.getFormatVersion(), BaseFormatException.ERROR_CANT_LOAD_BASE_PROPERIES);
 		}
 				
 		log.info("Dictionary Info: {}", baseInfo);
@@ -196,15 +254,20 @@ public class FDBBaseReadUnit {
 		return langDirections;
 	}
 	
-	public Set<String> getMediaResourceKeys() throws SQLException {
+	public synchronized Set<String> getMediaResourceKeys() throws SQLException {
 		if (mediaResources == null) {
-			mediaResources = new HashSet<String>();
-			PreparedStatement selMediaResourceKeys = connection.prepareStatement(FDBSQLReadStatements.SELECT_ALL_MEDIA_RESOURCE_KEYS);
-			ResultSet resRS = selMediaResourceKeys.executeQuery();
-			while (resRS.next()) {
-				mediaResources.add(resRS.getString(1));
+			Set<String> keys = new HashSet<String>();
+			PooledConnection con = connectionPool.acquire();
+			try {
+				ResultSet resRS = con.prepareStatement(FDBSQLReadStatements.SELECT_ALL_MEDIA_RESOURCE_KEYS).executeQuery();
+				while (resRS.next()) {
+					keys.add(resRS.getString(1));
+				}
+				resRS.close();
+			} finally {
+				connectionPool.release(con);
 			}
-			resRS.close();
+			mediaResources = keys;
 		}
 		return mediaResources;
 	}
@@ -213,18 +276,33 @@ public class FDBBaseReadUnit {
 		
 		BaseResourceInfo resourceInfo = null;
 		
-		selBaseResourceByKey.setString(1, resourceKey);
-		ResultSet rs = selBaseResourceByKey.executeQuery();
-		if (rs.next()) {
-			resourceInfo = new BaseResourceInfo(rs.getInt(1), rs.getString(2), rs.getBytes(3));
-			resourceInfo.setInfo1(rs.getString(7));
-			resourceInfo.setInfo2(rs.getString(8));
+		PooledConnection con = connectionPool.acquire();
+		try {
+			PreparedStatement selBaseResourceByKey = con.prepareStatement(FDBSQLReadStatements.SELECT_BASE_RESOURCE_BY_KEY);
+			selBaseResourceByKey.setString(1, resourceKey);
+			ResultSet rs = selBaseResourceByKey.executeQuery();
+			if (rs.next()) {
+				resourceInfo = new BaseResourceInfo(rs.getInt(1), rs.getString(2), getBlob(rs, 3));
+				resourceInfo.setInfo1(rs.getString(7));
+				resourceInfo.setInfo2(rs.getString(8));
+			}
+			rs.close();
+		} finally {
+			connectionPool.release(con);
 		}
 		
 		return resourceInfo;
 		
 	}
 	
+	/**
+	 * SQLite drivers since 3.8 return null for the empty blobs, e.g. the empty collation rules.
+	 */
+	protected static byte[] getBlob(ResultSet rs, int column) throws SQLException {
+		byte[] bytes = rs.getBytes(column);
+		return bytes != null ? bytes : new byte[0];
+	}
+	
 	public boolean isLoaded() {
 		return loaded;
 	}
@@ -232,14 +310,16 @@ public class FDBBaseReadUnit {
 	public LanguageDirectionsInfo loadLanguageDirectionsInfo() throws BaseFormatException {
 		langDirections = new LanguageDirectionsInfo();
 		
+		PooledConnection con = null;
 		try {
-			Statement statement = connection.createStatement();
+			con = connectionPool.acquire();
+			Statement statement = con.getConnection().createStatement();
 
 			ResultSet dcrRS = statement.executeQuery(FDBSQLReadStatements.SELECT_BASE_RESOURCE_DEFAULT_COLLATION_RULES);
 			if (dcrRS.next()) {
 				this.langDirections.setDefaultCollationProperties(
-					new String (dcrRS.getBytes(3), ENC_UTF8), 
-					new String (dcrRS.getBytes(4), ENC_UTF8), 
+					new String(getBlob(dcrRS, 3), ENC_UTF8), 
+					new String(getBlob(dcrRS, 4), ENC_UTF8), 
 					Integer.parseInt(dcrRS.getString(7))
 				);
 				
@@ -250,14 +330,15 @@ public class FDBBaseReadUnit {
 			while (lcrRS.next()) {
 				langDirections.addDirection(
 					lcrRS.getString(1), lcrRS.getString(2),
-					new String(lcrRS.getBytes(3), ENC_UTF8), 
-					new String(lcrRS.getBytes(4), ENC_UTF8),
+					new String(getBlob(lcrRS, 3), ENC_UTF8), 
+					new String(getBlob(lcrRS, 4), ENC_UTF8),
 					lcrRS.getString(8), lcrRS.getString(9),
 					Integer.parseInt(lcrRS.getString(7)), Boolean.parseBoolean(lcrRS.getString(10))
 				);
 			}
 			
 			lcrRS.close();
+			statement.close();
 
 			log.trace("Loaded Language Directions: {}", this.langDirections);
 			
@@ -272,6 +353,8 @@ public class FDBBaseReadUnit {
 		} catch (Exception e) {
 			log.error("Error", e);
 			throw new BaseFormatException("Unexpected error: " + e.getClass().getName() + ", " + e.getMessage());
+		} finally {
+			connectionPool.release(con);
 		}
 		
 		return this.langDirections;
@@ -279,6 +362,8 @@ public class FDBBaseReadUnit {
 	
 	public void load() throws BaseFormatException {
 		   
+		long loadStart = MetricsUtils.startTiming(metrics);
+		
     	try {
     		
     		long s1 = System.currentTimeMillis();
@@ -300,11 +385,32 @@ public class FDBBaseReadUnit {
 			log.debug("LanguageDirectionsInfo loaded, time: {} ms", s3 - s2);
 	
 			// Create dynamic list for words
-		    words = new FDBDynamicListSet(baseInfo.getWordsNumber(), wordListBlockSize, connection);
+			if (wordListResident) {
+				words = loadResidentWords();
+			} else {
+				FDBDynamicListSet dynamicWords = new FDBDynamicListSet(baseInfo.getWordsNumber(), wordListBlockSize, connectionPool);
+				dynamicWords.setMetricsRecorder(metrics);
+				dynamicWords.setCacheMode(wordListCacheMode, wordListCacheBlocks);
+				if (wordListPreload && wordListCacheMode == DynamicListCacheModes.STRONG) {
+					dynamicWords.preload(Math.min(connectionPool.getMaxSize(), Runtime.getRuntime().availableProcessors()));
+				}
+				if (wordListPrefetchDepth > 0) {
+					dynamicWords.setPrefetch(wordListPrefetchDepth, null);
+				}
+				words = dynamicWords;
+			}
 		    
 			long s4 = System.currentTimeMillis();
 			log.debug("Word list created, time: {} ms", s4 - s3);
 		    
+			if (wordsCollationKeysEnabled) {
+				wordsCollationKeys = loadWordsCollationKeys();
+			}
+			
+			if (wordsRelationsResident) {
+				loadResidentWordsRelations();
+			}
+			
 		    if (abbreviations == null) {
 		    	log.debug("Loading Abbreviations");
 		    	loadAbbreviations();
@@ -319,13 +425,115 @@ public class FDBBaseReadUnit {
 		}
     	
     	loaded = true;
+    	
+    	MetricsUtils.stopTiming(metrics, MetricsRecorder.BASE_LOAD_TIME, loadStart);
+		
+	}
+	
+	protected FrontCodedStringList loadResidentWords() throws SQLException {
+		FrontCodedStringList.Builder builder = new FrontCodedStringList.Builder(FrontCodedStringList.BUCKET_SIZE_DEFAULT);
+		PooledConnection con = connectionPool.acquire();
+		try {
+			Statement st = con.getConnection().createStatement();
+			ResultSet rs = st.executeQuery(FDBSQLReadStatements.SELECT_ALL_WORDS);
+			while (rs.next()) {
+				builder.add(rs.getString(1));
+			}
+			rs.close();
+			st.close();
+		} finally {
+			connectionPool.release(con);
+		}
+		FrontCodedStringList residentWords = builder.build();
+		log.info("Resident word list is loaded, words: {}, bytes: {}", residentWords.size(), residentWords.getMemorySize());
+		return residentWords;
+	}
+	
+	protected void loadResidentWordsRelations() throws SQLException {
+		PackedIntMap.Builder redirectsBuilder = new PackedIntMap.Builder(baseInfo.getWordsRelationsNumber());
+		PackedStringMap.Builder mappingsBuilder = new PackedStringMap.Builder(baseInfo.getWordsMappingsNumber());
+		if (relationsTablesExist) {
+			PooledConnection con = connectionPool.acquire();
+			try {
+				Statement st = con.getConnection().createStatement();
+				ResultSet rs = st.executeQuery(FDBSQLReadStatements.SELECT_ALL_WORD_RELATIONS_REDIRECTS);
+				while (rs.next()) {
+					redirectsBuilder.put(rs.getInt(1), rs.getInt(2));
+				}
+				rs.close();
+				rs = st.executeQuery(FDBSQLReadStatements.SELECT_ALL_WORD_MAPPINGS);
+				while (rs.next()) {
+					mappingsBuilder.put(rs.getInt(1), rs.getString(2));
+				}
+				rs.close();
+				st.close();
+			} finally {
+				connectionPool.release(con);
+			}
+		}
+		residentRedirects = redirectsBuilder.build();
+		residentMappings = mappingsBuilder.build();
+		log.info("Resident words relations are loaded, redirects: {}, mappings: {}, bytes: {}", new Object[] {residentRedirects.size(), residentMappings.size(), residentRedirects.getMemorySize() + residentMappings.getMemorySize()});
+	}
+	
+	/**
+	 * Loads the collation keys stored by the writer. The keys are verified on a sample 
+	 * of words because the collator of the reader may differ from the one of the writer.
+	 * 
+	 * @return the keys or null if they can't be used
+	 */
+	protected PackedCollationKeys loadWordsCollationKeys() throws SQLException {
+		
+		long start = System.currentTimeMillis();
+		PackedCollationKeys.Builder builder = new PackedCollationKeys.Builder(baseInfo.getWordsNumber());
+		
+		PooledConnection con = connectionPool.acquire();
+		try {
+			Statement st = con.getConnection().createStatement();
+			ResultSet rs = st.executeQuery(FDBSQLReadStatements.CHECK_TABLE_WORDS_COLLATION_KEYS_EXISTS);
+			boolean exists = rs.next() && rs.getInt(1) > 0;
+			rs.close();
+			if (!exists) {
+				st.close();
+				log.info("Words collation keys are not stored in the base");
+				return null;
+			}
+			rs = st.executeQuery(FDBSQLReadStatements.SELECT_ALL_WORDS_COLLATION_KEYS);
+			while (rs.next()) {
+				builder.add(rs.getBytes(1));
+			}
+			rs.close();
+			st.close();
+		} finally {
+			connectionPool.release(con);
+		}
+		
+		PackedCollationKeys keys = builder.build();
+		int wordsNumber = words.size();
+		if (keys.size() != wordsNumber) {
+			log.warn("Words collation keys are ignored, number of keys {} doesn't match number of words {}", keys.size(), wordsNumber);
+			return null;
+		}
+		int step = Math.max(1, wordsNumber / 16);
+		for (int i = 0; i < wordsNumber; i += step) {
+			int id = Math.min(i + step - 1, wordsNumber - 1);
+			if (!keys.equalsKey(id, collator.getCollationKey(words.get(id)).toByteArray())) {
+				log.warn("Words collation keys are ignored, the key of word {} doesn't match the collator", id);
+				return null;
+			}
+		}
+		
+		log.info("Words collation keys are loaded: {}, bytes: {}, time: {} ms", new Object[] {keys.size(), keys.getMemorySize(), System.currentTimeMillis() - start});
+		return keys;
 		
 	}
 	
 	protected void loadAbbreviations() throws BaseFormatException {
+		PooledConnection con = null;
 		try {
 			
-			Statement st = connection.createStatement();
+			con = connectionPool.acquire();
+			Statement st = con.getConnection().createStatement();
 		
 			ResultSet rs = st.executeQuery(FDBSQLReadStatements.SELECT_ABBREVIATIONS);
 			
@@ -334,12 +542,15 @@ public class FDBBaseReadUnit {
 				abbs.put(rs.getString(2), rs.getString(3));
 			}
 			rs.close();
+			st.close();
 			
 			this.abbreviations = Collections.unmodifiableMap(abbs);
 			
 		} catch (Exception e) {
 			log.error("Error", e);
 			throw new BaseFormatException("Couldn't load abbreviatins: " + e.getMessage());
+		} finally {
+			connectionPool.release(con);
 		}
 		
 	}
@@ -350,8 +561,11 @@ public class FDBBaseReadUnit {
 	 * @throws BaseFormatException 
 	 */
 	public int searchMediaResourceKeyIndex(String resourceKey) throws BaseFormatException {
+		PooledConnection con = null;
 		try {
 			
+			con = connectionPool.acquire();
+			PreparedStatement selMediaResourceIdByKey = con.prepareStatement(FDBSQLReadStatements.SELECT_MEDIA_RESOURCE_ID_BY_MEDIA_RESOURCE_KEY);
 			selMediaResourceIdByKey.setString(1, resourceKey);
 			ResultSet resIdRS = selMediaResourceIdByKey.executeQuery();
 			
@@ -366,25 +580,47 @@ public class FDBBaseReadUnit {
 		} catch (Exception e) {
 			log.error("Error", e);
 			throw new BaseFormatException("Media resource " + resourceKey + " couldn't be loaded: " + e.getMessage());
+		} finally {
+			connectionPool.release(con);
 		}
 	}
 	
 	public byte[] getMediaResource(int resourceId) throws BaseFormatException {
+		ByteBuffer buffer = getMediaResourceBuffer(resourceId);
+		byte[] resourceData = new byte[buffer.remaining()];
+		buffer.get(resourceData);
+		return resourceData;
+	}
+	
+	/**
+	 * @return the read-only buffer of the resource, it refers to the inflated 
+	 * frame for framed blocks, so the resource bytes aren't copied
+	 */
+	public ByteBuffer getMediaResourceBuffer(int resourceId) throws BaseFormatException {
+		PooledConnection con = null;
 		try {
 
-			byte[] resourceData = null;
+			ByteBuffer resourceData = null;
+			
+			int blockId = getMediaBlocksDirectory().findStartId(resourceId);
+			if (blockId < 0) {
+				throw new BaseFormatException("Data for media resourceId " + resourceId + " doesn't exist, possible base corruption");
+			}
 			
-			selMediaResourceBlockById.setInt(1, resourceId);
+			con = connectionPool.acquire();
+			PreparedStatement selMediaResourceBlockById = con.prepareStatement(FDBSQLReadStatements.SELECT_MEDIA_RESOURCE_BLOCK_BY_BLOCK_ID);
+			selMediaResourceBlockById.setInt(1, blockId);
+			long sqlStart = MetricsUtils.startTiming(metrics);
 			ResultSet resRS = selMediaResourceBlockById.executeQuery();
 			
 			if (resRS.next()) {
 				
-				log.debug("Retrieving article: media_resource_id: {}, media_resource_block_id: {}", resourceId, resRS.getInt(1));
-				int segmentNumber = resourceId - resRS.getInt(1);
+				log.debug("Retrieving article: media_resource_id: {}, media_resource_block_id: {}", resourceId, blockId);
+				int segmentNumber = resourceId - blockId;
 				
-				resourceData = readSegmentBytesFromStream(
-					new SmartInflaterInputStream(new ByteArrayInputStream(resRS.getBytes(2))), segmentNumber
-				);
+				byte[] storedBlock = resRS.getBytes(1);
+				MetricsUtils.stopTiming(metrics, MetricsRecorder.SQL_QUERY_TIME, sqlStart);
+				resourceData = readSegmentBuffer(storedBlock, segmentNumber);
 				
 			} else {
 				resRS.close();
@@ -394,9 +630,13 @@ public class FDBBaseReadUnit {
 
 			return resourceData;
 
+		} catch (BaseFormatException e) {
+			throw e;
 		} catch (Exception e) {
 			log.error("Error", e);
 			throw new BaseFormatException("Media resource " + resourceId + " couldn't be loaded: " + e.getMessage());
+		} finally {
+			connectionPool.release(con);
 		}
 		
 	}
@@ -418,9 +658,37 @@ public class FDBBaseReadUnit {
 	}
 	
 	public TreeMap<Integer, String> getWordsLike(String likeExp, int limit) throws BaseFormatException {
+		long start = MetricsUtils.startTiming(metrics);
+		try {
+			return searchWordsLike(likeExp, limit);
+		} finally {
+			MetricsUtils.stopTiming(metrics, MetricsRecorder.WORDS_SEARCH_TIME, start);
+		}
+	}
+	
+	protected TreeMap<Integer, String> searchWordsLike(String likeExp, int limit) throws BaseFormatException {
 
 		TreeMap<Integer, String> result = new TreeMap<>();
 
+        // Prefix expressions are searched in the sorted word list instead of scanning the table
+        String prefix = SearchUtils.getSQLLikePrefix(likeExp);
+        if (prefix != null && collator != null) {
+            long startTime = System.currentTimeMillis();
+            result = SearchUtils.searchPrefix(getWords(), collator, prefix, limit);
+            log.debug("Time for prefix search '{}': {} ms", prefix, System.currentTimeMillis() - startTime);
+            return result;
+        }
+
+        if (wordsTrigramIndexEnabled && likeExp != null) {
+            long startTime = System.currentTimeMillis();
+            result = getWordsTrigramIndex().search(getWords(), likeExp, limit);
+            if (result != null) {
+                log.debug("Time for trigram search '{}': {} ms", likeExp, System.currentTimeMillis() - startTime);
+                return result;
+            }
+            result = new TreeMap<>();
+        }
+
         if (likeExp != null && likeExp.length() > 0) {
 
             likeExp = SearchUtils.escapeSQLLike(likeExp, '!', '%');
@@ -428,21 +696,26 @@ public class FDBBaseReadUnit {
 
             String likeExpFLR = SearchUtils.revertFirstLetterRegister(likeExp);
 
+            PooledConnection con = null;
             try {
 
+                con = connectionPool.acquire();
                 ResultSet rs = null;
 
                 long startTime = System.currentTimeMillis();
+                long sqlStart = MetricsUtils.startTiming(metrics);
 
                 if (likeExpFLR != null) {
                     // Basic versions of SQLite don't support Unicode, so try to search
                     // the exp with first letter reverted
+                    PreparedStatement selWordsBy2LikeExpSt = con.prepareStatement(FDBSQLReadStatements.SELECT_WORDS_BY_2_LIKE_EXP);
                     selWordsBy2LikeExpSt.setString(1, likeExp);
                     selWordsBy2LikeExpSt.setString(2, likeExpFLR);
                     selWordsBy2LikeExpSt.setInt(3, limit);
                     rs = selWordsBy2LikeExpSt.executeQuery();
                     log.info("Time for executing a query with 2 like expressions '{}', '{}': {} ms", likeExp, likeExpFLR, System.currentTimeMillis() - startTime);
                 } else {
+                    PreparedStatement selWordsBy1LikeExpSt = con.prepareStatement(FDBSQLReadStatements.SELECT_WORDS_BY_1_LIKE_EXP);
                     selWordsBy1LikeExpSt.setString(1, likeExp);
                     selWordsBy1LikeExpSt.setInt(2, limit);
                     rs = selWordsBy1LikeExpSt.executeQuery();
@@ -450,17 +723,19 @@ public class FDBBaseReadUnit {
                 }
 
                 while (rs.next()) {
-                    log.info("Iter: {} ms", System.currentTimeMillis() - startTime);
                     result.put(rs.getInt(1), rs.getString(2));
                 }
 
                 rs.close();
+                MetricsUtils.stopTiming(metrics, MetricsRecorder.SQL_QUERY_TIME, sqlStart);
 
                 log.info("Time for search and words retrieval: {} ms", System.currentTimeMillis() - startTime);
 
             } catch (Exception e) {
                 log.error("Error", e);
                 throw new BaseFormatException("Couldn't read words by like expression: " + e.getMessage());
+            } finally {
+                connectionPool.release(con);
             }
         }
 
@@ -473,62 +748,74 @@ public class FDBBaseReadUnit {
 	 * 
 	 * @return Map of word IDs for redirects
 	 */
-	public TreeMap<Integer, Integer> getWordsRedirects() throws BaseFormatException {
+	public synchronized TreeMap<Integer, Integer> getWordsRedirects() throws BaseFormatException {
 		if (wordsRedirects == null) {
-			wordsRedirects = new TreeMap<Integer, Integer>();
+			TreeMap<Integer, Integer> redirects = new TreeMap<Integer, Integer>();
 			
-			// Check if the relations statement for FDB3 is defined
-			if (selWordRedirectByWordIdSt != null) {
+			// Check if the relations table for FDB3 exists
+			if (relationsTablesExist) {
+				PooledConnection con = null;
 				try {
 					
-					Statement statement = connection.createStatement();
+					con = connectionPool.acquire();
+					Statement statement = con.getConnection().createStatement();
 					ResultSet rs = statement.executeQuery(FDBSQLReadStatements.SELECT_ALL_WORD_RELATIONS_REDIRECTS);
 					
 					// Populate the redirects map
 					while (rs.next()) {
-						wordsRedirects.put(rs.getInt(1), rs.getInt(2));
+						redirects.put(rs.getInt(1), rs.getInt(2));
 					}
 					rs.close();
+					statement.close();
 					
 				} catch (Exception e) {
 					log.error("Error", e);
 					throw new BaseFormatException("Couldn't load redirects: " + e.getMessage());
+				} finally {
+					connectionPool.release(con);
 				}
 			} else {
 				log.info("Relations are empty because the FDB version is below 3");
 			}
 			
+			wordsRedirects = redirects;
 		} 
 		return wordsRedirects;
 	}
 	
-	public TreeMap<Integer, String> getWordsMappings() throws BaseFormatException {
+	public synchronized TreeMap<Integer, String> getWordsMappings() throws BaseFormatException {
 		if (wordsMappings == null) {
-			wordsMappings = new TreeMap<Integer, String>();
+			TreeMap<Integer, String> mappings = new TreeMap<Integer, String>();
 			
-			// Check if the mappings statement for FDB3 is defined
-			if (selWordMappingByWordIdSt != null) {
+			// Check if the mappings table for FDB3 exists
+			if (relationsTablesExist) {
 			
+				PooledConnection con = null;
 				try {
 					
-					Statement statement = connection.createStatement();
+					con = connectionPool.acquire();
+					Statement statement = con.getConnection().createStatement();
 					ResultSet rs = statement.executeQuery(FDBSQLReadStatements.SELECT_ALL_WORD_MAPPINGS);
 					
 					// Populate the redirects map
 					while (rs.next()) {
-						wordsMappings.put(rs.getInt(1), rs.getString(2));
+						mappings.put(rs.getInt(1), rs.getString(2));
 					}
 					rs.close();
+					statement.close();
 					
 				} catch (Exception e) {
 					log.error("Error", e);
 					throw new BaseFormatException("Couldn't load word mappings: " + e.getMessage());
+				} finally {
+					connectionPool.release(con);
 				}
 				
 			} else {
 				log.info("Mappings are empty because the FDB version is below 3");
 			}
 			
+			wordsMappings = mappings;
 		}
 		return wordsMappings;
 	}
@@ -540,7 +827,15 @@ public class FDBBaseReadUnit {
 	public int searchWordIndex(String word, boolean positive) throws BaseFormatException {
 		int index = -1;
 		try {
-			index = Collections.binarySearch(getWords(), word, this.collator);
+			List<String> wordList = getWords();
+			if (wordsCollationKeys != null) {
+				// The collator runs once for the searched word only
+				index = wordsCollationKeys.binarySearch(collator.getCollationKey(word).toByteArray());
+			} else if (wordList instanceof FrontCodedStringList) {
+				index = ((FrontCodedStringList) wordList).binarySearch(word, this.collator);
+			} else {
+				index = Collections.binarySearch(wordList, word, this.collator);
+			}
 			if (index < 0 && positive) {
 				index = Math.abs(index) - 1;
 			}
@@ -551,12 +846,115 @@ public class FDBBaseReadUnit {
 		return index;
 	}
 	
+	/**
+	 * Must be set before the base is loaded.
+	 */
+	public void setWordListResident(boolean wordListResident) {
+		this.wordListResident = wordListResident;
+	}
+	
+	/**
+	 * Must be set before the base is loaded.
+	 */
+	public void setWordsCollationKeysEnabled(boolean wordsCollationKeysEnabled) {
+		this.wordsCollationKeysEnabled = wordsCollationKeysEnabled;
+	}
+	
+	/**
+	 * Must be set before the base is loaded.
+	 */
+	public void setWordsRelationsResident(boolean wordsRelationsResident) {
+		this.wordsRelationsResident = wordsRelationsResident;
+	}
+	
+	/**
+	 * Must be set before the base is loaded, ignored if the word list is resident.
+	 */
+	public void setWordListPrefetchDepth(int wordListPrefetchDepth) {
+		this.wordListPrefetchDepth = wordListPrefetchDepth;
+	}
+	
+	/**
+	 * Must be set before the base is loaded, ignored if the word list is resident.
+	 * The preload applies to the STRONG mode only and runs on the pooled connections.
+	 */
+	public void setWordListCacheMode(DynamicListCacheModes wordListCacheMode, int wordListCacheBlocks, boolean wordListPreload) {
+		this.wordListCacheMode = wordListCacheMode;
+		this.wordListCacheBlocks = wordListCacheBlocks;
+		this.wordListPreload = wordListPreload;
+	}
+	
+	/**
+	 * Must be set before the base is loaded.
+	 */
+	public void setMetricsRecorder(MetricsRecorder metrics) {
+		this.metrics = NoOpMetricsRecorder.nonNull(metrics);
+	}
+	
+	public boolean hasResidentWordsRelations() {
+		return residentRedirects != null;
+	}
+	
+	public void setWordsTrigramIndexEnabled(boolean wordsTrigramIndexEnabled) {
+		this.wordsTrigramIndexEnabled = wordsTrigramIndexEnabled;
+	}
+	
+	protected TrigramIndex getWordsTrigramIndex() {
+		TrigramIndex index = wordsTrigramIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = wordsTrigramIndex;
+				if (index == null) {
+					index = TrigramIndex.loadOrBuild(new File(baseFilePath + TrigramIndex.FILE_EXTENSION), getBaseFile(), getWords());
+					wordsTrigramIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+	
+	public boolean hasWordsCollationKeys() {
+		return wordsCollationKeys != null;
+	}
+	
 	protected File getBaseFile() {
 		return new File(baseFilePath);
 	}
 	
 	//------------------------------------------
 	
+	protected byte[] readSegmentBytes(byte[] storedBlock, int segmentNumber) throws IOException {
+		long start = MetricsUtils.startTiming(metrics);
+		byte[] segment;
+		// Only the frame of the segment is inflated for framed blocks
+		if (FDBFramedDataBlock.isFramed(storedBlock)) {
+			segment = new FDBFramedDataBlock(storedBlock).getSegment(segmentNumber);
+		} else {
+			segment = readSegmentBytesFromStream(new SmartInflaterInputStream(new ByteArrayInputStream(storedBlock)), segmentNumber);
+		}
+		recordInflate(start, segment.length);
+		return segment;
+	}
+	
+	protected ByteBuffer readSegmentBuffer(byte[] storedBlock, int segmentNumber) throws IOException {
+		long start = MetricsUtils.startTiming(metrics);
+		ByteBuffer segment;
+		if (FDBFramedDataBlock.isFramed(storedBlock)) {
+			segment = new FDBFramedDataBlock(storedBlock).getSegmentBuffer(segmentNumber);
+		} else {
+			segment = ByteBuffer.wrap(readSegmentBytesFromStream(new SmartInflaterInputStream(new ByteArrayInputStream(storedBlock)), segmentNumber)).asReadOnlyBuffer();
+		}
+		recordInflate(start, segment.remaining());
+		return segment;
+	}
+	
+	protected void recordInflate(long start, long inflatedBytes) {
+		if (start != MetricsUtils.NOT_STARTED) {
+			MetricsUtils.stopTiming(metrics, MetricsRecorder.INFLATE_TIME, start);
+			metrics.increment(MetricsRecorder.INFLATED_BYTES, inflatedBytes);
+		}
+	}
+	
 	protected byte[] readSegmentBytesFromStream(SmartInflaterInputStream is, int segmentNumber) throws IOException {
 
 		long start = System.currentTimeMillis();
@@ -600,25 +998,34 @@ public class FDBBaseReadUnit {
 		
 		int articleId = wordInfo.getArticleId();
 		
+		if (articleBlocksCache != null) {
+			return getCachedRawArticleInfo(wordInfo, articleId);
+		}
+		
+		PooledConnection con = null;
 		try {
 			
-			selArticleBlockByIdSt.setInt(1, articleId);
+			int blockId = getArticleBlocksDirectory().findStartId(articleId);
+			
+			con = connectionPool.acquire();
+			PreparedStatement selArticleBlockByIdSt = con.prepareStatement(FDBSQLReadStatements.SELECT_ARTICLE_BLOCK_BY_BLOCK_ID);
+			selArticleBlockByIdSt.setInt(1, blockId);
+			long sqlStart = MetricsUtils.startTiming(metrics);
 			ResultSet rs = selArticleBlockByIdSt.executeQuery();
 
-			if (rs.next()) {
-				
-				int blockId = rs.getInt(1);
+			if (blockId >= 0 && rs.next()) {
 				
 				log.debug("Retrieving article: word_id: {}, article_block_id: {}", articleId, blockId);
 				int segmentNumber = articleId - blockId;
 				
-				byte[] decompBytes = readSegmentBytesFromStream(
-					new SmartInflaterInputStream(new ByteArrayInputStream(rs.getBytes(2))), segmentNumber
-				);
+				byte[] storedBlock = rs.getBytes(1);
+				MetricsUtils.stopTiming(metrics, MetricsRecorder.SQL_QUERY_TIME, sqlStart);
+				byte[] decompBytes = readSegmentBytes(storedBlock, segmentNumber);
 				
 				articleInfo = new ArticleInfo(wordInfo, new String(decompBytes, ENC_UTF8));
 				
 			} else {
+				rs.close();
 				throw new BaseFormatException("Article for the word " + wordInfo.getWord() + " doesn't exist, possible base corruption");
 			}
 			
@@ -631,12 +1038,192 @@ public class FDBBaseReadUnit {
 		} catch (Exception e) {
 			log.error("Error", e);
 			throw new BaseFormatException("Couldn't retrieve the article: " + e.getClass().getName() + ", " + e.getMessage());
+		} finally {
+			connectionPool.release(con);
 		}
 		
 		return articleInfo;
 		
 	}
 	
+	protected ArticleInfo getCachedRawArticleInfo(WordInfo wordInfo, int articleId) throws BaseFormatException {
+		
+		PooledConnection con = null;
+		try {
+			
+			int blockId = findArticleBlockId(getArticleBlocksDirectory(), wordInfo, articleId);
+			
+			// A connection is taken from the pool only if the block isn't cached
+			FDBDataBlock block = getCachedArticleBlock(blockId);
+			if (block == null) {
+				con = connectionPool.acquire();
+				block = readArticleBlock(con, blockId);
+			}
+			
+			ArticleInfo articleInfo = new ArticleInfo(wordInfo, block.getSegmentString(articleId - blockId, ENC_UTF8));
+			log.debug("Article: {}", articleInfo);
+			return articleInfo;
+			
+		} catch (BaseFormatException e) {
+			throw e;
+		} catch (Exception e) {
+			log.error("Error", e);
+			throw new BaseFormatException("Couldn't retrieve the article: " + e.getClass().getName() + ", " + e.getMessage());
+		} finally {
+			connectionPool.release(con);
+		}
+		
+	}
+	
+	/**
+	 * Reads the articles of the words stored in this part. Every article block 
+	 * is fetched and decompressed only once per call, so the words should come 
+	 * sorted by their article ids.
+	 * 
+	 * @param wordInfos - words with ids and resolved redirects
+	 * @return articles in the order of wordInfos
+	 */
+	public List<ArticleInfo> getRawArticleInfos(List<WordInfo> wordInfos) throws BaseFormatException {
+		
+		List<ArticleInfo> articleInfos = new ArrayList<ArticleInfo>(wordInfos.size());
+		
+		PooledConnection con = null;
+		try {
+			
+			// The directory is loaded before a connection is taken from the pool, 
+			// the connection is taken at the first block missing in the cache
+			FDBBlocksDirectory directory = getArticleBlocksDirectory();
+			
+			FDBDataBlock block = null;
+			int blockId = -1;
+			
+			for (WordInfo wordInfo : wordInfos) {
+				int articleId = wordInfo.getArticleId();
+				if (block == null || articleId < blockId || articleId >= blockId + block.getSegmentsNumber()) {
+					blockId = findArticleBlockId(directory, wordInfo, articleId);
+					block = getCachedArticleBlock(blockId);
+					if (block == null) {
+						if (con == null) {
+							con = connectionPool.acquire();
+						}
+						block = readArticleBlock(con, blockId);
+					}
+				}
+				articleInfos.add(new ArticleInfo(wordInfo, block.getSegmentString(articleId - blockId, ENC_UTF8)));
+			}
+			
+			log.debug("Articles retrieved in batch: {}", articleInfos.size());
+			
+		} catch (BaseFormatException e) {
+			throw e;
+		} catch (Exception e) {
+			log.error("Error", e);
+			throw new BaseFormatException("Couldn't retrieve the articles: " + e.getClass().getName() + ", " + e.getMessage());
+		} finally {
+			connectionPool.release(con);
+		}
+		
+		return articleInfos;
+		
+	}
+	
+	protected int findArticleBlockId(FDBBlocksDirectory directory, WordInfo wordInfo, int articleId) throws BaseFormatException {
+		int blockId = directory.findStartId(articleId);
+		if (blockId < 0) {
+			throw new BaseFormatException("Article for the word " + wordInfo.getWord() + " doesn't exist, possible base corruption");
+		}
+		return blockId;
+	}
+	
+	/**
+	 * Reads the start ids of the article and media blocks, otherwise 
+	 * they are read at the first lookup.
+	 */
+	public void loadBlocksDirectories() throws SQLException {
+		getArticleBlocksDirectory();
+		getMediaBlocksDirectory();
+	}
+	
+	protected FDBBlocksDirectory getArticleBlocksDirectory() throws SQLException {
+		FDBBlocksDirectory directory = articleBlocksDirectory;
+		if (directory == null) {
+			synchronized (this) {
+				if (articleBlocksDirectory == null) {
+					articleBlocksDirectory = loadBlocksDirectory(FDBSQLReadStatements.SELECT_ALL_ARTICLE_BLOCK_IDS);
+				}
+				directory = articleBlocksDirectory;
+			}
+		}
+		return directory;
+	}
+	
+	protected FDBBlocksDirectory getMediaBlocksDirectory() throws SQLException {
+		FDBBlocksDirectory directory = mediaBlocksDirectory;
+		if (directory == null) {
+			synchronized (this) {
+				if (mediaBlocksDirectory == null) {
+					mediaBlocksDirectory = loadBlocksDirectory(FDBSQLReadStatements.SELECT_ALL_MEDIA_RESOURCE_BLOCK_IDS);
+				}
+				directory = mediaBlocksDirectory;
+			}
+		}
+		return directory;
+	}
+	
+	protected FDBBlocksDirectory loadBlocksDirectory(String sql) throws SQLException {
+		long start = System.currentTimeMillis();
+		PooledConnection con = connectionPool.acquire();
+		try {
+			FDBBlocksDirectory directory = FDBBlocksDirectory.load(con, sql);
+			log.debug("Blocks directory of part {} is loaded, blocks: {}, time: {} ms", new Object[] {partNumber, directory.size(), System.currentTimeMillis() - start});
+			return directory;
+		} finally {
+			connectionPool.release(con);
+		}
+	}
+	
+	/**
+	 * @return the decompressed article block from the cache or null if 
+	 * the cache is disabled or doesn't hold the block
+	 */
+	protected FDBDataBlock getCachedArticleBlock(int blockId) {
+		if (articleBlocksCache == null) {
+			return null;
+		}
+		FDBDataBlock block = articleBlocksCache.get(FDBBlocksCache.createKey(partNumber, blockId));
+		if (block != null) {
+			metrics.increment(MetricsRecorder.ARTICLE_BLOCKS_CACHE_HITS, 1);
+		} else {
+			metrics.increment(MetricsRecorder.ARTICLE_BLOCKS_CACHE_MISSES, 1);
+		}
+		return block;
+	}
+	
+	/**
+	 * Reads and decompresses the article block, puts it to the cache if it's enabled.
+	 */
+	protected FDBDataBlock readArticleBlock(PooledConnection con, int blockId) throws SQLException, IOException, BaseFormatException {
+		PreparedStatement selBlockSt = con.prepareStatement(FDBSQLReadStatements.SELECT_ARTICLE_BLOCK_BY_BLOCK_ID);
+		selBlockSt.setInt(1, blockId);
+		long sqlStart = MetricsUtils.startTiming(metrics);
+		ResultSet rs = selBlockSt.executeQuery();
+		byte[] compressed = rs.next() ? rs.getBytes(1) : null;
+		rs.close();
+		MetricsUtils.stopTiming(metrics, MetricsRecorder.SQL_QUERY_TIME, sqlStart);
+		if (compressed == null) {
+			throw new BaseFormatException("Article block " + blockId + " doesn't exist, possible base corruption");
+		}
+		long inflateStart = MetricsUtils.startTiming(metrics);
+		FDBDataBlock block = FDBDataBlock.read(compressed);
+		recordInflate(inflateStart, block.getMemorySize());
+		
+		if (articleBlocksCache != null) {
+			articleBlocksCache.put(FDBBlocksCache.createKey(partNumber, blockId), block);
+			log.debug("Article block {} of part {} is cached: {}", new Object[] {blockId, partNumber, articleBlocksCache});
+		}
+		return block;
+	}
+	
 	public void getWordRedirect(WordInfo wordInfo) throws BaseFormatException {
 		
 		if (!wordInfo.hasIndex()) {
@@ -645,9 +1232,21 @@ public class FDBBaseReadUnit {
 		
 		int redirectToId = wordInfo.getId();
 		
+		if (residentRedirects != null) {
+			redirectToId = residentRedirects.get(redirectToId, -1);
+			if (redirectToId >= 0) {
+				wordInfo.setRedirectToId(redirectToId);
+				wordInfo.setRedirectToWord(getWords().get(redirectToId));
+			}
+			return;
+		}
+		
+		PooledConnection con = null;
 		try {
 			
 			// Check if redirect is available
+			con = connectionPool.acquire();
+			PreparedStatement selWordRedirectByWordIdSt = con.prepareStatement(FDBSQLReadStatements.SELECT_WORD_RELATION_REDIRECT_BY_WORD_ID);
 			selWordRedirectByWordIdSt.setInt(1, redirectToId);
 			ResultSet redirRS = selWordRedirectByWordIdSt.executeQuery();
 			if (redirRS.next()) {
@@ -661,6 +1260,8 @@ public class FDBBaseReadUnit {
 		} catch (Exception e) {
 			log.error("Error", e);
 			throw new BaseFormatException("Couldn't retrieve the relation: " + e.getClass().getName() + ", " + e.getMessage());
+		} finally {
+			connectionPool.release(con);
 		}
 		
 	}
@@ -673,9 +1274,20 @@ public class FDBBaseReadUnit {
 		
 		int redirectToId = wordInfo.getId();
 		
+		if (residentMappings != null) {
+			String mapping = residentMappings.get(redirectToId);
+			if (mapping != null && !mapping.isEmpty()) {
+				wordInfo.setWordMapping(mapping);
+			}
+			return;
+		}
+		
+		PooledConnection con = null;
 		try {
 			
 			// Check if redirect is available
+			con = connectionPool.acquire();
+			PreparedStatement selWordMappingByWordIdSt = con.prepareStatement(FDBSQLReadStatements.SELECT_WORD_MAPPING_BY_WORD_ID);
 			selWordMappingByWordIdSt.setInt(1, redirectToId);
 			ResultSet redirRS = selWordMappingByWordIdSt.executeQuery();
 			if (redirRS.next()) {
@@ -690,6 +1302,8 @@ public class FDBBaseReadUnit {
 		} catch (Exception e) {
 			log.error("Error", e);
 			throw new BaseFormatException("Couldn't retrieve the word mapping: " + e.getClass().getName() + ", " + e.getMessage());
+		} finally {
+			connectionPool.release(con);
 		}
 		
 	}
@@ -699,14 +1313,19 @@ public class FDBBaseReadUnit {
 	}
 	
 	public void close() throws Exception {
-		connection.close();
+		connectionPool.close();
 	}
 	
 	/**
 	 * The method is created for tests
 	 */
 	public Statement createStatement() throws SQLException {
-		return connection.createStatement();
+		PooledConnection con = connectionPool.acquire();
+		try {
+			return con.getConnection().createStatement();
+		} finally {
+			connectionPool.release(con);
+		}
 	}
 
 }
@@ -23,8 +23,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -32,6 +35,16 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import info.softex.dictionary.core.annotations.BaseFormat;
 import info.softex.dictionary.core.attributes.AbbreviationInfo;
@@ -44,13 +57,24 @@ import info.softex.dictionary.core.attributes.MediaResourceInfo;
 import info.softex.dictionary.core.attributes.MediaResourceKey;
 import info.softex.dictionary.core.attributes.WordInfo;
 import info.softex.dictionary.core.collation.AbstractCollatorFactory;
+import info.softex.dictionary.core.collections.DynamicListCacheModes;
+import info.softex.dictionary.core.collections.MediaResourcesCache;
+import info.softex.dictionary.core.metrics.MetricsRecorder;
+import info.softex.dictionary.core.metrics.MetricsUtils;
+import info.softex.dictionary.core.metrics.NoOpMetricsRecorder;
 import info.softex.dictionary.core.database.DatabaseConnectionFactory;
+import info.softex.dictionary.core.database.DatabaseConnectionPool;
 import info.softex.dictionary.core.formats.api.BaseFormatException;
 import info.softex.dictionary.core.formats.api.BaseReader;
 import info.softex.dictionary.core.utils.ArticleHtmlFormatter;
 
 /**
- * FDB (Free Dictionary Base) base reader.
+ * FDB (Free Dictionary Base) base reader. 
+ * 
+ * The reader is thread-safe: every request borrows a read-only connection 
+ * from the pool of the base part. With the default pool size of 1 the requests 
+ * are served one by one, {@link FDBConstants#PARAM_KEY_CONNECTIONS_POOL_SIZE} 
+ * lets them run concurrently.
  * 
  * @since version 2.6,      08/21/2011
  * 
@@ -60,6 +84,7 @@ import info.softex.dictionary.core.utils.ArticleHtmlFormatter;
  * @modified version 4.0,   02/08/2014
  * @modified version 4.6,   01/28/2015
  * @modified version 4.7,   03/26/2015
+ * @modified version 4.8,   10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -71,18 +96,42 @@ public class FDBBaseReader implements BaseReader {
 
 	public final static FormatInfo FORMAT_INFO = FormatInfo.buildFormatInfoFromAnnotation(FDBBaseReader.class);
 		
+	protected static final long WARM_UP_TERMINATION_TIMEOUT = 60000;
+	
 	protected final String mainBaseFilePath;
 
 	protected final FDBBaseReadUnit mainBase;
-	protected final TreeMap<Integer, FDBBaseReadUnit> dbs = new TreeMap<Integer, FDBBaseReadUnit>();
-	protected ArrayList<BaseRange> dbArticlesRanges;
-	protected ArrayList<BaseRange> dbMediaResourcesRanges;
+	
+	// Parts by their numbers, a part is opened by its task once, either on the first access or by the warm-up
+	protected final ConcurrentMap<Integer, PartTask> dbs = new ConcurrentHashMap<Integer, PartTask>();
+	protected final boolean partsWarmUp;
+	
+	// Null until the warm-up is started
+	protected ExecutorService warmUpExecutor = null;
+	
+	// The parts started after the reader is closed don't open their bases
+	protected volatile boolean closed = false;
+	
+	// First article and media ids of the dependent parts with the numbers of the parts
+	protected FDBBlocksDirectory dbArticlesParts;
+	protected int[] dbArticlesPartsNumbers;
+	protected FDBBlocksDirectory dbMediaResourcesParts;
+	protected int[] dbMediaResourcesPartsNumbers;
 	
 	protected final DatabaseConnectionFactory conFactory;
 	
 	protected final Map<String, String> dbParams;
 	
 	protected final int wordListBlockSize;
+	protected final int connectionsPoolSize;
+	
+	protected final FDBBlocksCache articleBlocksCache;
+	
+	// Null if disabled, the shared cache isn't cleared on close
+	protected final MediaResourcesCache mediaResourcesCache;
+	protected final boolean mediaResourcesCacheShared;
+	
+	protected final MetricsRecorder metrics;
 	
 	protected boolean hasWordsRelations = false;
 	protected boolean hasWordsMappings = false;
@@ -91,21 +140,106 @@ public class FDBBaseReader implements BaseReader {
 		dbParams = new HashMap<String, String>();
 		dbParams.put(DatabaseConnectionFactory.DB_NO_LOCALIZED_COLLATORS, "true");
 		dbParams.put(DatabaseConnectionFactory.DB_OPEN_READ_ONLY, "true");
+		dbParams.put(DatabaseConnectionFactory.DB_PROFILE, DatabaseConnectionFactory.DB_PROFILE_READ);
 		
 		int wordListBlockSize = FDBConstants.VALUE_WORD_LIST_BLOCK_SIZE_DEFAULT;
+		boolean wordListResident = false;
+		int wordListPrefetchDepth = 0;
+		DynamicListCacheModes wordListCacheMode = DynamicListCacheModes.SOFT;
+		int wordListCacheBlocks = FDBConstants.VALUE_WORD_LIST_CACHE_BLOCKS_DEFAULT;
+		boolean wordListPreload = false;
+		boolean wordsCollationKeys = false;
+		boolean wordsTrigramIndex = false;
+		boolean wordsRelationsResident = false;
+		boolean partsWarmUp = false;
+		MediaResourcesCache mediaResourcesCache = null;
+		MetricsRecorder metrics = null;
+		boolean mediaResourcesCacheShared = false;
+		int connectionsPoolSize = FDBConstants.VALUE_CONNECTIONS_POOL_SIZE_DEFAULT;
+		long articleBlocksCacheSize = FDBConstants.VALUE_ARTICLE_BLOCKS_CACHE_SIZE_DEFAULT;
 		if (inParams != null) {
 			Object wlbSize = inParams.get(FDBConstants.PARAM_KEY_WORD_LIST_BLOCK_SIZE);
 			if (wlbSize instanceof Integer) {
 				wordListBlockSize = (Integer) wlbSize;
 			}
+			Object wlResident = inParams.get(FDBConstants.PARAM_KEY_WORD_LIST_RESIDENT);
+			wordListResident = Boolean.TRUE.equals(wlResident) || "true".equals(wlResident);
+			Object wlpDepth = inParams.get(FDBConstants.PARAM_KEY_WORD_LIST_PREFETCH_DEPTH);
+			if (wlpDepth instanceof Number) {
+				wordListPrefetchDepth = ((Number) wlpDepth).intValue();
+			}
+			wordListCacheMode = DynamicListCacheModes.parse(inParams.get(FDBConstants.PARAM_KEY_WORD_LIST_CACHE_MODE), wordListCacheMode);
+			Object wlcBlocks = inParams.get(FDBConstants.PARAM_KEY_WORD_LIST_CACHE_BLOCKS);
+			if (wlcBlocks instanceof Number && ((Number) wlcBlocks).intValue() > 0) {
+				wordListCacheBlocks = ((Number) wlcBlocks).intValue();
+			}
+			Object wlPreload = inParams.get(FDBConstants.PARAM_KEY_WORD_LIST_PRELOAD);
+			wordListPreload = Boolean.TRUE.equals(wlPreload) || "true".equals(wlPreload);
+			Object wcKeys = inParams.get(FDBConstants.PARAM_KEY_WORDS_COLLATION_KEYS);
+			wordsCollationKeys = Boolean.TRUE.equals(wcKeys) || "true".equals(wcKeys);
+			Object wtIndex = inParams.get(FDBConstants.PARAM_KEY_WORDS_TRIGRAM_INDEX);
+			wordsTrigramIndex = Boolean.TRUE.equals(wtIndex) || "true".equals(wtIndex);
+			Object wrResident = inParams.get(FDBConstants.PARAM_KEY_WORDS_RELATIONS_RESIDENT);
+			wordsRelationsResident = Boolean.TRUE.equals(wrResident) || "true".equals(wrResident);
+			Object pWarmUp = inParams.get(FDBConstants.PARAM_KEY_PARTS_WARM_UP);
+			partsWarmUp = Boolean.TRUE.equals(pWarmUp) || "true".equals(pWarmUp);
+			Object dbCacheSize = inParams.get(FDBConstants.PARAM_KEY_DB_CACHE_SIZE);
+			if (dbCacheSize != null) {
+				dbParams.put(DatabaseConnectionFactory.DB_CACHE_SIZE, dbCacheSize.toString());
+			}
+			Object dbMmapSize = inParams.get(FDBConstants.PARAM_KEY_DB_MMAP_SIZE);
+			if (dbMmapSize != null) {
+				dbParams.put(DatabaseConnectionFactory.DB_MMAP_SIZE, dbMmapSize.toString());
+			}
+			Object mrCache = inParams.get(FDBConstants.PARAM_KEY_MEDIA_RESOURCES_CACHE);
+			Object mrcSize = inParams.get(FDBConstants.PARAM_KEY_MEDIA_RESOURCES_CACHE_SIZE);
+			if (mrCache instanceof MediaResourcesCache) {
+				mediaResourcesCache = (MediaResourcesCache) mrCache;
+				mediaResourcesCacheShared = true;
+			} else if (mrcSize instanceof Number && ((Number) mrcSize).longValue() > 0) {
+				mediaResourcesCache = new MediaResourcesCache(((Number) mrcSize).longValue());
+			}
+			Object metricsParam = inParams.get(FDBConstants.PARAM_KEY_METRICS);
+			if (metricsParam instanceof MetricsRecorder) {
+				metrics = (MetricsRecorder) metricsParam;
+			}
+			Object cpSize = inParams.get(FDBConstants.PARAM_KEY_CONNECTIONS_POOL_SIZE);
+			if (cpSize instanceof Integer && (Integer) cpSize > 0) {
+				connectionsPoolSize = (Integer) cpSize;
+			}
+			Object abcSize = inParams.get(FDBConstants.PARAM_KEY_ARTICLE_BLOCKS_CACHE_SIZE);
+			if (abcSize instanceof Number) {
+				articleBlocksCacheSize = ((Number) abcSize).longValue();
+			}
 		}
 
-		log.debug("WordList Block Size: {}", wordListBlockSize);
+		log.debug("WordList Block Size: {}, Connections Pool Size: {}", wordListBlockSize, connectionsPoolSize);
 		this.wordListBlockSize = wordListBlockSize;
+		this.connectionsPoolSize = connectionsPoolSize;
+		this.articleBlocksCache = articleBlocksCacheSize > 0 ? new FDBBlocksCache(articleBlocksCacheSize) : null;
+		this.mediaResourcesCache = mediaResourcesCache;
+		this.mediaResourcesCacheShared = mediaResourcesCacheShared;
+		this.partsWarmUp = partsWarmUp;
+		this.metrics = NoOpMetricsRecorder.nonNull(metrics);
 		this.mainBaseFilePath = fdbFile.getAbsolutePath();
 		this.conFactory = conFactory;
-		this.mainBase = new FDBBaseReadUnit(true, mainBaseFilePath, conFactory.createConnection(mainBaseFilePath, dbParams), wordListBlockSize, collatorFactory);
-		this.dbs.put(1, mainBase);
+		this.mainBase = new FDBBaseReadUnit(1, mainBaseFilePath, createConnectionPool(mainBaseFilePath), wordListBlockSize, collatorFactory, articleBlocksCache);
+		this.mainBase.setWordListResident(wordListResident);
+		this.mainBase.setMetricsRecorder(this.metrics);
+		this.mainBase.setWordListPrefetchDepth(wordListPrefetchDepth);
+		this.mainBase.setWordListCacheMode(wordListCacheMode, wordListCacheBlocks, wordListPreload);
+		this.mainBase.setWordsCollationKeysEnabled(wordsCollationKeys);
+		this.mainBase.setWordsTrigramIndexEnabled(wordsTrigramIndex);
+		this.mainBase.setWordsRelationsResident(wordsRelationsResident);
+		
+		PartTask mainTask = new PartTask(new Callable<FDBBaseReadUnit>() {
+			@Override
+			public FDBBaseReadUnit call() {
+				return mainBase;
+			}
+		});
+		mainTask.run();
+		this.dbs.put(1, mainTask);
 	}
 	
 	@Override
@@ -118,6 +252,7 @@ public class FDBBaseReader implements BaseReader {
 		ArticleInfo articleInfo = getRawArticleInfo(wordInfo);
 		if (articleInfo != null) {
 			BasePropertiesInfo baseInfo = mainBase.getBasePropertiesInfo();
+			long start = MetricsUtils.startTiming(metrics);
 			String article = ArticleHtmlFormatter.prepareArticle(
 				wordInfo.getArticleWord(),
 				articleInfo.getArticle(), getAbbreviationKeys(), 
@@ -126,6 +261,7 @@ public class FDBBaseReader implements BaseReader {
 				baseInfo.getAbbreviationsFormattingMode(),
 				baseInfo.getMediaResourcesNumber() != 0
 			);
+			MetricsUtils.stopTiming(metrics, MetricsRecorder.ARTICLE_FORMAT_TIME, start);
 			articleInfo.setArticle(article);
 		}
 		return articleInfo;
@@ -133,6 +269,7 @@ public class FDBBaseReader implements BaseReader {
 
 	@Override
 	public ArticleInfo getRawArticleInfo(WordInfo wordInfo) throws BaseFormatException {
+		long start = MetricsUtils.startTiming(metrics);
 		if (!wordInfo.hasIndex()) {
 			int wordId = searchWordIndex(wordInfo.getWord(), false);
 			if (wordId < 0) {
@@ -151,10 +288,78 @@ public class FDBBaseReader implements BaseReader {
 			mainBase.getWordMapping(wordInfo);
 		}
 		
-		ArticleInfo articleInfo = getBaseForArticle(wordInfo.getId()).getRawArticleInfo(wordInfo);
+		ArticleInfo articleInfo = getBaseForArticle(wordInfo.getArticleId()).getRawArticleInfo(wordInfo);
+		MetricsUtils.stopTiming(metrics, MetricsRecorder.ARTICLE_FETCH_TIME, start);
 		return articleInfo;
 	}
 	
+	/**
+	 * Redirects and mappings are taken from the preloaded or resident maps, the words 
+	 * are sorted by their article ids so every article block is read once.
+	 */
+	@Override
+	public List<ArticleInfo> getRawArticleInfos(int[] ids) throws BaseFormatException {
+		
+		List<String> words = getWords();
+		boolean resident = mainBase.hasResidentWordsRelations();
+		Map<Integer, Integer> redirects = hasWordsRelations && !resident ? getWordsRedirects() : null;
+		Map<Integer, String> mappings = hasWordsMappings && !resident ? getWordsMappings() : null;
+		
+		final WordInfo[] wordInfos = new WordInfo[ids.length];
+		Integer[] order = new Integer[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			WordInfo wordInfo = new WordInfo(ids[i], words.get(ids[i]));
+			if (resident) {
+				mainBase.getWordRedirect(wordInfo);
+				mainBase.getWordMapping(wordInfo);
+			}
+			if (redirects != null) {
+				Integer redirectToId = redirects.get(ids[i]);
+				if (redirectToId != null) {
+					wordInfo.setRedirectToId(redirectToId);
+					wordInfo.setRedirectToWord(words.get(redirectToId));
+				}
+			}
+			if (mappings != null) {
+				String mapping = mappings.get(ids[i]);
+				if (mapping != null && !mapping.isEmpty()) {
+					wordInfo.setWordMapping(mapping);
+				}
+			}
+			wordInfos[i] = wordInfo;
+			order[i] = i;
+		}
+		
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i1, Integer i2) {
+				int a1 = wordInfos[i1].getArticleId();
+				int a2 = wordInfos[i2].getArticleId();
+				return a1 < a2 ? -1 : (a1 == a2 ? 0 : 1);
+			}
+		});
+		
+		// Read the articles part by part
+		ArticleInfo[] articleInfos = new ArticleInfo[ids.length];
+		int start = 0;
+		while (start < order.length) {
+			FDBBaseReadUnit base = getBaseForArticle(wordInfos[order[start]].getArticleId());
+			List<WordInfo> partWordInfos = new ArrayList<WordInfo>();
+			int end = start;
+			while (end < order.length && getBaseForArticle(wordInfos[order[end]].getArticleId()) == base) {
+				partWordInfos.add(wordInfos[order[end]]);
+				end++;
+			}
+			List<ArticleInfo> partArticleInfos = base.getRawArticleInfos(partWordInfos);
+			for (int i = start; i < end; i++) {
+				articleInfos[order[i]] = partArticleInfos.get(i - start);
+			}
+			start = end;
+		}
+		
+		return Arrays.asList(articleInfos);
+	}
+	
 	@Override
 	public ArticleInfo getAdaptedArticleInfo(WordInfo wordInfo) throws BaseFormatException {
 		return getRawArticleInfo(wordInfo);
@@ -172,24 +377,78 @@ public class FDBBaseReader implements BaseReader {
 		
 		log.debug("Total dependent parts number: {}", depPartsNumber);
 		
-		dbArticlesRanges = new ArrayList<BaseRange>(depPartsNumber);
-		dbMediaResourcesRanges = new ArrayList<BaseRange>(depPartsNumber);
+		int[] artStarts = new int[depPartsNumber];
+		int[] artParts = new int[depPartsNumber];
+		int[] resStarts = new int[depPartsNumber];
+		int[] resParts = new int[depPartsNumber];
+		int artNumber = 0;
+		int resNumber = 0;
 		for (int i = 2; i < depPartsNumber + 2; i++) {
 			
 			int startArtId = baseProps.getBasePartsArticlesBlockIdStart(i);
 			if (startArtId >= 0) {
-				dbArticlesRanges.add(new BaseRange(startArtId, i));
+				artStarts[artNumber] = startArtId;
+				artParts[artNumber++] = i;
 				log.trace("Added articles block id start: {}", startArtId);
 			}
 			
 			int startResId = baseProps.getBasePartsMediaResourcesBlockIdStart(i);
 			if (startResId >= 0) {
-				dbMediaResourcesRanges.add(new BaseRange(startResId, i));
+				resStarts[resNumber] = startResId;
+				resParts[resNumber++] = i;
 				log.debug("Added media resources block id start: {}", startResId);				
 			}
 			
 		}
 		
+		dbArticlesParts = new FDBBlocksDirectory(Arrays.copyOf(artStarts, artNumber));
+		dbArticlesPartsNumbers = Arrays.copyOf(artParts, artNumber);
+		dbMediaResourcesParts = new FDBBlocksDirectory(Arrays.copyOf(resStarts, resNumber));
+		dbMediaResourcesPartsNumbers = Arrays.copyOf(resParts, resNumber);
+		
+		try {
+			mainBase.loadBlocksDirectories();
+		} catch (SQLException e) {
+			log.error("Error", e);
+			throw new BaseFormatException("Couldn't load the blocks directory: " + e.getMessage());
+		}
+		
+		if (partsWarmUp && depPartsNumber > 0) {
+			warmUpParts(depPartsNumber);
+		}
+		
+	}
+	
+	/**
+	 * Opens the dependent parts concurrently in background, the lookups 
+	 * of a part which is being opened wait for its opening only.
+	 */
+	protected synchronized void warmUpParts(int depPartsNumber) {
+		final long start = System.currentTimeMillis();
+		final AtomicInteger remaining = new AtomicInteger(depPartsNumber);
+		int threadsNumber = Math.min(depPartsNumber, Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threadsNumber, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "FDB Parts Warm-Up");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		for (int i = 2; i < depPartsNumber + 2; i++) {
+			final PartTask task = getBaseTask(i);
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					task.run();
+					if (remaining.decrementAndGet() == 0) {
+						log.info("Base parts are warmed up, time: {} ms", System.currentTimeMillis() - start);
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		warmUpExecutor = executor;
 	}
 	
 	@Override
@@ -270,9 +529,28 @@ public class FDBBaseReader implements BaseReader {
 	}
 	
 	@Override
-	public void close() throws Exception {
-		for (Integer dbn : dbs.keySet()) {
-			dbs.get(dbn).close();
+	public synchronized void close() throws Exception {
+		closed = true;
+		// The queued warm-up runs see the closed flag and return at once
+		if (warmUpExecutor != null) {
+			warmUpExecutor.awaitTermination(WARM_UP_TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+		for (PartTask task : dbs.values()) {
+			// A part started before the flag was set is awaited and closed, the ones 
+			// not started yet never open their bases, so there is nothing to wait for
+			if (task.started) {
+				try {
+					task.get().close();
+				} catch (ExecutionException e) {
+					log.debug("Part wasn't opened, nothing to close", e);
+				}
+			}
+		}
+		if (articleBlocksCache != null) {
+			articleBlocksCache.clear();
+		}
+		if (mediaResourcesCache != null && !mediaResourcesCacheShared) {
+			mediaResourcesCache.clear();
 		}
 	}
 	
@@ -325,8 +603,36 @@ public class FDBBaseReader implements BaseReader {
 			}
 			mediaKey.setId(resourceId);
 		}
-		byte[] resourceData = getBaseForMediaResource(mediaKey.getId()).getMediaResource(mediaKey.getId());			
-		return new MediaResourceInfo(mediaKey, resourceData);
+		
+		String cacheKey = null;
+		if (mediaResourcesCache != null) {
+			cacheKey = MediaResourcesCache.createKey(mainBaseFilePath, Integer.toString(mediaKey.getId()));
+			ByteBuffer cached = mediaResourcesCache.get(cacheKey);
+			if (cached != null) {
+				metrics.increment(MetricsRecorder.MEDIA_RESOURCES_CACHE_HITS, 1);
+				return createMediaResourceInfo(mediaKey, cached);
+			}
+			metrics.increment(MetricsRecorder.MEDIA_RESOURCES_CACHE_MISSES, 1);
+		}
+		
+		ByteBuffer resourceData = getBaseForMediaResource(mediaKey.getId()).getMediaResourceBuffer(mediaKey.getId());
+		if (mediaResourcesCache != null) {
+			mediaResourcesCache.put(cacheKey, resourceData);
+		}
+		return createMediaResourceInfo(mediaKey, resourceData);
+	}
+	
+	protected static MediaResourceInfo createMediaResourceInfo(MediaResourceKey mediaKey, ByteBuffer resourceData) {
+		MediaResourceInfo mediaInfo = new MediaResourceInfo(mediaKey, null);
+		mediaInfo.setByteBuffer(resourceData);
+		return mediaInfo;
+	}
+	
+	/**
+	 * @return the media resources cache with its hit/miss counters, null if the cache is disabled
+	 */
+	public MediaResourcesCache getMediaResourcesCache() {
+		return mediaResourcesCache;
 	}
 	
 	@Override
@@ -334,51 +640,105 @@ public class FDBBaseReader implements BaseReader {
 		return mainBase.isLoaded();
 	}
 	
+	/**
+	 * @return the cache of decompressed article blocks with its hit/miss counters, 
+	 * null if the cache is disabled
+	 */
+	public FDBBlocksCache getArticleBlocksCache() {
+		return articleBlocksCache;
+	}
+	
 	// Protected / Private -----------------------------------------
 	protected FDBBaseReadUnit getBaseForArticle(int articleId) throws BaseFormatException {
-		return getBaseForId(dbArticlesRanges, articleId);
+		return getBaseForId(dbArticlesParts, dbArticlesPartsNumbers, articleId);
 	}
 	
 	protected FDBBaseReadUnit getBaseForMediaResource(int resId) throws BaseFormatException {
-		return getBaseForId(dbMediaResourcesRanges, resId);
+		return getBaseForId(dbMediaResourcesParts, dbMediaResourcesPartsNumbers, resId);
 	}
 	
-	protected FDBBaseReadUnit getBaseForId(ArrayList<BaseRange> rangeList, int id) throws BaseFormatException {
-		BaseRange range = null;
-		for (Iterator<BaseRange> iterator = rangeList.iterator(); iterator.hasNext();) {
-			range = iterator.next();
-			if (id < range.startId) {
-				return getBase(range.baseNum - 1);
-			}
-		}
-		if (range != null) {
-			return getBase(range.baseNum);
+	protected FDBBaseReadUnit getBaseForId(FDBBlocksDirectory partsDirectory, int[] partsNumbers, int id) throws BaseFormatException {
+		int index = partsDirectory.indexOf(id);
+		if (index < 0) {
+			return mainBase;
 		}
-		return mainBase;
+		return getBase(partsNumbers[index]);
 	}
 	
-	
 	protected FDBBaseReadUnit getBase(int baseNumber) throws BaseFormatException {
-		log.debug("Base Part requesed: {}", baseNumber);
-		FDBBaseReadUnit base = dbs.get(baseNumber);
-		if (base == null) {
-			try {
-				base = new FDBBaseReadUnit(false, mainBaseFilePath + baseNumber, conFactory.createConnection(mainBaseFilePath + baseNumber, dbParams), wordListBlockSize, null);
-			} catch (Exception e) {
-				throw new BaseFormatException("Couldn't open base " + mainBaseFilePath + baseNumber + ": " + e.getMessage(), BaseFormatException.ERROR_CANT_OPEN_BASE);
+		PartTask task = getBaseTask(baseNumber);
+		
+		// Opens the part in the current thread unless it's opened or being opened by another one
+		task.run();
+		
+		try {
+			return task.get();
+		} catch (ExecutionException e) {
+			// Let the next lookup retry
+			dbs.remove(baseNumber, task);
+			throw new BaseFormatException("Couldn't open base " + mainBaseFilePath + baseNumber + ": " + e.getCause().getMessage(), BaseFormatException.ERROR_CANT_OPEN_BASE);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BaseFormatException("Interrupted while opening base " + mainBaseFilePath + baseNumber, BaseFormatException.ERROR_CANT_OPEN_BASE);
+		}
+	}
+	
+	protected PartTask getBaseTask(final int baseNumber) {
+		PartTask task = dbs.get(baseNumber);
+		if (task == null) {
+			PartTask newTask = new PartTask(new Callable<FDBBaseReadUnit>() {
+				@Override
+				public FDBBaseReadUnit call() throws Exception {
+					if (closed) {
+						throw new IllegalStateException("The reader is closed");
+					}
+					log.debug("Base Part requesed: {}", baseNumber);
+					DatabaseConnectionPool pool = createConnectionPool(mainBaseFilePath + baseNumber);
+					try {
+						FDBBaseReadUnit base = new FDBBaseReadUnit(baseNumber, mainBaseFilePath + baseNumber, pool, wordListBlockSize, null, articleBlocksCache);
+						base.setMetricsRecorder(metrics);
+						base.loadBlocksDirectories();
+						return base;
+					} catch (Exception e) {
+						pool.close();
+						throw e;
+					}
+				}
+			});
+			task = dbs.putIfAbsent(baseNumber, newTask);
+			if (task == null) {
+				task = newTask;
 			}
-			dbs.put(baseNumber, base);
 		}
-		return base;
+		return task;
+	}
+	
+	protected DatabaseConnectionPool createConnectionPool(String baseFilePath) throws SQLException {
+		DatabaseConnectionPool pool = new DatabaseConnectionPool(conFactory, baseFilePath, dbParams, connectionsPoolSize);
+		// Open the first connection right away to fail fast on a broken file
+		pool.release(pool.acquire());
+		return pool;
 	}
 	
-	protected class BaseRange {
-		final int startId;
-		final int baseNum;
-		BaseRange(int startId, int baseNum) {
-			this.startId = startId;
-			this.baseNum = baseNum;
+	/**
+	 * Part opening task remembering whether it has been run. The flag is set before
+	 * the closed flag is checked by the callable, so close() either sees the task 
+	 * started and awaits it, or the task sees the reader closed and opens nothing.
+	 */
+	protected static class PartTask extends FutureTask<FDBBaseReadUnit> {
+		
+		protected volatile boolean started = false;
+		
+		public PartTask(Callable<FDBBaseReadUnit> callable) {
+			super(callable);
 		}
+		
+		@Override
+		public void run() {
+			started = true;
+			super.run();
+		}
+		
 	}
 	
 }
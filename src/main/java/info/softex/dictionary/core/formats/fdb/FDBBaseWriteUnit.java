@@ -40,6 +40,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.text.Collator;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -63,6 +65,7 @@ import org.slf4j.LoggerFactory;
  * @modified version 4.5,	03/29/2014
  * @modified version 4.6,	01/28/2015
  * @modified version 4.7,	03/26/2015
+ * @modified version 4.8,	10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -102,6 +105,9 @@ public class FDBBaseWriteUnit {
 	protected int curMediaResourceBlockMemSize = 0;
 	protected LinkedList<byte[]> mediaResourcesBuffer = new LinkedList<byte[]>();
 	
+	// Blocks are written framed if the size is positive, see FDBFramedDataBlock
+	protected final int blockFrameSize;
+	
 	protected PreparedStatement insWordSt;
 	protected PreparedStatement insWordMappingSt;
 	protected PreparedStatement insWordRelationSt;
@@ -122,9 +128,17 @@ public class FDBBaseWriteUnit {
 	 * @throws IOException
 	 */
 	public FDBBaseWriteUnit(int baseIndex, String baseFilePath, Connection connection) throws IOException {
+		this(baseIndex, baseFilePath, connection, 0);
+	}
+	
+	/**
+	 * @param blockFrameSize - uncompressed size of the block frames, 0 to deflate the blocks as a whole
+	 */
+	public FDBBaseWriteUnit(int baseIndex, String baseFilePath, Connection connection, int blockFrameSize) throws IOException {
 		this.baseIndex = baseIndex;
 		this.baseFilePath = baseFilePath;
-		this.connection = connection;		
+		this.connection = connection;
+		this.blockFrameSize = blockFrameSize;
 	}
 
 	public void createBase(String... params) throws SQLException, NoSuchAlgorithmException {
@@ -201,7 +215,8 @@ public class FDBBaseWriteUnit {
 			this.baseInfo = inBaseInfo;
 			
 			inBaseInfo.setFormatName(inFormatInfo.getName());
-			inBaseInfo.setFormatVersion(FDBConstants.CURRENT_FDB_VERSION);
+			// The readers before version 4 can't decode framed blocks
+			inBaseInfo.setFormatVersion(blockFrameSize > 0 ? FDBConstants.FDB_VERSION_4 : FDBConstants.CURRENT_FDB_VERSION);
 			
 			// Dates
 			Date currentDate = new Date();
@@ -424,6 +439,55 @@ public class FDBBaseWriteUnit {
 
 	}
 	
+	/**
+	 * Stores the collation keys of all saved words, the words must be flushed before.
+	 * 
+	 * @return number of the stored keys
+	 */
+	public int saveWordsCollationKeys(Collator collator) throws SQLException {
+		
+		long startTime = System.currentTimeMillis();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		
+		Statement st = connection.createStatement();
+		st.executeUpdate(FDBSQLWriteStatements.CREATE_TABLE_WORDS_COLLATION_KEYS);
+		
+		List<String> words = new ArrayList<String>();
+		ResultSet rs = st.executeQuery(FDBSQLWriteStatements.SELECT_ALL_WORDS_WITH_IDS);
+		while (rs.next()) {
+			if (rs.getInt(1) != words.size()) {
+				rs.close();
+				st.close();
+				connection.rollback();
+				connection.setAutoCommit(autoCommit);
+				throw new SQLException("Word ids aren't sequential at " + words.size());
+			}
+			words.add(rs.getString(2));
+		}
+		rs.close();
+		st.close();
+		
+		PreparedStatement insKeySt = connection.prepareStatement(FDBSQLWriteStatements.INSERT_WORD_COLLATION_KEY);
+		for (int i = 0; i < words.size(); i++) {
+			insKeySt.setInt(1, i);
+			insKeySt.setBytes(2, collator.getCollationKey(words.get(i)).toByteArray());
+			insKeySt.addBatch();
+			if ((i + 1) % maxBatchSize == 0) {
+				insKeySt.executeBatch();
+				insKeySt.clearBatch();
+			}
+		}
+		insKeySt.executeBatch();
+		insKeySt.close();
+		
+		connection.commit();
+		connection.setAutoCommit(autoCommit);
+		
+		log.info("Words collation keys are saved: {}, time: {} ms", words.size(), System.currentTimeMillis() - startTime);
+		return words.size();
+	}
+	
 	public void saveRelation(int relationNumber, int wordNumber, int redirectToWordId, int relation) throws Exception {
 		
 		insWordRelationSt.setInt(1, relationNumber);
@@ -499,7 +563,7 @@ public class FDBBaseWriteUnit {
 			insWordRelationSt.clearBatch();
 		}
 		
-		insertBlockBatch(insArticleSt, articlesBuffer, curArticlesNumber, curArticleBlockMemSize);
+		insertBlockBatch(insArticleSt, articlesBuffer, curArticlesNumber, curArticleBlockMemSize, blockFrameSize);
 		articlesBuffer = new LinkedList<byte[]>();
 		curArticleBlockMemSize = 0;
 		
@@ -512,7 +576,7 @@ public class FDBBaseWriteUnit {
 			insMediaResourceKeySt.executeBatch();
 			insMediaResourceKeySt.clearBatch();
 		}
-		insertBlockBatch(insMediaResourceSt, mediaResourcesBuffer, curMediaResourcesNumber, curMediaResourceBlockMemSize);
+		insertBlockBatch(insMediaResourceSt, mediaResourcesBuffer, curMediaResourcesNumber, curMediaResourceBlockMemSize, blockFrameSize);
 		mediaResourcesBuffer = new LinkedList<byte[]>();
 		curMediaResourceBlockMemSize = 0;
 		
@@ -555,6 +619,11 @@ public class FDBBaseWriteUnit {
 	
 	protected static PreparedStatement insertBlockBatch(
 			PreparedStatement insBlockSt, List<byte[]> block, int id, int curBlockMemSize) throws UnsupportedEncodingException, IOException, SQLException {
+		return insertBlockBatch(insBlockSt, block, id, curBlockMemSize, 0);
+	}
+	
+	protected static PreparedStatement insertBlockBatch(
+			PreparedStatement insBlockSt, List<byte[]> block, int id, int curBlockMemSize, int frameSize) throws UnsupportedEncodingException, IOException, SQLException {
 		
 		if (block.size() == 0) {
 			log.debug("Block size is 0 for id {} and mem size is {}. Skipping insert.", id, curBlockMemSize);
@@ -565,6 +634,18 @@ public class FDBBaseWriteUnit {
 		
 		int blockSize = block.size(); // Only for logging
 		
+		if (frameSize > 0) {
+			byte[] framedData = FDBFramedDataBlock.compress(block, frameSize);
+			insBlockSt.setInt(1, id);
+			insBlockSt.setBytes(2, framedData);
+			insBlockSt.execute();
+			log.debug(
+				"Framed block flushed, elements: {}, uncomp size: {}, comp size: {}, time: {}", 
+				new Object[] {blockSize, curBlockMemSize, framedData.length, System.currentTimeMillis() - startTime}
+			);
+			return insBlockSt;
+		}
+		
 		int blockMemSize = curBlockMemSize + 4 * block.size() + 8;
 		
 		ByteBuffer buffer = ByteBuffer.allocate(blockMemSize);
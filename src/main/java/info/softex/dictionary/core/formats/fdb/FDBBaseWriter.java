@@ -30,15 +30,21 @@ import info.softex.dictionary.core.attributes.LanguageDirectionsInfo;
 import info.softex.dictionary.core.attributes.MediaResourceInfo;
 import info.softex.dictionary.core.attributes.ProgressInfo;
 import info.softex.dictionary.core.attributes.WordInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
 import info.softex.dictionary.core.database.DatabaseConnectionFactory;
 import info.softex.dictionary.core.formats.api.BaseWriter;
+import info.softex.dictionary.core.metrics.MetricsRecorder;
+import info.softex.dictionary.core.metrics.MetricsUtils;
+import info.softex.dictionary.core.metrics.NoOpMetricsRecorder;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
+import java.text.Collator;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Observer;
 
@@ -53,6 +59,7 @@ import org.slf4j.LoggerFactory;
  * @modified version 3.4, 07/02/2012
  * @modified version 4.5, 03/29/2014
  * @modified version 4.6, 02/01/2015
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -75,7 +82,11 @@ public class FDBBaseWriter implements BaseWriter {
 	protected long minMainBaseSize = 0;
 	protected long minSecondaryBaseSize = 0;
 	
+	protected int blockFrameSize = 0;
+	protected boolean wordsCollationKeys = false;
+	
 	protected final DatabaseConnectionFactory conFactory;
+	protected final Map<String, String> dbParams = new HashMap<String, String>();
 	
 	protected final int minArticleBlockMemSize = 200000;
 	protected final int minMediaResourceBlockMemSize = 200000;
@@ -96,6 +107,8 @@ public class FDBBaseWriter implements BaseWriter {
 	
 	protected boolean isClosed = false;
 	
+	protected MetricsRecorder metrics = NoOpMetricsRecorder.INSTANCE;
+	
 	public FDBBaseWriter(String inBaseFilePath, DatabaseConnectionFactory inConFactory, Map<String, String> params) throws SQLException, IOException {
 		if (params != null) {
 			
@@ -123,9 +136,21 @@ public class FDBBaseWriter implements BaseWriter {
 				}
 			}
 			
+			wordsCollationKeys = Boolean.parseBoolean(params.get(FDBConstants.PARAM_KEY_WORDS_COLLATION_KEYS));
+			
+			// Framed blocks
+			String frameSize = params.get(FDBConstants.PARAM_KEY_BLOCK_FRAME_SIZE);
+			if (frameSize != null) {
+				if (FDBConstants.PARAM_VALUE_DEFAULT.equalsIgnoreCase(frameSize)) {
+					blockFrameSize = FDBFramedDataBlock.FRAME_SIZE_DEFAULT;
+				} else {
+					blockFrameSize = (int) Math.max(0, parseLongNoException(frameSize));
+				}
+			}
+			
 		}
 		
-		log.info("FDB minimum main/secondary base sizes: {} / {}", minMainBaseSize, minSecondaryBaseSize);
+		log.info("FDB minimum main/secondary base sizes: {} / {}, block frame size: {}", new Object[] {minMainBaseSize, minSecondaryBaseSize, blockFrameSize});
 		
 		// Create the parent directory for the base file
 		File mainBaseDirPath = new File(inBaseFilePath).getParentFile();
@@ -135,7 +160,8 @@ public class FDBBaseWriter implements BaseWriter {
 		
 		this.mainBaseFilePath = inBaseFilePath;
 		this.conFactory = inConFactory;
-		this.mainBase = this.activeBase = new FDBBaseWriteUnit(1, inBaseFilePath, inConFactory.createConnection(inBaseFilePath, null));
+		this.dbParams.put(DatabaseConnectionFactory.DB_PROFILE, DatabaseConnectionFactory.DB_PROFILE_WRITE);
+		this.mainBase = this.activeBase = new FDBBaseWriteUnit(1, inBaseFilePath, inConFactory.createConnection(inBaseFilePath, dbParams), blockFrameSize);
 		this.dbs.add(mainBase);
 		
 	}
@@ -186,6 +212,7 @@ public class FDBBaseWriter implements BaseWriter {
 		}
 		
 		boolean isFlashed = activeBase.saveArticle(articleInfo.getArticle().trim(), wordsNumber++);
+		metrics.increment(MetricsRecorder.ARTICLES_WRITTEN, 1);
 		
 		updateProgress();
 		
@@ -209,6 +236,7 @@ public class FDBBaseWriter implements BaseWriter {
 		
 		mainBase.saveMediaResourceKey(mediaResourceInfo.getKey().getResourceKey(), mediaResourcesNumber);
 		boolean isFlashed = activeBase.saveMediaResource(mediaResourceInfo.getByteArray(), mediaResourcesNumber++);
+		metrics.increment(MetricsRecorder.MEDIA_RESOURCES_WRITTEN, 1);
 		
 		updateProgress();
 		
@@ -248,6 +276,9 @@ public class FDBBaseWriter implements BaseWriter {
 	public void close() throws Exception {
 		if (!isClosed) {
 			flush();
+			if (wordsCollationKeys) {
+				saveWordsCollationKeys();
+			}
 			for (int i = 0; i < dbs.size(); i++) {
 				dbs.get(i).close();
 			}
@@ -288,7 +319,7 @@ public class FDBBaseWriter implements BaseWriter {
 			}
 			baseFile.createNewFile();
 			
-			activeBase = new FDBBaseWriteUnit(newBaseIndex, newFilePath, conFactory.createConnection(newFilePath, null)); 
+			activeBase = new FDBBaseWriteUnit(newBaseIndex, newFilePath, conFactory.createConnection(newFilePath, dbParams), blockFrameSize); 
 			activeBase.createBase();
 			activeBase.saveBasePropertiesInfo(mainBase.getBasePropertiesInfo(), FORMAT_INFO);
 			dbs.add(activeBase);
@@ -349,6 +380,20 @@ public class FDBBaseWriter implements BaseWriter {
 
 	// Protected -----------------------------------
 	
+	/**
+	 * The collator is created the same way as by the FDB reader, the reader 
+	 * checks the keys anyway and ignores them if its collator differs.
+	 */
+	protected void saveWordsCollationKeys() throws Exception {
+		LanguageDirectionsInfo directionsInfo = mainBase.getLanguageDirectionsInfo();
+		if (directionsInfo == null) {
+			log.warn("Words collation keys aren't saved because the language directions are not defined");
+			return;
+		}
+		Collator collator = new BasicCollatorFactory().createCollator(directionsInfo.getCombinedCollationRules(), null, null);
+		mainBase.saveWordsCollationKeys(collator);
+	}
+	
 	protected void updateProgress() {
 		int current = abbreviationsNumber + wordsNumber + mediaResourcesNumber;
 		progressInfo.setCurrent(current);
@@ -357,6 +402,7 @@ public class FDBBaseWriter implements BaseWriter {
 	
 	@SuppressWarnings("deprecation")
 	protected void flushArticles() throws UnsupportedEncodingException, IOException, SQLException {
+		long start = MetricsUtils.startTiming(metrics);
 		mainBase.flushArticles(curWordsNumber);
 		if (activeBase != mainBase) {
 			activeBase.flushArticles(curWordsNumber);
@@ -370,15 +416,25 @@ public class FDBBaseWriter implements BaseWriter {
 		mainBase.updateBaseProperty(BasePropertiesInfo.PrimaryKey.WORDS_RELATIONS_NUMBER.getKey(), Integer.toString(wordsRelationsNumber));
 		mainBase.updateBaseProperty(BasePropertiesInfo.PrimaryKey.ARTICLES_ACTUAL_NUMBER.getKey(), Integer.toString(articlesActualNumber));
 		curWordsNumber = wordsNumber;
+		MetricsUtils.stopTiming(metrics, MetricsRecorder.WRITE_FLUSH_TIME, start);
 	}
 	
 	protected void flushMediaResources() throws UnsupportedEncodingException, IOException, SQLException {
+		long start = MetricsUtils.startTiming(metrics);
 		mainBase.flushMediaResources(curMediaResourcesNumber);
 		if (activeBase != mainBase) {
 			activeBase.flushMediaResources(curMediaResourcesNumber);
 		}
 		mainBase.updateBaseProperty(BasePropertiesInfo.PrimaryKey.MEDIA_RESOURCES_NUMBER.getKey(), Integer.toString(mediaResourcesNumber));
 		curMediaResourcesNumber = mediaResourcesNumber;
+		MetricsUtils.stopTiming(metrics, MetricsRecorder.WRITE_FLUSH_TIME, start);
+	}
+	
+	/**
+	 * The writer params are strings, so the recorder is set separately.
+	 */
+	public void setMetricsRecorder(MetricsRecorder metrics) {
+		this.metrics = NoOpMetricsRecorder.nonNull(metrics);
 	}
 	
 	protected static long parseLongNoException(String inString) {
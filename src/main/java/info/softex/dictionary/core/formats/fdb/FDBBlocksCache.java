@@ -0,0 +1,48 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.formats.fdb;
+
+import info.softex.dictionary.core.collections.SizeBoundedLRUCache;
+
+/**
+ * Cache of decompressed blocks shared by all parts of a base. 
+ * The key combines the part number and the block id.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class FDBBlocksCache extends SizeBoundedLRUCache<Long, FDBDataBlock> {
+	
+	public FDBBlocksCache(long maxSize) {
+		super(maxSize);
+	}
+	
+	public static Long createKey(int partNumber, int blockId) {
+		return ((long) partNumber << 32) | (blockId & 0xFFFFFFFFL);
+	}
+
+	@Override
+	protected long sizeOf(FDBDataBlock block) {
+		return block.getMemorySize();
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.formats.fdb;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import info.softex.dictionary.core.database.PooledConnection;
+
+/**
+ * Sorted start ids of the blocks, e.g. article blocks of an FDB part or 
+ * the first article ids of the parts. Finds the block owning an id 
+ * by a binary search w/o any allocations.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class FDBBlocksDirectory {
+	
+	protected final int[] startIds;
+	
+	/**
+	 * @param startIds - block start ids in the ascending order
+	 */
+	public FDBBlocksDirectory(int[] startIds) {
+		this.startIds = startIds;
+	}
+	
+	/**
+	 * Reads the first column of the query, the ids must be returned in the ascending order.
+	 */
+	public static FDBBlocksDirectory load(PooledConnection con, String sql) throws SQLException {
+		int[] ids = new int[256];
+		int size = 0;
+		Statement st = con.getConnection().createStatement();
+		try {
+			ResultSet rs = st.executeQuery(sql);
+			while (rs.next()) {
+				if (size == ids.length) {
+					ids = Arrays.copyOf(ids, size * 2);
+				}
+				ids[size++] = rs.getInt(1);
+			}
+			rs.close();
+		} finally {
+			st.close();
+		}
+		return new FDBBlocksDirectory(Arrays.copyOf(ids, size));
+	}
+	
+	/**
+	 * @return position of the block containing the id, -1 if the id is below the first block
+	 */
+	public int indexOf(int id) {
+		int pos = Arrays.binarySearch(startIds, id);
+		return pos >= 0 ? pos : -pos - 2;
+	}
+	
+	/**
+	 * @return start id of the block containing the id, -1 if the id is below the first block
+	 */
+	public int findStartId(int id) {
+		int pos = indexOf(id);
+		return pos >= 0 ? startIds[pos] : -1;
+	}
+	
+	public int getStartId(int index) {
+		return startIds[index];
+	}
+	
+	public int size() {
+		return startIds.length;
+	}
+	
+}
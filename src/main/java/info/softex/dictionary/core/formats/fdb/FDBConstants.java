@@ -26,6 +26,7 @@ package info.softex.dictionary.core.formats.fdb;
  * @modified version 4.0,	02/02/2014
  * @modified version 4.5,	03/29/2014
  * @modified version 4.6,	01/28/2015
+ * @modified version 4.8,	10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -36,16 +37,71 @@ public class FDBConstants {
 	public static final int FDB_VERSION_2 = 2;
 	public static final int FDB_VERSION_3 = 3;
 	
+	// Framed article and media blocks, the bases w/o framed blocks are still written as version 3
+	public static final int FDB_VERSION_4 = 4;
+	
 	public static final int CURRENT_FDB_VERSION = FDB_VERSION_3;
+	
+	// The bases of newer versions are rejected by the reader
+	public static final int MAX_SUPPORTED_FDB_VERSION = FDB_VERSION_4;
 
 	public static final String PARAM_KEY_WORD_LIST_BLOCK_SIZE = "wordListBlockSize";
 	
+	// If true, all words are loaded at once into a front-coded list kept in memory
+	public static final String PARAM_KEY_WORD_LIST_RESIDENT = "wordListResident";
+	
+	// Number of word list blocks restored in background ahead of a sequential scroll, 0 disables prefetching
+	public static final String PARAM_KEY_WORD_LIST_PREFETCH_DEPTH = "wordListPrefetchDepth";
+	
+	// Residency of the word list blocks: strong, soft or lru, the number of the pinned lru blocks 
+	// and if true, all blocks of the strong mode are restored at the loading
+	public static final String PARAM_KEY_WORD_LIST_CACHE_MODE = "wordListCacheMode";
+	public static final String PARAM_KEY_WORD_LIST_CACHE_BLOCKS = "wordListCacheBlocks";
+	public static final String PARAM_KEY_WORD_LIST_PRELOAD = "wordListPreload";
+	
+	// Number of read-only connections per base part, values above 1 enable concurrent reads
+	public static final String PARAM_KEY_CONNECTIONS_POOL_SIZE = "connectionsPoolSize";
+	
+	// Memory budget in bytes for decompressed article blocks, 0 disables the cache
+	public static final String PARAM_KEY_ARTICLE_BLOCKS_CACHE_SIZE = "articleBlocksCacheSize";
+	
+	// Writer: stores the collation keys of the words. Reader: searches the words by the stored keys.
+	public static final String PARAM_KEY_WORDS_COLLATION_KEYS = "wordsCollationKeys";
+	
+	// If true, '%substring%' searches use a trigram index saved to a sidecar file next to the base
+	public static final String PARAM_KEY_WORDS_TRIGRAM_INDEX = "wordsTrigramIndex";
+	
+	// If true, words redirects and mappings are preloaded into packed maps instead of queried per article
+	public static final String PARAM_KEY_WORDS_RELATIONS_RESIDENT = "wordsRelationsResident";
+	
+	// Memory budget in bytes for media resources, or a MediaResourcesCache instance shared by several readers
+	public static final String PARAM_KEY_MEDIA_RESOURCES_CACHE_SIZE = "mediaResourcesCacheSize";
+	public static final String PARAM_KEY_MEDIA_RESOURCES_CACHE = "mediaResourcesCache";
+	
+	// SQLite page cache size in pages and memory mapped I/O size in bytes of the read profile
+	public static final String PARAM_KEY_DB_CACHE_SIZE = "dbCacheSize";
+	public static final String PARAM_KEY_DB_MMAP_SIZE = "dbMmapSize";
+	
+	// If true, the dependent parts are opened concurrently in background after the main part is loaded
+	public static final String PARAM_KEY_PARTS_WARM_UP = "partsWarmUp";
+	
+	// MetricsRecorder instance receiving the counters and the timings of the reader,
+	// the writer takes the recorder by FDBBaseWriter.setMetricsRecorder()
+	public static final String PARAM_KEY_METRICS = "metrics";
+	
 	public static final String PARAM_KEY_BASE_MAIN_SIZE_LIMIT = "mainBaseSizeLimit";
 	public static final String PARAM_KEY_BASE_SECONDARY_SIZE_LIMIT = "secondaryBaseSizeLimit";
 	
+	// Uncompressed frame size of framed blocks or 'default', the blocks aren't framed if not set.
+	// Framed blocks can't be read by the readers before version 4.8, such bases are written as FDB version 4.
+	public static final String PARAM_KEY_BLOCK_FRAME_SIZE = "blockFrameSize";
+	
 	public static final String PARAM_VALUE_DEFAULT = "default";
 	
 	public static final int VALUE_WORD_LIST_BLOCK_SIZE_DEFAULT = 256;
+	public static final int VALUE_CONNECTIONS_POOL_SIZE_DEFAULT = 1;
+	public static final int VALUE_WORD_LIST_CACHE_BLOCKS_DEFAULT = 64;
+	public static final int VALUE_ARTICLE_BLOCKS_CACHE_SIZE_DEFAULT = 4 * 1024 * 1024;
 
 	// Relations
 	public static final int RELATION_REDIRECT_NORMAL = 1;
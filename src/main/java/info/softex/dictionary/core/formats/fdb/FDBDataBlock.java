@@ -0,0 +1,136 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.formats.fdb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decompressed article or media block. The block is stored as 
+ * <code>[count][len_0..len_n][payload]</code>, so the segment offsets are 
+ * computed once and any segment is then read straight from the buffer.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class FDBDataBlock {
+	
+	protected final byte[] data;
+	
+	// Offsets of the segments in the data, the last one is the end of the payload
+	protected final int[] offsets;
+	
+	public FDBDataBlock(byte[] data) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		if (data.length < 4) {
+			throw new IOException("Block is too short: " + data.length);
+		}
+		int count = buffer.getInt();
+		if (count < 0 || 4 + 4L * count > data.length) {
+			throw new IOException("Block segments number is invalid: " + count);
+		}
+		this.data = data;
+		this.offsets = new int[count + 1];
+		int offset = 4 + 4 * count;
+		for (int i = 0; i < count; i++) {
+			offsets[i] = offset;
+			offset += buffer.getInt();
+		}
+		offsets[count] = offset;
+		if (offset > data.length) {
+			throw new IOException("Block payload is truncated: " + offset + " > " + data.length);
+		}
+	}
+	
+	protected FDBDataBlock(byte[] data, int[] offsets) {
+		this.data = data;
+		this.offsets = offsets;
+	}
+	
+	/**
+	 * Creates the block from the bytes stored in the base, both the deflated 
+	 * and the framed formats are supported.
+	 */
+	public static FDBDataBlock read(byte[] stored) throws IOException {
+		if (FDBFramedDataBlock.isFramed(stored)) {
+			return new FDBFramedDataBlock(stored);
+		}
+		return inflate(stored);
+	}
+	
+	public static FDBDataBlock inflate(byte[] compressed) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+		InflaterInputStream is = new InflaterInputStream(new ByteArrayInputStream(compressed));
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = is.read(buffer)) > 0) {
+			out.write(buffer, 0, read);
+		}
+		is.close();
+		return new FDBDataBlock(out.toByteArray());
+	}
+	
+	public int getSegmentsNumber() {
+		return offsets.length - 1;
+	}
+	
+	public int getSegmentLength(int segmentNumber) {
+		checkSegmentNumber(segmentNumber);
+		return offsets[segmentNumber + 1] - offsets[segmentNumber];
+	}
+	
+	/**
+	 * @return the read-only buffer with the segment bytes between its position and limit
+	 */
+	public ByteBuffer getSegmentBuffer(int segmentNumber) throws IOException {
+		checkSegmentNumber(segmentNumber);
+		return ByteBuffer.wrap(data, offsets[segmentNumber], offsets[segmentNumber + 1] - offsets[segmentNumber]).asReadOnlyBuffer();
+	}
+	
+	public byte[] getSegment(int segmentNumber) throws IOException {
+		ByteBuffer buffer = getSegmentBuffer(segmentNumber);
+		byte[] segment = new byte[buffer.remaining()];
+		buffer.get(segment);
+		return segment;
+	}
+	
+	public String getSegmentString(int segmentNumber, String charset) throws IOException {
+		return new String(getSegment(segmentNumber), charset);
+	}
+	
+	/**
+	 * @return the approximate memory size of the block
+	 */
+	public long getMemorySize() {
+		return data.length + 4L * offsets.length;
+	}
+	
+	protected void checkSegmentNumber(int segmentNumber) {
+		if (segmentNumber < 0 || segmentNumber >= offsets.length - 1) {
+			throw new IndexOutOfBoundsException("Segment " + segmentNumber + " is out of block bounds: " + (offsets.length - 1));
+		}
+	}
+
+}
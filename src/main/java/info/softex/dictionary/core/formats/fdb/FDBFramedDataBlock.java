@@ -0,0 +1,257 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.formats.fdb;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Block of the framed format. The segments are grouped into frames of about 
+ * {@link #FRAME_SIZE_DEFAULT} bytes which are deflated independently, 
+ * and an uncompressed directory in front of them tells which frame 
+ * holds a segment. So reading a segment inflates only its frame.
+ * <p>
+ * Layout, all integers are big endian:
+ * <pre>
+ * [byte 'F'][byte version][int segments][int frames]
+ * [int segment length] * segments
+ * [int first segment of frame] * frames
+ * [int compressed length of frame] * frames
+ * [deflated frame] * frames
+ * </pre>
+ * The first byte can't start a zlib stream, what tells the framed blocks 
+ * from the ones deflated as a whole.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class FDBFramedDataBlock extends FDBDataBlock {
+	
+	public static final byte FORMAT_MARK = 'F';
+	public static final byte FORMAT_VERSION_1 = 1;
+	
+	public static final int FRAME_SIZE_DEFAULT = 16 * 1024;
+	
+	protected static final int HEADER_SIZE = 10;
+	
+	protected final int[] frameFirstSegments;
+	protected final int[] frameStarts;
+	protected final int[] frameLengths;
+	
+	protected final AtomicReferenceArray<byte[]> frames;
+	
+	public FDBFramedDataBlock(byte[] stored) throws IOException {
+		this(stored, readDirectory(stored));
+	}
+	
+	protected FDBFramedDataBlock(byte[] stored, int[][] directory) {
+		super(stored, directory[0]);
+		this.frameFirstSegments = directory[1];
+		this.frameStarts = directory[2];
+		this.frameLengths = directory[3];
+		this.frames = new AtomicReferenceArray<byte[]>(frameFirstSegments.length);
+	}
+	
+	public static boolean isFramed(byte[] stored) {
+		return stored != null && stored.length >= HEADER_SIZE && stored[0] == FORMAT_MARK;
+	}
+	
+	/**
+	 * Writes the segments as a framed block.
+	 */
+	public static byte[] compress(List<byte[]> segments, int frameSize) throws IOException {
+		
+		int segmentsNumber = segments.size();
+		
+		// Split the segments into frames
+		int[] firstSegments = new int[segmentsNumber];
+		int framesNumber = 0;
+		int curFrameSize = 0;
+		for (int i = 0; i < segmentsNumber; i++) {
+			if (i == 0 || curFrameSize >= frameSize) {
+				firstSegments[framesNumber++] = i;
+				curFrameSize = 0;
+			}
+			curFrameSize += segments.get(i).length;
+		}
+		
+		// Deflate every frame on its own
+		byte[][] compFrames = new byte[framesNumber][];
+		Deflater deflater = new Deflater();
+		try {
+			for (int f = 0; f < framesNumber; f++) {
+				int end = f + 1 < framesNumber ? firstSegments[f + 1] : segmentsNumber;
+				ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater);
+				for (int i = firstSegments[f]; i < end; i++) {
+					dos.write(segments.get(i));
+				}
+				dos.finish();
+				compFrames[f] = baos.toByteArray();
+				deflater.reset();
+			}
+		} finally {
+			deflater.end();
+		}
+		
+		int size = HEADER_SIZE + 4 * segmentsNumber + 8 * framesNumber;
+		for (int f = 0; f < framesNumber; f++) {
+			size += compFrames[f].length;
+		}
+		
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.put(FORMAT_MARK);
+		buffer.put(FORMAT_VERSION_1);
+		buffer.putInt(segmentsNumber);
+		buffer.putInt(framesNumber);
+		for (byte[] segment : segments) {
+			buffer.putInt(segment.length);
+		}
+		for (int f = 0; f < framesNumber; f++) {
+			buffer.putInt(firstSegments[f]);
+		}
+		for (int f = 0; f < framesNumber; f++) {
+			buffer.putInt(compFrames[f].length);
+		}
+		for (int f = 0; f < framesNumber; f++) {
+			buffer.put(compFrames[f]);
+		}
+		
+		return buffer.array();
+		
+	}
+	
+	/**
+	 * @return segment offsets in the inflated frames, first segments of the frames, 
+	 * frame starts and frame lengths in the stored block
+	 */
+	protected static int[][] readDirectory(byte[] stored) throws IOException {
+		
+		if (!isFramed(stored)) {
+			throw new IOException("The block is not framed");
+		}
+		
+		ByteBuffer buffer = ByteBuffer.wrap(stored);
+		buffer.get();
+		byte version = buffer.get();
+		if (version != FORMAT_VERSION_1) {
+			throw new IOException("Unsupported framed block version: " + version);
+		}
+		
+		int segmentsNumber = buffer.getInt();
+		int framesNumber = buffer.getInt();
+		if (segmentsNumber < 0 || framesNumber < 0 || HEADER_SIZE + 4L * segmentsNumber + 8L * framesNumber > stored.length) {
+			throw new IOException("Framed block directory is invalid: " + segmentsNumber + ", " + framesNumber);
+		}
+		
+		int[] offsets = new int[segmentsNumber + 1];
+		for (int i = 0; i < segmentsNumber; i++) {
+			offsets[i + 1] = offsets[i] + buffer.getInt();
+		}
+		
+		int[] firstSegments = new int[framesNumber];
+		for (int f = 0; f < framesNumber; f++) {
+			firstSegments[f] = buffer.getInt();
+		}
+		
+		int[] starts = new int[framesNumber];
+		int[] lengths = new int[framesNumber];
+		int start = HEADER_SIZE + 4 * segmentsNumber + 8 * framesNumber;
+		for (int f = 0; f < framesNumber; f++) {
+			lengths[f] = buffer.getInt();
+			starts[f] = start;
+			start += lengths[f];
+		}
+		if (start > stored.length) {
+			throw new IOException("Framed block is truncated: " + start + " > " + stored.length);
+		}
+		
+		return new int[][] {offsets, firstSegments, starts, lengths};
+		
+	}
+	
+	public int getFramesNumber() {
+		return frameFirstSegments.length;
+	}
+	
+	@Override
+	public ByteBuffer getSegmentBuffer(int segmentNumber) throws IOException {
+		checkSegmentNumber(segmentNumber);
+		
+		int frameNumber = Arrays.binarySearch(frameFirstSegments, segmentNumber);
+		if (frameNumber < 0) {
+			frameNumber = -frameNumber - 2;
+		}
+		
+		byte[] frame = getFrame(frameNumber);
+		int frameOffset = offsets[frameFirstSegments[frameNumber]];
+		
+		return ByteBuffer.wrap(frame, offsets[segmentNumber] - frameOffset, offsets[segmentNumber + 1] - offsets[segmentNumber]).asReadOnlyBuffer();
+	}
+	
+	/**
+	 * The frames are inflated on demand, the whole inflated block is 
+	 * included to the memory size to keep the cache budget an upper bound.
+	 */
+	@Override
+	public long getMemorySize() {
+		return data.length + 4L * offsets.length + 12L * frameFirstSegments.length + offsets[offsets.length - 1];
+	}
+	
+	protected byte[] getFrame(int frameNumber) throws IOException {
+		byte[] frame = frames.get(frameNumber);
+		if (frame == null) {
+			int endSegment = frameNumber + 1 < frameFirstSegments.length ? frameFirstSegments[frameNumber + 1] : offsets.length - 1;
+			frame = new byte[offsets[endSegment] - offsets[frameFirstSegments[frameNumber]]];
+			Inflater inflater = new Inflater();
+			try {
+				inflater.setInput(data, frameStarts[frameNumber], frameLengths[frameNumber]);
+				int read = 0;
+				while (read < frame.length) {
+					int curRead = inflater.inflate(frame, read, frame.length - read);
+					if (curRead == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+						break;
+					}
+					read += curRead;
+				}
+				if (read != frame.length) {
+					throw new IOException("Frame " + frameNumber + " is truncated: " + read + " < " + frame.length);
+				}
+			} catch (DataFormatException e) {
+				throw new IOException("Frame " + frameNumber + " couldn't be inflated: " + e.getMessage());
+			} finally {
+				inflater.end();
+			}
+			frames.compareAndSet(frameNumber, null, frame);
+		}
+		return frame;
+	}
+
+}
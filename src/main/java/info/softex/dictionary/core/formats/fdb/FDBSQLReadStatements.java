@@ -26,6 +26,7 @@ package info.softex.dictionary.core.formats.fdb;
  * @modified version 4.2, 03/05/2014
  * @modified version 4.6, 02/01/2015
  * @modified version 4.7, 03/26/2015
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -54,6 +55,9 @@ public class FDBSQLReadStatements {
 	public static final String SELECT_MEDIA_RESOURCES_NUMER =
 		"SELECT MAX(media_resource_id)+1 FROM " + FDBTables.media_resource_keys;
 	
+	public static final String SELECT_ALL_WORDS =	
+		"SELECT word FROM " + FDBTables.words + " ORDER BY word_id";
+	
 	public static final String SELECT_WORDS_IN_RANGE =	
 		"SELECT word FROM " + FDBTables.words + " WHERE word_id BETWEEN (?) AND (?)";
 
@@ -73,18 +77,20 @@ public class FDBSQLReadStatements {
 	public static final String SELECT_WORD_MAPPING_BY_WORD_ID =
 		"SELECT word_mapping_1,word_mapping_2 FROM " + FDBTables.words_mappings + " WHERE word_id=(?)";
 
-	public static final String SELECT_ARTICLE_BLOCK_BY_ID =
-		"SELECT article_block_id, article_block FROM " + FDBTables.article_blocks +
-		" WHERE article_block_id=(SELECT MAX(article_block_id) FROM " +
-		FDBTables.article_blocks + " WHERE article_block_id<=(?))";
+	public static final String SELECT_ALL_ARTICLE_BLOCK_IDS =
+		"SELECT article_block_id FROM " + FDBTables.article_blocks + " ORDER BY article_block_id";
+	
+	public static final String SELECT_ARTICLE_BLOCK_BY_BLOCK_ID =
+		"SELECT article_block FROM " + FDBTables.article_blocks + " WHERE article_block_id=(?)";
 	
 	public static final String SELECT_MEDIA_RESOURCE_ID_BY_MEDIA_RESOURCE_KEY =	
 		"SELECT media_resource_id from " + FDBTables.media_resource_keys + " WHERE media_resource_key=(?)";
 	
-	public static final String SELECT_MEDIA_RESOURCE_BLOCK_BY_MEDIA_RESOURCE_ID =	
-		"SELECT media_resource_block_id, media_resource_block FROM " + FDBTables.media_resource_blocks + 
-		" WHERE media_resource_block_id=(SELECT MAX(media_resource_block_id) FROM " + 
-		FDBTables.media_resource_blocks + " WHERE media_resource_block_id<=(?))";
+	public static final String SELECT_ALL_MEDIA_RESOURCE_BLOCK_IDS =
+		"SELECT media_resource_block_id FROM " + FDBTables.media_resource_blocks + " ORDER BY media_resource_block_id";
+	
+	public static final String SELECT_MEDIA_RESOURCE_BLOCK_BY_BLOCK_ID =
+		"SELECT media_resource_block FROM " + FDBTables.media_resource_blocks + " WHERE media_resource_block_id=(?)";
 	
 	public static final String SELECT_ALL_MEDIA_RESOURCE_KEYS =
 		"SELECT media_resource_key FROM " + FDBTables.media_resource_keys;
@@ -104,6 +110,12 @@ public class FDBSQLReadStatements {
 	
 	// SQLite Meta Info ---------------------------------------------------------
 	
+	public static final String CHECK_TABLE_WORDS_COLLATION_KEYS_EXISTS =
+		"SELECT count(*) FROM sqlite_master WHERE name='" + FDBTables.words_collation_keys + "'";
+	
+	public static final String SELECT_ALL_WORDS_COLLATION_KEYS =
+		"SELECT collation_key FROM " + FDBTables.words_collation_keys + " ORDER BY word_id";
+	
 	public static final String CHECK_TABLE_WORDS_RELATIONS_EXISTS =
 		"SELECT count(*) FROM sqlite_master WHERE name='" + FDBTables.words_relations + "'";
 	
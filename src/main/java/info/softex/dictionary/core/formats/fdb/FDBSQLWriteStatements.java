@@ -26,6 +26,7 @@ package info.softex.dictionary.core.formats.fdb;
  * @modified version 3.9, 01/29/2014
  * @modified version 4.0, 02/06/2014
  * @modified version 4.6, 01/28/2015
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -47,6 +48,13 @@ public class FDBSQLWriteStatements {
 		"CREATE INDEX words_mappings_word_mapping_2_idx ON " + FDBTables.words_mappings + "(word_mapping_2)";
 	
 	
+	// Words collation keys, optional
+	public static final String CREATE_TABLE_WORDS_COLLATION_KEYS =
+		"CREATE TABLE " + FDBTables.words_collation_keys + " (word_id INTEGER PRIMARY KEY, collation_key BLOB NOT NULL)";
+	
+	public static final String SELECT_ALL_WORDS_WITH_IDS =
+		"SELECT word_id, word FROM " + FDBTables.words + " ORDER BY word_id";
+	
 	// Words relations
 	public static final String CREATE_TABLE_WORDS_RELATIONS =
 		"CREATE TABLE " + FDBTables.words_relations +
@@ -103,6 +111,9 @@ public class FDBSQLWriteStatements {
 	public static final String INSERT_WORD =
 		"INSERT INTO " + FDBTables.words + " (word_id, word) VALUES(?, ?)";
 
+	public static final String INSERT_WORD_COLLATION_KEY =
+		"INSERT INTO " + FDBTables.words_collation_keys + " (word_id, collation_key) VALUES(?, ?)";
+	
 	public static final String INSERT_WORD_MAPPING =
 		"INSERT INTO " + FDBTables.words_mappings + " (word_id, word_mapping_1, word_mapping_2) VALUES(?, ?, ?)";
 	
@@ -25,6 +25,7 @@ package info.softex.dictionary.core.formats.fdb;
  * @since version 2.6, 		08/27/2011
  * 
  * @modified version 4.6,	01/28/2015
+ * @modified version 4.8,	10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -34,6 +35,7 @@ public enum FDBTables {
 	words,
 	words_mappings,
 	words_relations,
+	words_collation_keys,
 	article_blocks,
 	abbreviations,
 	language_directions,
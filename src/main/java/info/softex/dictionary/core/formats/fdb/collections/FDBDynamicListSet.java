@@ -22,6 +22,8 @@ package info.softex.dictionary.core.formats.fdb.collections;
 import info.softex.dictionary.core.collections.AbstractDynamicListSet;
 import info.softex.dictionary.core.collections.BasicCacheBlock;
 import info.softex.dictionary.core.collections.CacheBlockReferenceTypes;
+import info.softex.dictionary.core.database.DatabaseConnectionPool;
+import info.softex.dictionary.core.database.PooledConnection;
 import info.softex.dictionary.core.formats.fdb.FDBSQLReadStatements;
 
 import java.sql.Connection;
@@ -38,6 +40,8 @@ import org.slf4j.LoggerFactory;
  * 
  * @since version 2.6, 09/10/2011
  * 
+ * @modified version 4.8, 10/17/2026
+ * 
  * @author Dmitry Viktorov
  * 
  */
@@ -45,17 +49,17 @@ public class FDBDynamicListSet extends AbstractDynamicListSet<String> {
 	
 	private final Logger log = LoggerFactory.getLogger(FDBDynamicListSet.class.getSimpleName());
 	
-	private Connection connection = null;
+	private final DatabaseConnectionPool connectionPool;
 	
-	private PreparedStatement wordsRangeSt = null;
-
 	public FDBDynamicListSet(int maxSize, int blockSize, Connection inConnection) throws SQLException {
+		this(maxSize, blockSize, new DatabaseConnectionPool(inConnection));
+	}
+
+	public FDBDynamicListSet(int maxSize, int blockSize, DatabaseConnectionPool connectionPool) throws SQLException {
 		
 		super(maxSize, blockSize, CacheBlockReferenceTypes.SOFT);
 		
-		this.connection = inConnection;
-		
-		wordsRangeSt = this.connection.prepareStatement(FDBSQLReadStatements.SELECT_WORDS_IN_RANGE);
+		this.connectionPool = connectionPool;
 		
 		// Set other blocks
 		for (int i = 0; i < weakBlocksList.length; i++) {
@@ -64,6 +68,14 @@ public class FDBDynamicListSet extends AbstractDynamicListSet<String> {
 		
 	}
 
+	/**
+	 * Each restore acquires its own pooled connection.
+	 */
+	@Override
+	protected boolean isConcurrentRestoreSupported() {
+		return true;
+	}
+
 	@Override
 	protected List<String> restoreBlockContent(BasicCacheBlock<String> block) throws Exception {
 		
@@ -71,18 +83,24 @@ public class FDBDynamicListSet extends AbstractDynamicListSet<String> {
 		int endRow = startRow + blockSize - 1;
 		
 		long start = System.currentTimeMillis();
-			
-		wordsRangeSt.setInt(1, startRow);
-		wordsRangeSt.setInt(2, endRow);
 		
 		log.trace("Restoring block elements: start {}, end {}", startRow, endRow);
 		
-		ResultSet rs = wordsRangeSt.executeQuery();
-		
 		List<String> strongElements = new ArrayList<String>(blockSize);
-
-		while (rs.next()) {
-			strongElements.add(rs.getString(1));
+		
+		PooledConnection con = connectionPool.acquire();
+		try {
+			PreparedStatement wordsRangeSt = con.prepareStatement(FDBSQLReadStatements.SELECT_WORDS_IN_RANGE);
+			wordsRangeSt.setInt(1, startRow);
+			wordsRangeSt.setInt(2, endRow);
+			
+			ResultSet rs = wordsRangeSt.executeQuery();
+			while (rs.next()) {
+				strongElements.add(rs.getString(1));
+			}
+			rs.close();
+		} finally {
+			connectionPool.release(con);
 		}
 		
 		block.setElementsReference(strongElements, referenceType);
@@ -37,6 +37,8 @@ import info.softex.dictionary.core.utils.ArticleHtmlFormatter;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -56,6 +58,7 @@ import org.slf4j.LoggerFactory;
  * @modified version 4.2,	03/06/2014
  * @modified version 4.6,	01/26/2015
  * @modified version 4.7,	03/23/2015
+ * @modified version 4.8,	10/17/2026
  * 
  * @author Dmitry Viktorov
  *
@@ -286,11 +289,46 @@ public class SourceBaseReader implements BaseReader {
 		return null;
 	}
 	
+	/**
+	 * The articles are read in the order of their positions in the source file.
+	 */
+	@Override
+	public List<ArticleInfo> getRawArticleInfos(int[] ids) throws BaseFormatException {
+		final long[] positions = new long[ids.length];
+		Integer[] order = new Integer[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			positions[i] = getArticlePosition(ids[i]);
+			order[i] = i;
+		}
+		
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i1, Integer i2) {
+				long p1 = positions[i1];
+				long p2 = positions[i2];
+				return p1 < p2 ? -1 : (p1 == p2 ? 0 : 1);
+			}
+		});
+		
+		ArticleInfo[] articleInfos = new ArticleInfo[ids.length];
+		for (Integer i : order) {
+			articleInfos[i] = getRawArticleInfo(new WordInfo(ids[i], words.get(ids[i])));
+		}
+		return Arrays.asList(articleInfos);
+	}
+	
 	@Override
 	public ArticleInfo getAdaptedArticleInfo(WordInfo wordInfo) throws BaseFormatException {
 		return getRawArticleInfo(wordInfo);
 	}
 	
+	/**
+	 * Returns the position of the article in the source, used to order the batch reads.
+	 */
+	protected long getArticlePosition(int wordId) {
+		return wordId;
+	}
+	
 	protected List<String> loadWords() throws IOException, BaseFormatException {
 		File articleFile = new File(sourceDirectory + File.separator + SourceFileNames.FILE_ARTICLES);
 		articleReader = new SourceFileReader(articleFile, BUF_SIZE_ARTICLES);
@@ -0,0 +1,92 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd;
+
+import java.io.UnsupportedEncodingException;
+
+/**
+ * Inflated ZD article block. The articles are zero-terminated, their offsets
+ * are found once and an article is decoded only when it's requested.
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZDArticleBlock {
+
+	protected final byte[] data;
+
+	// Offsets of the articles in the data, the last one is the end of the last terminated article
+	protected final int[] offsets;
+
+	public ZDArticleBlock(byte[] data, int expectedArticlesNumber) {
+		this.data = data;
+		int[] found = new int[Math.max(expectedArticlesNumber, 1) + 1];
+		int count = 0;
+		int start = 0;
+		for (int i = 0; i < data.length; i++) {
+			if (data[i] == 0) {
+				if (count + 1 >= found.length) {
+					int[] grown = new int[found.length * 2];
+					System.arraycopy(found, 0, grown, 0, found.length);
+					found = grown;
+				}
+				found[count++] = start;
+				start = i + 1;
+			}
+		}
+		found[count] = start;
+		if (found.length == count + 1) {
+			this.offsets = found;
+		} else {
+			this.offsets = new int[count + 1];
+			System.arraycopy(found, 0, this.offsets, 0, count + 1);
+		}
+	}
+
+	public int getArticlesNumber() {
+		return offsets.length - 1;
+	}
+
+	/**
+	 * @return the article or null if the block has fewer articles
+	 */
+	public String getArticle(int articleNumber, String charsetName) throws UnsupportedEncodingException {
+		if (articleNumber < 0) {
+			throw new IndexOutOfBoundsException("Article " + articleNumber + " is out of block bounds");
+		}
+		if (articleNumber >= offsets.length - 1) {
+			return null;
+		}
+		int start = offsets[articleNumber];
+		// The length excludes the terminating zero
+		return new String(data, start, offsets[articleNumber + 1] - 1 - start, charsetName);
+	}
+
+	/**
+	 * @return the approximate memory size of the block
+	 */
+	public long getMemorySize() {
+		return data.length + 4L * offsets.length;
+	}
+
+}
@@ -34,16 +34,25 @@ import info.softex.dictionary.core.attributes.WordInfo;
 import info.softex.dictionary.core.collation.AbstractCollatorFactory;
 import info.softex.dictionary.core.collation.CollationRulesFactory;
 import info.softex.dictionary.core.collation.CollationRulesFactory.SimpleCollationProperties;
+import info.softex.dictionary.core.collections.DynamicListCacheModes;
+import info.softex.dictionary.core.collections.MediaResourcesCache;
+import info.softex.dictionary.core.collections.TrigramIndex;
+import info.softex.dictionary.core.metrics.MetricsRecorder;
+import info.softex.dictionary.core.metrics.MetricsUtils;
+import info.softex.dictionary.core.metrics.NoOpMetricsRecorder;
 import info.softex.dictionary.core.formats.api.BaseFormatException;
 import info.softex.dictionary.core.formats.api.BaseReader;
+import info.softex.dictionary.core.formats.zd.io.zip.TIIStreamScheduler;
 import info.softex.dictionary.core.regional.RegionalResolver;
 import info.softex.dictionary.core.utils.ArticleHtmlFormatter;
 import info.softex.dictionary.core.utils.SearchUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.text.Collator;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -69,6 +78,7 @@ import org.slf4j.LoggerFactory;
  * @modified version 4.0,	02/04/2014
  * @modified version 4.6,	02/01/2015
  * @modified version 4.7,   03/26/2015
+ * @modified version 4.8,   10/17/2026
  *  
  * @author Dmitry Viktorov
  * 
@@ -97,12 +107,87 @@ public class ZDBaseReader implements BaseReader {
 	
 	protected final AbstractCollatorFactory collatorFactory;
 	
+	protected final File zdFile;
+	
+	// Built or read from the sidecar on the first infix search
+	protected final boolean wordsTrigramIndexEnabled;
+	protected volatile TrigramIndex wordsTrigramIndex = null;
+	
+	// Null if disabled, the shared cache isn't cleared on close
+	protected final MediaResourcesCache mediaResourcesCache;
+	protected final boolean mediaResourcesCacheShared;
+	
+	protected final MetricsRecorder metrics;
+	
 	protected static final Locale LOCALE_DEFAULT = Locale.ENGLISH;
 	
 	public ZDBaseReader(File zdFile, RegionalResolver regionalResolver, AbstractCollatorFactory collatorFactory) throws IOException {
+		this(zdFile, regionalResolver, collatorFactory, null);
+	}
+	
+	public ZDBaseReader(File zdFile, RegionalResolver regionalResolver, AbstractCollatorFactory collatorFactory, Map<String, ?> inParams) throws IOException {
+		
+		Object wtIndex = inParams != null ? inParams.get(ZDConstants.PARAM_KEY_WORDS_TRIGRAM_INDEX) : null;
+		this.wordsTrigramIndexEnabled = Boolean.TRUE.equals(wtIndex) || "true".equals(wtIndex);
 		
+		Object mrCache = inParams != null ? inParams.get(ZDConstants.PARAM_KEY_MEDIA_RESOURCES_CACHE) : null;
+		Object mrcSize = inParams != null ? inParams.get(ZDConstants.PARAM_KEY_MEDIA_RESOURCES_CACHE_SIZE) : null;
+		this.mediaResourcesCacheShared = mrCache instanceof MediaResourcesCache;
+		if (mediaResourcesCacheShared) {
+			this.mediaResourcesCache = (MediaResourcesCache) mrCache;
+		} else if (mrcSize instanceof Number && ((Number) mrcSize).longValue() > 0) {
+			this.mediaResourcesCache = new MediaResourcesCache(((Number) mrcSize).longValue());
+		} else {
+			this.mediaResourcesCache = null;
+		}
+		
+		Object metricsParam = inParams != null ? inParams.get(ZDConstants.PARAM_KEY_METRICS) : null;
+		this.metrics = NoOpMetricsRecorder.nonNull(metricsParam instanceof MetricsRecorder ? (MetricsRecorder) metricsParam : null);
+		
+		this.zdFile = zdFile;
 		this.regionalResolver = regionalResolver;
 		this.zdReader = new ZDDynamicArticlesReader(regionalResolver, zdFile);
+		this.zdReader.setMetricsRecorder(this.metrics);
+		
+		Object wlpDepth = inParams != null ? inParams.get(ZDConstants.PARAM_KEY_WORD_LIST_PREFETCH_DEPTH) : null;
+		if (wlpDepth instanceof Number) {
+			this.zdReader.setWordListPrefetchDepth(((Number) wlpDepth).intValue());
+		}
+		
+		if (inParams != null) {
+			DynamicListCacheModes wlcMode = DynamicListCacheModes.parse(inParams.get(ZDConstants.PARAM_KEY_WORD_LIST_CACHE_MODE), DynamicListCacheModes.SOFT);
+			Object wlcBlocks = inParams.get(ZDConstants.PARAM_KEY_WORD_LIST_CACHE_BLOCKS);
+			Object wlPreload = inParams.get(ZDConstants.PARAM_KEY_WORD_LIST_PRELOAD);
+			this.zdReader.setWordListCacheMode(
+				wlcMode, 
+				wlcBlocks instanceof Number && ((Number) wlcBlocks).intValue() > 0 ? ((Number) wlcBlocks).intValue() : ZDConstants.VALUE_WORD_LIST_CACHE_BLOCKS_DEFAULT,
+				Boolean.TRUE.equals(wlPreload) || "true".equals(wlPreload)
+			);
+
+			Object icDirectory = inParams.get(ZDConstants.PARAM_KEY_INDEX_CACHE_DIRECTORY);
+			if (icDirectory instanceof File) {
+				this.zdReader.setIndexCacheDirectory((File) icDirectory);
+			} else if (icDirectory instanceof String) {
+				this.zdReader.setIndexCacheDirectory(new File((String) icDirectory));
+			}
+
+			Object abcSize = inParams.get(ZDConstants.PARAM_KEY_ARTICLE_BLOCKS_CACHE_SIZE);
+			if (abcSize instanceof Number) {
+				this.zdReader.setArticleBlocksCacheSize(((Number) abcSize).longValue());
+			}
+
+			Object sScheduler = inParams.get(ZDConstants.PARAM_KEY_STREAMS_SCHEDULER);
+			if (sScheduler instanceof TIIStreamScheduler) {
+				this.zdReader.setStreamsScheduler((TIIStreamScheduler) sScheduler);
+			}
+
+			Object wCheckpoints = inParams.get(ZDConstants.PARAM_KEY_WORDS_CHECKPOINTS);
+			Object wcSpan = inParams.get(ZDConstants.PARAM_KEY_WORDS_CHECKPOINTS_SPAN);
+			this.zdReader.setWordsCheckpoints(
+				Boolean.TRUE.equals(wCheckpoints) || "true".equals(wCheckpoints),
+				wcSpan instanceof Number && ((Number) wcSpan).longValue() > 0 ? ((Number) wcSpan).longValue() : ZDConstants.VALUE_WORDS_CHECKPOINTS_SPAN_DEFAULT
+			);
+		}
 		this.collatorFactory = collatorFactory;
 		
 		String zdFilePath = stripExtension(zdFile.getPath());
@@ -125,11 +210,38 @@ public class ZDBaseReader implements BaseReader {
 	@Override
 	public Map<Integer, String> getWordsLike(String likeExp, int limit) {
 		long startTime = System.currentTimeMillis();
-		TreeMap<Integer, String> result = SearchUtils.searchSQLLike(getWords(), likeExp, limit);
+		long start = MetricsUtils.startTiming(metrics);
+		TreeMap<Integer, String> result = null;
+		String prefix = SearchUtils.getSQLLikePrefix(likeExp);
+		if (prefix != null && collator != null) {
+			result = SearchUtils.searchPrefix(getWords(), collator, prefix, limit);
+		} else {
+			if (wordsTrigramIndexEnabled && likeExp != null) {
+				result = getWordsTrigramIndex().search(getWords(), likeExp, limit);
+			}
+			if (result == null) {
+				result = SearchUtils.searchSQLLike(getWords(), likeExp, limit);
+			}
+		}
+		MetricsUtils.stopTiming(metrics, MetricsRecorder.WORDS_SEARCH_TIME, start);
 		log.info("Time for search and words retrieval: {} ms", System.currentTimeMillis() - startTime);
 		return result;
 	}
 	
+	protected TrigramIndex getWordsTrigramIndex() {
+		TrigramIndex index = wordsTrigramIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = wordsTrigramIndex;
+				if (index == null) {
+					index = TrigramIndex.loadOrBuild(zdReader.getSidecarFile(TrigramIndex.FILE_EXTENSION), zdFile, getWords());
+					wordsTrigramIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+	
 	@Override
 	public Map<Integer, Integer> getWordsRedirects() throws BaseFormatException {
 		return null;
@@ -158,6 +270,21 @@ public class ZDBaseReader implements BaseReader {
 		return getArticleInfo(wordInfo, true);
 	}
 	
+	@Override
+	public List<ArticleInfo> getRawArticleInfos(int[] ids) throws BaseFormatException {
+		try {
+			String[] articles = zdReader.getArticles(ids);
+			List<ArticleInfo> articleInfos = new ArrayList<ArticleInfo>(ids.length);
+			for (int i = 0; i < ids.length; i++) {
+				articleInfos.add(new ArticleInfo(new WordInfo(ids[i], getWords().get(ids[i])), articles[i]));
+			}
+			return articleInfos;
+		} catch (Exception e) {
+			log.error("Error", e);
+			throw new BaseFormatException("Couldn't retrieve the articles: " + e.getMessage());
+		}
+	}
+	
 	@Override
 	public ArticleInfo getAdaptedArticleInfo(WordInfo wordInfo) throws BaseFormatException {
 		return getRawArticleInfo(wordInfo);
@@ -192,16 +319,20 @@ public class ZDBaseReader implements BaseReader {
 	
 	protected String getArticle(WordInfo wordInfo, boolean isRaw) throws Exception {
 		int index = wordInfo.getId();
+		long start = MetricsUtils.startTiming(metrics);
 		String article = zdReader.getArticle(index);
+		MetricsUtils.stopTiming(metrics, MetricsRecorder.ARTICLE_FETCH_TIME, start);
 		if (!isRaw) {
+			start = MetricsUtils.startTiming(metrics);
 			article = ArticleHtmlFormatter.prepareArticle(
 					wordInfo.getArticleWord(),
-					zdReader.getArticle(index), getAbbreviationKeys(), 
+					article, getAbbreviationKeys(), 
 					baseInfo.getArticlesFormattingMode(),
 					baseInfo.getArticlesFormattingInjectWordMode(),
 					baseInfo.getAbbreviationsFormattingMode(),
 					baseInfo.getMediaResourcesNumber() != 0
 				);
+			MetricsUtils.stopTiming(metrics, MetricsRecorder.ARTICLE_FORMAT_TIME, start);
 		}
 		return article;
 	}
@@ -217,6 +348,10 @@ public class ZDBaseReader implements BaseReader {
 			zdCloseError = true;
 		}
 		
+		if (mediaResourcesCache != null && !mediaResourcesCacheShared) {
+			mediaResourcesCache.clear();
+		}
+		
 		if (this.zpakReader != null) { 
 			try {
 				zpakReader.close();
@@ -289,7 +424,38 @@ public class ZDBaseReader implements BaseReader {
 			log.info(".zpak file is not found. Cannot load resource: {}", mediaKey);
 			return null;
 		}
-		return new MediaResourceInfo(mediaKey, zpakReader.loadMediaResource(mediaKey.getResourceKey()));
+		
+		// Mapped resources are cheap to slice, only the zipped ones are cached
+		String resourceKey = mediaKey.getResourceKey();
+		String cacheKey = null;
+		if (mediaResourcesCache != null && !zpakReader.isResourceMapped(resourceKey)) {
+			cacheKey = MediaResourcesCache.createKey(zpakReader.getFilePath(), ZPAKResourceIndex.normalizeName(resourceKey));
+			ByteBuffer cached = mediaResourcesCache.get(cacheKey);
+			if (cached != null) {
+				metrics.increment(MetricsRecorder.MEDIA_RESOURCES_CACHE_HITS, 1);
+				return createMediaResourceInfo(mediaKey, cached);
+			}
+			metrics.increment(MetricsRecorder.MEDIA_RESOURCES_CACHE_MISSES, 1);
+		}
+		
+		ByteBuffer resourceData = zpakReader.loadMediaResourceBuffer(resourceKey);
+		if (cacheKey != null && resourceData != null) {
+			mediaResourcesCache.put(cacheKey, resourceData);
+		}
+		return createMediaResourceInfo(mediaKey, resourceData);
+	}
+	
+	protected static MediaResourceInfo createMediaResourceInfo(MediaResourceKey mediaKey, ByteBuffer resourceData) {
+		MediaResourceInfo mediaInfo = new MediaResourceInfo(mediaKey, null);
+		mediaInfo.setByteBuffer(resourceData);
+		return mediaInfo;
+	}
+	
+	/**
+	 * @return the media resources cache with its hit/miss counters, null if the cache is disabled
+	 */
+	public MediaResourcesCache getMediaResourcesCache() {
+		return mediaResourcesCache;
 	}
 	
 	@Override
@@ -26,6 +26,7 @@ package info.softex.dictionary.core.formats.zd;
  * 
  * @modified version 2.2, 05/08/2011
  * @modified version 2.6, 09/02/2011
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  *
@@ -41,8 +42,56 @@ public class ZDConstants {
 	
 	public static final int POOL_READ_STREAMS_NUMBER = 32;
 	
+	/**
+	 * @deprecated the pooled streams are positioned by the shared TIIStreamScheduler
+	 */
+	@Deprecated
 	public static final int POOL_READ_THREADS_NUMBER = 4;
 
+	/**
+	 * @deprecated the pooled streams are positioned by the shared TIIStreamScheduler
+	 */
+	@Deprecated
 	public static final int POOL_RETURN_THREADS_NUMBER = 2;
 	
+	// Number of word list blocks restored in background ahead of a sequential scroll, 0 disables prefetching
+	public static final String PARAM_KEY_WORD_LIST_PREFETCH_DEPTH = "wordListPrefetchDepth";
+	
+	// Residency of the word list blocks: strong, soft or lru, the number of the pinned lru blocks 
+	// and if true, all blocks of the strong mode are restored at the loading
+	public static final String PARAM_KEY_WORD_LIST_CACHE_MODE = "wordListCacheMode";
+	public static final String PARAM_KEY_WORD_LIST_CACHE_BLOCKS = "wordListCacheBlocks";
+	public static final String PARAM_KEY_WORD_LIST_PRELOAD = "wordListPreload";
+	
+	public static final int VALUE_WORD_LIST_CACHE_BLOCKS_DEFAULT = 64;
+	
+	// MetricsRecorder instance receiving the counters and the timings of the reader
+	public static final String PARAM_KEY_METRICS = "metrics";
+	
+	// If true, '%substring%' searches use a trigram index saved to a sidecar file next to the base
+	public static final String PARAM_KEY_WORDS_TRIGRAM_INDEX = "wordsTrigramIndex";
+	
+	// Memory budget in bytes for the zipped ZPAK resources, or a MediaResourcesCache instance shared by several readers
+	public static final String PARAM_KEY_MEDIA_RESOURCES_CACHE_SIZE = "mediaResourcesCacheSize";
+	public static final String PARAM_KEY_MEDIA_RESOURCES_CACHE = "mediaResourcesCache";
+
+	// If true, the word list blocks are restored from the inflate checkpoints saved to a sidecar file,
+	// the span is the number of the uncompressed bytes between the checkpoints
+	public static final String PARAM_KEY_WORDS_CHECKPOINTS = "wordsCheckpoints";
+	public static final String PARAM_KEY_WORDS_CHECKPOINTS_SPAN = "wordsCheckpointsSpan";
+
+	public static final int VALUE_WORDS_CHECKPOINTS_SPAN_DEFAULT = 262144;
+	
+	// TIIStreamScheduler instance positioning the pooled word list streams, the process wide one is used by default
+	public static final String PARAM_KEY_STREAMS_SCHEDULER = "streamsScheduler";
+	
+	// Directory (File or path) of the memory-mapped open-time index of the base, the sidecars 
+	// are also kept there instead of next to the base
+	public static final String PARAM_KEY_INDEX_CACHE_DIRECTORY = "indexCacheDirectory";
+	
+	// Memory budget in bytes for inflated article blocks, 0 disables the cache
+	public static final String PARAM_KEY_ARTICLE_BLOCKS_CACHE_SIZE = "articleBlocksCacheSize";
+	
+	public static final int VALUE_ARTICLE_BLOCKS_CACHE_SIZE_DEFAULT = 4 * 1024 * 1024;
+	
 }
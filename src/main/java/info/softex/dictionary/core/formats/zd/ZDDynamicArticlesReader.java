@@ -19,25 +19,32 @@
 
 package info.softex.dictionary.core.formats.zd;
 
+import info.softex.dictionary.core.collections.DynamicListCacheModes;
 import info.softex.dictionary.core.formats.api.BaseFormatException;
 import info.softex.dictionary.core.formats.zd.collections.ZDDynamicListSet;
 import info.softex.dictionary.core.formats.zd.io.LittleEndianDataInputStream;
 import info.softex.dictionary.core.formats.zd.io.LittleEndianRandomAccessFile;
 import info.softex.dictionary.core.formats.zd.io.zip.TIIStream;
-import info.softex.dictionary.core.io.SmartInflaterInputStream;
+import info.softex.dictionary.core.formats.zd.io.zip.TIIStreamScheduler;
+import info.softex.dictionary.core.metrics.MetricsRecorder;
+import info.softex.dictionary.core.metrics.MetricsUtils;
+import info.softex.dictionary.core.metrics.NoOpMetricsRecorder;
 import info.softex.dictionary.core.regional.RegionalResolver;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.lang.ref.SoftReference;
-import java.util.ArrayList;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +56,7 @@ import org.slf4j.LoggerFactory;
  * @modified version 2.0, 03/12/2011
  * @modified version 2.5, 08/02/2011
  * @modified version 2.6, 09/18/2011
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  *
@@ -62,27 +70,47 @@ public class ZDDynamicArticlesReader {
 	protected final File dictFile;
 	protected LittleEndianRandomAccessFile raf = null;
 	
+	// Article blocks are read by the absolute positions from the channel
+	protected RandomAccessFile articlesFile = null;
+	protected FileChannel articlesChannel = null;
+	
+	// Inflated article blocks, null if disabled
+	protected ZDBlocksCache articleBlocksCache = new ZDBlocksCache(ZDConstants.VALUE_ARTICLE_BLOCKS_CACHE_SIZE_DEFAULT);
+	
 	protected ZDDynamicListSet dynamicWords = null;
 	
+	// Either the dynamic words or the words mapped from the index cache
+	protected List<String> words = null;
+	
 	protected Map<String, String> abbreviations = null;
 	protected int[] blockOffsets = null;
-	protected BlockCache lastLoadedBlock = null;
 	protected ZDHeader zdHeader = null;
 	//protected final ProgressInfo progressInfo = new ProgressInfo();
 	
 	protected boolean loaded = false;
 	
-	protected LittleEndianDataInputStream ledis = null;
+	// Number of word list blocks restored ahead of a sequential scroll
+	protected int wordListPrefetchDepth = 0;
 	
-	protected static class BlockCache {
-		int blockNumber;
-		List<SoftReference<String>> strings;
-		public BlockCache(int blockNumber, int stringsAmount) {
-			this.blockNumber = blockNumber;
-			this.strings = new ArrayList<SoftReference<String>>(stringsAmount);
-		}
-	}
+	protected MetricsRecorder metrics = NoOpMetricsRecorder.INSTANCE;
+	
+	// Residency policy of the word list blocks
+	protected DynamicListCacheModes wordListCacheMode = DynamicListCacheModes.SOFT;
+	protected int wordListCacheBlocks = ZDConstants.VALUE_WORD_LIST_CACHE_BLOCKS_DEFAULT;
+	protected boolean wordListPreload = false;
+
+	// Random access to the word list blocks by the sidecar inflate checkpoints
+	protected boolean wordsCheckpoints = false;
+	protected long wordsCheckpointsSpan = ZDConstants.VALUE_WORDS_CHECKPOINTS_SPAN_DEFAULT;
+	
+	// Positions the pooled word list streams, null for the shared one
+	protected TIIStreamScheduler streamsScheduler = null;
+	
+	// Directory of the open-time index and the sidecars, null if disabled
+	protected File indexCacheDirectory = null;
 
+	protected LittleEndianDataInputStream ledis = null;
+	
 	public static class TransBlockInfo {
 		int size;
 		int zsize;
@@ -93,9 +121,10 @@ public class ZDDynamicArticlesReader {
 		
 		this.regionalResolver = regionalResolver;
 		
-		this.lastLoadedBlock = null;
 		this.dictFile = file;
 		this.raf = new LittleEndianRandomAccessFile(file, "r");
+		this.articlesFile = new RandomAccessFile(file, "r");
+		this.articlesChannel = this.articlesFile.getChannel();
 		
 		FileInputStream fis = new FileInputStream(dictFile);
 		ledis = new LittleEndianDataInputStream(fis);
@@ -103,11 +132,93 @@ public class ZDDynamicArticlesReader {
 		log.debug("Dictionary Size: {}", raf.length());
 	}
 
+	/**
+	 * Must be set before the reader is loaded.
+	 */
+	public void setWordListPrefetchDepth(int wordListPrefetchDepth) {
+		this.wordListPrefetchDepth = wordListPrefetchDepth;
+	}
+
+	/**
+	 * Must be set before the reader is loaded, the preload applies to the STRONG mode only.
+	 */
+	public void setWordListCacheMode(DynamicListCacheModes wordListCacheMode, int wordListCacheBlocks, boolean wordListPreload) {
+		this.wordListCacheMode = wordListCacheMode;
+		this.wordListCacheBlocks = wordListCacheBlocks;
+		this.wordListPreload = wordListPreload;
+	}
+
+	/**
+	 * Must be set before the reader is loaded.
+	 */
+	public void setMetricsRecorder(MetricsRecorder metrics) {
+		this.metrics = NoOpMetricsRecorder.nonNull(metrics);
+	}
+
+	/**
+	 * Must be set before the reader is loaded.
+	 */
+	public void setWordsCheckpoints(boolean wordsCheckpoints, long wordsCheckpointsSpan) {
+		this.wordsCheckpoints = wordsCheckpoints;
+		this.wordsCheckpointsSpan = wordsCheckpointsSpan;
+	}
+
+	/**
+	 * Must be set before the reader is loaded.
+	 */
+	public void setStreamsScheduler(TIIStreamScheduler streamsScheduler) {
+		this.streamsScheduler = streamsScheduler;
+	}
+
+	/**
+	 * Must be set before the reader is loaded.
+	 */
+	public void setArticleBlocksCacheSize(long articleBlocksCacheSize) {
+		this.articleBlocksCache = articleBlocksCacheSize > 0 ? new ZDBlocksCache(articleBlocksCacheSize) : null;
+	}
+	
+	public ZDBlocksCache getArticleBlocksCache() {
+		return articleBlocksCache;
+	}
+
+	/**
+	 * Must be set before the reader is loaded.
+	 */
+	public void setIndexCacheDirectory(File indexCacheDirectory) {
+		this.indexCacheDirectory = indexCacheDirectory;
+	}
+	
+	public File getIndexCacheDirectory() {
+		return indexCacheDirectory;
+	}
+	
+	/**
+	 * @return the file of the data derived from the base, placed in the 
+	 * index cache directory if set or next to the base otherwise
+	 */
+	public File getSidecarFile(String extension) {
+		if (indexCacheDirectory != null) {
+			return ZDIndexCache.getCacheFile(indexCacheDirectory, dictFile, extension);
+		}
+		return new File(dictFile.getPath() + extension);
+	}
+
 	public void close() throws IOException {
+		if (dynamicWords != null) {
+			dynamicWords.close();
+		}
 		if (raf != null) {
 			raf.close();
 			raf = null;
 		}
+		if (articlesFile != null) {
+			articlesFile.close();
+			articlesFile = null;
+			articlesChannel = null;
+		}
+		if (articleBlocksCache != null) {
+			articleBlocksCache.clear();
+		}
 		if (ledis != null) {
 			ledis.close();
 			ledis = null;
@@ -117,22 +228,62 @@ public class ZDDynamicArticlesReader {
 	public void load() throws IOException, BaseFormatException {
 		try {
 		    long l = System.currentTimeMillis();
+		    long loadStart = MetricsUtils.startTiming(metrics);
 		    
 		    if (this.zdHeader == null) {
 		        loadHeader();
 		    }
 		    
+		    File cacheFile = null;
+		    if (this.indexCacheDirectory != null) {
+		    	cacheFile = ZDIndexCache.getCacheFile(this.indexCacheDirectory, this.dictFile);
+		    	ZDIndexCache cache = ZDIndexCache.open(cacheFile, this.dictFile);
+		    	if (cache != null && cache.getWords().size() == this.zdHeader.getWordsNumber()) {
+		    		this.words = cache.getWords();
+		    		this.abbreviations = cache.getAbbreviations();
+		    		this.blockOffsets = cache.getBlockOffsets();
+		    		this.loaded = true;
+		    		MetricsUtils.stopTiming(metrics, MetricsRecorder.BASE_LOAD_TIME, loadStart);
+		    		log.info("Dictionary Loading Time: {}, from the index cache", System.currentTimeMillis() - l);
+		    		return;
+		    	}
+		    }
+		    
+		    ZDWordsCheckpoints checkpoints = null;
+		    if (this.wordsCheckpoints) {
+		    	checkpoints = ZDWordsCheckpoints.loadOrBuild(
+		    		getSidecarFile(ZDWordsCheckpoints.FILE_EXTENSION),
+		    		this.dictFile,
+		    		this.zdHeader.getWordsStartPosition(),
+		    		this.zdHeader.getWordsNumber(),
+		    		this.zdHeader.getWordsSize(),
+		    		ZDConstants.WORD_LIST_BLOCK_SIZE,
+		    		this.wordsCheckpointsSpan
+		    	);
+		    }
+
 		    this.dynamicWords = new ZDDynamicListSet(
 		    		this.dictFile,
 		    		ZDConstants.COMPRESSED_BUFFER_SIZE,
 		    		ZDConstants.WORD_LIST_BLOCK_SIZE,
 		    		this.zdHeader.getWordsNumber(),
-		    		this.zdHeader.getWordsStartPosition(), 
-		    		this.zdHeader.getWordsSize(), 
-		    		this.zdHeader.getWordsCodepageName()
+		    		this.zdHeader.getWordsStartPosition(),
+		    		this.zdHeader.getWordsSize(),
+		    		this.zdHeader.getWordsCodepageName(),
+		    		checkpoints,
+		    		this.streamsScheduler
 		    	);
+		    this.dynamicWords.setMetricsRecorder(this.metrics);
+		    this.dynamicWords.setCacheMode(this.wordListCacheMode, this.wordListCacheBlocks);
+		    if (this.wordListPreload && this.wordListCacheMode == DynamicListCacheModes.STRONG) {
+		    	// Stream restores are sequential, so the blocks are read in one pass unless the checkpoints are used
+		    	this.dynamicWords.preload(checkpoints != null ? Runtime.getRuntime().availableProcessors() : 1);
+		    }
+		    if (this.wordListPrefetchDepth > 0) {
+		    	this.dynamicWords.setPrefetch(this.wordListPrefetchDepth, null);
+		    }
 		    
-		    TIIStream tiis = dynamicWords.getTIIStream().createNewZippedSetIS();
+		    TIIStream tiis = dynamicWords.createNextZippedStream();
 		    
 		    this.abbreviations = ZDReadUtils.loadAbbreviations(tiis, zdHeader);
 	
@@ -140,8 +291,19 @@ public class ZDDynamicArticlesReader {
 		    
 		    this.blockOffsets = ZDReadUtils.loadBlockOffsets(raf, zdHeader);
 		    
+		    this.words = this.dynamicWords;
+		    
+		    if (cacheFile != null) {
+		    	try {
+		    		ZDIndexCache.write(cacheFile, this.dictFile, this.dynamicWords, this.abbreviations, this.blockOffsets);
+		    	} catch (IOException e) {
+		    		log.warn("ZD index cache can't be written: {}", cacheFile, e);
+		    	}
+		    }
+		    
 		    this.loaded = true;
 		    
+		    MetricsUtils.stopTiming(metrics, MetricsRecorder.BASE_LOAD_TIME, loadStart);
 		    long loadTime = System.currentTimeMillis() - l;
 		    log.info("Dictionary Loading Time: {}", loadTime);
 		    
@@ -170,77 +332,117 @@ public class ZDDynamicArticlesReader {
 	}
 
 	public String getArticle(int index) throws IOException, BaseFormatException {
-		if (index < 0 || index > dynamicWords.size()) {
+		if (index < 0 || index >= words.size()) {
 			throw new IndexOutOfBoundsException("" + index);
 		}
 		int iob = index / zdHeader.getTransBlockSize();
 		int iow = index % zdHeader.getTransBlockSize();
+		return getArticleBlock(iob).getArticle(iow, zdHeader.getTransCodepageName());
+	}
+	
+	/**
+	 * Returns the articles of many words, every block is read and inflated only once.
+	 * 
+	 * @return articles in the order of the indexes
+	 */
+	public String[] getArticles(int[] indexes) throws IOException, BaseFormatException {
+		int[] sorted = indexes.clone();
+		Arrays.sort(sorted);
 		
-		String transResult = null;
-		
-		// Check if the translation is available by soft reference, and return if found
-		if (lastLoadedBlock != null && lastLoadedBlock.blockNumber == iob) {
-			transResult = lastLoadedBlock.strings.get(iow).get();
-			if (transResult != null) {
-				log.debug("Translation has been retrieved by soft reference");
-				return transResult;
-			} else {
-				log.debug("Translation's reference is lost, recreating");
-				lastLoadedBlock = null;
+		// Articles are kept by index until they are arranged in the requested order
+		Map<Integer, String> articles = new HashMap<Integer, String>();
+		int blockSize = zdHeader.getTransBlockSize();
+		String csName = zdHeader.getTransCodepageName();
+		ZDArticleBlock block = null;
+		int loadedBlock = -1;
+		for (int index : sorted) {
+			if (index < 0 || index >= words.size()) {
+				throw new IndexOutOfBoundsException("" + index);
 			}
-		} else {
-			log.debug("The requested block is different from the last one");
+			int iob = index / blockSize;
+			int iow = index % blockSize;
+			if (iob != loadedBlock) {
+				block = getArticleBlock(iob);
+				loadedBlock = iob;
+			}
+			articles.put(index, block.getArticle(iow, csName));
 		}
 		
-		if (lastLoadedBlock == null) {
-			lastLoadedBlock = new BlockCache(iob, zdHeader.getTransBlockSize());
-		} else {
-			lastLoadedBlock.blockNumber = iob;
-			lastLoadedBlock.strings.clear();
+		String[] result = new String[indexes.length];
+		for (int i = 0; i < indexes.length; i++) {
+			result[i] = articles.get(indexes[i]);
+		}
+		return result;
+	}
+	
+	protected ZDArticleBlock getArticleBlock(int blockNumber) throws IOException {
+		ZDArticleBlock block = articleBlocksCache != null ? articleBlocksCache.get(blockNumber) : null;
+		if (block != null) {
+			metrics.increment(MetricsRecorder.ARTICLE_BLOCKS_CACHE_HITS, 1);
+			return block;
+		}
+		metrics.increment(MetricsRecorder.ARTICLE_BLOCKS_CACHE_MISSES, 1);
+		block = readArticleBlock(blockNumber);
+		if (articleBlocksCache != null) {
+			articleBlocksCache.put(blockNumber, block);
 		}
+		return block;
+	}
+	
+	/**
+	 * Reads the block by the absolute positions, so the concurrent reads 
+	 * neither wait for each other nor move a shared file pointer.
+	 */
+	protected ZDArticleBlock readArticleBlock(int blockNumber) throws IOException {
 		
-		raf.seek(blockOffsets[iob]);
-
-		int size = raf.readInt();
-		int zsize = raf.readInt();
-		byte[] compressedData = new byte[zsize];
-		raf.read(compressedData);
-				
-		byte[] uncompressedData = readBytesFromStream(
-				new SmartInflaterInputStream(new ByteArrayInputStream(compressedData)), size
-			);
-
-		String csName = zdHeader.getTransCodepageName();
-		log.debug("Translate | Codepage: {}", csName);
+		long position = blockOffsets[blockNumber];
+		
+		ByteBuffer blockInfo = ByteBuffer.allocate(TransBlockInfo.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(blockInfo, position);
+		int size = blockInfo.getInt(0);
+		int zsize = blockInfo.getInt(4);
 		
-		int startIdx = 0;
-		int curTransNumber = -1; 
-		for (int i = 0; i < uncompressedData.length; i++) {
-			if (uncompressedData[i] == 0) {
-				String translation = new String(uncompressedData, startIdx, i - startIdx, csName);
-				lastLoadedBlock.strings.add(new SoftReference<String>(translation));
-				curTransNumber++;
-				if (curTransNumber == iow) {
-					transResult = translation;
+		ByteBuffer compressedData = ByteBuffer.allocate(zsize);
+		readFully(compressedData, position + TransBlockInfo.SIZE);
+		
+		long inflateStart = MetricsUtils.startTiming(metrics);
+		byte[] uncompressedData = new byte[size];
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressedData.array(), 0, zsize);
+			int inflated = 0;
+			while (inflated < size) {
+				int n = inflater.inflate(uncompressedData, inflated, size - inflated);
+				if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IOException("Article block " + blockNumber + " is truncated: " + inflated + " of " + size);
 				}
-				startIdx = i + 1;
+				inflated += n;
 			}
+		} catch (DataFormatException e) {
+			throw new IOException("Article block " + blockNumber + " can't be inflated: " + e.getMessage());
+		} finally {
+			inflater.end();
+		}
+		if (inflateStart != MetricsUtils.NOT_STARTED) {
+			MetricsUtils.stopTiming(metrics, MetricsRecorder.INFLATE_TIME, inflateStart);
+			metrics.increment(MetricsRecorder.INFLATED_BYTES, size);
 		}
-		return transResult;
+		
+		return new ZDArticleBlock(uncompressedData, zdHeader.getTransBlockSize());
 	}
 	
-	private byte[] readBytesFromStream(InputStream is, int bytesNumber) throws IOException {
-		byte[] readData = new byte[bytesNumber];
-		int readBytesNumber = 0;
-		while(readBytesNumber < bytesNumber) {
-			readBytesNumber += is.read(readData, readBytesNumber, readData.length - readBytesNumber);
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int n = articlesChannel.read(buffer, position);
+			if (n < 0) {
+				throw new IOException("Unexpected end of file at " + position);
+			}
+			position += n;
 		}
-		is.close();
-		return readData;
 	}
 
 	public List<String> getWords() {
-		return dynamicWords;
+		return words;
 	}
 
 	public String getFileName() {
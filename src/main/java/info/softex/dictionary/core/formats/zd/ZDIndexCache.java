@@ -0,0 +1,254 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd;
+
+import info.softex.dictionary.core.collections.FrontCodedStringList;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Open-time index of a ZD base kept in a cache directory: the front-coded words,
+ * the abbreviations and the article block offsets. The file is memory-mapped,
+ * the words are decoded from the mapping, so the base is ready without inflating
+ * the word list.
+ *
+ * The cache files are named by the base name and the hash of its canonical path,
+ * the stamp of the base size and modification time is kept inside, so a stale
+ * file is overwritten by the next open.
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZDIndexCache {
+
+	private static final Logger log = LoggerFactory.getLogger(ZDIndexCache.class);
+
+	public static final String FILE_EXTENSION = ".zdindex";
+
+	protected static final int FILE_SIGNATURE = 0x5A44494E; // ZDIN
+	protected static final int FILE_VERSION = 1;
+
+	protected static final Charset UTF8 = Charset.forName("UTF-8");
+
+	protected final FrontCodedStringList words;
+	protected final Map<String, String> abbreviations;
+	protected final int[] blockOffsets;
+
+	protected ZDIndexCache(FrontCodedStringList words, Map<String, String> abbreviations, int[] blockOffsets) {
+		this.words = words;
+		this.abbreviations = abbreviations;
+		this.blockOffsets = blockOffsets;
+	}
+
+	/**
+	 * @return the file in the cache directory keeping the derived data with
+	 * the given extension for the base
+	 */
+	public static File getCacheFile(File cacheDirectory, File source, String extension) {
+		String path;
+		try {
+			path = source.getCanonicalPath();
+		} catch (IOException e) {
+			path = source.getAbsolutePath();
+		}
+		return new File(cacheDirectory, source.getName() + "-" + Integer.toHexString(path.hashCode()) + extension);
+	}
+
+	public static File getCacheFile(File cacheDirectory, File zdFile) {
+		return getCacheFile(cacheDirectory, zdFile, FILE_EXTENSION);
+	}
+
+	/**
+	 * Maps the cache file if it's valid for the base.
+	 *
+	 * @return the cache or null if the file doesn't exist, is stale or can't be read
+	 */
+	public static ZDIndexCache open(File cacheFile, File zdFile) {
+
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+
+		long t1 = System.currentTimeMillis();
+
+		try {
+			MappedByteBuffer buffer;
+			RandomAccessFile raf = new RandomAccessFile(cacheFile, "r");
+			try {
+				// The mapping stays valid after the file is closed
+				buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+			} finally {
+				raf.close();
+			}
+
+			if (buffer.getInt() != FILE_SIGNATURE || buffer.getInt() != FILE_VERSION) {
+				log.info("ZD index cache has unknown format: {}", cacheFile);
+				return null;
+			}
+			if (buffer.getLong() != getStamp(zdFile)) {
+				log.info("ZD index cache is stale: {}", cacheFile);
+				return null;
+			}
+
+			int wordsNumber = buffer.getInt();
+			int bucketSize = buffer.getInt();
+			int[] restarts = new int[buffer.getInt()];
+			int[] blockOffsets = new int[buffer.getInt()];
+			int abbreviationsNumber = buffer.getInt();
+			int wordsDataSize = buffer.getInt();
+
+			buffer.asIntBuffer().get(restarts);
+			buffer.position(buffer.position() + 4 * restarts.length);
+			buffer.asIntBuffer().get(blockOffsets);
+			buffer.position(buffer.position() + 4 * blockOffsets.length);
+
+			Map<String, String> abbreviations = new HashMap<String, String>(abbreviationsNumber);
+			for (int i = 0; i < abbreviationsNumber; i++) {
+				abbreviations.put(readString(buffer), readString(buffer));
+			}
+
+			ByteBuffer wordsData = buffer.slice();
+			if (wordsData.remaining() != wordsDataSize) {
+				throw new IOException("Words data size is " + wordsData.remaining() + " instead of " + wordsDataSize);
+			}
+
+			ZDIndexCache cache = new ZDIndexCache(
+				new FrontCodedStringList(wordsData, restarts, wordsNumber, bucketSize), abbreviations, blockOffsets
+			);
+
+			log.info("ZD index cache is mapped | Words: {}, Time: {} ms", wordsNumber, System.currentTimeMillis() - t1);
+
+			return cache;
+		} catch (Exception e) {
+			log.warn("ZD index cache can't be read: {}", cacheFile, e);
+			return null;
+		}
+
+	}
+
+	/**
+	 * Writes the cache to a temporary file renamed when complete, so the readers
+	 * opening the same base concurrently never map a partial file.
+	 */
+	public static void write(File cacheFile, File zdFile, List<String> words, Map<String, String> abbreviations, int[] blockOffsets) throws IOException {
+
+		long t1 = System.currentTimeMillis();
+
+		FrontCodedStringList packedWords = words instanceof FrontCodedStringList ?
+			(FrontCodedStringList) words : FrontCodedStringList.create(words, FrontCodedStringList.BUCKET_SIZE_DEFAULT);
+		ByteBuffer wordsData = packedWords.getData();
+		wordsData.rewind();
+		int[] restarts = packedWords.getRestarts();
+
+		File directory = cacheFile.getAbsoluteFile().getParentFile();
+		if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cache directory can't be created: " + directory);
+		}
+
+		File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", directory);
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				out.writeInt(FILE_SIGNATURE);
+				out.writeInt(FILE_VERSION);
+				out.writeLong(getStamp(zdFile));
+				out.writeInt(packedWords.size());
+				out.writeInt(packedWords.getBucketSize());
+				out.writeInt(restarts.length);
+				out.writeInt(blockOffsets.length);
+				out.writeInt(abbreviations.size());
+				out.writeInt(wordsData.remaining());
+				for (int restart : restarts) {
+					out.writeInt(restart);
+				}
+				for (int blockOffset : blockOffsets) {
+					out.writeInt(blockOffset);
+				}
+				for (Map.Entry<String, String> entry : abbreviations.entrySet()) {
+					writeString(out, entry.getKey());
+					writeString(out, entry.getValue());
+				}
+				byte[] bytes = new byte[wordsData.remaining()];
+				wordsData.get(bytes);
+				out.write(bytes);
+			} finally {
+				out.close();
+			}
+			if (cacheFile.exists() && !cacheFile.delete()) {
+				throw new IOException("Stale cache file can't be deleted: " + cacheFile);
+			}
+			if (!tempFile.renameTo(cacheFile)) {
+				throw new IOException("Cache file can't be renamed to " + cacheFile);
+			}
+		} finally {
+			tempFile.delete();
+		}
+
+		log.info("ZD index cache is written | Words: {}, Time: {} ms", packedWords.size(), System.currentTimeMillis() - t1);
+
+	}
+
+	public static long getStamp(File source) {
+		return source.length() * 31 + source.lastModified();
+	}
+
+	public FrontCodedStringList getWords() {
+		return words;
+	}
+
+	public Map<String, String> getAbbreviations() {
+		return abbreviations;
+	}
+
+	public int[] getBlockOffsets() {
+		return blockOffsets;
+	}
+
+	protected static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, UTF8);
+	}
+
+	protected static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(UTF8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+}
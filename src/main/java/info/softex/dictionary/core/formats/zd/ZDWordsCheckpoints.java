@@ -0,0 +1,254 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd;
+
+import info.softex.dictionary.core.io.InflateCheckpointIndex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Random access index of the ZD compressed word list: the inflate checkpoints of the words 
+ * stream and the end positions of the word list blocks. It's built by a single pass over the 
+ * words and is saved to a sidecar file next to the base, validated by the base size and 
+ * modification time. With the index the base opens without inflating the words and every 
+ * word list block is restored from the nearest checkpoint.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZDWordsCheckpoints {
+	
+	private static final Logger log = LoggerFactory.getLogger(ZDWordsCheckpoints.class);
+	
+	public static final String FILE_EXTENSION = ".checkpoints";
+	
+	protected static final int FILE_SIGNATURE = 0x5A44434B; // ZDCK
+	
+	protected final long wordsStartPosition;
+	protected final int wordsSize;
+	protected final int blockSize;
+	
+	protected final int[] blockIndices;
+	protected final InflateCheckpointIndex index;
+	
+	public ZDWordsCheckpoints(long wordsStartPosition, int wordsSize, int blockSize, int[] blockIndices, InflateCheckpointIndex index) {
+		this.wordsStartPosition = wordsStartPosition;
+		this.wordsSize = wordsSize;
+		this.blockSize = blockSize;
+		this.blockIndices = blockIndices;
+		this.index = index;
+	}
+	
+	/**
+	 * Inflates the words stream once, building the checkpoints and the block end positions 
+	 * the same way as <code>ZDReadUtils.buildWordBlockIndices</code> does.
+	 */
+	public static ZDWordsCheckpoints build(File zdFile, long wordsStartPosition, int wordsNumber, int wordsSize, int blockSize, long span) throws IOException, DataFormatException {
+		
+		BlockIndicesOutputStream blocksOut = new BlockIndicesOutputStream(wordsNumber, blockSize);
+		
+		InputStream in = new BufferedInputStream(new FileInputStream(zdFile), ZDConstants.COMPRESSED_BUFFER_SIZE);
+		InflateCheckpointIndex index;
+		try {
+			long skip = wordsStartPosition;
+			while (skip > 0) {
+				long skipped = in.skip(skip);
+				if (skipped <= 0) {
+					throw new IOException("Couldn't skip to the words start position " + wordsStartPosition);
+				}
+				skip -= skipped;
+			}
+			index = InflateCheckpointIndex.build(in, wordsStartPosition, span, blocksOut);
+		} finally {
+			in.close();
+		}
+		
+		if (index.getUncompressedSize() != wordsSize) {
+			throw new DataFormatException("Uncompressed words' size is invalid: should be " + wordsSize + ", got " + index.getUncompressedSize());
+		}
+		
+		return new ZDWordsCheckpoints(wordsStartPosition, wordsSize, blockSize, blocksOut.getBlockIndices(), index);
+		
+	}
+	
+	/**
+	 * Reads the checkpoints from the sidecar file if it's valid for the base, 
+	 * otherwise builds them and tries to save to the sidecar. 
+	 */
+	public static ZDWordsCheckpoints loadOrBuild(File sidecar, File zdFile, long wordsStartPosition, int wordsNumber, int wordsSize, int blockSize, long span) throws IOException, DataFormatException {
+		if (sidecar.isFile()) {
+			try {
+				ZDWordsCheckpoints checkpoints = read(sidecar, getStamp(zdFile));
+				if (checkpoints != null && checkpoints.wordsStartPosition == wordsStartPosition && checkpoints.wordsSize == wordsSize && 
+						checkpoints.blockSize == blockSize && checkpoints.index.getSpan() == span) {
+					return checkpoints;
+				}
+				log.info("Words checkpoints sidecar is stale: {}", sidecar);
+			} catch (IOException e) {
+				log.warn("Words checkpoints sidecar can't be read: {}", sidecar, e);
+			}
+		}
+		ZDWordsCheckpoints checkpoints = build(zdFile, wordsStartPosition, wordsNumber, wordsSize, blockSize, span);
+		try {
+			checkpoints.write(sidecar, getStamp(zdFile));
+		} catch (IOException e) {
+			log.warn("Words checkpoints sidecar can't be saved, the checkpoints are kept in memory only: {}", sidecar);
+			sidecar.delete();
+		}
+		return checkpoints;
+	}
+	
+	public void write(File file, long stamp) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(FILE_SIGNATURE);
+			out.writeLong(stamp);
+			out.writeLong(wordsStartPosition);
+			out.writeInt(wordsSize);
+			out.writeInt(blockSize);
+			out.writeInt(blockIndices.length);
+			for (int blockIndex : blockIndices) {
+				out.writeInt(blockIndex);
+			}
+			index.write(out);
+		} finally {
+			out.close();
+		}
+	}
+	
+	/**
+	 * @return the checkpoints or null if the file stamp doesn't match
+	 */
+	public static ZDWordsCheckpoints read(File file, long stamp) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != FILE_SIGNATURE) {
+				throw new IOException("Unknown words checkpoints signature");
+			}
+			if (in.readLong() != stamp) {
+				return null;
+			}
+			long wordsStartPosition = in.readLong();
+			int wordsSize = in.readInt();
+			int blockSize = in.readInt();
+			int[] blockIndices = new int[in.readInt()];
+			for (int i = 0; i < blockIndices.length; i++) {
+				blockIndices[i] = in.readInt();
+			}
+			return new ZDWordsCheckpoints(wordsStartPosition, wordsSize, blockSize, blockIndices, InflateCheckpointIndex.read(in));
+		} finally {
+			in.close();
+		}
+	}
+	
+	public static long getStamp(File source) {
+		return source.length() * 31 + source.lastModified();
+	}
+	
+	public int[] getBlockIndices() {
+		return blockIndices;
+	}
+	
+	public InflateCheckpointIndex getIndex() {
+		return index;
+	}
+	
+	/**
+	 * @return the file position of the stream following the words
+	 */
+	public long getWordsEndPosition() {
+		return index.getStreamEndPosition();
+	}
+	
+	/**
+	 * Finds the block end positions, i.e. the positions of the zero byte after 
+	 * the last word of every block, and the words size for the last block.
+	 */
+	protected static class BlockIndicesOutputStream extends OutputStream {
+		
+		protected final int wordsNumber;
+		protected final int blockSize;
+		protected final int[] indices;
+		
+		protected int position = 0;
+		protected int blockNumber = 0;
+		protected int blockIndex = 0;
+		protected int wordsCount = 0;
+		
+		protected BlockIndicesOutputStream(int wordsNumber, int blockSize) {
+			this.wordsNumber = wordsNumber;
+			this.blockSize = blockSize;
+			this.indices = new int[(int) Math.ceil((double) wordsNumber / blockSize)];
+		}
+		
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+		
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			for (int i = off; i < off + len; i++) {
+				if (b[i] == 0) {
+					if (blockIndex < blockSize - 1) {
+						blockIndex++;
+					} else {
+						if (blockNumber < indices.length) {
+							indices[blockNumber] = position + i - off;
+						}
+						blockNumber++;
+						wordsCount += blockIndex + 1;
+						blockIndex = 0;
+					}
+				}
+			}
+			position += len;
+		}
+		
+		protected int[] getBlockIndices() {
+			if (blockNumber < indices.length) {
+				indices[blockNumber] = position;
+				wordsCount += blockIndex;
+			}
+			if (wordsCount != wordsNumber) {
+				log.error("Words number differs from the expected number | Expected Number: {}, Actual: {}", wordsNumber, wordsCount);
+			}
+			return indices;
+		}
+		
+	}
+
+}
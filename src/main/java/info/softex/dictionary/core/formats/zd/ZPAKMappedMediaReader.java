@@ -20,18 +20,20 @@
 package info.softex.dictionary.core.formats.zd;
 
 import info.softex.dictionary.core.formats.api.BaseFormatException;
+import info.softex.dictionary.core.io.ByteBufferInputStream;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.zip.InflaterInputStream;
 
@@ -44,6 +46,7 @@ import org.slf4j.LoggerFactory;
  * 
  * @modified version 2.6, 09/17/2011
  * @modified version 3.4, 07/07/2012
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  *
@@ -56,7 +59,12 @@ public class ZPAKMappedMediaReader {
 	protected RandomAccessFile raf = null;
 	protected MappedByteBuffer fileBuffer = null;
 	protected ZPAKHeader zpakHeader = null;
-	protected Map<String, ZPAKResourceMetaInfo> resources = null;
+	
+	// The index is read on the first resource request
+	protected volatile ZPAKResourceIndex resources = null;
+	
+	// Mark, version, resources number, flags and resources block size
+	protected static final int HEADER_SIZE = 18;
 
 	public ZPAKMappedMediaReader(File file) throws IOException {
 		this.mediaFile = file;
@@ -70,100 +78,132 @@ public class ZPAKMappedMediaReader {
 		raf.close();
 	}
 
+	/**
+	 * Loads the header, the resources index is read lazily by the first request.
+	 */
 	public void load() throws BaseFormatException, UnsupportedEncodingException {
 	    if (this.zpakHeader == null) {
 	        loadZPAKHeader();
 	    }
-		loadMediaResources();
 	}
 
 	public ZPAKHeader loadZPAKHeader() throws BaseFormatException {
 		
         log.debug("Loading Header");
         
-		this.zpakHeader = new ZPAKHeader();
+		ZPAKHeader zpakHeader = new ZPAKHeader();
 		
+		// The shared buffer position is never moved, so the header can be reloaded at any time
+		ByteBuffer headerBuffer = fileBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
 		byte[] prefix = new byte[4];
-		prefix[0] = fileBuffer.get();
-		prefix[1] = fileBuffer.get();
-		prefix[2] = fileBuffer.get();
-		prefix[3] = fileBuffer.get();
+		headerBuffer.get(prefix);
 		
 		if (prefix[0] != 90 || prefix[1] != 112 || prefix[2] != 97 || prefix[3] != 107) {
 			throw new BaseFormatException("ZPAK File Header is not recognized");
 		} else {
 			zpakHeader.setMark(prefix);
-			zpakHeader.setMediaFormatVersion(fileBuffer.getShort());
-			zpakHeader.setMediaResourcesNumber(fileBuffer.getInt());
-			zpakHeader.setFlags(fileBuffer.getInt());
-			zpakHeader.setMediaResourcesBlockSize(fileBuffer.getInt());
+			zpakHeader.setMediaFormatVersion(headerBuffer.getShort());
+			zpakHeader.setMediaResourcesNumber(headerBuffer.getInt());
+			zpakHeader.setFlags(headerBuffer.getInt());
+			zpakHeader.setMediaResourcesBlockSize(headerBuffer.getInt());
 			zpakHeader.setMediaFileSize(this.mediaFile.length());
-			return this.zpakHeader;
+			this.zpakHeader = zpakHeader;
+			return zpakHeader;
 		}
 	}
 
-	private void loadMediaResources() throws BaseFormatException, UnsupportedEncodingException {
-		StringBuffer sb = new StringBuffer();
-		this.resources = new HashMap<String, ZPAKResourceMetaInfo>();
+	/**
+	 * Reads the resources index once, the concurrent requests wait for the first one.
+	 */
+	protected ZPAKResourceIndex getResources() {
+		ZPAKResourceIndex index = resources;
+		if (index == null) {
+			synchronized (this) {
+				index = resources;
+				if (index == null) {
+					resources = index = loadMediaResources();
+				}
+			}
+		}
+		return index;
+	}
+
+	private ZPAKResourceIndex loadMediaResources() {
 		
 		long startTime = System.currentTimeMillis();
 		
-		int currNumber = 0;
-		mainLoop: for (; currNumber < zpakHeader.getMediaResourcesNumber(); currNumber++)
-			do {
-				char curChar = fileBuffer.getChar();
-				if (curChar == 0) {
-					String name = sb.toString().toUpperCase();
-					sb.setLength(0);
-					
-					ZPAKResourceMetaInfo item = new ZPAKResourceMetaInfo();
-					
-					item.offset = fileBuffer.getInt();
-					item.itemSize = fileBuffer.getInt();
-					item.itemZSize = fileBuffer.getInt();
-
-					boolean exists = resources.put(name, item) != null;
-					if (exists) {
-						log.warn("Duplicate found for '{}' in {}", name, mediaFile.getAbsolutePath());
-					}
-					continue mainLoop;
-				}
-				sb.append(curChar);
-			} while (true);
+		ByteBuffer directory = fileBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		directory.position(HEADER_SIZE);
+		ZPAKResourceIndex index = ZPAKResourceIndex.read(directory, zpakHeader.getMediaResourcesNumber());
+		
+		if (index.getDuplicatesNumber() > 0) {
+			log.warn("{} duplicates found in {}", index.getDuplicatesNumber(), mediaFile.getAbsolutePath());
+		}
 		
 		long totalTime = System.currentTimeMillis() - startTime;
-		log.debug("Total Resources Load Time: {} ms", totalTime);
+		log.debug("Total Resources Load Time: {} ms, Index Size: {} bytes", totalTime, index.getMemorySize());
+		
+		return index;
 		
 	}
 
 	public byte[] loadMediaResource(String name) {
-		name = name.toUpperCase();
-		ZPAKResourceMetaInfo offset = resources.get(name);
-		if (offset == null) {
+		ByteBuffer buffer = loadMediaResourceBuffer(name);
+		if (buffer == null) {
+			return null;
+		}
+		byte[] data = new byte[buffer.remaining()];
+		buffer.get(data);
+		return data;
+	}
+	
+	/**
+	 * Not zipped resources are returned as read-only slices of the mapped file, 
+	 * so they aren't copied to the heap. The method is thread-safe.
+	 */
+	public ByteBuffer loadMediaResourceBuffer(String name) {
+		ZPAKResourceIndex index = getResources();
+		int position = index.find(name);
+		if (position < 0) {
 			log.info("Requested item '{}' is not found", name);
 			return null;
 		}
-		byte compData[] = new byte[offset.itemZSize];
-		fileBuffer.position(offset.offset);
-		fileBuffer.get(compData);
-		if (offset.itemSize == offset.itemZSize){
+		
+		int offset = index.getOffset(position);
+		int itemSize = index.getSize(position);
+		int itemZSize = index.getZSize(position);
+		
+		ByteBuffer compBuffer = fileBuffer.duplicate();
+		compBuffer.limit(offset + itemZSize);
+		compBuffer.position(offset);
+		if (itemSize == itemZSize) {
 			log.trace("The resource is not zipped");
-			return compData;
+			return compBuffer.slice().asReadOnlyBuffer();
 		}
 		
 		byte[] decompData = null;
 		
 		try {
-			decompData = readBytesFromStream(new InflaterInputStream(new ByteArrayInputStream(compData)), offset.itemSize);
+			decompData = readBytesFromStream(new InflaterInputStream(new ByteBufferInputStream(compBuffer)), itemSize);
 		} catch (IOException e) {
 			log.error("Error", e);
+			return null;
 		}
 			
-		return decompData;
+		return ByteBuffer.wrap(decompData).asReadOnlyBuffer();
+	}
+	
+	/**
+	 * @return true if the resource is stored w/o compression, i.e. it's mapped, not materialized
+	 */
+	public boolean isResourceMapped(String name) {
+		ZPAKResourceIndex index = getResources();
+		int position = index.find(name);
+		return position >= 0 && index.getSize(position) == index.getZSize(position);
 	}
 
 	public boolean isResourceAvailble(String itemName) {
-		return this.resources.get(itemName) == null ? false : true;
+		return getResources().find(itemName) >= 0;
 	}
 	
 	public String getFilePath() {
@@ -180,15 +220,50 @@ public class ZPAKMappedMediaReader {
 		return readData;
 	}
 
+	/**
+	 * @return the read-only view of the upper-cased resource names, the names 
+	 * are created by the iteration only
+	 */
 	public Set<String> getResourceKeys() {
-		return this.resources.keySet();
-	}
-
-	
-	private class ZPAKResourceMetaInfo {
-		int offset;
-		int itemSize;
-		int itemZSize;
+		final ZPAKResourceIndex index = getResources();
+		return new AbstractSet<String>() {
+			
+			@Override
+			public Iterator<String> iterator() {
+				return new Iterator<String>() {
+					int position = 0;
+					
+					@Override
+					public boolean hasNext() {
+						return position < index.size();
+					}
+					
+					@Override
+					public String next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						return index.getName(position++);
+					}
+					
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+			
+			@Override
+			public boolean contains(Object o) {
+				return o instanceof String && index.find((String) o) >= 0;
+			}
+			
+			@Override
+			public int size() {
+				return index.size();
+			}
+			
+		};
 	}
 	
 }
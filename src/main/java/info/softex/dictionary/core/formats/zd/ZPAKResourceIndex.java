@@ -0,0 +1,241 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Immutable index of the ZPAK resources sorted by the upper-cased names.
+ * The names are packed into a single char arena and the resource locations
+ * are kept in primitive arrays, so the index holds no object per resource.
+ * The lookup is case-insensitive and doesn't allocate.
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZPAKResourceIndex {
+
+	protected final char[] chars;
+	protected final int[] nameOffsets;
+	protected final int[] offsets;
+	protected final int[] sizes;
+	protected final int[] zsizes;
+	protected final int duplicatesNumber;
+
+	protected ZPAKResourceIndex(char[] chars, int[] nameOffsets, int[] offsets, int[] sizes, int[] zsizes, int duplicatesNumber) {
+		this.chars = chars;
+		this.nameOffsets = nameOffsets;
+		this.offsets = offsets;
+		this.sizes = sizes;
+		this.zsizes = zsizes;
+		this.duplicatesNumber = duplicatesNumber;
+	}
+
+	/**
+	 * Reads the resources directory: every entry is a zero-terminated UTF-16 name
+	 * followed by the offset, the size and the compressed size. The last entry
+	 * of a repeated name is kept.
+	 *
+	 * @param directory - the buffer positioned at the first entry, its byte order is respected
+	 */
+	public static ZPAKResourceIndex read(ByteBuffer directory, int resourcesNumber) {
+
+		char[] chars = new char[Math.max(resourcesNumber, 1) * 16];
+		int[] nameOffsets = new int[resourcesNumber + 1];
+		int[] offsets = new int[resourcesNumber];
+		int[] sizes = new int[resourcesNumber];
+		int[] zsizes = new int[resourcesNumber];
+
+		int length = 0;
+		for (int i = 0; i < resourcesNumber; i++) {
+			char c;
+			while ((c = directory.getChar()) != 0) {
+				if (length == chars.length) {
+					chars = Arrays.copyOf(chars, chars.length * 2);
+				}
+				chars[length++] = normalizeChar(c);
+			}
+			nameOffsets[i + 1] = length;
+			offsets[i] = directory.getInt();
+			sizes[i] = directory.getInt();
+			zsizes[i] = directory.getInt();
+		}
+
+		int[] order = sortedOrder(chars, nameOffsets, resourcesNumber);
+
+		int[] outNameOffsets = new int[order.length + 1];
+		int[] outOffsets = new int[order.length];
+		int[] outSizes = new int[order.length];
+		int[] outZSizes = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			int o = order[i];
+			outNameOffsets[i + 1] = outNameOffsets[i] + nameOffsets[o + 1] - nameOffsets[o];
+			outOffsets[i] = offsets[o];
+			outSizes[i] = sizes[o];
+			outZSizes[i] = zsizes[o];
+		}
+		char[] outChars = new char[outNameOffsets[order.length]];
+		for (int i = 0; i < order.length; i++) {
+			System.arraycopy(chars, nameOffsets[order[i]], outChars, outNameOffsets[i], outNameOffsets[i + 1] - outNameOffsets[i]);
+		}
+
+		return new ZPAKResourceIndex(outChars, outNameOffsets, outOffsets, outSizes, outZSizes, resourcesNumber - order.length);
+
+	}
+
+	/**
+	 * @return the position of the resource or -1 if it's not found
+	 */
+	public int find(CharSequence name) {
+		int low = 0;
+		int high = offsets.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = compare(mid, name);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the name upper-cased char by char as it's kept in the index, 
+	 * it doesn't depend on the default locale
+	 */
+	public static String normalizeName(CharSequence name) {
+		char[] normalized = new char[name.length()];
+		for (int i = 0; i < normalized.length; i++) {
+			normalized[i] = normalizeChar(name.charAt(i));
+		}
+		return new String(normalized);
+	}
+	
+	protected static char normalizeChar(char c) {
+		return Character.toUpperCase(c);
+	}
+
+	public String getName(int position) {
+		return new String(chars, nameOffsets[position], nameOffsets[position + 1] - nameOffsets[position]);
+	}
+
+	public int getOffset(int position) {
+		return offsets[position];
+	}
+
+	public int getSize(int position) {
+		return sizes[position];
+	}
+
+	public int getZSize(int position) {
+		return zsizes[position];
+	}
+
+	public int size() {
+		return offsets.length;
+	}
+
+	/**
+	 * @return the number of the directory entries replaced by the later ones with the same name
+	 */
+	public int getDuplicatesNumber() {
+		return duplicatesNumber;
+	}
+
+	public long getMemorySize() {
+		return chars.length * 2L + (nameOffsets.length + offsets.length * 3L) * 4L;
+	}
+
+	protected int compare(int position, CharSequence name) {
+		int start = nameOffsets[position];
+		int length = nameOffsets[position + 1] - start;
+		int n = Math.min(length, name.length());
+		for (int i = 0; i < n; i++) {
+			char c1 = chars[start + i];
+			char c2 = normalizeChar(name.charAt(i));
+			if (c1 != c2) {
+				return c1 - c2;
+			}
+		}
+		return length - name.length();
+	}
+
+	/**
+	 * Stable merge sort of the entry numbers by the names, only the last
+	 * entry of the equal names is returned.
+	 */
+	static int[] sortedOrder(char[] chars, int[] nameOffsets, int size) {
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		int[] buffer = new int[size];
+		for (int width = 1; width < size; width *= 2) {
+			for (int low = 0; low < size - width; low += 2 * width) {
+				int mid = low + width;
+				int high = Math.min(low + 2 * width, size);
+				int i = low, j = mid, k = low;
+				while (i < mid && j < high) {
+					buffer[k++] = compareNames(chars, nameOffsets, order[j], order[i]) < 0 ? order[j++] : order[i++];
+				}
+				while (i < mid) {
+					buffer[k++] = order[i++];
+				}
+				while (j < high) {
+					buffer[k++] = order[j++];
+				}
+				System.arraycopy(buffer, low, order, low, high - low);
+			}
+		}
+		int unique = 0;
+		for (int i = 0; i < size; i++) {
+			if (i + 1 < size && compareNames(chars, nameOffsets, order[i], order[i + 1]) == 0) {
+				continue;
+			}
+			order[unique++] = order[i];
+		}
+		return Arrays.copyOf(order, unique);
+	}
+
+	private static int compareNames(char[] chars, int[] nameOffsets, int a, int b) {
+		int s1 = nameOffsets[a];
+		int s2 = nameOffsets[b];
+		int l1 = nameOffsets[a + 1] - s1;
+		int l2 = nameOffsets[b + 1] - s2;
+		int n = Math.min(l1, l2);
+		for (int i = 0; i < n; i++) {
+			char c1 = chars[s1 + i];
+			char c2 = chars[s2 + i];
+			if (c1 != c2) {
+				return c1 - c2;
+			}
+		}
+		return l1 - l2;
+	}
+
+}
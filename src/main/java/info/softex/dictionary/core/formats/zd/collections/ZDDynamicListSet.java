@@ -26,12 +26,17 @@ import info.softex.dictionary.core.collections.RestoreBlockException;
 import info.softex.dictionary.core.formats.api.BaseFormatException;
 import info.softex.dictionary.core.formats.zd.ZDConstants;
 import info.softex.dictionary.core.formats.zd.ZDReadUtils;
+import info.softex.dictionary.core.formats.zd.ZDWordsCheckpoints;
 import info.softex.dictionary.core.formats.zd.io.zip.TIIStream;
 import info.softex.dictionary.core.formats.zd.io.zip.TIIStreamFactory;
 import info.softex.dictionary.core.formats.zd.io.zip.TIIStreamPool;
+import info.softex.dictionary.core.formats.zd.io.zip.TIIStreamScheduler;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.zip.DataFormatException;
@@ -46,6 +51,7 @@ import org.slf4j.LoggerFactory;
  * @modified version 1.7, 02/05/2011
  * @modified version 1.8, 02/10/2011
  * @modified version 1.9, 02/16/2011
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  *
@@ -65,11 +71,31 @@ public class ZDDynamicListSet extends AbstractDynamicListSet<String> {
 	private TIIStream tiis;
 	private TIIStreamPool tiisPool;
 	
+	// Random access to the words by the inflate checkpoints, the streams above aren't used then
+	private final ZDWordsCheckpoints checkpoints;
+	private final RandomAccessFile checkpointsFile;
+	private final FileChannel checkpointsChannel;
+	
 	public ZDDynamicListSet(
 				File file, int bufferSize, int wordListBlockSize,
 				int wordsNumber, int wordsStartPosition, 
 				int wordsSize, String listCodepageName
 			) throws IOException, BaseFormatException {
+		this(file, bufferSize, wordListBlockSize, wordsNumber, wordsStartPosition, wordsSize, listCodepageName, null, null);
+	}
+	
+	/**
+	 * @param checkpoints - if not null, the blocks are restored from the nearest inflate 
+	 * checkpoint and the words aren't inflated at the construction
+	 * @param scheduler - positions the pooled streams if the checkpoints aren't used, 
+	 * the shared scheduler is used if null
+	 */
+	public ZDDynamicListSet(
+				File file, int bufferSize, int wordListBlockSize,
+				int wordsNumber, int wordsStartPosition, 
+				int wordsSize, String listCodepageName,
+				ZDWordsCheckpoints checkpoints, TIIStreamScheduler scheduler
+			) throws IOException, BaseFormatException {
 		
 		super(wordsNumber, wordListBlockSize, CacheBlockReferenceTypes.SOFT);
 
@@ -80,7 +106,24 @@ public class ZDDynamicListSet extends AbstractDynamicListSet<String> {
 		this.wordsStartPosition = wordsStartPosition;
 		this.wordsSize = wordsSize;
 		this.listCodepageName = listCodepageName;
-
+		
+		this.checkpoints = checkpoints;
+		
+		if (checkpoints != null) {
+			this.checkpointsFile = new RandomAccessFile(file, "r");
+			this.checkpointsChannel = this.checkpointsFile.getChannel();
+			int[] blockIndices = checkpoints.getBlockIndices();
+			for (int i = 0; i < weakBlocksList.length; i++) {
+				weakBlocksList[i] = new ZDCacheBlock<String>(i, blockIndices[i], this.referenceType);
+			}
+			super.strongBlockList.put(0, getBlockContent(0));
+			super.lastRestoredBlockNumber = -1;
+			log.debug("DDL Constructor | Blocks Size: {}, Checkpoints: {}", weakBlocksList.length, checkpoints.getIndex().getCheckpointsNumber());
+			return;
+		}
+		
+		this.checkpointsFile = null;
+		this.checkpointsChannel = null;
 		
 		TIIStreamFactory tiisCreator = new TIIStreamFactory(
 				this.dictFile, 
@@ -114,8 +157,7 @@ public class ZDDynamicListSet extends AbstractDynamicListSet<String> {
 		this.tiisPool = new TIIStreamPool(
 				tiisCreator, this.wordsSize, 
 				ZDConstants.POOL_READ_STREAMS_NUMBER, 
-				ZDConstants.POOL_READ_THREADS_NUMBER, 
-				ZDConstants.POOL_RETURN_THREADS_NUMBER
+				scheduler
 			);
 		
 		super.strongBlockList.put(0, getBlockContent(0));
@@ -144,6 +186,10 @@ public class ZDDynamicListSet extends AbstractDynamicListSet<String> {
 		
 		ZDCacheBlock<String> block = (ZDCacheBlock<String>)abstractBlock;
 		
+		if (checkpoints != null) {
+			return restoreBlockContentFromCheckpoint(block);
+		}
+		
 		final int blockStartPosition = findBlockStartPosition(block.getBlockNumber());
 		int skipLength = blockStartPosition;
 		final int bufferSize = block.endPosition - blockStartPosition;
@@ -162,21 +208,7 @@ public class ZDDynamicListSet extends AbstractDynamicListSet<String> {
 			
 			byte[] dataBuffer = new byte[bufferSize];
 			ZDReadUtils.readBuffer(this.tiis, dataBuffer, dataBuffer.length);
-			strongElements = new ArrayList<String>(blockSize);
-			
-			int bc = 0;
-			for (int j = 0; j < dataBuffer.length; j++) {
-				if (dataBuffer[j] == 0) {
-					int wlen = j - bc; 
-					String word = new String(dataBuffer, bc, wlen, this.listCodepageName);
-					strongElements.add(word);
-					bc = j + 1;
-				}		
-			}
-	
-			// Read last element
-			String word = new String(dataBuffer, bc, dataBuffer.length - bc, this.listCodepageName);
-			strongElements.add(word);
+			strongElements = splitWords(dataBuffer);
 			
 			block.setElementsReference(strongElements, this.referenceType);
 			
@@ -197,6 +229,62 @@ public class ZDDynamicListSet extends AbstractDynamicListSet<String> {
 		
 	}
 	
+	/**
+	 * Inflates the block from the nearest checkpoint, the restores don't share any 
+	 * state, so they can run concurrently.
+	 */
+	private List<String> restoreBlockContentFromCheckpoint(ZDCacheBlock<String> block) throws RestoreBlockException {
+		
+		final int blockStartPosition = findBlockStartPosition(block.getBlockNumber());
+		final int bufferSize = block.endPosition - blockStartPosition;
+		
+		List<String> strongElements = null;
+		try {
+			byte[] dataBuffer = new byte[bufferSize];
+			InputStream is = checkpoints.getIndex().openStream(checkpointsChannel, blockStartPosition, block.endPosition);
+			try {
+				ZDReadUtils.readBuffer(is, dataBuffer, dataBuffer.length);
+			} finally {
+				is.close();
+			}
+			strongElements = splitWords(dataBuffer);
+			block.setElementsReference(strongElements, this.referenceType);
+		} catch (Exception e) {
+			throw new RestoreBlockException(block.getBlockNumber(), "Checkpoint restore error {start: " + 
+				blockStartPosition + ", size: " + bufferSize + "}", e);
+		}
+		
+		return strongElements;
+		
+	}
+	
+	private List<String> splitWords(byte[] dataBuffer) throws IOException {
+		
+		List<String> strongElements = new ArrayList<String>(blockSize);
+		
+		int bc = 0;
+		for (int j = 0; j < dataBuffer.length; j++) {
+			if (dataBuffer[j] == 0) {
+				int wlen = j - bc; 
+				String word = new String(dataBuffer, bc, wlen, this.listCodepageName);
+				strongElements.add(word);
+				bc = j + 1;
+			}		
+		}
+
+		// Read last element
+		String word = new String(dataBuffer, bc, dataBuffer.length - bc, this.listCodepageName);
+		strongElements.add(word);
+		
+		return strongElements;
+		
+	}
+	
+	@Override
+	protected boolean isConcurrentRestoreSupported() {
+		return checkpoints != null;
+	}
+	
 	private void renewTIIStream(long position) throws IOException {
 		this.tiisPool.put(this.tiis);
 		this.tiis = this.tiisPool.get(position);
@@ -224,4 +312,33 @@ public class ZDDynamicListSet extends AbstractDynamicListSet<String> {
 		return tiis;
 	}
 	
+	/**
+	 * Creates the stream of the zipped data following the words.
+	 */
+	public TIIStream createNextZippedStream() throws IOException {
+		if (checkpoints != null) {
+			return new TIIStreamFactory(dictFile, checkpoints.getWordsEndPosition(), bufferSize).createTIIStream();
+		}
+		return tiis.createNewZippedSetIS();
+	}
+	
+	public ZDWordsCheckpoints getCheckpoints() {
+		return checkpoints;
+	}
+	
+	/**
+	 * Closes the pooled streams and the files, the pool tasks are finished before returning.
+	 */
+	public void close() throws IOException {
+		if (tiisPool != null) {
+			tiisPool.close();
+		}
+		if (tiis != null) {
+			tiis.close();
+		}
+		if (checkpointsFile != null) {
+			checkpointsFile.close();
+		}
+	}
+	
 }
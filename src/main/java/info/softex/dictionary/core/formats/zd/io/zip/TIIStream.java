@@ -35,6 +35,7 @@ import org.slf4j.LoggerFactory;
  * @modified version 1.4, 12/19/2010
  * @modified version 2.1, 04/10/2011
  * @modified version 2.2, 05/08/2011
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  * 
@@ -68,5 +69,14 @@ public class TIIStream extends SmartInflaterInputStream {
 		return new TIIStream(in, inflater, bufferSize);
 		
 	}
+	
+	/**
+	 * Closes the file and releases the native inflater memory without waiting for GC.
+	 */
+	@Override
+	public void close() throws IOException {
+		super.close();
+		inf.end();
+	}
 		
 }
@@ -20,10 +20,12 @@
 package info.softex.dictionary.core.formats.zd.io.zip;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
@@ -31,10 +33,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Keeps the streams positioned at the evenly distributed levels of the uncompressed data.
+ * The streams are created and positioned by the tasks of a <code>TIIStreamScheduler</code>
+ * which is usually shared by all pools, the tasks are scheduled only when a level is 
+ * emptied or a stream is returned. 
  * 
  * @since version 2.1, 04/11/2010
  * 
  * @modified version 3.4, 06/27/2012
+ * @modified version 4.8, 10/17/2026
  * 
  * @author Dmitry Viktorov
  *
@@ -61,11 +68,19 @@ public class TIIStreamPool {
 	
 	private final AtomicInteger activeThreadsNumber;
 	
-	public TIIStreamPool(TIIStreamFactory tiisFactory, long maxUncompressedLength, int streamsNumber, int readThreadNumber, int returnThreadNumber) {
+	private final TIIStreamScheduler scheduler;
+	
+	// Queued and running tasks, guarded by returnedStreams
+	private final Set<PositioningTask> tasks;
+	
+	private volatile boolean closed = false;
+	
+	public TIIStreamPool(TIIStreamFactory tiisFactory, long maxUncompressedLength, int streamsNumber, TIIStreamScheduler scheduler) {
 		
 		this.activeThreadsNumber = new AtomicInteger(0);
 		
 		this.tiisFactory = tiisFactory;
+		this.scheduler = scheduler != null ? scheduler : TIIStreamScheduler.getShared();
 		
 		long maxStreamsNumber = Math.max(0, maxUncompressedLength / minLevelGradeDiff - 1);
 
@@ -84,33 +99,12 @@ public class TIIStreamPool {
 		
 		this.activeStreams = new AtomicReferenceArray<TIIStream>(streamsNumber);
 		
-		// Create reading threads
-		if (readThreadNumber > this.streamsNumber) {
-			readThreadNumber = this.streamsNumber;
-		}
-		
-		if (readThreadNumber > 0) {
-			ExecutorService executorService = Executors.newFixedThreadPool(readThreadNumber, new ReadingThreadFactory());
-			for (int i = 0; i < readThreadNumber; i++) {
-				executorService.execute(new ReadingTask());
-			}
-		}
-		
-		// Create returning threads
 		this.returnedStreams = new LinkedList<TIIStream>();
+		this.tasks = new HashSet<PositioningTask>();
 		
-		if (returnThreadNumber > this.streamsNumber) {
-			returnThreadNumber = this.streamsNumber;
-		}
-		
-		if (returnThreadNumber > 0) {
-			ExecutorService executorService = Executors.newFixedThreadPool(returnThreadNumber, new ReturningThreadFactory());
-			for (int i = 0; i < returnThreadNumber; i++) {
-				executorService.execute(new ReturningTask());
-			}
-		}
+		scheduleTasks();
 		
-		log.debug("Streams: {}; Reading Threads: {}; Returning Threads: {}", streamsNumber, readThreadNumber, returnThreadNumber);
+		log.debug("Streams: {}; Pool Tasks: {}", streamsNumber, this.scheduler.getPoolTasksNumber());
 		
 	}
 	
@@ -144,9 +138,7 @@ public class TIIStreamPool {
 				}
 			}
 			
-			synchronized (this.activeStreams) { 
-				this.activeStreams.notify();
-			}
+			scheduleTasks();
 		} else {
 			is = this.tiisFactory.createTIIStream(position);
 		}
@@ -157,16 +149,98 @@ public class TIIStreamPool {
 	
 	public void put(TIIStream is) {
 		
-		if (this.streamsNumber == 0) {
-			return;
+		synchronized (this.returnedStreams) {
+			if (!this.closed && this.streamsNumber > 0 && this.returnedStreams.size() <= streamsNumber / 2) {
+				this.returnedStreams.add(is);
+				is = null;
+			}
+		}
+		
+		if (is != null) {
+			closeStream(is);
+		} else {
+			scheduleTasks();
+		}
+	}
+	
+	/**
+	 * Cancels the queued tasks, waits for the running ones and closes all streams 
+	 * of the pool. The streams taken by <code>get</code> are closed by the caller.
+	 */
+	public void close() {
+		
+		synchronized (this.returnedStreams) {
+			this.closed = true;
+			boolean cancelled = false;
+			for (Iterator<PositioningTask> it = this.tasks.iterator(); it.hasNext();) {
+				PositioningTask task = it.next();
+				if (!task.started) {
+					task.future.cancel(false);
+					it.remove();
+					cancelled = true;
+				}
+			}
+			if (cancelled) {
+				this.scheduler.purge();
+			}
+			while (!this.tasks.isEmpty()) {
+				try {
+					this.returnedStreams.wait();
+				} catch (InterruptedException e) {
+					log.warn("Interrupted while waiting for the pool tasks");
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			while (!this.returnedStreams.isEmpty()) {
+				closeStream(this.returnedStreams.removeFirst());
+			}
+		}
+		
+		for (int i = 0; i < this.activeStreams.length(); i++) {
+			TIIStream is = this.activeStreams.getAndSet(i, null);
+			if (is != null) {
+				closeStream(is);
+			}
 		}
 		
+	}
+	
+	public boolean isClosed() {
+		return this.closed;
+	}
+	
+	/**
+	 * @return the number of the positioned streams waiting in the pool
+	 */
+	public int getAvailableStreamsNumber() {
+		int count = 0;
+		for (int i = 0; i < this.activeStreams.length(); i++) {
+			if (this.activeStreams.get(i) != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Submits the tasks if there are returned streams or empty levels, 
+	 * up to the number of the tasks allowed per pool.
+	 */
+	private void scheduleTasks() {
 		synchronized (this.returnedStreams) {
-			if (this.returnedStreams.size() > streamsNumber / 2) {
-				return;
+			while (!this.closed && !this.scheduler.isShutdown() && 
+					this.tasks.size() < this.scheduler.getPoolTasksNumber() &&
+					(this.returnedStreams.size() > 0 || getNextAvailableLevelsNumber(0) > this.tasks.size())) {
+				PositioningTask task = new PositioningTask();
+				try {
+					task.future = this.scheduler.submit(task);
+				} catch (RejectedExecutionException e) {
+					log.debug("Scheduler is shut down");
+					return;
+				}
+				this.tasks.add(task);
 			}
-			this.returnedStreams.add(is);
-			this.returnedStreams.notify();
 		}
 	}
 	
@@ -298,112 +372,67 @@ public class TIIStreamPool {
 		return;
 	}
 	
-	private class ReadingTask implements Runnable {
-
-		private void waitOnStreams() {
-			synchronized (activeStreams) {
-				try {
-					activeStreams.wait();
-				} catch (InterruptedException e) {
-					log.error("Error in Reading Task", e);
-				}
-			}
-		}
+	/**
+	 * Positions the returned streams and fills the empty levels until there is nothing to do.
+	 */
+	private class PositioningTask implements Runnable {
+		
+		// Guarded by returnedStreams
+		private Future<?> future;
+		private boolean started = false;
 		
 		@Override
 		public void run() {
-			while (true) {
-
-				int availableLevels = getNextAvailableLevelsNumber(0);
-				int activeThreads = activeThreadsNumber.get();
-				if (activeThreads < availableLevels) {
-					activeThreadsNumber.incrementAndGet();
-				} else {
-					waitOnStreams();
-					continue;
+			
+			synchronized (returnedStreams) {
+				if (closed || !tasks.contains(this)) {
+					return;
 				}
-				
-				TIIStream iis = tiisFactory.createTIIStream();
-				
-				if (iis != null) {
-					int level = getNextAvailableLevel(0);
-					if (level != LEVEL_HIGH) {
+				this.started = true;
+			}
+			
+			try {
+				while (!closed) {
+					
+					TIIStream iis;
+					synchronized (returnedStreams) {
+						iis = returnedStreams.poll();
+					}
+					
+					if (iis != null) {
 						putDirectly(iis);
-					} else {
-						closeStream(iis);
+						continue;
 					}
-				}
-				
-				activeThreadsNumber.decrementAndGet();
-				
-			}
-
-		}
-		
-	}
-	
-	private class ReturningTask implements Runnable {
-		
-		private TIIStream waitAndGetReturnedStream() {
-			TIIStream iis = null;
-			synchronized (returnedStreams) {
-				while (iis == null) {
-					if (returnedStreams.size() == 0) {
-						try {
-							returnedStreams.wait();
-						} catch (InterruptedException e) {
-							log.error("Error in Returning Task", e);
-						}
+					
+					int availableLevels = getNextAvailableLevelsNumber(0);
+					if (activeThreadsNumber.incrementAndGet() > availableLevels) {
+						activeThreadsNumber.decrementAndGet();
+						break;
 					}
 					
-					// May lose element after wait if it doesn't get monitor immediately
-					if (returnedStreams.size() > 0) {
-						iis = returnedStreams.removeFirst();
+					try {
+						iis = tiisFactory.createTIIStream();
+						if (getNextAvailableLevel(0) != LEVEL_HIGH) {
+							putDirectly(iis);
+						} else {
+							closeStream(iis);
+						}
+					} finally {
+						activeThreadsNumber.decrementAndGet();
 					}
+					
 				}
-
-
-			}
-			return iis;
-		}
-		
-		@Override
-		public void run() {
-			while (true) {
-				
-				TIIStream iis = waitAndGetReturnedStream();
-
-				int availableLevels = getNextAvailableLevelsNumber(iis.getTotalBytesPassed());
-				int activeThreads = activeThreadsNumber.get();
-				
-				if (activeThreads < availableLevels) {
-					activeThreadsNumber.incrementAndGet();
-					putDirectly(iis);
-					activeThreadsNumber.decrementAndGet();
-				} else {
-					closeStream(iis);
+			} catch (RuntimeException e) {
+				log.error("Error in Positioning Task", e);
+			} finally {
+				synchronized (returnedStreams) {
+					tasks.remove(this);
+					returnedStreams.notifyAll();
 				}
 			}
+			
 		}
 		
 	}
 	
-	private class ReadingThreadFactory implements ThreadFactory {
-		public Thread newThread(Runnable task) {
-			Thread thread = new Thread(task);
-			thread.setDaemon(true);
-			thread.setPriority(Thread.MIN_PRIORITY);
-			return thread;
-		}
-	}
-	
-	private class ReturningThreadFactory implements ThreadFactory {
-		public Thread newThread(Runnable task) {
-			Thread thread = new Thread(task);
-			thread.setDaemon(true);
-			thread.setPriority(Thread.MIN_PRIORITY);
-			return thread;
-		}
-	}
-	
 }
@@ -0,0 +1,144 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd.io.zip;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded set of the background threads positioning the streams of all
+ * <code>TIIStreamPool</code>s sharing the scheduler. The threads are started
+ * on demand and stop after being idle, so the scheduler holds neither
+ * threads nor files while no pool needs streams.
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class TIIStreamScheduler {
+
+	private static final Logger log = LoggerFactory.getLogger(TIIStreamScheduler.class);
+
+	public static final int WORKERS_NUMBER_DEFAULT = 4;
+
+	public static final int POOL_TASKS_NUMBER_DEFAULT = 2;
+
+	protected static final long KEEP_ALIVE_SECONDS = 30;
+
+	private static volatile TIIStreamScheduler shared = null;
+
+	protected final ThreadPoolExecutor executor;
+
+	protected final int poolTasksNumber;
+
+	/**
+	 * @param workersNumber - maximum number of the threads
+	 * @param poolTasksNumber - maximum number of the tasks one pool may have
+	 * queued or running, so a busy reader can't take all the workers
+	 */
+	public TIIStreamScheduler(int workersNumber, int poolTasksNumber) {
+
+		this.poolTasksNumber = Math.max(poolTasksNumber, 1);
+
+		final AtomicInteger threadsCounter = new AtomicInteger(0);
+		this.executor = new ThreadPoolExecutor(
+			Math.max(workersNumber, 1), Math.max(workersNumber, 1), KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<Runnable>(),
+			new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "ZD Streams " + threadsCounter.incrementAndGet());
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					return thread;
+				}
+			}
+		);
+		this.executor.allowCoreThreadTimeOut(true);
+
+		log.debug("Workers: {}, Pool Tasks: {}", workersNumber, poolTasksNumber);
+
+	}
+
+	/**
+	 * @return the scheduler shared by the readers which aren't given their own one
+	 */
+	public static TIIStreamScheduler getShared() {
+		TIIStreamScheduler scheduler = shared;
+		if (scheduler == null) {
+			synchronized (TIIStreamScheduler.class) {
+				scheduler = shared;
+				if (scheduler == null) {
+					scheduler = new TIIStreamScheduler(
+						Math.min(WORKERS_NUMBER_DEFAULT, Runtime.getRuntime().availableProcessors()),
+						POOL_TASKS_NUMBER_DEFAULT
+					);
+					shared = scheduler;
+				}
+			}
+		}
+		return scheduler;
+	}
+
+	protected Future<?> submit(Runnable task) {
+		return this.executor.submit(task);
+	}
+
+	/**
+	 * Removes the cancelled tasks from the queue.
+	 */
+	protected void purge() {
+		this.executor.purge();
+	}
+
+	public int getPoolTasksNumber() {
+		return this.poolTasksNumber;
+	}
+
+	public int getWorkersNumber() {
+		return this.executor.getMaximumPoolSize();
+	}
+
+	public int getActiveThreadsNumber() {
+		return this.executor.getPoolSize();
+	}
+
+	/**
+	 * Stops the threads, the pools using the scheduler don't get new streams afterwards.
+	 * The shared scheduler doesn't need to be shut down as its threads stop when idle.
+	 */
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	public boolean isShutdown() {
+		return this.executor.isShutdown();
+	}
+
+}
@@ -0,0 +1,400 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+
+/**
+ * Pure Java inflater of the raw deflate stream (RFC 1951), it reports the start of every 
+ * deflate block with its exact bit position and gives access to the last 32 KB of the output. 
+ * <code>java.util.zip.Inflater</code> doesn't expose the block boundaries, so the scanner is 
+ * used to build the random access checkpoints, the data itself is then read by the native inflater.
+ * 
+ * The decoding follows the zlib's reference puff.c, it's not fast and is expected 
+ * to be used once per stream.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class DeflateBlockScanner {
+	
+	public static final int WINDOW_SIZE = 32768;
+	
+	public static final int BLOCK_STORED = 0;
+	public static final int BLOCK_FIXED = 1;
+	public static final int BLOCK_DYNAMIC = 2;
+	
+	protected static final int WINDOW_MASK = WINDOW_SIZE - 1;
+	protected static final int OUTPUT_BUFFER_SIZE = 65536;
+	
+	protected static final int MAX_BITS = 15;
+	protected static final int MAX_LCODES = 286;
+	protected static final int MAX_DCODES = 30;
+	protected static final int FIX_LCODES = 288;
+	
+	protected static final int[] LENGTH_BASE = {3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59, 67, 83, 99, 115, 131, 163, 195, 227, 258};
+	protected static final int[] LENGTH_EXTRA = {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0};
+	protected static final int[] DIST_BASE = {1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385, 513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577};
+	protected static final int[] DIST_EXTRA = {0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12, 12, 13, 13};
+	protected static final int[] CODE_LENGTHS_ORDER = {16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15};
+	
+	protected static final Huffman FIXED_LENGTH_CODES;
+	protected static final Huffman FIXED_DIST_CODES;
+	
+	static {
+		int[] lengths = new int[FIX_LCODES];
+		int symbol = 0;
+		for (; symbol < 144; symbol++) {
+			lengths[symbol] = 8;
+		}
+		for (; symbol < 256; symbol++) {
+			lengths[symbol] = 9;
+		}
+		for (; symbol < 280; symbol++) {
+			lengths[symbol] = 7;
+		}
+		for (; symbol < FIX_LCODES; symbol++) {
+			lengths[symbol] = 8;
+		}
+		FIXED_LENGTH_CODES = new Huffman(FIX_LCODES);
+		FIXED_LENGTH_CODES.construct(lengths, 0, FIX_LCODES);
+		for (symbol = 0; symbol < MAX_DCODES; symbol++) {
+			lengths[symbol] = 5;
+		}
+		FIXED_DIST_CODES = new Huffman(MAX_DCODES);
+		FIXED_DIST_CODES.construct(lengths, 0, MAX_DCODES);
+	}
+	
+	/**
+	 * Receives the start of every deflate block.
+	 */
+	public static interface BlockListener {
+		
+		/**
+		 * @param scanner - the output position and the window are the state before the block
+		 * @param bitPosition - position of the block header from the start of the stream
+		 * @param blockType - one of the BLOCK_* constants
+		 */
+		void blockStarted(DeflateBlockScanner scanner, long bitPosition, int blockType) throws IOException;
+		
+	}
+	
+	protected final InputStream in;
+	protected final OutputStream out;
+	
+	protected final byte[] window = new byte[WINDOW_SIZE];
+	protected final byte[] outputBuffer = new byte[OUTPUT_BUFFER_SIZE];
+	protected int outputBuffered = 0;
+	protected long outputPosition = 0;
+	
+	protected long inputPosition = 0;
+	protected int bitBuffer = 0;
+	protected int bitCount = 0;
+	
+	/**
+	 * @param in - the raw deflate stream, the caller should buffer it
+	 * @param out - receives the inflated data, may be null
+	 */
+	public DeflateBlockScanner(InputStream in, OutputStream out) {
+		this.in = in;
+		this.out = out;
+	}
+	
+	/**
+	 * Inflates the stream up to the end of the final block.
+	 * 
+	 * @return the number of the input bytes up to the end of the final block
+	 */
+	public long scan(BlockListener listener) throws IOException, DataFormatException {
+		boolean last;
+		do {
+			long bitPosition = getBitPosition();
+			last = bits(1) == 1;
+			int type = bits(2);
+			if (listener != null) {
+				listener.blockStarted(this, bitPosition, type);
+			}
+			switch (type) {
+				case BLOCK_STORED: 
+					stored(); 
+					break;
+				case BLOCK_FIXED: 
+					codes(FIXED_LENGTH_CODES, FIXED_DIST_CODES); 
+					break;
+				case BLOCK_DYNAMIC: 
+					dynamic(); 
+					break;
+				default:
+					throw new DataFormatException("Invalid deflate block type");
+			}
+		} while (!last);
+		flushOutput();
+		return inputPosition;
+	}
+	
+	public long getOutputPosition() {
+		return outputPosition;
+	}
+	
+	public long getBitPosition() {
+		return inputPosition * 8 - bitCount;
+	}
+	
+	/**
+	 * @return the copy of the last output bytes, up to 32 KB, in the stream order
+	 */
+	public byte[] getWindow() {
+		int length = (int) Math.min(outputPosition, WINDOW_SIZE);
+		byte[] copy = new byte[length];
+		int start = (int) ((outputPosition - length) & WINDOW_MASK);
+		int first = Math.min(length, WINDOW_SIZE - start);
+		System.arraycopy(window, start, copy, 0, first);
+		System.arraycopy(window, 0, copy, first, length - first);
+		return copy;
+	}
+	
+	protected int bits(int need) throws IOException {
+		int value = bitBuffer;
+		while (bitCount < need) {
+			int b = in.read();
+			if (b < 0) {
+				throw new EOFException("Unexpected end of the deflate stream");
+			}
+			inputPosition++;
+			value |= b << bitCount;
+			bitCount += 8;
+		}
+		bitBuffer = value >>> need;
+		bitCount -= need;
+		return value & ((1 << need) - 1);
+	}
+	
+	protected void output(int b) throws IOException {
+		window[(int) (outputPosition & WINDOW_MASK)] = (byte) b;
+		outputPosition++;
+		if (out != null) {
+			outputBuffer[outputBuffered++] = (byte) b;
+			if (outputBuffered == OUTPUT_BUFFER_SIZE) {
+				flushOutput();
+			}
+		}
+	}
+	
+	protected void flushOutput() throws IOException {
+		if (out != null && outputBuffered > 0) {
+			out.write(outputBuffer, 0, outputBuffered);
+		}
+		outputBuffered = 0;
+	}
+	
+	protected void stored() throws IOException, DataFormatException {
+		
+		// Discard the bits up to the byte boundary
+		bitBuffer = 0;
+		bitCount = 0;
+		
+		int length = bits(16);
+		int complement = bits(16);
+		if (length != (~complement & 0xFFFF)) {
+			throw new DataFormatException("Stored block length doesn't match its complement");
+		}
+		
+		for (int i = 0; i < length; i++) {
+			int b = in.read();
+			if (b < 0) {
+				throw new EOFException("Unexpected end of the deflate stream");
+			}
+			inputPosition++;
+			output(b);
+		}
+		
+	}
+	
+	protected void codes(Huffman lengthCodes, Huffman distCodes) throws IOException, DataFormatException {
+		int symbol;
+		do {
+			symbol = decode(lengthCodes);
+			if (symbol < 256) {
+				output(symbol);
+			} else if (symbol > 256) {
+				symbol -= 257;
+				if (symbol >= 29) {
+					throw new DataFormatException("Invalid deflate length symbol");
+				}
+				int length = LENGTH_BASE[symbol] + bits(LENGTH_EXTRA[symbol]);
+				symbol = decode(distCodes);
+				if (symbol >= 30) {
+					throw new DataFormatException("Invalid deflate distance symbol");
+				}
+				int dist = DIST_BASE[symbol] + bits(DIST_EXTRA[symbol]);
+				if (dist > outputPosition) {
+					throw new DataFormatException("Deflate distance is too far back");
+				}
+				for (int i = 0; i < length; i++) {
+					output(window[(int) ((outputPosition - dist) & WINDOW_MASK)] & 0xFF);
+				}
+			}
+		} while (symbol != 256);
+	}
+	
+	protected void dynamic() throws IOException, DataFormatException {
+		
+		int lengthsNumber = bits(5) + 257;
+		int distsNumber = bits(5) + 1;
+		int codesNumber = bits(4) + 4;
+		if (lengthsNumber > MAX_LCODES || distsNumber > MAX_DCODES) {
+			throw new DataFormatException("Invalid deflate dynamic block counts");
+		}
+		
+		int[] lengths = new int[MAX_LCODES + MAX_DCODES];
+		for (int i = 0; i < codesNumber; i++) {
+			lengths[CODE_LENGTHS_ORDER[i]] = bits(3);
+		}
+		
+		Huffman lengthCodes = new Huffman(MAX_LCODES);
+		Huffman distCodes = new Huffman(MAX_DCODES);
+		if (lengthCodes.construct(lengths, 0, 19) != 0) {
+			throw new DataFormatException("Invalid deflate code lengths code");
+		}
+		
+		int index = 0;
+		while (index < lengthsNumber + distsNumber) {
+			int symbol = decode(lengthCodes);
+			if (symbol < 16) {
+				lengths[index++] = symbol;
+			} else {
+				int length = 0;
+				int repeat;
+				if (symbol == 16) {
+					if (index == 0) {
+						throw new DataFormatException("Deflate repeat without the previous length");
+					}
+					length = lengths[index - 1];
+					repeat = 3 + bits(2);
+				} else if (symbol == 17) {
+					repeat = 3 + bits(3);
+				} else {
+					repeat = 11 + bits(7);
+				}
+				if (index + repeat > lengthsNumber + distsNumber) {
+					throw new DataFormatException("Deflate lengths repeat is too long");
+				}
+				while (repeat-- > 0) {
+					lengths[index++] = length;
+				}
+			}
+		}
+		
+		if (lengths[256] == 0) {
+			throw new DataFormatException("Deflate dynamic block has no end code");
+		}
+		
+		// Incomplete codes are allowed only for a single length 1 code
+		int left = lengthCodes.construct(lengths, 0, lengthsNumber);
+		if (left < 0 || (left > 0 && lengthsNumber - lengthCodes.count[0] != 1)) {
+			throw new DataFormatException("Invalid deflate literal/length code");
+		}
+		left = distCodes.construct(lengths, lengthsNumber, distsNumber);
+		if (left < 0 || (left > 0 && distsNumber - distCodes.count[0] != 1)) {
+			throw new DataFormatException("Invalid deflate distance code");
+		}
+		
+		codes(lengthCodes, distCodes);
+		
+	}
+	
+	protected int decode(Huffman huffman) throws IOException, DataFormatException {
+		int code = 0;
+		int first = 0;
+		int index = 0;
+		for (int length = 1; length <= MAX_BITS; length++) {
+			code |= bits(1);
+			int count = huffman.count[length];
+			if (code - count < first) {
+				return huffman.symbol[index + (code - first)];
+			}
+			index += count;
+			first += count;
+			first <<= 1;
+			code <<= 1;
+		}
+		throw new DataFormatException("Invalid deflate Huffman code");
+	}
+	
+	/**
+	 * Canonical Huffman code: the number of the codes per length and the symbols ordered by the codes.
+	 */
+	protected static class Huffman {
+		
+		protected final short[] count = new short[MAX_BITS + 1];
+		protected final short[] symbol;
+		
+		protected Huffman(int symbolsNumber) {
+			this.symbol = new short[symbolsNumber];
+		}
+		
+		/**
+		 * @return 0 for the complete code, negative for the over-subscribed one, positive for the incomplete one
+		 */
+		protected int construct(int[] lengths, int offset, int n) {
+			
+			for (int i = 0; i <= MAX_BITS; i++) {
+				count[i] = 0;
+			}
+			for (int i = 0; i < n; i++) {
+				count[lengths[offset + i]]++;
+			}
+			if (count[0] == n) {
+				return 0;
+			}
+			
+			int left = 1;
+			for (int length = 1; length <= MAX_BITS; length++) {
+				left <<= 1;
+				left -= count[length];
+				if (left < 0) {
+					return left;
+				}
+			}
+			
+			short[] offsets = new short[MAX_BITS + 1];
+			for (int length = 1; length < MAX_BITS; length++) {
+				offsets[length + 1] = (short) (offsets[length] + count[length]);
+			}
+			for (int i = 0; i < n; i++) {
+				if (lengths[offset + i] != 0) {
+					symbol[offsets[lengths[offset + i]]++] = (short) i;
+				}
+			}
+			
+			return left;
+			
+		}
+		
+	}
+
+}
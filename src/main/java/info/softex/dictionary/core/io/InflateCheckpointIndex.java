@@ -0,0 +1,384 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Random access index of a zlib stream, similar to the zlib's zran. Every <code>span</code> 
+ * uncompressed bytes it keeps a checkpoint at the next deflate block: the compressed byte 
+ * and bit offsets of the block and the 32 KB window preceding it. A stream opened at any 
+ * uncompressed position inflates at most the span and a block from the nearest checkpoint 
+ * instead of everything from the stream start.
+ * 
+ * <code>java.util.zip.Inflater</code> has no <code>inflatePrime</code>, so the blocks starting 
+ * in the middle of a byte are read by shifting the compressed bytes by the bit offset. The shift 
+ * breaks the byte alignment of the stored blocks, so such a checkpoint is valid only up to the 
+ * next stored block. The byte aligned checkpoint at the stream start is always valid.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class InflateCheckpointIndex {
+	
+	private static final Logger log = LoggerFactory.getLogger(InflateCheckpointIndex.class);
+	
+	protected static final int ZLIB_HEADER_SIZE = 2;
+	protected static final int ZLIB_TRAILER_SIZE = 4;
+	
+	protected static final int READ_BUFFER_SIZE = 8192;
+	
+	protected final long span;
+	protected final long uncompressedSize;
+	protected final long streamEndPosition;
+	
+	protected final long[] compressedPositions;
+	protected final byte[] bitOffsets;
+	protected final long[] uncompressedPositions;
+	protected final long[] validUntil;
+	protected final byte[][] windows;
+	
+	protected InflateCheckpointIndex(long span, long uncompressedSize, long streamEndPosition, List<Checkpoint> checkpoints) {
+		this.span = span;
+		this.uncompressedSize = uncompressedSize;
+		this.streamEndPosition = streamEndPosition;
+		int size = checkpoints.size();
+		this.compressedPositions = new long[size];
+		this.bitOffsets = new byte[size];
+		this.uncompressedPositions = new long[size];
+		this.validUntil = new long[size];
+		this.windows = new byte[size][];
+		for (int i = 0; i < size; i++) {
+			Checkpoint checkpoint = checkpoints.get(i);
+			compressedPositions[i] = checkpoint.compressedPosition;
+			bitOffsets[i] = (byte) checkpoint.bitOffset;
+			uncompressedPositions[i] = checkpoint.uncompressedPosition;
+			validUntil[i] = checkpoint.validUntil;
+			windows[i] = checkpoint.window;
+		}
+	}
+	
+	/**
+	 * Inflates the zlib stream once and builds its checkpoints.
+	 * 
+	 * @param in - the zlib stream, the caller should buffer it
+	 * @param streamPosition - position of the stream in the file, the checkpoints keep the file positions
+	 * @param span - minimum number of the uncompressed bytes between the checkpoints
+	 * @param out - receives the inflated data, may be null
+	 */
+	public static InflateCheckpointIndex build(InputStream in, final long streamPosition, final long span, OutputStream out) throws IOException, DataFormatException {
+		
+		long t1 = System.currentTimeMillis();
+		
+		int cmf = in.read();
+		int flg = in.read();
+		if (cmf < 0 || flg < 0 || (cmf & 0x0F) != 8 || ((cmf << 8) | flg) % 31 != 0) {
+			throw new DataFormatException("Not a zlib stream");
+		}
+		if ((flg & 0x20) != 0) {
+			throw new DataFormatException("Zlib streams with a preset dictionary aren't supported");
+		}
+		
+		final long deflatePosition = streamPosition + ZLIB_HEADER_SIZE;
+		final List<Checkpoint> checkpoints = new ArrayList<Checkpoint>();
+		
+		DeflateBlockScanner scanner = new DeflateBlockScanner(in, out);
+		long deflateSize = scanner.scan(new DeflateBlockScanner.BlockListener() {
+			
+			protected long lastCheckpoint = -1;
+			protected int firstUnbounded = 0;
+			
+			@Override
+			public void blockStarted(DeflateBlockScanner scanner, long bitPosition, int blockType) {
+				
+				long position = scanner.getOutputPosition();
+				int bitOffset = (int) (bitPosition & 7);
+				
+				if (blockType == DeflateBlockScanner.BLOCK_STORED) {
+					// The shifted checkpoints can't pass the stored block
+					for (int i = firstUnbounded; i < checkpoints.size(); i++) {
+						Checkpoint checkpoint = checkpoints.get(i);
+						if (checkpoint.bitOffset != 0 && checkpoint.validUntil == Long.MAX_VALUE) {
+							checkpoint.validUntil = position;
+						}
+					}
+					firstUnbounded = checkpoints.size();
+					if (bitOffset != 0) {
+						return;
+					}
+				}
+				
+				if (lastCheckpoint < 0 || position - lastCheckpoint >= span) {
+					checkpoints.add(new Checkpoint(deflatePosition + (bitPosition >>> 3), bitOffset, position, scanner.getWindow()));
+					lastCheckpoint = position;
+				}
+				
+			}
+			
+		});
+		
+		InflateCheckpointIndex index = new InflateCheckpointIndex(
+			span, scanner.getOutputPosition(), deflatePosition + deflateSize + ZLIB_TRAILER_SIZE, checkpoints
+		);
+		
+		log.info("Inflate checkpoints built | Uncompressed: {}, Checkpoints: {}, Time: {} ms", 
+			index.uncompressedSize, checkpoints.size(), System.currentTimeMillis() - t1);
+		
+		return index;
+		
+	}
+	
+	/**
+	 * Opens the stream inflating the data from the uncompressed position. The channel 
+	 * is read by the absolute positions, so it can be shared by the concurrent streams.
+	 * 
+	 * @param position - the first uncompressed byte to read
+	 * @param endPosition - the uncompressed position the caller won't read beyond
+	 */
+	public SmartInflaterInputStream openStream(FileChannel channel, long position, long endPosition) throws IOException {
+		
+		if (position < 0 || position > uncompressedSize) {
+			throw new IOException("Position is out of the stream: " + position + ", size: " + uncompressedSize);
+		}
+		
+		int i = findCheckpoint(position, endPosition);
+		
+		final Inflater inflater = new Inflater(true);
+		if (windows[i].length > 0) {
+			inflater.setDictionary(windows[i]);
+		}
+		
+		SmartInflaterInputStream is = new SmartInflaterInputStream(
+				new ShiftedChannelInputStream(channel, compressedPositions[i], bitOffsets[i]), inflater, READ_BUFFER_SIZE
+			) {
+			@Override
+			public void close() throws IOException {
+				super.close();
+				inflater.end();
+			}
+		};
+		
+		long skip = position - uncompressedPositions[i];
+		while (skip > 0) {
+			long skipped = is.skip(skip);
+			if (skipped <= 0) {
+				is.close();
+				throw new IOException("Couldn't skip to the position " + position + " from the checkpoint " + uncompressedPositions[i]);
+			}
+			skip -= skipped;
+		}
+		
+		return is;
+		
+	}
+	
+	/**
+	 * @return the closest checkpoint before the position which is valid up to the end position
+	 */
+	protected int findCheckpoint(long position, long endPosition) {
+		int low = 0;
+		int high = uncompressedPositions.length - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (uncompressedPositions[mid] <= position) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		while (low > 0 && validUntil[low] <= endPosition) {
+			low--;
+		}
+		return low;
+	}
+	
+	public long getSpan() {
+		return span;
+	}
+	
+	public long getUncompressedSize() {
+		return uncompressedSize;
+	}
+	
+	/**
+	 * @return the file position following the zlib stream trailer
+	 */
+	public long getStreamEndPosition() {
+		return streamEndPosition;
+	}
+	
+	public int getCheckpointsNumber() {
+		return uncompressedPositions.length;
+	}
+	
+	public long getMemorySize() {
+		long size = uncompressedPositions.length * (8L * 3 + 1);
+		for (byte[] window : windows) {
+			size += window.length;
+		}
+		return size;
+	}
+	
+	public void write(DataOutput out) throws IOException {
+		out.writeLong(span);
+		out.writeLong(uncompressedSize);
+		out.writeLong(streamEndPosition);
+		out.writeInt(uncompressedPositions.length);
+		for (int i = 0; i < uncompressedPositions.length; i++) {
+			out.writeLong(compressedPositions[i]);
+			out.writeByte(bitOffsets[i]);
+			out.writeLong(uncompressedPositions[i]);
+			out.writeLong(validUntil[i]);
+			out.writeInt(windows[i].length);
+			out.write(windows[i]);
+		}
+	}
+	
+	public static InflateCheckpointIndex read(DataInput in) throws IOException {
+		long span = in.readLong();
+		long uncompressedSize = in.readLong();
+		long streamEndPosition = in.readLong();
+		int size = in.readInt();
+		List<Checkpoint> checkpoints = new ArrayList<Checkpoint>(size);
+		for (int i = 0; i < size; i++) {
+			long compressedPosition = in.readLong();
+			int bitOffset = in.readByte();
+			long uncompressedPosition = in.readLong();
+			long validUntil = in.readLong();
+			byte[] window = new byte[in.readInt()];
+			in.readFully(window);
+			Checkpoint checkpoint = new Checkpoint(compressedPosition, bitOffset, uncompressedPosition, window);
+			checkpoint.validUntil = validUntil;
+			checkpoints.add(checkpoint);
+		}
+		if (checkpoints.isEmpty()) {
+			throw new IOException("Inflate checkpoints are empty");
+		}
+		return new InflateCheckpointIndex(span, uncompressedSize, streamEndPosition, checkpoints);
+	}
+	
+	protected static class Checkpoint {
+		
+		protected final long compressedPosition;
+		protected final int bitOffset;
+		protected final long uncompressedPosition;
+		protected final byte[] window;
+		protected long validUntil = Long.MAX_VALUE;
+		
+		protected Checkpoint(long compressedPosition, int bitOffset, long uncompressedPosition, byte[] window) {
+			this.compressedPosition = compressedPosition;
+			this.bitOffset = bitOffset;
+			this.uncompressedPosition = uncompressedPosition;
+			this.window = window;
+		}
+		
+	}
+	
+	/**
+	 * Reads the channel from the position by the absolute reads, the bytes are 
+	 * shifted right by the bit offset, so the stream starts at the block header.
+	 */
+	protected static class ShiftedChannelInputStream extends InputStream {
+		
+		protected final FileChannel channel;
+		protected final int bitOffset;
+		protected final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		
+		protected long position;
+		protected int current = -1;
+		protected boolean finished = false;
+		
+		protected ShiftedChannelInputStream(FileChannel channel, long position, int bitOffset) {
+			this.channel = channel;
+			this.position = position;
+			this.bitOffset = bitOffset;
+			this.buffer.limit(0);
+		}
+		
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (current < 0) {
+				current = nextByte();
+				if (current < 0) {
+					return -1;
+				}
+			}
+			if (finished) {
+				return -1;
+			}
+			int n = 0;
+			while (n < len) {
+				int next = nextByte();
+				if (next < 0) {
+					// The last byte keeps only its high bits
+					b[off + n++] = (byte) (current >>> bitOffset);
+					finished = true;
+					break;
+				}
+				b[off + n++] = (byte) ((current >>> bitOffset) | (next << (8 - bitOffset)));
+				current = next;
+				if (!buffer.hasRemaining()) {
+					break;
+				}
+			}
+			return n;
+		}
+		
+		protected int nextByte() throws IOException {
+			if (!buffer.hasRemaining()) {
+				buffer.clear();
+				int read = channel.read(buffer, position);
+				buffer.flip();
+				if (read <= 0) {
+					return -1;
+				}
+				position += read;
+			}
+			return buffer.get() & 0xFF;
+		}
+		
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the counters and the latency histograms in memory. A single instance
+ * could be shared by several readers to get the totals.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class BasicMetricsRecorder implements MetricsRecorder {
+	
+	protected final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
+	protected final ConcurrentMap<String, LatencyHistogram> timers = new ConcurrentHashMap<String, LatencyHistogram>();
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public void increment(String counter, long delta) {
+		AtomicLong value = counters.get(counter);
+		if (value == null) {
+			AtomicLong created = new AtomicLong();
+			value = counters.putIfAbsent(counter, created);
+			if (value == null) {
+				value = created;
+			}
+		}
+		value.addAndGet(delta);
+	}
+
+	@Override
+	public void recordTime(String timer, long nanos) {
+		getOrCreateHistogram(timer).record(nanos);
+	}
+	
+	/**
+	 * @return the counter value, 0 if it was never incremented
+	 */
+	public long getCounter(String counter) {
+		AtomicLong value = counters.get(counter);
+		return value == null ? 0 : value.get();
+	}
+	
+	/**
+	 * @return the histogram of the timer in nanoseconds, null if nothing was recorded
+	 */
+	public LatencyHistogram getHistogram(String timer) {
+		return timers.get(timer);
+	}
+	
+	/**
+	 * @return hits / (hits + misses) or 0 if there were no requests
+	 */
+	public double getHitRatio(String hitsCounter, String missesCounter) {
+		long hits = getCounter(hitsCounter);
+		long total = hits + getCounter(missesCounter);
+		return total == 0 ? 0 : (double) hits / total;
+	}
+	
+	/**
+	 * Returns the counters and the timers percentiles in microseconds sorted by names.
+	 */
+	public Map<String, Long> snapshot() {
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().get());
+		}
+		for (Map.Entry<String, LatencyHistogram> entry : timers.entrySet()) {
+			LatencyHistogram histogram = entry.getValue();
+			result.put(entry.getKey() + ".count", histogram.getCount());
+			result.put(entry.getKey() + ".p50.us", TimeUnit.NANOSECONDS.toMicros(histogram.getPercentile(50)));
+			result.put(entry.getKey() + ".p99.us", TimeUnit.NANOSECONDS.toMicros(histogram.getPercentile(99)));
+			result.put(entry.getKey() + ".max.us", TimeUnit.NANOSECONDS.toMicros(histogram.getMax()));
+		}
+		return result;
+	}
+	
+	public void reset() {
+		counters.clear();
+		timers.clear();
+	}
+	
+	@Override
+	public String toString() {
+		return "BasicMetricsRecorder " + snapshot();
+	}
+	
+	protected LatencyHistogram getOrCreateHistogram(String timer) {
+		LatencyHistogram histogram = timers.get(timer);
+		if (histogram == null) {
+			LatencyHistogram created = new LatencyHistogram();
+			histogram = timers.putIfAbsent(timer, created);
+			if (histogram == null) {
+				histogram = created;
+			}
+		}
+		return histogram;
+	}
+
+}
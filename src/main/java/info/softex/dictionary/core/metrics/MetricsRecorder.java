@@ -0,0 +1,63 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.metrics;
+
+/**
+ * Receives the counters and the timings reported by the readers and the writers.
+ * Implementations must be thread safe, the calls come from the lookup threads.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public interface MetricsRecorder {
+	
+	// Counters
+	public static final String WORDS_BLOCK_RESTORES = "words.block.restores";
+	public static final String ARTICLE_BLOCKS_CACHE_HITS = "articles.blocks.cache.hits";
+	public static final String ARTICLE_BLOCKS_CACHE_MISSES = "articles.blocks.cache.misses";
+	public static final String MEDIA_RESOURCES_CACHE_HITS = "media.cache.hits";
+	public static final String MEDIA_RESOURCES_CACHE_MISSES = "media.cache.misses";
+	public static final String INFLATED_BYTES = "inflate.bytes";
+	public static final String ARTICLES_WRITTEN = "write.articles";
+	public static final String MEDIA_RESOURCES_WRITTEN = "write.media";
+	
+	// Timers in nanoseconds
+	public static final String WORDS_BLOCK_RESTORE_TIME = "words.block.restore.time";
+	public static final String WORDS_SEARCH_TIME = "words.search.time";
+	public static final String SQL_QUERY_TIME = "sql.query.time";
+	public static final String INFLATE_TIME = "inflate.time";
+	public static final String ARTICLE_FETCH_TIME = "articles.fetch.time";
+	public static final String ARTICLE_FORMAT_TIME = "articles.format.time";
+	public static final String BASE_LOAD_TIME = "base.load.time";
+	public static final String WRITE_FLUSH_TIME = "write.flush.time";
+	
+	/**
+	 * Returns false if the recorder ignores the values, so the callers could skip the timing.
+	 */
+	public boolean isEnabled();
+	
+	public void increment(String counter, long delta);
+	
+	public void recordTime(String timer, long nanos);
+
+}
@@ -0,0 +1,52 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.metrics;
+
+/**
+ * Timing helpers which don't read the clock if the recorder is disabled.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public class MetricsUtils {
+	
+	// Returned instead of the start time if the recorder is disabled, nanoTime could be negative 
+	public static final long NOT_STARTED = Long.MIN_VALUE;
+	
+	/**
+	 * @return the start time in nanoseconds or NOT_STARTED if the recorder is disabled
+	 */
+	public static long startTiming(MetricsRecorder metrics) {
+		return metrics.isEnabled() ? System.nanoTime() : NOT_STARTED;
+	}
+	
+	/**
+	 * Records the time passed since the start, does nothing if the timing wasn't started.
+	 */
+	public static void stopTiming(MetricsRecorder metrics, String timer, long start) {
+		if (start != NOT_STARTED) {
+			metrics.recordTime(timer, System.nanoTime() - start);
+		}
+	}
+
+}
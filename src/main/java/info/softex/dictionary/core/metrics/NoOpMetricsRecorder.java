@@ -0,0 +1,58 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.metrics;
+
+/**
+ * The default recorder which ignores all values.
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ * 
+ */
+public final class NoOpMetricsRecorder implements MetricsRecorder {
+	
+	public static final NoOpMetricsRecorder INSTANCE = new NoOpMetricsRecorder();
+	
+	private NoOpMetricsRecorder() {
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return false;
+	}
+
+	@Override
+	public void increment(String counter, long delta) {
+	}
+
+	@Override
+	public void recordTime(String timer, long nanos) {
+	}
+	
+	/**
+	 * Returns the given recorder or the no-op one if it's null.
+	 */
+	public static MetricsRecorder nonNull(MetricsRecorder recorder) {
+		return recorder != null ? recorder : INSTANCE;
+	}
+
+}
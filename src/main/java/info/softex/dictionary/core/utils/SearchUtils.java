@@ -19,13 +19,21 @@
 
 package info.softex.dictionary.core.utils;
 
+import java.text.CollationElementIterator;
+import java.text.Collator;
+import java.text.RuleBasedCollator;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.TreeMap;
 
 /**
  *
  * @since version 4.7, 03/30/2015
  *
+ * @modified version 4.8, 10/17/2026
+ *
  * @author Dmitry Viktorov
  *
  */
@@ -49,26 +57,65 @@ public class SearchUtils {
             return result;
         }
 
-        // Prepare info about like expression
-        String likeExpLC = likeExp.toLowerCase();
-        boolean anyBefore = false;
-        boolean anyAfter = false;
+        LikeExpression exp = new LikeExpression(likeExp);
 
-        // Check for any before and after only if like expression length is > 2
-        if (likeExp.length() > 2) {
-            if (likeExpLC.startsWith(PERCENT)) {
-                anyBefore = true;
-                likeExpLC = likeExpLC.substring(1);
+        // Go over the list of strings to check the condition
+        int count = 0;
+        for (String str : list) {
+
+            if (exp.matches(str)) {
+                result.put(count, str);
+
+                // Check if the limit is reached
+                if (result.size() >= limit) {
+                    break;
+                }
             }
-            if (likeExpLC.endsWith(PERCENT)) {
-                anyAfter = true;
-                likeExpLC = likeExpLC.substring(0, likeExpLC.length() - 1);
+
+            count++;
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * Parsed SQL 'like' expression used by {@link SearchUtils#searchSQLLike}, 
+     * the matching is case insensitive.
+     */
+    public static class LikeExpression {
+
+        protected final String likeExpLC;
+        protected final boolean anyBefore;
+        protected final boolean anyAfter;
+
+        public LikeExpression(final String likeExp) {
+
+            // Prepare info about like expression
+            String expLC = likeExp.toLowerCase();
+            boolean before = false;
+            boolean after = false;
+
+            // Check for any before and after only if like expression length is > 2
+            if (likeExp.length() > 2) {
+                if (expLC.startsWith(PERCENT)) {
+                    before = true;
+                    expLC = expLC.substring(1);
+                }
+                if (expLC.endsWith(PERCENT)) {
+                    after = true;
+                    expLC = expLC.substring(0, expLC.length() - 1);
+                }
             }
+
+            this.likeExpLC = expLC;
+            this.anyBefore = before;
+            this.anyAfter = after;
+
         }
 
-        // Go over the list of strings to check the condition
-        int count = 0;
-        for (String str : list) {
+        public boolean matches(final String str) {
             String strLC = str.toLowerCase();
 
             // Check if the String satisfies start from or before statement
@@ -79,27 +126,147 @@ public class SearchUtils {
             	index = 0;
             }
 
-            if (index >= 0) {
-            	// If any character is allowed after the prefix, add it to the result
-                if (anyAfter || strLC.length() == index + strLC.length() || strLC.endsWith(likeExpLC)) {
-                	
-                	result.put(count, str);
-                	
-                    // Check if the limit is reached
-                    if (result.size() >= limit) {
-                        break;
-                    }
+            // If any character is allowed after the prefix, it matches
+            return index >= 0 && (anyAfter || strLC.length() == index + strLC.length() || strLC.endsWith(likeExpLC));
+        }
+
+        /**
+         * @return the lower case expression w/o the wildcards
+         */
+        public String getValue() {
+            return likeExpLC;
+        }
+
+        public boolean isAnyBefore() {
+            return anyBefore;
+        }
+
+        public boolean isAnyAfter() {
+            return anyAfter;
+        }
+
+    }
+
+    /**
+     * Returns the prefix of a 'prefix%' like expression which can be searched in a sorted list.
+     * Follows the rules of the like search: % are wildcards only at the head and tail 
+     * of the expressions longer than 2 characters. 
+     * 
+     * @return the prefix or null if the expression isn't a plain prefix one
+     */
+    public static String getSQLLikePrefix(final String likeExp) {
+        if (likeExp == null || likeExp.length() <= 2 || !likeExp.endsWith(PERCENT) || likeExp.startsWith(PERCENT)) {
+            return null;
+        }
+        String prefix = likeExp.substring(0, likeExp.length() - 1);
+        // Underscore is a single character wildcard for SQL
+        if (prefix.indexOf('_') >= 0) {
+            return null;
+        }
+        return prefix;
+    }
+    
+    /**
+     * Searches the words starting with the prefix (case insensitive) in the list sorted by the collator. 
+     * The start is found by a binary search, then the list is walked while the primary collation 
+     * elements of the words start with the ones of the prefix, so only the matching range is touched. 
+     * The words with ignorable characters, e.g. hyphens, inside the range don't end the walk.
+     * 
+     * @param sortedList - list sorted by the collator
+     * @param limit - the maximum number of items to be returned
+     * @return words by their indexes, the first ones if the limit is reached
+     */
+    public static TreeMap<Integer, String> searchPrefix(final List<String> sortedList, final Collator collator, final String prefix, final int limit) {
+
+        TreeMap<Integer, String> result = new TreeMap<>();
+
+        if (sortedList == null || prefix == null || limit <= 0) {
+            return result;
+        }
+
+        // Higher strengths only refine the primary order, so the range stays contiguous
+        Collator primary = collator;
+        if (collator.getStrength() != Collator.PRIMARY) {
+            primary = (Collator) collator.clone();
+            primary.setStrength(Collator.PRIMARY);
+        }
+
+        int index = Collections.binarySearch(sortedList, prefix, primary);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        // Binary search returns any of equal words, step back to the first one
+        while (index > 0 && isInPrefixRange(primary, sortedList.get(index - 1), prefix, null)) {
+            index--;
+        }
+
+        int[] prefixOrders = primary instanceof RuleBasedCollator ? getPrimaryOrders((RuleBasedCollator) primary, prefix) : null;
+        int size = sortedList.size();
+        for (; index < size; index++) {
+            String word = sortedList.get(index);
+            if (!isInPrefixRange(primary, word, prefix, prefixOrders)) {
+                break;
+            }
+            // Words equal by collation may still differ, e.g. by accents
+            if (word.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                result.put(index, word);
+                if (result.size() >= limit) {
+                    break;
                 }
             }
-            
-            count++;
-
         }
 
         return result;
 
     }
 
+    protected static int compareHead(final Collator collator, final String word, final String prefix) {
+        return collator.compare(word.length() > prefix.length() ? word.substring(0, prefix.length()) : word, prefix);
+    }
+
+    /**
+     * The head of the word cut by the prefix length isn't enough to bound the range, since 
+     * the ignorable characters shift the head, e.g. "a-bd" is between "abc" and "abe" for "ab".
+     */
+    protected static boolean isInPrefixRange(final Collator primary, final String word, final String prefix, final int[] prefixOrders) {
+        if (compareHead(primary, word, prefix) == 0) {
+            return true;
+        }
+        return prefixOrders != null && startsWithPrimaryOrders((RuleBasedCollator) primary, word, prefixOrders);
+    }
+
+    protected static int[] getPrimaryOrders(final RuleBasedCollator collator, final String text) {
+        int[] orders = new int[text.length()];
+        int size = 0;
+        CollationElementIterator it = collator.getCollationElementIterator(text);
+        for (int order = it.next(); order != CollationElementIterator.NULLORDER; order = it.next()) {
+            int primaryOrder = CollationElementIterator.primaryOrder(order);
+            if (primaryOrder == 0) {
+                continue;
+            }
+            if (size == orders.length) {
+                orders = Arrays.copyOf(orders, size * 2 + 1);
+            }
+            orders[size++] = primaryOrder;
+        }
+        return Arrays.copyOf(orders, size);
+    }
+
+    protected static boolean startsWithPrimaryOrders(final RuleBasedCollator collator, final String word, final int[] prefixOrders) {
+        int matched = 0;
+        CollationElementIterator it = collator.getCollationElementIterator(word);
+        for (int order = it.next(); matched < prefixOrders.length && order != CollationElementIterator.NULLORDER; order = it.next()) {
+            int primaryOrder = CollationElementIterator.primaryOrder(order);
+            if (primaryOrder == 0) {
+                continue;
+            }
+            if (primaryOrder != prefixOrders[matched++]) {
+                return false;
+            }
+        }
+        return matched == prefixOrders.length;
+    }
+
     /**
      * Escapes SQL like expressions using the provided parameters.
      * The like expressions are supposed to have % only the head and tail.
@@ -0,0 +1,331 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class AbstractDynamicListSetTest {
+	
+	protected static class TestListSet extends AbstractDynamicListSet<String> {
+		
+		protected final AtomicInteger restores = new AtomicInteger();
+		protected final AtomicInteger running = new AtomicInteger();
+		protected final AtomicInteger maxRunning = new AtomicInteger();
+		protected final boolean concurrent;
+		
+		// If set, the restore of the block waits for the latch
+		protected volatile int blockedNumber = -1;
+		protected final CountDownLatch blockedLatch = new CountDownLatch(1);
+		
+		public TestListSet(int maxSize, int blockSize) {
+			this(maxSize, blockSize, false);
+		}
+		
+		public TestListSet(int maxSize, int blockSize, boolean concurrent) {
+			super(maxSize, blockSize, CacheBlockReferenceTypes.SOFT);
+			this.concurrent = concurrent;
+			for (int i = 0; i < weakBlocksList.length; i++) {
+				weakBlocksList[i] = new BasicCacheBlock<String>(i, referenceType);
+			}
+		}
+		
+		@Override
+		protected boolean isConcurrentRestoreSupported() {
+			return concurrent;
+		}
+		
+		@Override
+		protected List<String> restoreBlockContent(BasicCacheBlock<String> block) throws Exception {
+			restores.incrementAndGet();
+			int cur = running.incrementAndGet();
+			if (cur > maxRunning.get()) {
+				maxRunning.set(cur);
+			}
+			try {
+				if (block.getBlockNumber() == blockedNumber) {
+					blockedLatch.await(5, TimeUnit.SECONDS);
+				}
+				Thread.sleep(1);
+			} finally {
+				running.decrementAndGet();
+			}
+			int start = block.getBlockNumber() * blockSize;
+			int end = Math.min(start + blockSize, maxSize);
+			List<String> elements = new ArrayList<String>(end - start);
+			for (int i = start; i < end; i++) {
+				elements.add(word(i));
+			}
+			block.setElementsReference(elements, referenceType);
+			return elements;
+		}
+		
+	}
+	
+	protected static String word(int index) {
+		return "w" + index;
+	}
+	
+	protected static void waitLoaded(AbstractDynamicListSet<?> list, int blockNumber) throws InterruptedException {
+		for (int i = 0; i < 200 && !list.isBlockLoaded(blockNumber); i++) {
+			Thread.sleep(10);
+		}
+	}
+	
+	@Test
+	public void testSequentialPrefetch() throws Exception {
+		TestListSet list = new TestListSet(1000, 10);
+		list.setPrefetch(3, null);
+		
+		assertEquals(word(0), list.get(0));
+		assertEquals(word(10), list.get(10));
+		
+		for (int i = 2; i <= 4; i++) {
+			waitLoaded(list, i);
+			assertTrue(list.isBlockLoaded(i));
+		}
+		assertFalse(list.isBlockLoaded(5));
+		
+		// Stop prefetching, so the read ahead of block 5 can't be counted as a restore
+		list.setPrefetch(0, null);
+		int restores = list.restores.get();
+		assertEquals(word(25), list.get(25));
+		assertEquals(restores, list.restores.get());
+	}
+	
+	@Test
+	public void testBackwardPrefetch() throws Exception {
+		TestListSet list = new TestListSet(1000, 10);
+		list.setPrefetch(2, null);
+		
+		assertEquals(word(505), list.get(505));
+		assertEquals(word(495), list.get(495));
+		
+		waitLoaded(list, 47);
+		assertTrue(list.isBlockLoaded(48));
+		assertTrue(list.isBlockLoaded(47));
+	}
+	
+	@Test
+	public void testRandomAccessNoPrefetch() throws Exception {
+		TestListSet list = new TestListSet(1000, 10);
+		list.setPrefetch(3, null);
+		
+		assertEquals(word(100), list.get(100));
+		assertEquals(word(500), list.get(500));
+		Thread.sleep(50);
+		
+		assertEquals(2, list.restores.get());
+		assertFalse(list.isBlockLoaded(51));
+	}
+	
+	@Test
+	public void testConcurrentScroll() throws Exception {
+		final TestListSet list = new TestListSet(10000, 16);
+		list.setPrefetch(4, null);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int t = 0; t < 4; t++) {
+				final int shift = t * 1000;
+				results.add(executor.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						int mismatches = 0;
+						for (int i = 0; i < list.size(); i++) {
+							int index = (i + shift) % list.size();
+							if (!word(index).equals(list.get(index))) {
+								mismatches++;
+							}
+						}
+						return mismatches;
+					}
+				}));
+			}
+			for (Future<Integer> result : results) {
+				assertEquals(0, (int) result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testCachedHitsDontWaitForRestore() throws Exception {
+		final TestListSet list = new TestListSet(1000, 10, true);
+		assertEquals(word(5), list.get(5));
+		
+		list.blockedNumber = 50;
+		Thread restoring = new Thread() {
+			@Override
+			public void run() {
+				list.get(500);
+			}
+		};
+		restoring.start();
+		while (list.running.get() == 0) {
+			Thread.sleep(1);
+		}
+		
+		// Another thread reads the cached block and restores other blocks while block 50 is blocked
+		final AtomicInteger done = new AtomicInteger();
+		Thread reading = new Thread() {
+			@Override
+			public void run() {
+				if (word(7).equals(list.get(7)) && word(301).equals(list.get(301))) {
+					done.incrementAndGet();
+				}
+			}
+		};
+		reading.start();
+		reading.join(5000);
+		assertEquals(1, done.get());
+		
+		list.blockedLatch.countDown();
+		restoring.join(5000);
+		assertEquals(word(500), list.get(500));
+	}
+	
+	@Test
+	public void testRestoresPerBlock() throws Exception {
+		final TestListSet concurrentList = new TestListSet(4000, 10, true);
+		final TestListSet serialList = new TestListSet(4000, 10, false);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int t = 0; t < 8; t++) {
+				final int seed = t;
+				results.add(executor.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						int mismatches = 0;
+						for (int i = 0; i < 4000; i++) {
+							int index = (i * 7 + seed * 13) % 4000;
+							if (!word(index).equals(concurrentList.get(index)) || !word(index).equals(serialList.get(index))) {
+								mismatches++;
+							}
+						}
+						return mismatches;
+					}
+				}));
+			}
+			for (Future<Integer> result : results) {
+				assertEquals(0, (int) result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		
+		// Each block is restored once, restores run in parallel for the concurrent list only
+		assertEquals(400, concurrentList.restores.get());
+		assertEquals(400, serialList.restores.get());
+		assertEquals(1, serialList.maxRunning.get());
+	}
+	
+	@Test
+	public void testStrongPreload() throws Exception {
+		TestListSet list = new TestListSet(1000, 10, true);
+		list.setCacheMode(DynamicListCacheModes.STRONG, 0);
+		list.preload(4);
+		
+		assertEquals(100, list.restores.get());
+		System.gc();
+		for (int i = 0; i < 100; i++) {
+			assertTrue(list.isBlockLoaded(i));
+		}
+		assertEquals(word(999), list.get(999));
+		assertEquals(100, list.restores.get());
+	}
+	
+	@Test
+	public void testLRUPinsRecentBlocks() throws Exception {
+		TestListSet list = new TestListSet(1000, 10);
+		list.setCacheMode(DynamicListCacheModes.LRU, 3);
+		for (int i = 0; i < 1000; i += 10) {
+			assertEquals(word(i), list.get(i));
+		}
+		System.gc();
+		for (int i = 97; i < 100; i++) {
+			assertTrue(list.isBlockLoaded(i));
+		}
+		assertEquals(3, list.residentBlocks.size());
+	}
+	
+	@Test
+	public void testLRUConcurrentReads() throws Exception {
+		final TestListSet list = new TestListSet(1000, 10);
+		list.setCacheMode(DynamicListCacheModes.LRU, 20);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+		for (int t = 0; t < 8; t++) {
+			final int shift = t;
+			futures.add(executor.submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
+					for (int i = 0; i < 5000; i++) {
+						int index = (i * 37 + shift * 101) % 1000;
+						assertEquals(word(index), list.get(index));
+					}
+					return true;
+				}
+			}));
+		}
+		for (Future<Boolean> future : futures) {
+			assertTrue(future.get());
+		}
+		executor.shutdown();
+		
+		// The segments keep the number of the pinned blocks bounded
+		assertEquals(20, list.residentBlocks.size());
+	}
+	
+	@Test
+	public void testCacheModesParse() {
+		assertEquals(DynamicListCacheModes.LRU, DynamicListCacheModes.parse("lru", DynamicListCacheModes.SOFT));
+		assertEquals(DynamicListCacheModes.STRONG, DynamicListCacheModes.parse(DynamicListCacheModes.STRONG, DynamicListCacheModes.SOFT));
+		assertEquals(DynamicListCacheModes.SOFT, DynamicListCacheModes.parse("unknown", DynamicListCacheModes.SOFT));
+		assertEquals(DynamicListCacheModes.SOFT, DynamicListCacheModes.parse(null, DynamicListCacheModes.SOFT));
+	}
+	
+}
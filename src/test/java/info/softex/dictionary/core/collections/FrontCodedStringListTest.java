@@ -0,0 +1,84 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.collections;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class FrontCodedStringListTest {
+	
+	@Test
+	public void decodingTest() {
+		List<String> strings = new ArrayList<String>();
+		strings.add("");
+		strings.add("a");
+		strings.add("ab");
+		strings.add("abc");
+		strings.add("абвгд");
+		strings.add("абвгде");
+		strings.add("абвж");
+		strings.add("中文");
+		strings.add("中文字");
+		strings.add("z");
+		
+		for (int bucketSize = 1; bucketSize <= strings.size() + 1; bucketSize++) {
+			FrontCodedStringList list = FrontCodedStringList.create(strings, bucketSize);
+			assertEquals(strings.size(), list.size());
+			for (int i = strings.size() - 1; i >= 0; i--) {
+				assertEquals(strings.get(i), list.get(i));
+			}
+			assertEquals(strings, list);
+		}
+	}
+	
+	@Test
+	public void binarySearchTest() {
+		Collator collator = Collator.getInstance(Locale.ENGLISH);
+		List<String> strings = new ArrayList<String>();
+		for (int i = 0; i < 1000; i += 2) {
+			strings.add(String.format("word %04d", i));
+		}
+		Collections.sort(strings, collator);
+		
+		FrontCodedStringList list = FrontCodedStringList.create(strings, 16);
+		for (int i = -1; i <= 1001; i++) {
+			String key = String.format("word %04d", i);
+			assertEquals(key, Collections.binarySearch(strings, key, collator), list.binarySearch(key, collator));
+		}
+		assertEquals(-1, list.binarySearch("a", collator));
+		assertEquals(-strings.size() - 1, list.binarySearch("zzz", collator));
+		assertEquals(-1, FrontCodedStringList.create(new ArrayList<String>(), 16).binarySearch("a", collator));
+	}
+	
+}
@@ -0,0 +1,92 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import info.softex.dictionary.core.io.ByteBufferInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class MediaResourcesCacheTest {
+	
+	@Test
+	public void budgetTest() {
+		MediaResourcesCache cache = new MediaResourcesCache(1000);
+		
+		// The slice of a big array is compacted, so it's charged by its own size
+		byte[] block = new byte[10000];
+		block[5000] = 7;
+		cache.put(MediaResourcesCache.createKey("base", "a"), ByteBuffer.wrap(block, 5000, 400).asReadOnlyBuffer());
+		assertEquals(400, cache.getSize());
+		
+		cache.put(MediaResourcesCache.createKey("base", "b"), ByteBuffer.wrap(new byte[400]));
+		cache.put(MediaResourcesCache.createKey("other", "a"), ByteBuffer.wrap(new byte[400]));
+		assertEquals(2, cache.getEntriesNumber());
+		assertNull(cache.get(MediaResourcesCache.createKey("base", "a")));
+		
+		// Bigger than the budget
+		cache.put(MediaResourcesCache.createKey("base", "c"), ByteBuffer.wrap(new byte[1001]));
+		assertNull(cache.get(MediaResourcesCache.createKey("base", "c")));
+		assertEquals(800, cache.getSize());
+	}
+	
+	@Test
+	public void cachedBufferTest() throws Exception {
+		MediaResourcesCache cache = new MediaResourcesCache(1000);
+		byte[] data = new byte[] {1, 2, 3, 4, 5};
+		cache.put("key", ByteBuffer.wrap(data));
+		
+		ByteBuffer first = cache.get("key");
+		assertNotNull(first);
+		assertTrue(first.isReadOnly());
+		first.get();
+		
+		// Reading a returned buffer doesn't move the cached one
+		ByteBuffer second = cache.get("key");
+		assertEquals(5, second.remaining());
+		
+		InputStream is = new ByteBufferInputStream(second);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[2];
+		int read;
+		while ((read = is.read(buffer)) > 0) {
+			out.write(buffer, 0, read);
+		}
+		assertEquals(-1, is.read());
+		assertEquals(5, second.remaining());
+		assertEquals(ByteBuffer.wrap(data), ByteBuffer.wrap(out.toByteArray()));
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class PackedIntMapTest {
+	
+	@Test
+	public void unorderedPutTest() {
+		Random random = new Random(3);
+		TreeMap<Integer, Integer> expected = new TreeMap<Integer, Integer>();
+		PackedIntMap.Builder builder = new PackedIntMap.Builder(0);
+		for (int i = 0; i < 1000; i++) {
+			int key = random.nextInt(700);
+			expected.put(key, i);
+			builder.put(key, i);
+		}
+		PackedIntMap map = builder.build();
+		assertEquals(expected.size(), map.size());
+		for (int key = -1; key <= 700; key++) {
+			Integer value = expected.get(key);
+			assertEquals(value == null ? -1 : value, map.get(key, -1));
+			assertEquals(value != null, map.containsKey(key));
+		}
+	}
+	
+	@Test
+	public void orderedPutTest() {
+		PackedIntMap.Builder builder = new PackedIntMap.Builder(2);
+		for (int i = 0; i < 100; i++) {
+			builder.put(i * 3, i);
+		}
+		PackedIntMap map = builder.build();
+		assertEquals(100, map.size());
+		assertEquals(33, map.get(99, -1));
+		assertFalse(map.containsKey(100));
+		assertTrue(map.containsKey(297));
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class PackedStringMapTest {
+	
+	@Test
+	public void unorderedPutTest() {
+		Random random = new Random(5);
+		TreeMap<Integer, String> expected = new TreeMap<Integer, String>();
+		PackedStringMap.Builder builder = new PackedStringMap.Builder(0);
+		for (int i = 0; i < 1000; i++) {
+			int key = random.nextInt(700);
+			String value = i % 7 == 0 ? "" : "значение " + i;
+			expected.put(key, value);
+			builder.put(key, value);
+		}
+		builder.put(-5, null);
+		expected.put(-5, "");
+		
+		PackedStringMap map = builder.build();
+		assertEquals(expected.size(), map.size());
+		for (int key = -6; key <= 700; key++) {
+			assertEquals(expected.get(key), map.get(key));
+		}
+	}
+	
+	@Test
+	public void orderedPutTest() {
+		PackedStringMap.Builder builder = new PackedStringMap.Builder(1);
+		for (int i = 0; i < 100; i++) {
+			builder.put(i * 2, Integer.toString(i));
+		}
+		PackedStringMap map = builder.build();
+		assertEquals("49", map.get(98));
+		assertNull(map.get(99));
+	}
+
+}
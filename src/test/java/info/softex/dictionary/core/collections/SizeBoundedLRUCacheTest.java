@@ -0,0 +1,90 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class SizeBoundedLRUCacheTest {
+	
+	protected SizeBoundedLRUCache<Integer, byte[]> cache = null;
+	
+	@Before
+	public void doBefore() {
+		cache = new SizeBoundedLRUCache<Integer, byte[]>(100) {
+			@Override
+			protected long sizeOf(byte[] value) {
+				return value.length;
+			}
+		};
+	}
+	
+	@Test
+    public void cacheEvictionTest() {
+		cache.put(1, new byte[40]);
+		cache.put(2, new byte[40]);
+		assertEquals(80, cache.getSize());
+		
+		// Touch the first entry, so the second one becomes the eldest
+		assertNotNull(cache.get(1));
+		
+		cache.put(3, new byte[40]);
+		assertEquals(2, cache.getEntriesNumber());
+		assertEquals(80, cache.getSize());
+		assertNotNull(cache.get(1));
+		assertNull(cache.get(2));
+		assertNotNull(cache.get(3));
+	}
+	
+	@Test
+    public void cacheCountersTest() {
+		cache.put(1, new byte[10]);
+		cache.get(1);
+		cache.get(1);
+		cache.get(2);
+		assertEquals(2, cache.getHitsCount());
+		assertEquals(1, cache.getMissesCount());
+	}
+	
+	@Test
+    public void cacheOversizedValueTest() {
+		cache.put(1, new byte[10]);
+		cache.put(2, new byte[101]);
+		assertNull(cache.get(2));
+		assertEquals(10, cache.getSize());
+		
+		// Replacing the value must update the size
+		cache.put(1, new byte[30]);
+		assertEquals(30, cache.getSize());
+		assertEquals(1, cache.getEntriesNumber());
+	}
+
+}
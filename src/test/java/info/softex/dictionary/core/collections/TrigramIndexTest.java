@@ -0,0 +1,102 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import info.softex.dictionary.core.utils.SearchUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class TrigramIndexTest {
+	
+	@Test
+	public void searchTest() {
+		Random random = new Random(7);
+		String alphabet = "abcdeабвгд";
+		List<String> words = new ArrayList<String>();
+		for (int i = 0; i < 3000; i++) {
+			StringBuilder word = new StringBuilder();
+			int length = 1 + random.nextInt(8);
+			for (int j = 0; j < length; j++) {
+				char c = alphabet.charAt(random.nextInt(alphabet.length()));
+				word.append(random.nextInt(4) == 0 ? Character.toUpperCase(c) : c);
+			}
+			words.add(word.toString());
+		}
+		words.add("aaaaa");
+		words.add("AaA");
+		
+		TrigramIndex index = TrigramIndex.build(words);
+		assertEquals(words.size(), index.getWordsNumber());
+		
+		String[] queries = {"%aaa%", "%abc%", "%Бвг%", "%abcd%", "%cab", "%aaaa", "dab%", "aaa", "%xyz%", "%ab%cd%"};
+		for (String query : queries) {
+			for (int limit : new int[] {1, 5, 10000}) {
+				assertEquals(query, SearchUtils.searchSQLLike(words, query, limit), index.search(words, query, limit));
+			}
+		}
+		
+		// Expressions shorter than a trigram aren't served
+		assertNull(index.search(words, "%ab%", 10));
+		assertNull(index.search(words, "a", 10));
+	}
+	
+	@Test
+	public void sidecarTest() throws Exception {
+		List<String> words = new ArrayList<String>();
+		for (int i = 0; i < 500; i++) {
+			words.add("word " + i);
+		}
+		
+		File source = File.createTempFile("trigrams", ".src");
+		File sidecar = new File(source.getPath() + TrigramIndex.FILE_EXTENSION);
+		source.deleteOnExit();
+		sidecar.deleteOnExit();
+		
+		TrigramIndex built = TrigramIndex.loadOrBuild(sidecar, source, words);
+		TrigramIndex read = TrigramIndex.read(sidecar, TrigramIndex.getStamp(source));
+		assertNotNull(read);
+		assertEquals(built.getTrigramsNumber(), read.getTrigramsNumber());
+		assertEquals(built.search(words, "%d 4%", 100), read.search(words, "%d 4%", 100));
+		assertEquals(111, read.search(words, "%d 4%", 1000).size());
+		
+		// Stale sidecar isn't used
+		assertNull(TrigramIndex.read(sidecar, TrigramIndex.getStamp(source) + 1));
+		
+		source.delete();
+		sidecar.delete();
+	}
+
+}
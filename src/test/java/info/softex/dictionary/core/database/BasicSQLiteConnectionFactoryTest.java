@@ -0,0 +1,99 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import info.softex.dictionary.core.testutils.MavenUtils;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class BasicSQLiteConnectionFactoryTest {
+	
+	@Test
+	public void profilesTest() throws Exception {
+		
+		File file = MavenUtils.getMavenTestDictFile("test_connection_profiles.db");
+		file.delete();
+		
+		BasicSQLiteConnectionFactory factory = new BasicSQLiteConnectionFactory();
+		
+		Map<String, String> writeParams = new HashMap<String, String>();
+		writeParams.put(DatabaseConnectionFactory.DB_PROFILE, DatabaseConnectionFactory.DB_PROFILE_WRITE);
+		Connection writeCon = factory.createConnection(file.getPath(), writeParams);
+		Statement writeSt = writeCon.createStatement();
+		writeSt.execute("CREATE TABLE items (id INTEGER PRIMARY KEY)");
+		writeSt.execute("INSERT INTO items VALUES (1)");
+		writeSt.close();
+		writeCon.close();
+		
+		Map<String, String> readParams = new HashMap<String, String>();
+		readParams.put(DatabaseConnectionFactory.DB_PROFILE, DatabaseConnectionFactory.DB_PROFILE_READ);
+		readParams.put(DatabaseConnectionFactory.DB_CACHE_SIZE, "1234");
+		readParams.put(DatabaseConnectionFactory.DB_MMAP_SIZE, "1048576");
+		Connection readCon = factory.createConnection(file.getPath(), readParams);
+		Statement readSt = readCon.createStatement();
+		
+		ResultSet rs = readSt.executeQuery("PRAGMA cache_size");
+		assertEquals(1234, rs.getInt(1));
+		rs.close();
+		rs = readSt.executeQuery("PRAGMA mmap_size");
+		assertEquals(1048576, rs.getLong(1));
+		rs.close();
+		rs = readSt.executeQuery("PRAGMA query_only");
+		assertEquals(1, rs.getInt(1));
+		rs.close();
+		rs = readSt.executeQuery("SELECT sqlite_version()");
+		assertTrue(rs.getString(1), rs.getString(1).compareTo("3.8.0") >= 0);
+		rs.close();
+		rs = readSt.executeQuery("SELECT COUNT(*) FROM items");
+		assertEquals(1, rs.getInt(1));
+		rs.close();
+		
+		try {
+			readSt.execute("INSERT INTO items VALUES (2)");
+			fail("The read profile connection must be read-only");
+		} catch (SQLException e) {
+			// Expected
+		}
+		
+		readSt.close();
+		readCon.close();
+		
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.database;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class DatabaseConnectionPoolTest {
+	
+	@Test
+	public void closeTest() throws Exception {
+		
+		final DatabaseConnectionPool pool = new DatabaseConnectionPool(new BasicSQLiteConnectionFactory(), ":memory:", null, 2);
+		PooledConnection idle = pool.acquire();
+		PooledConnection borrowed = pool.acquire();
+		pool.release(idle);
+		pool.acquire();
+		
+		// The pool is exhausted, so the waiter blocks until the pool is closed
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<PooledConnection> waiter = executor.submit(new Callable<PooledConnection>() {
+			@Override
+			public PooledConnection call() throws Exception {
+				return pool.acquire();
+			}
+		});
+		Thread.sleep(100);
+		assertFalse(waiter.isDone());
+		
+		pool.release(idle);
+		PooledConnection taken = waiter.get();
+		
+		waiter = executor.submit(new Callable<PooledConnection>() {
+			@Override
+			public PooledConnection call() throws Exception {
+				return pool.acquire();
+			}
+		});
+		Thread.sleep(100);
+		
+		pool.close();
+		assertTrue(pool.isClosed());
+		try {
+			waiter.get();
+			fail("The waiter must fail after the pool is closed");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof SQLException);
+		}
+		
+		// Borrowed connections stay open until they are released
+		assertFalse(borrowed.getConnection().isClosed());
+		assertFalse(taken.getConnection().isClosed());
+		pool.release(borrowed);
+		pool.release(taken);
+		assertTrue(borrowed.getConnection().isClosed());
+		assertTrue(taken.getConnection().isClosed());
+		
+		try {
+			pool.acquire();
+			fail("The closed pool must not give connections");
+		} catch (SQLException e) {
+			// Expected
+		}
+		
+		executor.shutdown();
+		
+	}
+	
+	@Test
+	public void closeIdleTest() throws Exception {
+		DatabaseConnectionPool pool = new DatabaseConnectionPool(new BasicSQLiteConnectionFactory(), ":memory:", null, 2);
+		PooledConnection pooled = pool.acquire();
+		pool.release(pooled);
+		pool.close();
+		assertTrue(pooled.getConnection().isClosed());
+	}
+
+}
@@ -0,0 +1,289 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.formats.fdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import info.softex.dictionary.core.attributes.ArticleInfo;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo;
+import info.softex.dictionary.core.attributes.WordInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.collections.AbstractDynamicListSet;
+import info.softex.dictionary.core.collections.FrontCodedStringList;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.database.PooledConnection;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseIOFactory;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseSampleContent;
+import info.softex.dictionary.core.metrics.BasicMetricsRecorder;
+import info.softex.dictionary.core.metrics.MetricsRecorder;
+import info.softex.dictionary.core.testutils.MavenUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class FDBBaseConcurrentReadTest {
+	
+	protected final static String BASE_FILE = "test_base_concurrent.fdb";
+	
+	protected final static int THREADS_NUMBER = 8;
+	protected final static int POOL_SIZE = 4;
+	
+	protected static File file = null;
+	
+	@BeforeClass
+	public static void createBase() throws Exception {
+		file = MavenUtils.getMavenTestDictFile(BASE_FILE);
+		FDBBaseWriter writer = FDBBaseIOFactory.createAndAssertFDBBaseWriter(file, new BasePropertiesInfo());
+		FDBBaseIOTest.pushSampleToWriter(writer, FDBBaseSampleContent.createWordsArticles(), FDBBaseSampleContent.REDIRECTS);
+		writer.close();
+	}
+	
+	@Test
+	public void testConcurrentArticlesRead() throws Exception {
+		
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_CONNECTIONS_POOL_SIZE, POOL_SIZE);
+		
+		final FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		
+		final int wordsNumber = reader.getWords().size();
+		assertEquals(FDBBaseSampleContent.WORDS_NUMBER, wordsNumber);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS_NUMBER);
+		List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+		
+		for (int t = 0; t < THREADS_NUMBER; t++) {
+			final int offset = t * wordsNumber / THREADS_NUMBER;
+			futures.add(executor.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					int checked = 0;
+					for (int i = 0; i < wordsNumber; i++) {
+						int id = (offset + i) % wordsNumber;
+						ArticleInfo article = reader.getRawArticleInfo(new WordInfo(id));
+						assertNotNull(article);
+						Integer redirectId = FDBBaseSampleContent.REDIRECTS.get(id);
+						int articleId = redirectId == null ? id : redirectId;
+						assertEquals(FDBBaseSampleContent.createArticle(articleId), article.getArticle());
+						checked++;
+					}
+					return checked;
+				}
+			}));
+		}
+		
+		for (Future<Integer> future : futures) {
+			assertEquals(wordsNumber, (int) future.get());
+		}
+		
+		// Neighbouring articles are served from the decompressed blocks
+		FDBBlocksCache cache = reader.getArticleBlocksCache();
+		assertNotNull(cache);
+		assertTrue(cache.getHitsCount() > cache.getMissesCount());
+		
+		executor.shutdown();
+		reader.close();
+		
+	}
+	
+	@Test
+	public void testConcurrentResidentWordsSearch() throws Exception {
+		
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_WORD_LIST_RESIDENT, true);
+		
+		final FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		
+		final List<String> words = reader.getWords();
+		assertTrue(words instanceof FrontCodedStringList);
+		assertEquals(FDBBaseSampleContent.WORDS_NUMBER, words.size());
+		
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS_NUMBER);
+		List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+		
+		for (int t = 0; t < THREADS_NUMBER; t++) {
+			final int offset = t * words.size() / THREADS_NUMBER;
+			futures.add(executor.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					int checked = 0;
+					for (int i = 0; i < words.size(); i++) {
+						int id = (offset + i) % words.size();
+						assertEquals(id, reader.searchWordIndex(words.get(id), false));
+						checked++;
+					}
+					return checked;
+				}
+			}));
+		}
+		
+		for (Future<Integer> future : futures) {
+			assertEquals(words.size(), (int) future.get());
+		}
+		
+		executor.shutdown();
+		reader.close();
+		
+	}
+	
+	@Test
+	public void testConcurrentStrongWordsSearch() throws Exception {
+		
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_CONNECTIONS_POOL_SIZE, POOL_SIZE);
+		params.put(FDBConstants.PARAM_KEY_WORD_LIST_BLOCK_SIZE, 16);
+		params.put(FDBConstants.PARAM_KEY_WORD_LIST_CACHE_MODE, "strong");
+		params.put(FDBConstants.PARAM_KEY_WORD_LIST_PRELOAD, true);
+		
+		final FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		
+		final List<String> words = reader.getWords();
+		assertTrue(words instanceof AbstractDynamicListSet);
+		assertEquals(FDBBaseSampleContent.WORDS_NUMBER, words.size());
+		
+		// All blocks are restored at the loading
+		AbstractDynamicListSet<String> dynamicWords = (AbstractDynamicListSet<String>) words;
+		for (int i = 0; i * 16 < words.size(); i++) {
+			assertTrue(dynamicWords.isBlockLoaded(i));
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS_NUMBER);
+		List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+		
+		for (int t = 0; t < THREADS_NUMBER; t++) {
+			final int offset = t * words.size() / THREADS_NUMBER;
+			futures.add(executor.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					int checked = 0;
+					for (int i = 0; i < words.size(); i++) {
+						int id = (offset + i) % words.size();
+						assertEquals(id, reader.searchWordIndex(words.get(id), false));
+						checked++;
+					}
+					return checked;
+				}
+			}));
+		}
+		
+		for (Future<Integer> future : futures) {
+			assertEquals(words.size(), (int) future.get());
+		}
+		
+		executor.shutdown();
+		reader.close();
+		
+	}
+	
+	@Test
+	public void testCachedArticlesReadWithoutConnection() throws Exception {
+		
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_CONNECTIONS_POOL_SIZE, 1);
+		
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		
+		final FDBBaseReadUnit base = reader.mainBase;
+		final List<WordInfo> wordInfos = new ArrayList<WordInfo>();
+		for (int i = 0; i < reader.getWords().size(); i++) {
+			wordInfos.add(new WordInfo(i));
+			assertNotNull(base.getRawArticleInfo(new WordInfo(i)));
+		}
+		
+		// All the article blocks are cached, so the reads don't wait for the only connection
+		PooledConnection con = base.connectionPool.acquire();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Integer> future = executor.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					for (WordInfo wordInfo : wordInfos) {
+						assertNotNull(base.getRawArticleInfo(wordInfo));
+					}
+					return base.getRawArticleInfos(wordInfos).size();
+				}
+			});
+			assertEquals(wordInfos.size(), (int) future.get(10, TimeUnit.SECONDS));
+		} finally {
+			base.connectionPool.release(con);
+			executor.shutdown();
+			reader.close();
+		}
+		
+	}
+	
+	@Test
+	public void testReaderMetrics() throws Exception {
+		
+		BasicMetricsRecorder metrics = new BasicMetricsRecorder();
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_METRICS, metrics);
+		params.put(FDBConstants.PARAM_KEY_WORD_LIST_BLOCK_SIZE, 16);
+		
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		
+		int wordsNumber = reader.getWords().size();
+		for (int i = 0; i < wordsNumber; i++) {
+			assertNotNull(reader.getArticleInfo(new WordInfo(i)));
+		}
+		reader.getWordsLike("%1%", 10);
+		reader.close();
+		
+		assertEquals(1, metrics.getHistogram(MetricsRecorder.BASE_LOAD_TIME).getCount());
+		assertEquals(wordsNumber, metrics.getHistogram(MetricsRecorder.ARTICLE_FETCH_TIME).getCount());
+		assertEquals(wordsNumber, metrics.getHistogram(MetricsRecorder.ARTICLE_FORMAT_TIME).getCount());
+		assertEquals(1, metrics.getHistogram(MetricsRecorder.WORDS_SEARCH_TIME).getCount());
+		assertEquals((wordsNumber + 15) / 16, metrics.getCounter(MetricsRecorder.WORDS_BLOCK_RESTORES));
+		
+		// Every article block is read and inflated once, the rest are cache hits
+		long misses = metrics.getCounter(MetricsRecorder.ARTICLE_BLOCKS_CACHE_MISSES);
+		assertTrue(misses > 0);
+		assertEquals(wordsNumber, misses + metrics.getCounter(MetricsRecorder.ARTICLE_BLOCKS_CACHE_HITS));
+		assertEquals(misses, metrics.getHistogram(MetricsRecorder.INFLATE_TIME).getCount());
+		assertTrue(metrics.getCounter(MetricsRecorder.INFLATED_BYTES) > 0);
+		assertTrue(metrics.getHistogram(MetricsRecorder.SQL_QUERY_TIME).getCount() >= misses);
+		
+	}
+
+}
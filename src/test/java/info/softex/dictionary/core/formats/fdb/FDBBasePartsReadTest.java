@@ -0,0 +1,218 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.formats.fdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import info.softex.dictionary.core.attributes.ArticleInfo;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo;
+import info.softex.dictionary.core.attributes.WordInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.database.DatabaseConnectionFactory;
+import info.softex.dictionary.core.formats.api.BaseFormatException;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseIOFactory;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseSampleContent;
+import info.softex.dictionary.core.testutils.MavenUtils;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class FDBBasePartsReadTest {
+	
+	protected final static String BASE_FILE = "test_base_parts.fdb";
+	
+	protected final static long PART_SIZE = 300000;
+	
+	protected final static int WORDS_NUMBER = 6000;
+	
+	protected final static String[] ARTICLES = new String[WORDS_NUMBER];
+	
+	protected static File file = null;
+	
+	@BeforeClass
+	public static void createBase() throws Exception {
+		file = MavenUtils.getMavenTestDictFile(BASE_FILE);
+		Map<String, String> params = new HashMap<String, String>();
+		params.put(FDBConstants.PARAM_KEY_BASE_SECONDARY_SIZE_LIMIT, String.valueOf(PART_SIZE));
+		FDBBaseWriter writer = FDBBaseIOFactory.createAndAssertFDBBaseWriter(file, new BasePropertiesInfo(), params);
+		
+		// Random tails keep the blocks from compressing too well, so the base is split into parts
+		Random random = new Random(WORDS_NUMBER);
+		Map<String, String> wordsArticles = new TreeMap<String, String>();
+		for (int i = 0; i < WORDS_NUMBER; i++) {
+			StringBuilder article = new StringBuilder(FDBBaseSampleContent.createArticle(i)).append(' ');
+			for (int j = 0; j < 50; j++) {
+				article.append(Long.toHexString(random.nextLong()));
+			}
+			ARTICLES[i] = article.toString();
+			wordsArticles.put(FDBBaseSampleContent.createWord(i), ARTICLES[i]);
+		}
+		
+		FDBBaseIOTest.pushSampleToWriter(writer, wordsArticles, new HashMap<Integer, Integer>());
+		writer.close();
+	}
+	
+	@Test
+	public void testPartsRead() throws Exception {
+		
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), null, new BasicCollatorFactory());
+		reader.load();
+		assertTrue("Base must have dependent parts", reader.getBasePropertiesInfo().getBasePartsTotalNumber() > 1);
+		
+		// Dependent parts are opened on the first access only
+		assertEquals(1, reader.dbs.size());
+		
+		int[] ids = new int[WORDS_NUMBER];
+		for (int i = WORDS_NUMBER - 1; i >= 0; i--) {
+			ArticleInfo article = reader.getRawArticleInfo(new WordInfo(i));
+			assertEquals(ARTICLES[i], article.getArticle());
+			ids[i] = WORDS_NUMBER - 1 - i;
+		}
+		
+		List<ArticleInfo> articles = reader.getRawArticleInfos(ids);
+		for (int i = 0; i < ids.length; i++) {
+			assertEquals(ARTICLES[ids[i]], articles.get(i).getArticle());
+		}
+		
+		reader.close();
+		
+	}
+	
+	@Test
+	public void testPartsWarmUp() throws Exception {
+		
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_PARTS_WARM_UP, true);
+		params.put(FDBConstants.PARAM_KEY_CONNECTIONS_POOL_SIZE, 2);
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		
+		// All the parts are scheduled at once, the lookups may run during the warm-up
+		int partsNumber = reader.getBasePropertiesInfo().getBasePartsTotalNumber();
+		assertEquals(partsNumber, reader.dbs.size());
+		for (int i = 0; i < WORDS_NUMBER; i += 7) {
+			assertEquals(ARTICLES[i], reader.getRawArticleInfo(new WordInfo(i)).getArticle());
+		}
+		for (FutureTask<FDBBaseReadUnit> task : reader.dbs.values()) {
+			assertNotNull(task.get().articleBlocksDirectory);
+		}
+		
+		reader.close();
+		
+	}
+	
+	@Test
+	public void testCloseWhileOpening() throws Exception {
+		
+		final CountDownLatch opening = new CountDownLatch(1);
+		final CountDownLatch proceed = new CountDownLatch(1);
+		final List<Connection> connections = Collections.synchronizedList(new ArrayList<Connection>());
+		
+		// The part 2 connection is held until the reader is being closed
+		DatabaseConnectionFactory factory = new BasicSQLiteConnectionFactory() {
+			@Override
+			public Connection createConnection(String url, Map<String, String> params) throws SQLException {
+				Connection connection = super.createConnection(url, params);
+				connections.add(connection);
+				if (url.endsWith(BASE_FILE + 2)) {
+					opening.countDown();
+					try {
+						proceed.await();
+					} catch (InterruptedException e) {
+						throw new SQLException(e.getMessage());
+					}
+				}
+				return connection;
+			}
+		};
+		
+		final FDBBaseReader reader = new FDBBaseReader(file, factory, null, new BasicCollatorFactory());
+		reader.load();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		Future<FDBBaseReadUnit> lookup = executor.submit(new Callable<FDBBaseReadUnit>() {
+			@Override
+			public FDBBaseReadUnit call() throws Exception {
+				return reader.getBase(2);
+			}
+		});
+		assertTrue(opening.await(10, TimeUnit.SECONDS));
+		
+		Future<Object> closing = executor.submit(new Callable<Object>() {
+			@Override
+			public Object call() throws Exception {
+				reader.close();
+				return null;
+			}
+		});
+		Thread.sleep(100);
+		assertFalse("The part being opened must be awaited", closing.isDone());
+		
+		proceed.countDown();
+		closing.get();
+		lookup.get();
+		
+		for (Connection connection : connections) {
+			assertTrue(connection.isClosed());
+		}
+		
+		// Parts requested after closing aren't opened
+		try {
+			reader.getBase(3);
+			fail("The closed reader must not open parts");
+		} catch (BaseFormatException e) {
+			// Expected
+		}
+		assertEquals(2, connections.size());
+		
+		executor.shutdown();
+		
+	}
+	
+}
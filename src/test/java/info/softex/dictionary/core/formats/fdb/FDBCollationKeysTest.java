@@ -0,0 +1,92 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.formats.fdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseIOFactory;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseSampleContent;
+import info.softex.dictionary.core.testutils.MavenUtils;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class FDBCollationKeysTest {
+	
+	protected final static String BASE_FILE = "test_base_collation_keys.fdb";
+	
+	protected final static String[] MISSING_WORDS = {"", "a", "текст 50", "Simple", "zzz", "word 0001 x"};
+	
+	protected static File file = null;
+	
+	@BeforeClass
+	public static void createBase() throws Exception {
+		file = MavenUtils.getMavenTestDictFile(BASE_FILE);
+		Map<String, String> params = new HashMap<String, String>();
+		params.put(FDBConstants.PARAM_KEY_WORDS_COLLATION_KEYS, "true");
+		FDBBaseWriter writer = FDBBaseIOFactory.createAndAssertFDBBaseWriter(file, new BasePropertiesInfo(), params);
+		FDBBaseIOTest.pushSampleToWriter(writer, FDBBaseSampleContent.createWordsArticles(), FDBBaseSampleContent.REDIRECTS);
+		writer.close();
+	}
+	
+	@Test
+	public void testSearchByCollationKeys() throws Exception {
+		
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_WORDS_COLLATION_KEYS, true);
+		FDBBaseReader keysReader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		keysReader.load();
+		assertTrue(keysReader.mainBase.hasWordsCollationKeys());
+		
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), null, new BasicCollatorFactory());
+		reader.load();
+		assertFalse(reader.mainBase.hasWordsCollationKeys());
+		
+		List<String> words = reader.getWords();
+		for (int i = 0; i < words.size(); i++) {
+			assertEquals(i, keysReader.searchWordIndex(words.get(i), false));
+		}
+		for (String word : MISSING_WORDS) {
+			assertEquals(word, reader.searchWordIndex(word, false), keysReader.searchWordIndex(word, false));
+			assertEquals(word, reader.searchWordIndex(word, true), keysReader.searchWordIndex(word, true));
+		}
+		
+		keysReader.close();
+		reader.close();
+		
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.formats.fdb;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import info.softex.dictionary.core.attributes.ArticleInfo;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo;
+import info.softex.dictionary.core.attributes.WordInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.formats.api.BaseFormatException;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseIOFactory;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseSampleContent;
+import info.softex.dictionary.core.testutils.MavenUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class FDBFramedBlocksTest {
+	
+	protected final static String BASE_FILE = "test_base_framed.fdb";
+	
+	protected static File file = null;
+	
+	@BeforeClass
+	public static void createBase() throws Exception {
+		file = MavenUtils.getMavenTestDictFile(BASE_FILE);
+		Map<String, String> params = new HashMap<String, String>();
+		params.put(FDBConstants.PARAM_KEY_BLOCK_FRAME_SIZE, "1024");
+		FDBBaseWriter writer = FDBBaseIOFactory.createAndAssertFDBBaseWriter(file, new BasePropertiesInfo(), params);
+		FDBBaseIOTest.pushSampleToWriter(writer, FDBBaseSampleContent.createWordsArticles(), FDBBaseSampleContent.REDIRECTS);
+		writer.close();
+	}
+	
+	@Test
+	public void testFramedBlockRoundTrip() throws Exception {
+		
+		List<byte[]> segments = new ArrayList<byte[]>();
+		for (int i = 0; i < 100; i++) {
+			segments.add(FDBBaseSampleContent.createArticle(i).getBytes("UTF-8"));
+		}
+		segments.add(new byte[0]);
+		
+		byte[] stored = FDBFramedDataBlock.compress(segments, 256);
+		assertTrue(FDBFramedDataBlock.isFramed(stored));
+		
+		FDBDataBlock block = FDBDataBlock.read(stored);
+		assertTrue(block instanceof FDBFramedDataBlock);
+		assertTrue(((FDBFramedDataBlock) block).getFramesNumber() > 1);
+		assertEquals(segments.size(), block.getSegmentsNumber());
+		for (int i = segments.size() - 1; i >= 0; i--) {
+			assertArrayEquals(segments.get(i), block.getSegment(i));
+		}
+		
+	}
+	
+	@Test
+	public void testFormatVersion() throws Exception {
+		
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), null, new BasicCollatorFactory());
+		reader.load();
+		assertEquals(FDBConstants.FDB_VERSION_4, reader.getBasePropertiesInfo().getFormatVersion());
+		reader.close();
+		
+		// A base of an unknown newer version is rejected instead of being misread
+		File newerFile = MavenUtils.getMavenTestDictFile("test_base_newer.fdb");
+		Files.copy(file.toPath(), newerFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		Connection con = new BasicSQLiteConnectionFactory().createConnection(newerFile.getPath(), null);
+		PreparedStatement st = con.prepareStatement(FDBSQLWriteStatements.UDATE_BASE_PROPERTY);
+		st.setString(1, String.valueOf(FDBConstants.MAX_SUPPORTED_FDB_VERSION + 1));
+		st.setString(2, BasePropertiesInfo.PrimaryKey.FORMAT_VERSION.getKey());
+		assertEquals(1, st.executeUpdate());
+		st.close();
+		con.close();
+		
+		reader = new FDBBaseReader(newerFile, new BasicSQLiteConnectionFactory(), null, new BasicCollatorFactory());
+		try {
+			reader.load();
+			fail("The newer base version must be rejected");
+		} catch (BaseFormatException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("not supported"));
+		}
+		reader.close();
+		newerFile.delete();
+		
+	}
+	
+	@Test
+	public void testFramedBaseRead() throws Exception {
+		assertFramedBaseArticles(0);
+		assertFramedBaseArticles(FDBConstants.VALUE_ARTICLE_BLOCKS_CACHE_SIZE_DEFAULT);
+	}
+	
+	protected void assertFramedBaseArticles(int cacheSize) throws Exception {
+		
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_ARTICLE_BLOCKS_CACHE_SIZE, cacheSize);
+		
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		assertEquals(cacheSize > 0, reader.getArticleBlocksCache() != null);
+		
+		// Read from the tail of the blocks first
+		for (int i = FDBBaseSampleContent.WORDS_NUMBER - 1; i >= 0; i--) {
+			ArticleInfo article = reader.getRawArticleInfo(new WordInfo(i));
+			Integer redirectId = FDBBaseSampleContent.REDIRECTS.get(i);
+			assertEquals(FDBBaseSampleContent.createArticle(redirectId == null ? i : redirectId), article.getArticle());
+		}
+		
+		reader.close();
+		
+	}
+	
+	@Test
+	public void testBatchArticlesRead() throws Exception {
+		
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), null, new BasicCollatorFactory());
+		reader.load();
+		
+		// Unordered ids with duplicates and redirects
+		int[] ids = new int[] {3001, 5, FDBBaseSampleContent.WORDS_NUMBER - 1, 2000, 5, 0, 123, 1002};
+		List<ArticleInfo> articles = reader.getRawArticleInfos(ids);
+		assertEquals(ids.length, articles.size());
+		
+		for (int i = 0; i < ids.length; i++) {
+			ArticleInfo expected = reader.getRawArticleInfo(new WordInfo(ids[i]));
+			ArticleInfo actual = articles.get(i);
+			assertEquals(ids[i], actual.getWordInfo().getId());
+			assertEquals(expected.getWordInfo().getWord(), actual.getWordInfo().getWord());
+			assertEquals(expected.getWordInfo().getRedirectToId(), actual.getWordInfo().getRedirectToId());
+			assertEquals(expected.getArticle(), actual.getArticle());
+		}
+		
+		reader.close();
+		
+	}
+	
+	@Test
+	public void testDeflatedBlockIsNotFramed() throws Exception {
+		assertFalse(FDBFramedDataBlock.isFramed(new byte[] {0x78, (byte) 0x9C, 0, 0, 0, 0, 0, 0, 0, 0}));
+	}
+
+}
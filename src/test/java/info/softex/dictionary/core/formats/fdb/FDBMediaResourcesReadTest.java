@@ -0,0 +1,123 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.fdb;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import info.softex.dictionary.core.attributes.ArticleInfo;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo;
+import info.softex.dictionary.core.attributes.MediaResourceInfo;
+import info.softex.dictionary.core.attributes.MediaResourceKey;
+import info.softex.dictionary.core.attributes.WordInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.collections.MediaResourcesCache;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseIOFactory;
+import info.softex.dictionary.core.testutils.MavenUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class FDBMediaResourcesReadTest {
+	
+	protected final static String BASE_FILE = "test_base_media.fdb";
+	
+	protected final static int RESOURCES_NUMBER = 20;
+	
+	protected static File file = null;
+	
+	@BeforeClass
+	public static void createBase() throws Exception {
+		file = MavenUtils.getMavenTestDictFile(BASE_FILE);
+		FDBBaseWriter writer = FDBBaseIOFactory.createAndAssertFDBBaseWriter(file, new BasePropertiesInfo(), null);
+		writer.saveRawArticleInfo(new ArticleInfo(new WordInfo(0, "word"), "article"));
+		for (int i = 0; i < RESOURCES_NUMBER; i++) {
+			writer.saveMediaResourceInfo(new MediaResourceInfo(new MediaResourceKey(createResourceKey(i)), createResource(i)));
+		}
+		writer.close();
+	}
+	
+	@Test
+	public void testCachedMediaRead() throws Exception {
+		
+		MediaResourcesCache cache = new MediaResourcesCache(MediaResourcesCache.SIZE_DEFAULT);
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_MEDIA_RESOURCES_CACHE, cache);
+		
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		
+		for (int pass = 0; pass < 2; pass++) {
+			for (int i = 0; i < RESOURCES_NUMBER; i++) {
+				MediaResourceInfo info = reader.getMediaResourceInfo(new MediaResourceKey(createResourceKey(i)));
+				byte[] expected = createResource(i);
+				assertEquals(expected.length, info.getSize());
+				assertArrayEquals(expected, readStream(info.getInputStream()));
+				assertArrayEquals(expected, info.getByteArray());
+			}
+		}
+		
+		assertEquals(RESOURCES_NUMBER, cache.getEntriesNumber());
+		assertEquals(RESOURCES_NUMBER, cache.getMissesCount());
+		assertEquals(RESOURCES_NUMBER, cache.getHitsCount());
+		
+		// The shared cache survives the reader
+		reader.close();
+		assertEquals(RESOURCES_NUMBER, cache.getEntriesNumber());
+		
+	}
+	
+	protected static String createResourceKey(int i) {
+		return String.format("sound%03d.wav", i);
+	}
+	
+	protected static byte[] createResource(int i) {
+		byte[] resource = new byte[100 + i * 37];
+		for (int j = 0; j < resource.length; j++) {
+			resource[j] = (byte) (i * 31 + j);
+		}
+		return resource;
+	}
+	
+	protected static byte[] readStream(InputStream is) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[64];
+		int read;
+		while ((read = is.read(buffer)) > 0) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+}
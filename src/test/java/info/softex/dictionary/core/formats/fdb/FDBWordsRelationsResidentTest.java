@@ -0,0 +1,111 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.fdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import info.softex.dictionary.core.attributes.ArticleInfo;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo;
+import info.softex.dictionary.core.attributes.WordInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseIOFactory;
+import info.softex.dictionary.core.formats.fdb.testutils.FDBBaseSampleContent;
+import info.softex.dictionary.core.testutils.MavenUtils;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class FDBWordsRelationsResidentTest {
+	
+	protected final static String BASE_FILE = "test_base_relations.fdb";
+	
+	protected static File file = null;
+	
+	@BeforeClass
+	public static void createBase() throws Exception {
+		file = MavenUtils.getMavenTestDictFile(BASE_FILE);
+		FDBBaseWriter writer = FDBBaseIOFactory.createAndAssertFDBBaseWriter(file, new BasePropertiesInfo(), null);
+		Map<String, String> sample = FDBBaseSampleContent.createWordsArticles();
+		int count = 0;
+		for (String word : sample.keySet()) {
+			Integer redirectId = FDBBaseSampleContent.REDIRECTS.get(count);
+			WordInfo wordInfo = redirectId != null ? new WordInfo(count, word, redirectId) : new WordInfo(count, word);
+			if (count % 10 == 0) {
+				wordInfo.setWordMapping("<b>" + word + "</b>");
+			}
+			writer.saveRawArticleInfo(new ArticleInfo(wordInfo, sample.get(word)));
+			count++;
+		}
+		writer.close();
+	}
+	
+	@Test
+	public void testResidentRelationsRead() throws Exception {
+		
+		FDBBaseReader sqlReader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), null, new BasicCollatorFactory());
+		sqlReader.load();
+		
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(FDBConstants.PARAM_KEY_WORDS_RELATIONS_RESIDENT, true);
+		FDBBaseReader reader = new FDBBaseReader(file, new BasicSQLiteConnectionFactory(), params, new BasicCollatorFactory());
+		reader.load();
+		
+		assertFalse(sqlReader.mainBase.hasResidentWordsRelations());
+		assertTrue(reader.mainBase.hasResidentWordsRelations());
+		
+		int[] ids = new int[FDBBaseSampleContent.WORDS_NUMBER];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = ids.length - 1 - i;
+		}
+		List<ArticleInfo> articles = reader.getRawArticleInfos(ids);
+		
+		for (int i = 0; i < ids.length; i++) {
+			WordInfo expected = sqlReader.getRawArticleInfo(new WordInfo(ids[i])).getWordInfo();
+			for (ArticleInfo article : new ArticleInfo[] {reader.getRawArticleInfo(new WordInfo(ids[i])), articles.get(i)}) {
+				WordInfo actual = article.getWordInfo();
+				assertEquals(expected.getRedirectToId(), actual.getRedirectToId());
+				assertEquals(expected.getRedirectToWord(), actual.getRedirectToWord());
+				assertEquals(expected.getWordMapping(), actual.getWordMapping());
+			}
+		}
+		assertEquals("<b>" + reader.getWords().get(20) + "</b>", articles.get(ids.length - 21).getWordInfo().getWordMapping());
+		assertEquals(123, articles.get(ids.length - 2001).getWordInfo().getRedirectToId());
+		
+		sqlReader.close();
+		reader.close();
+		
+	}
+
+}
@@ -31,6 +31,7 @@ import java.io.File;
 import java.sql.SQLException;
 import java.text.Collator;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * 
@@ -42,12 +43,16 @@ import java.util.Locale;
 public class FDBBaseIOFactory {
 	
 	public static FDBBaseWriterWrapper createAndAssertFDBBaseWriter(File file, BasePropertiesInfo baseInfo) throws Exception {
+		return createAndAssertFDBBaseWriter(file, baseInfo, null);
+	}
+	
+	public static FDBBaseWriterWrapper createAndAssertFDBBaseWriter(File file, BasePropertiesInfo baseInfo, Map<String, String> params) throws Exception {
 		
 		if (file.exists()) {
 			file.delete();
 		}
 		
-		FDBBaseWriterWrapper writer = new FDBBaseWriterWrapper(file.getAbsolutePath(), new BasicSQLiteConnectionFactory(), null);
+		FDBBaseWriterWrapper writer = new FDBBaseWriterWrapper(file.getAbsolutePath(), new BasicSQLiteConnectionFactory(), params);
 		writer.createBase();
 		
 		// Populate base properties
@@ -0,0 +1,94 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+/**
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZDArticleBlockTest {
+
+	protected static final String CHARSET = "UTF-8";
+
+	@Test
+	public void testArticles() throws Exception {
+
+		ZDArticleBlock block = new ZDArticleBlock(createData("первая", "", "third", "tail"), 2);
+
+		// The offsets grow beyond the expected number, the unterminated tail is ignored
+		assertEquals(3, block.getArticlesNumber());
+		assertEquals("первая", block.getArticle(0, CHARSET));
+		assertEquals("", block.getArticle(1, CHARSET));
+		assertEquals("third", block.getArticle(2, CHARSET));
+		assertNull(block.getArticle(3, CHARSET));
+
+		assertEquals(0, new ZDArticleBlock(new byte[0], 10).getArticlesNumber());
+
+	}
+
+	@Test
+	public void testCache() throws Exception {
+
+		ZDArticleBlock block = new ZDArticleBlock(createData("a", "b", "c", ""), 3);
+		long blockSize = block.getMemorySize();
+
+		ZDBlocksCache cache = new ZDBlocksCache(2 * blockSize);
+		cache.put(0, block);
+		cache.put(1, new ZDArticleBlock(createData("d", "e", "f", ""), 3));
+		assertSame(block, cache.get(0));
+
+		// The least recently used block is evicted when the budget is exceeded
+		cache.put(2, new ZDArticleBlock(createData("g", "h", "i", ""), 3));
+		assertSame(block, cache.get(0));
+		assertNull(cache.get(1));
+		assertEquals("h", cache.get(2).getArticle(1, CHARSET));
+
+		cache.clear();
+		assertNull(cache.get(0));
+
+	}
+
+	/**
+	 * Terminates every article but the last one with zero.
+	 */
+	protected static byte[] createData(String... articles) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int i = 0; i < articles.length; i++) {
+			out.write(articles[i].getBytes(CHARSET));
+			if (i < articles.length - 1) {
+				out.write(0);
+			}
+		}
+		return out.toByteArray();
+	}
+
+}
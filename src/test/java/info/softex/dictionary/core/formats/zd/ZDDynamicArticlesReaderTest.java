@@ -0,0 +1,79 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package info.softex.dictionary.core.formats.zd;
+
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZDDynamicArticlesReaderTest {
+
+	@Test
+	public void testArticleIndexOutOfRange() throws Exception {
+
+		File zdFile = File.createTempFile("articles", ".zd");
+		zdFile.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(zdFile);
+		fos.write(new byte[100]);
+		fos.close();
+
+		List<String> words = new ArrayList<String>();
+		for (int i = 0; i < 10; i++) {
+			words.add("word " + i);
+		}
+		ZDHeader header = new ZDHeader();
+		header.setTransBlockSize(4);
+
+		ZDDynamicArticlesReader reader = new ZDDynamicArticlesReader(null, zdFile);
+		reader.words = words;
+		reader.zdHeader = header;
+
+		// The index equal to the words number is out of range, not a missing article of the last block
+		for (int index : new int[] {-1, words.size(), words.size() + 1}) {
+			try {
+				reader.getArticle(index);
+				fail("Article index must be out of range: " + index);
+			} catch (IndexOutOfBoundsException e) {
+			}
+			try {
+				reader.getArticles(new int[] {index});
+				fail("Article index must be out of range: " + index);
+			} catch (IndexOutOfBoundsException e) {
+			}
+		}
+
+		reader.close();
+		zdFile.delete();
+
+	}
+
+}
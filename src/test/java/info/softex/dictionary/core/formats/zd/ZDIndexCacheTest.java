@@ -0,0 +1,102 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZDIndexCacheTest {
+
+	@Test
+	public void testWriteAndOpen() throws Exception {
+
+		File zdFile = File.createTempFile("cache", ".zd");
+		zdFile.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(zdFile);
+		fos.write(new byte[1000]);
+		fos.close();
+
+		File directory = new File(zdFile.getParentFile(), "zdindex-" + System.nanoTime());
+		File cacheFile = ZDIndexCache.getCacheFile(directory, zdFile);
+		assertEquals(directory, cacheFile.getParentFile());
+		assertTrue(cacheFile.getName().startsWith(zdFile.getName() + "-"));
+		assertTrue(cacheFile.getName().endsWith(ZDIndexCache.FILE_EXTENSION));
+
+		List<String> words = new ArrayList<String>();
+		for (int i = 0; i < 1000; i++) {
+			words.add("слово " + (10000 + i));
+		}
+		Map<String, String> abbreviations = new HashMap<String, String>();
+		abbreviations.put("adj.", "adjective");
+		abbreviations.put("сущ.", "существительное");
+		int[] blockOffsets = {10, 300, 7000, 123456};
+
+		assertNull(ZDIndexCache.open(cacheFile, zdFile));
+
+		ZDIndexCache.write(cacheFile, zdFile, words, abbreviations, blockOffsets);
+		assertTrue(cacheFile.isFile());
+
+		ZDIndexCache cache = ZDIndexCache.open(cacheFile, zdFile);
+		assertNotNull(cache);
+		assertEquals(words, cache.getWords());
+		assertEquals(abbreviations, cache.getAbbreviations());
+		assertArrayEquals(blockOffsets, cache.getBlockOffsets());
+
+		// Modified base makes the cache stale, it's replaced by the next write
+		assertTrue(zdFile.setLastModified(zdFile.lastModified() - 10000));
+		assertNull(ZDIndexCache.open(cacheFile, zdFile));
+
+		words.remove(0);
+		ZDIndexCache.write(cacheFile, zdFile, words, abbreviations, blockOffsets);
+		assertEquals(words, ZDIndexCache.open(cacheFile, zdFile).getWords());
+		assertEquals(1, directory.list().length);
+
+		// Sidecars of other bases don't collide
+		File otherFile = new File(directory, zdFile.getName());
+		assertFalse(cacheFile.equals(ZDIndexCache.getCacheFile(directory, otherFile)));
+
+		cacheFile.delete();
+		directory.delete();
+		zdFile.delete();
+
+	}
+
+}
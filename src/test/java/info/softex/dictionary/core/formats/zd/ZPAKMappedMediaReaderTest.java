@@ -0,0 +1,205 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.Test;
+
+/**
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZPAKMappedMediaReaderTest {
+
+	protected static final int RESOURCES_NUMBER = 500;
+
+	@Test
+	public void testNormalizeNameLocale() throws Exception {
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(new Locale("tr", "TR"));
+		try {
+			// The Turkish dotted capital I would make the cache keys differ from the index names
+			assertEquals("IMAGE.PNG", ZPAKResourceIndex.normalizeName("image.png"));
+			// Chars are upper-cased one by one like in the index, so the length is kept
+			assertEquals("STRAßE.WAV", ZPAKResourceIndex.normalizeName("straße.wav"));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	@Test
+	public void testResources() throws Exception {
+
+		final Map<String, byte[]> resources = createResources();
+		File file = createFile(resources);
+		final ZPAKMappedMediaReader reader = new ZPAKMappedMediaReader(file);
+		reader.load();
+		assertEquals(RESOURCES_NUMBER + 1, reader.loadZPAKHeader().getMediaResourcesNumber());
+
+		// The duplicate is replaced by the last entry
+		Set<String> keys = reader.getResourceKeys();
+		assertEquals(RESOURCES_NUMBER, keys.size());
+		assertTrue(keys.contains("SOUND_7.WAV"));
+		assertFalse(keys.contains("sound_7.txt"));
+		assertArrayEquals(resources.get("sound_0.wav"), reader.loadMediaResource("Sound_0.WAV"));
+
+		// Stored resources are independent read-only slices
+		assertTrue(reader.isResourceMapped("sound_1.wav"));
+		assertFalse(reader.isResourceMapped("sound_2.wav"));
+		ByteBuffer first = reader.loadMediaResourceBuffer("sound_1.wav");
+		ByteBuffer second = reader.loadMediaResourceBuffer("sound_1.wav");
+		assertTrue(first.isReadOnly());
+		first.position(first.limit());
+		assertEquals(0, second.position());
+		assertEquals(resources.get("sound_1.wav").length, second.remaining());
+
+		assertNull(reader.loadMediaResource("missing.wav"));
+		assertFalse(reader.isResourceAvailble("missing.wav"));
+
+		// Concurrent requests don't share the buffer state
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+		for (int t = 0; t < 4; t++) {
+			final int shift = t;
+			futures.add(executor.submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() throws Exception {
+					for (int i = 0; i < 2000; i++) {
+						String name = "sound_" + ((i * 7 + shift) % RESOURCES_NUMBER) + ".wav";
+						byte[] expected = resources.get(name);
+						ByteBuffer buffer = reader.loadMediaResourceBuffer(name);
+						byte[] actual = new byte[buffer.remaining()];
+						buffer.get(actual);
+						assertArrayEquals(name, expected, actual);
+					}
+					return true;
+				}
+			}));
+		}
+		for (Future<Boolean> future : futures) {
+			assertTrue(future.get());
+		}
+		executor.shutdown();
+
+		reader.close();
+		file.delete();
+
+	}
+
+	protected static Map<String, byte[]> createResources() {
+		Map<String, byte[]> resources = new LinkedHashMap<String, byte[]>();
+		for (int i = 0; i < RESOURCES_NUMBER; i++) {
+			byte[] data = new byte[50 + i % 300];
+			for (int j = 0; j < data.length; j++) {
+				data[j] = (byte) (i + j / 10);
+			}
+			resources.put("sound_" + i + ".wav", data);
+		}
+		return resources;
+	}
+
+	/**
+	 * Writes the resources, the odd ones are stored and the even ones are deflated.
+	 * The first resource is also preceded by a stale entry with the same name.
+	 */
+	protected static File createFile(Map<String, byte[]> resources) throws Exception {
+
+		List<String> names = new ArrayList<String>(resources.keySet());
+		List<byte[]> blobs = new ArrayList<byte[]>();
+		for (int i = 0; i < names.size(); i++) {
+			byte[] data = resources.get(names.get(i));
+			if (i % 2 == 0) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				DeflaterOutputStream dos = new DeflaterOutputStream(out);
+				dos.write(data);
+				dos.close();
+				blobs.add(out.toByteArray());
+			} else {
+				blobs.add(data);
+			}
+		}
+		names.add(0, names.get(0).toUpperCase());
+		blobs.add(0, new byte[] {1, 2, 3});
+
+		int directorySize = 0;
+		for (String name : names) {
+			directorySize += 2 * (name.length() + 1) + 12;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put(new byte[] {90, 112, 97, 107});
+		buffer.putShort((short) 1);
+		buffer.putInt(names.size());
+		buffer.putInt(0);
+		buffer.putInt(directorySize);
+
+		int offset = buffer.position() + directorySize;
+		for (int i = 0; i < names.size(); i++) {
+			String name = names.get(i);
+			for (int j = 0; j < name.length(); j++) {
+				buffer.putChar(name.charAt(j));
+			}
+			buffer.putChar((char) 0);
+			int size = i == 0 ? 3 : resources.get(name).length;
+			buffer.putInt(offset);
+			buffer.putInt(size);
+			buffer.putInt(blobs.get(i).length);
+			offset += blobs.get(i).length;
+		}
+		for (byte[] blob : blobs) {
+			buffer.put(blob);
+		}
+
+		File file = File.createTempFile("media", ".zpak");
+		file.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(file);
+		fos.write(buffer.array(), 0, buffer.position());
+		fos.close();
+		return file;
+
+	}
+
+}
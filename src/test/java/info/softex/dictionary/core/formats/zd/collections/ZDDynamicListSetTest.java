@@ -0,0 +1,220 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd.collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import info.softex.dictionary.core.collections.DynamicListCacheModes;
+import info.softex.dictionary.core.formats.zd.ZDConstants;
+import info.softex.dictionary.core.formats.zd.ZDWordsCheckpoints;
+import info.softex.dictionary.core.formats.zd.io.zip.TIIStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class ZDDynamicListSetTest {
+
+	protected static final int WORDS_START_POSITION = 311;
+	protected static final int BLOCK_SIZE = 16;
+	protected static final int SPAN = 4096;
+	protected static final String CODEPAGE = "UTF-8";
+
+	protected static File file = null;
+	protected static List<String> words = null;
+	protected static int wordsSize = 0;
+	protected static byte[] trailingData = null;
+
+	@BeforeClass
+	public static void createFile() throws Exception {
+
+		Random random = new Random(5);
+		words = new ArrayList<String>();
+		for (int i = 0; i < 5000; i++) {
+			StringBuilder word = new StringBuilder();
+			int length = 1 + random.nextInt(12);
+			for (int j = 0; j < length; j++) {
+				word.append("abcdefgабвгд".charAt(random.nextInt(12)));
+			}
+			words.add(word.toString() + i);
+		}
+
+		// Words separated by zeros, no trailing zero, followed by another zipped stream
+		ByteArrayOutputStream wordsData = new ByteArrayOutputStream();
+		for (int i = 0; i < words.size(); i++) {
+			if (i > 0) {
+				wordsData.write(0);
+			}
+			wordsData.write(words.get(i).getBytes(CODEPAGE));
+		}
+		wordsSize = wordsData.size();
+		trailingData = "abbreviations".getBytes(CODEPAGE);
+
+		file = File.createTempFile("words", ".zd");
+		file.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(file);
+		fos.write(new byte[WORDS_START_POSITION]);
+		fos.write(zip(wordsData.toByteArray()));
+		fos.write(zip(trailingData));
+		fos.close();
+
+	}
+
+	@AfterClass
+	public static void deleteFile() {
+		new File(file.getPath() + ZDWordsCheckpoints.FILE_EXTENSION).delete();
+		file.delete();
+	}
+
+	@Test
+	public void testCheckpointsRestore() throws Exception {
+
+		ZDWordsCheckpoints checkpoints = ZDWordsCheckpoints.build(file, WORDS_START_POSITION, words.size(), wordsSize, BLOCK_SIZE, SPAN);
+		assertTrue(checkpoints.getIndex().getCheckpointsNumber() > 1);
+
+		ZDDynamicListSet legacy = createList(null);
+		ZDDynamicListSet checkpointed = createList(checkpoints);
+
+		// The legacy stream continues from the words inflated at the construction
+		assertArrayEquals(trailingData, readFully(legacy.createNextZippedStream()));
+		assertArrayEquals(trailingData, readFully(checkpointed.createNextZippedStream()));
+
+		Random random = new Random(9);
+		for (int i = 0; i < 2000; i++) {
+			int index = random.nextInt(words.size());
+			assertEquals(words.get(index), checkpointed.get(index));
+			assertEquals(words.get(index), legacy.get(index));
+		}
+
+		legacy.close();
+		checkpointed.close();
+
+	}
+
+	@Test
+	public void testConcurrentCheckpointsRestore() throws Exception {
+
+		ZDWordsCheckpoints checkpoints = ZDWordsCheckpoints.build(file, WORDS_START_POSITION, words.size(), wordsSize, BLOCK_SIZE, SPAN);
+		final ZDDynamicListSet checkpointed = createList(checkpoints);
+		checkpointed.setCacheMode(DynamicListCacheModes.STRONG, 0);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+		for (int t = 0; t < 4; t++) {
+			final int seed = t;
+			futures.add(executor.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					Random random = new Random(seed);
+					for (int i = 0; i < 1000; i++) {
+						int index = random.nextInt(words.size());
+						assertEquals(words.get(index), checkpointed.get(index));
+					}
+					return 1000;
+				}
+			}));
+		}
+		for (Future<Integer> future : futures) {
+			assertEquals(1000, (int) future.get());
+		}
+		executor.shutdown();
+		checkpointed.close();
+
+	}
+
+	@Test
+	public void testCheckpointsSidecar() throws Exception {
+
+		File sidecar = new File(file.getPath() + ZDWordsCheckpoints.FILE_EXTENSION);
+		sidecar.delete();
+
+		ZDWordsCheckpoints built = ZDWordsCheckpoints.loadOrBuild(sidecar, file, WORDS_START_POSITION, words.size(), wordsSize, BLOCK_SIZE, SPAN);
+		assertTrue(sidecar.isFile());
+
+		ZDWordsCheckpoints read = ZDWordsCheckpoints.read(sidecar, ZDWordsCheckpoints.getStamp(file));
+		assertNotNull(read);
+		assertArrayEquals(built.getBlockIndices(), read.getBlockIndices());
+		assertEquals(built.getWordsEndPosition(), read.getWordsEndPosition());
+		assertEquals(built.getIndex().getCheckpointsNumber(), read.getIndex().getCheckpointsNumber());
+
+		ZDDynamicListSet checkpointed = createList(read);
+		for (int i = 0; i < words.size(); i += 7) {
+			assertEquals(words.get(i), checkpointed.get(i));
+		}
+		checkpointed.close();
+
+		// Modified base makes the sidecar stale
+		assertTrue(file.setLastModified(file.lastModified() - 10000));
+		assertNull(ZDWordsCheckpoints.read(sidecar, ZDWordsCheckpoints.getStamp(file)));
+		ZDWordsCheckpoints rebuilt = ZDWordsCheckpoints.loadOrBuild(sidecar, file, WORDS_START_POSITION, words.size(), wordsSize, BLOCK_SIZE, SPAN);
+		assertArrayEquals(built.getBlockIndices(), rebuilt.getBlockIndices());
+		assertNotNull(ZDWordsCheckpoints.read(sidecar, ZDWordsCheckpoints.getStamp(file)));
+
+		sidecar.delete();
+
+	}
+
+	protected static ZDDynamicListSet createList(ZDWordsCheckpoints checkpoints) throws Exception {
+		return new ZDDynamicListSet(file, ZDConstants.COMPRESSED_BUFFER_SIZE, BLOCK_SIZE, words.size(), WORDS_START_POSITION, wordsSize, CODEPAGE, checkpoints, null);
+	}
+
+	protected static byte[] zip(byte[] data) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DeflaterOutputStream dos = new DeflaterOutputStream(out);
+		dos.write(data);
+		dos.close();
+		return out.toByteArray();
+	}
+
+	protected static byte[] readFully(TIIStream is) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int n;
+		while ((n = is.read(buffer)) > 0) {
+			out.write(buffer, 0, n);
+		}
+		is.close();
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.formats.zd.io.zip;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class TIIStreamPoolTest {
+
+	protected static final int DATA_SIZE = 400000;
+	protected static final int STREAMS_NUMBER = 8;
+	protected static final int POOLS_NUMBER = 6;
+
+	protected static File file = null;
+	protected static byte[] data = null;
+
+	@BeforeClass
+	public static void createFile() throws Exception {
+		Random random = new Random(1);
+		data = new byte[DATA_SIZE];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) ('a' + random.nextInt(20));
+		}
+		file = File.createTempFile("streams", ".zd");
+		file.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(file);
+		DeflaterOutputStream dos = new DeflaterOutputStream(fos);
+		dos.write(data);
+		dos.close();
+	}
+
+	@AfterClass
+	public static void deleteFile() {
+		file.delete();
+	}
+
+	@Test
+	public void testSharedScheduler() throws Exception {
+
+		TIIStreamScheduler scheduler = new TIIStreamScheduler(2, 1);
+		TIIStreamFactory factory = new TIIStreamFactory(file, 0, 8192);
+
+		List<TIIStreamPool> pools = new ArrayList<TIIStreamPool>();
+		for (int i = 0; i < POOLS_NUMBER; i++) {
+			pools.add(new TIIStreamPool(factory, DATA_SIZE, STREAMS_NUMBER, scheduler));
+		}
+
+		// All pools are filled by the bounded number of threads
+		for (TIIStreamPool pool : pools) {
+			waitForStreams(pool, STREAMS_NUMBER);
+			assertTrue(scheduler.getActiveThreadsNumber() <= 2);
+		}
+
+		Random random = new Random(2);
+		for (int i = 0; i < 200; i++) {
+			TIIStreamPool pool = pools.get(random.nextInt(pools.size()));
+			int position = random.nextInt(DATA_SIZE - 100);
+			TIIStream is = pool.get(position);
+			assertEquals(position, is.getTotalBytesPassed());
+			assertArrayEquals(copy(position, 100), read(is, 100));
+			pool.put(is);
+		}
+
+		// The emptied levels are filled again on demand
+		for (TIIStreamPool pool : pools) {
+			waitForStreams(pool, STREAMS_NUMBER);
+		}
+
+		TIIStream taken = pools.get(0).get(DATA_SIZE / 2);
+		for (TIIStreamPool pool : pools) {
+			pool.close();
+			assertTrue(pool.isClosed());
+			assertEquals(0, pool.getAvailableStreamsNumber());
+		}
+
+		// Streams returned after closing are closed
+		pools.get(0).put(taken);
+		try {
+			taken.read();
+			fail("The stream should be closed");
+		} catch (IOException e) {
+			// Expected
+		}
+
+		scheduler.shutdown();
+
+	}
+
+	@Test
+	public void testCloseWhileFilling() throws Exception {
+
+		TIIStreamScheduler scheduler = new TIIStreamScheduler(1, 1);
+		TIIStreamFactory factory = new TIIStreamFactory(file, 0, 8192);
+
+		for (int i = 0; i < 20; i++) {
+			TIIStreamPool pool = new TIIStreamPool(factory, DATA_SIZE, STREAMS_NUMBER, scheduler);
+			pool.close();
+			assertEquals(0, pool.getAvailableStreamsNumber());
+			// Closed pool still serves the streams directly
+			TIIStream is = pool.get(1000);
+			assertEquals(1000, is.getTotalBytesPassed());
+			is.close();
+		}
+
+		scheduler.shutdown();
+
+	}
+
+	protected static void waitForStreams(TIIStreamPool pool, int number) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (pool.getAvailableStreamsNumber() < number) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Streams aren't positioned: " + pool.getAvailableStreamsNumber());
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	protected static byte[] copy(int position, int length) {
+		byte[] result = new byte[length];
+		System.arraycopy(data, position, result, 0, length);
+		return result;
+	}
+
+	protected static byte[] read(TIIStream is, int length) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		while (out.size() < length) {
+			int b = is.read();
+			assertTrue(b >= 0);
+			out.write(b);
+		}
+		return out.toByteArray();
+	}
+
+}
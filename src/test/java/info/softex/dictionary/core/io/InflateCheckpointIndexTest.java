@@ -0,0 +1,173 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.junit.Test;
+
+/**
+ *
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class InflateCheckpointIndexTest {
+
+	protected static final int PREFIX_SIZE = 123;
+	protected static final int SPAN = 20000;
+	protected static final int CHUNK_SIZE = 60000;
+
+	@Test
+	public void randomAccessTest() throws Exception {
+
+		byte[] data = createData(new Random(11), 1500000);
+
+		// Mixed levels and flushes give the fixed, dynamic and stored blocks at any bit offsets
+		ByteArrayOutputStream zipped = new ByteArrayOutputStream();
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+		int[] levels = {Deflater.BEST_SPEED, Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION, Deflater.DEFAULT_COMPRESSION};
+		int[] flushes = {Deflater.NO_FLUSH, Deflater.NO_FLUSH, Deflater.SYNC_FLUSH, Deflater.NO_FLUSH, Deflater.FULL_FLUSH};
+		byte[] buffer = new byte[4096];
+		int chunk = 0;
+		for (int pos = 0; pos < data.length; pos += CHUNK_SIZE, chunk++) {
+			deflater.setLevel(levels[chunk % levels.length]);
+			deflater.setInput(data, pos, Math.min(CHUNK_SIZE, data.length - pos));
+			int flush = flushes[chunk % flushes.length];
+			int n;
+			do {
+				n = deflater.deflate(buffer, 0, buffer.length, flush);
+				zipped.write(buffer, 0, n);
+			} while (n == buffer.length || !deflater.needsInput());
+		}
+		deflater.finish();
+		while (!deflater.finished()) {
+			zipped.write(buffer, 0, deflater.deflate(buffer));
+		}
+		deflater.end();
+
+		File file = File.createTempFile("checkpoints", ".bin");
+		file.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(file);
+		fos.write(new byte[PREFIX_SIZE]);
+		fos.write(zipped.toByteArray());
+		fos.write("trailing data".getBytes("UTF-8"));
+		fos.close();
+
+		InputStream is = new BufferedInputStream(new FileInputStream(file));
+		assertEquals(PREFIX_SIZE, is.skip(PREFIX_SIZE));
+		ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+		InflateCheckpointIndex index = InflateCheckpointIndex.build(is, PREFIX_SIZE, SPAN, inflated);
+		is.close();
+
+		assertArrayEquals(data, inflated.toByteArray());
+		assertEquals(data.length, index.getUncompressedSize());
+		assertEquals(PREFIX_SIZE + zipped.size(), index.getStreamEndPosition());
+		assertTrue(index.getCheckpointsNumber() > data.length / SPAN / 2);
+
+		// Both the byte aligned and the shifted checkpoints are used
+		int shifted = 0;
+		for (int i = 0; i < index.getCheckpointsNumber(); i++) {
+			shifted += index.bitOffsets[i] != 0 ? 1 : 0;
+		}
+		assertTrue(shifted > 0 && shifted < index.getCheckpointsNumber());
+
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		FileChannel channel = raf.getChannel();
+
+		assertRandomReads(index, channel, data);
+
+		// Serialized index restores the same data
+		ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+		index.write(new DataOutputStream(serialized));
+		InflateCheckpointIndex read = InflateCheckpointIndex.read(new DataInputStream(new ByteArrayInputStream(serialized.toByteArray())));
+		assertEquals(index.getCheckpointsNumber(), read.getCheckpointsNumber());
+		assertEquals(index.getStreamEndPosition(), read.getStreamEndPosition());
+
+		assertRandomReads(read, channel, data);
+
+		raf.close();
+		file.delete();
+
+	}
+
+	protected static void assertRandomReads(InflateCheckpointIndex index, FileChannel channel, byte[] data) throws Exception {
+		Random random = new Random(3);
+		for (int i = 0; i < 300; i++) {
+			int position = i == 0 ? 0 : random.nextInt(data.length);
+			int length = Math.min(1 + random.nextInt(3 * SPAN), data.length - position);
+
+			byte[] expected = new byte[length];
+			System.arraycopy(data, position, expected, 0, length);
+
+			byte[] actual = new byte[length];
+			InputStream is = index.openStream(channel, position, position + length);
+			int read = 0;
+			while (read < length) {
+				int n = is.read(actual, read, length - read);
+				assertTrue(n > 0);
+				read += n;
+			}
+			is.close();
+
+			assertArrayEquals("Position " + position + ", length " + length, expected, actual);
+		}
+	}
+
+	protected static byte[] createData(Random random, int size) {
+		String[] words = {"alpha", "beta", "gamma", "delta", "epsilon", "zeta", "eta", "theta"};
+		ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+		while (out.size() < size) {
+			if (random.nextInt(10) == 0) {
+				// Incompressible runs
+				for (int i = 0; i < 200; i++) {
+					out.write(random.nextInt(256));
+				}
+			} else {
+				byte[] word = words[random.nextInt(words.length)].getBytes();
+				out.write(word, 0, word.length);
+				out.write(0);
+			}
+		}
+		byte[] data = out.toByteArray();
+		byte[] result = new byte[size];
+		System.arraycopy(data, 0, result, 0, size);
+		return result;
+	}
+
+}
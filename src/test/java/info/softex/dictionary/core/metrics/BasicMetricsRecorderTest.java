@@ -0,0 +1,118 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ *
+ * @author Dmitry Viktorov
+ *
+ */
+public class BasicMetricsRecorderTest {
+	
+	@Test
+	public void testHistogramPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 10000; i++) {
+			histogram.record(i);
+		}
+		assertEquals(10000, histogram.getCount());
+		assertEquals(10000, histogram.getMax());
+		assertEquals(5000.5, histogram.getMean(), 0.001);
+		
+		// Buckets are within 12.5% of the value
+		long[][] expected = {{50, 5000}, {90, 9000}, {99, 9900}};
+		for (long[] pair : expected) {
+			long value = histogram.getPercentile(pair[0]);
+			assertTrue(value + " for " + pair[0], value >= pair[1] && value <= pair[1] * 1.125);
+		}
+		assertEquals(1, histogram.getPercentile(0));
+		assertEquals(10000, histogram.getPercentile(100));
+		
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getPercentile(50));
+	}
+	
+	@Test
+	public void testHistogramBuckets() {
+		long previous = -1;
+		for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+			long upper = LatencyHistogram.bucketUpperBound(i);
+			assertTrue(upper > previous);
+			assertEquals(i, LatencyHistogram.bucketIndex(upper));
+			assertEquals(i, LatencyHistogram.bucketIndex(previous + 1));
+			previous = upper;
+		}
+		assertEquals(Long.MAX_VALUE, previous);
+	}
+	
+	@Test
+	public void testConcurrentRecords() throws Exception {
+		final BasicMetricsRecorder recorder = new BasicMetricsRecorder();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 10000; i++) {
+						recorder.increment(MetricsRecorder.ARTICLE_BLOCKS_CACHE_HITS, 1);
+						recorder.recordTime(MetricsRecorder.ARTICLE_FETCH_TIME, i);
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		assertEquals(40000, recorder.getCounter(MetricsRecorder.ARTICLE_BLOCKS_CACHE_HITS));
+		assertEquals(40000, recorder.getHistogram(MetricsRecorder.ARTICLE_FETCH_TIME).getCount());
+		assertEquals(1.0, recorder.getHitRatio(MetricsRecorder.ARTICLE_BLOCKS_CACHE_HITS, MetricsRecorder.ARTICLE_BLOCKS_CACHE_MISSES), 0.0001);
+		assertEquals(40000L, (long) recorder.snapshot().get(MetricsRecorder.ARTICLE_FETCH_TIME + ".count"));
+		
+		recorder.reset();
+		assertEquals(0, recorder.getCounter(MetricsRecorder.ARTICLE_BLOCKS_CACHE_HITS));
+		assertNull(recorder.getHistogram(MetricsRecorder.ARTICLE_FETCH_TIME));
+	}
+	
+	@Test
+	public void testNoOpTiming() {
+		assertFalse(NoOpMetricsRecorder.INSTANCE.isEnabled());
+		assertEquals(MetricsUtils.NOT_STARTED, MetricsUtils.startTiming(NoOpMetricsRecorder.INSTANCE));
+		assertTrue(NoOpMetricsRecorder.nonNull(null) == NoOpMetricsRecorder.INSTANCE);
+	}
+
+}
@@ -0,0 +1,469 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.testutils;
+
+import info.softex.dictionary.core.attributes.BasePropertiesInfo;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo.AbbreviationsFormattingMode;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo.ArticlesFormattingInjectWordMode;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo.ArticlesFormattingMode;
+import info.softex.dictionary.core.attributes.LanguageDirectionsInfo;
+import info.softex.dictionary.core.collation.CollationRulesFactory;
+import info.softex.dictionary.core.conversions.ConversionUtils;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.formats.dsl.DSLBaseReader;
+import info.softex.dictionary.core.formats.fdb.FDBBaseWriter;
+import info.softex.dictionary.core.formats.source.SourceFileNames;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deterministic generator of the large synthetic bases for the load and scale testing.
+ * 
+ * The DSL source is written as a stream, so the number of headwords is limited only 
+ * by the disk space. The FDB bases are converted from the generated DSL source by the 
+ * existing reader and writer. The same seed and settings always produce the same base.
+ * 
+ * Every headword is unique: it consists of a random stem followed by the fixed width 
+ * code of its sequential number. A part of the headwords share the article of the 
+ * preceding headword (redirects) and a part is prefixed by the unsorted <code>{the }</code> 
+ * part (mappings).
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class SyntheticBaseGenerator {
+	
+	private static final Logger log = LoggerFactory.getLogger(SyntheticBaseGenerator.class);
+	
+	public static enum ArticleSizeDistribution {
+		/** All articles have the maximum lines number */
+		FIXED,
+		/** Lines number is uniformly distributed between the minimum and the maximum */
+		UNIFORM,
+		/** Most articles are short with a long tail up to the maximum, as in the real dictionaries */
+		GEOMETRIC
+	}
+	
+	public final static long DEFAULT_SEED = 20261017L;
+	
+	protected final static String CONSONANTS = "bcdfghjklmnprstvz";
+	protected final static String VOWELS = "aeiou";
+	protected final static String CODE_LETTERS = "abcdefghijklmnopqrstuvwxyz";
+	
+	protected final static String MAPPING_PREFIX = "{the }";
+	protected final static String MEDIA_EXTENSION = ".wav";
+	
+	protected final static int PROGRESS_STEP = 1000000;
+	
+	protected final static Charset UTF8 = Charset.forName("UTF-8");
+	
+	protected long seed = DEFAULT_SEED;
+	
+	protected int headwordsNumber = 10000;
+	
+	protected ArticleSizeDistribution articleSizeDistribution = ArticleSizeDistribution.GEOMETRIC;
+	protected int articleLinesMin = 1;
+	protected int articleLinesMax = 12;
+	
+	protected double redirectsRatio = 0.1;
+	protected double mappingsRatio = 0.05;
+	
+	protected int abbreviationsNumber = 20;
+	
+	protected int mediaResourcesNumber = 0;
+	protected int mediaResourceSize = 4096;
+	protected double mediaReferencesRatio = 0.1;
+	
+	// Generated numbers
+	protected int wordsNumber;
+	protected int wordsRelationsNumber;
+	protected int wordsMappingsNumber;
+	protected int articlesNumber;
+	
+	/**
+	 * Generates the DSL source directory: the articles, the abbreviations and 
+	 * the media resources. The existing files are overwritten.
+	 */
+	public File generateDSLBase(File dslDir) throws IOException {
+		
+		if (!dslDir.isDirectory() && !dslDir.mkdirs()) {
+			throw new IOException("Couldn't create the directory " + dslDir);
+		}
+		
+		Random random = new Random(seed);
+		
+		long t1 = System.currentTimeMillis();
+		
+		if (abbreviationsNumber > 0) {
+			writeAbbreviations(new File(dslDir, SourceFileNames.FILE_DSL_ABBREVIATIONS_NO_EXT + SourceFileNames.FILE_DSL_EXT_MAIN));
+		}
+		
+		if (mediaResourcesNumber > 0) {
+			writeMediaResources(new File(dslDir, SourceFileNames.DIRECTORY_MEDIA), random);
+		}
+		
+		writeArticles(new File(dslDir, SourceFileNames.FILE_DSL_ARTICLES_NO_EXT + SourceFileNames.FILE_DSL_EXT_MAIN), random);
+		
+		log.info("Generated DSL base | Words: {}, Articles: {}, Time: {} ms", wordsNumber, articlesNumber, System.currentTimeMillis() - t1);
+		
+		return dslDir;
+		
+	}
+	
+	/**
+	 * Generates the DSL source and converts it to the FDB base. The writer parameters 
+	 * are passed to the <code>FDBBaseWriter</code>, e.g. to split the base into parts.
+	 */
+	public File generateFDBBase(File dslDir, File fdbFile, Map<String, String> writerParams) throws Exception {
+		generateDSLBase(dslDir);
+		convertDSLToFDB(dslDir, fdbFile, writerParams);
+		return fdbFile;
+	}
+	
+	/**
+	 * Converts the DSL source directory to the FDB base, the output file is overwritten.
+	 */
+	public static void convertDSLToFDB(File dslDir, File fdbFile, Map<String, String> writerParams) throws Exception {
+		
+		if (fdbFile.exists() && !fdbFile.delete()) {
+			throw new IOException("Couldn't delete " + fdbFile);
+		}
+		
+		long t1 = System.currentTimeMillis();
+		
+		DSLBaseReader reader = new DSLBaseReader(dslDir);
+		reader.load();
+		
+		FDBBaseWriter writer = new FDBBaseWriter(fdbFile.getAbsolutePath(), new BasicSQLiteConnectionFactory(), writerParams);
+		writer.createBase();
+		
+		BasePropertiesInfo baseInfo = new BasePropertiesInfo();
+		baseInfo.setArticlesFormattingMode(ArticlesFormattingMode.DSL);
+		baseInfo.setAbbreviationsFormattingMode(AbbreviationsFormattingMode.DSL);
+		baseInfo.setArticlesFormattingInjectWordMode(ArticlesFormattingInjectWordMode.AUTO);
+		writer.saveBasePropertiesInfo(baseInfo);
+		
+		LanguageDirectionsInfo dirs = new LanguageDirectionsInfo();
+		dirs.setDefaultCollationProperties(CollationRulesFactory.createDefaultCollationProperties().getCollationRules(), null, 10);
+		writer.saveLanguageDirectionsInfo(dirs);
+		
+		try {
+			ConversionUtils.convert(reader, writer, new Observer() {
+				@Override
+				public void update(Observable o, Object arg) {
+					// Progress isn't tracked
+				}
+			});
+		} finally {
+			reader.close();
+			writer.close();
+		}
+		
+		log.info("Converted DSL to FDB | File: {}, Time: {} ms", fdbFile, System.currentTimeMillis() - t1);
+		
+	}
+	
+	/**
+	 * Returns the properties expected to be read from the generated base.
+	 */
+	public BasePropertiesInfo getExpectedProperties() {
+		BasePropertiesInfo props = new BasePropertiesInfo();
+		props.setWordsNumber(wordsNumber);
+		props.setWordsMappingsNumber(wordsMappingsNumber);
+		props.setWordsRelationsNumber(wordsRelationsNumber);
+		props.setArticlesActualNumber(articlesNumber);
+		props.setAbbreviationsNumber(abbreviationsNumber);
+		props.setMediaResourcesNumber(mediaResourcesNumber);
+		return props;
+	}
+	
+	/**
+	 * Returns the indexed headword by its sequential number at the generated source.
+	 * The stem is random, so the headwords are not sorted.
+	 */
+	protected static String createHeadword(Random random, int number, int codeWidth) {
+		StringBuilder sb = new StringBuilder(16);
+		int syllables = 1 + random.nextInt(4);
+		for (int i = 0; i < syllables; i++) {
+			sb.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())));
+			sb.append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+		}
+		char[] code = new char[codeWidth];
+		for (int i = codeWidth - 1; i >= 0; i--) {
+			code[i] = CODE_LETTERS.charAt(number % CODE_LETTERS.length());
+			number /= CODE_LETTERS.length();
+		}
+		return sb.append(code).toString();
+	}
+	
+	protected static int getCodeWidth(int number) {
+		int width = 1;
+		for (long capacity = CODE_LETTERS.length(); capacity < number; capacity *= CODE_LETTERS.length()) {
+			width++;
+		}
+		return width;
+	}
+	
+	protected static String getAbbreviationKey(int number) {
+		return "ab" + number + ".";
+	}
+	
+	protected static String getMediaResourceKey(int number) {
+		return "sound" + number + MEDIA_EXTENSION;
+	}
+	
+	protected int nextArticleLinesNumber(Random random) {
+		int range = articleLinesMax - articleLinesMin;
+		if (range <= 0 || articleSizeDistribution == ArticleSizeDistribution.FIXED) {
+			return articleLinesMax;
+		} else if (articleSizeDistribution == ArticleSizeDistribution.UNIFORM) {
+			return articleLinesMin + random.nextInt(range + 1);
+		}
+		int lines = articleLinesMin;
+		while (lines < articleLinesMax && random.nextInt(3) != 0) {
+			lines++;
+		}
+		return lines;
+	}
+	
+	protected void writeArticles(File file, Random random) throws IOException {
+		
+		wordsNumber = 0;
+		wordsRelationsNumber = 0;
+		wordsMappingsNumber = 0;
+		articlesNumber = 0;
+		
+		int codeWidth = getCodeWidth(headwordsNumber);
+		String prevWord = null;
+		
+		Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), UTF8), 1 << 16);
+		try {
+			writer.write("#NAME\t\"Synthetic Dictionary (En-En)\"\n");
+			writer.write("#INDEX_LANGUAGE\t\"English\"\n");
+			writer.write("#CONTENTS_LANGUAGE\t\"English\"\n\n");
+			
+			while (wordsNumber < headwordsNumber) {
+				
+				// Headwords, the following ones are redirected to the first
+				String word = null;
+				do {
+					String headword = createHeadword(random, wordsNumber, codeWidth);
+					if (random.nextDouble() < mappingsRatio) {
+						writer.write(MAPPING_PREFIX);
+						wordsMappingsNumber++;
+					}
+					writer.write(headword);
+					writer.write('\n');
+					if (word == null) {
+						word = headword;
+					} else {
+						wordsRelationsNumber++;
+					}
+					wordsNumber++;
+					if (wordsNumber % PROGRESS_STEP == 0) {
+						log.info("Generating DSL base | Words: {}", wordsNumber);
+					}
+				} while (wordsNumber < headwordsNumber && random.nextDouble() < redirectsRatio);
+				
+				// Article body
+				int lines = nextArticleLinesNumber(random);
+				for (int i = 0; i < lines; i++) {
+					writeArticleLine(writer, random, word, prevWord, i);
+				}
+				articlesNumber++;
+				prevWord = word;
+				
+			}
+		} finally {
+			writer.close();
+		}
+		
+	}
+	
+	protected void writeArticleLine(Writer writer, Random random, String word, String prevWord, int line) throws IOException {
+		writer.write("\t[m1]");
+		if (line == 0 && abbreviationsNumber > 0) {
+			writer.write("[p]");
+			writer.write(getAbbreviationKey(random.nextInt(abbreviationsNumber)));
+			writer.write("[/p] ");
+		}
+		writer.write("[trn]");
+		int words = 4 + random.nextInt(12);
+		for (int i = 0; i < words; i++) {
+			if (i > 0) {
+				writer.write(' ');
+			}
+			writer.write(createHeadword(random, 0, 0));
+		}
+		if (prevWord != null && random.nextInt(4) == 0) {
+			writer.write(", see [ref]");
+			writer.write(prevWord);
+			writer.write("[/ref]");
+		}
+		if (random.nextInt(3) == 0) {
+			writer.write(" [ex][i]");
+			writer.write(word);
+			writer.write("[/i] in the example[/ex]");
+		}
+		if (mediaResourcesNumber > 0 && random.nextDouble() < mediaReferencesRatio) {
+			writer.write(" [s]");
+			writer.write(getMediaResourceKey(random.nextInt(mediaResourcesNumber)));
+			writer.write("[/s]");
+		}
+		writer.write("[/trn][/m]\n");
+	}
+	
+	protected void writeAbbreviations(File file) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), UTF8));
+		try {
+			writer.write("#NAME\t\"Abbreviations\"\n");
+			writer.write("#INDEX_LANGUAGE\t\"English\"\n");
+			writer.write("#CONTENTS_LANGUAGE\t\"English\"\n\n");
+			for (int i = 0; i < abbreviationsNumber; i++) {
+				writer.write(getAbbreviationKey(i));
+				writer.write("\n\tabbreviation number ");
+				writer.write(Integer.toString(i));
+				writer.write('\n');
+			}
+		} finally {
+			writer.close();
+		}
+	}
+	
+	protected void writeMediaResources(File mediaDir, Random random) throws IOException {
+		if (!mediaDir.isDirectory() && !mediaDir.mkdirs()) {
+			throw new IOException("Couldn't create the directory " + mediaDir);
+		}
+		byte[] content = new byte[mediaResourceSize];
+		for (int i = 0; i < mediaResourcesNumber; i++) {
+			random.nextBytes(content);
+			OutputStream os = new BufferedOutputStream(new FileOutputStream(new File(mediaDir, getMediaResourceKey(i))));
+			try {
+				os.write(content);
+			} finally {
+				os.close();
+			}
+		}
+	}
+	
+	// Settings -----------------------------------------------------------------------------
+	
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public int getHeadwordsNumber() {
+		return headwordsNumber;
+	}
+
+	public void setHeadwordsNumber(int headwordsNumber) {
+		this.headwordsNumber = headwordsNumber;
+	}
+	
+	public ArticleSizeDistribution getArticleSizeDistribution() {
+		return articleSizeDistribution;
+	}
+
+	public void setArticleSizeDistribution(ArticleSizeDistribution distribution, int linesMin, int linesMax) {
+		if (linesMin < 1 || linesMax < linesMin) {
+			throw new IllegalArgumentException("Wrong article lines range: " + linesMin + " - " + linesMax);
+		}
+		this.articleSizeDistribution = distribution;
+		this.articleLinesMin = linesMin;
+		this.articleLinesMax = linesMax;
+	}
+
+	public double getRedirectsRatio() {
+		return redirectsRatio;
+	}
+
+	public void setRedirectsRatio(double redirectsRatio) {
+		this.redirectsRatio = redirectsRatio;
+	}
+
+	public double getMappingsRatio() {
+		return mappingsRatio;
+	}
+
+	public void setMappingsRatio(double mappingsRatio) {
+		this.mappingsRatio = mappingsRatio;
+	}
+
+	public int getAbbreviationsNumber() {
+		return abbreviationsNumber;
+	}
+
+	public void setAbbreviationsNumber(int abbreviationsNumber) {
+		this.abbreviationsNumber = abbreviationsNumber;
+	}
+
+	public int getMediaResourcesNumber() {
+		return mediaResourcesNumber;
+	}
+
+	public void setMediaResources(int number, int size, double referencesRatio) {
+		this.mediaResourcesNumber = number;
+		this.mediaResourceSize = size;
+		this.mediaReferencesRatio = referencesRatio;
+	}
+	
+	/**
+	 * Generates the base from the command line: 
+	 * <code>&lt;dsl directory&gt; &lt;headwords number&gt; [fdb file] [seed]</code>
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: SyntheticBaseGenerator <dsl directory> <headwords number> [fdb file] [seed]");
+			return;
+		}
+		SyntheticBaseGenerator generator = new SyntheticBaseGenerator();
+		generator.setHeadwordsNumber(Integer.parseInt(args[1]));
+		if (args.length > 3) {
+			generator.setSeed(Long.parseLong(args[3]));
+		}
+		generator.generateDSLBase(new File(args[0]));
+		if (args.length > 2) {
+			convertDSLToFDB(new File(args[0]), new File(args[2]), null);
+		}
+	}
+
+}
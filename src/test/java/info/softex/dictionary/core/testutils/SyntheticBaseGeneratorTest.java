@@ -0,0 +1,121 @@
+/*
+ *  Dictan Open Dictionary Java Library presents the core interface and functionality for dictionaries. 
+ *	
+ *  Copyright (C) 2010 - 2015  Dmitry Viktorov <dmitry.viktorov@softex.info> <http://www.softex.info>
+ *	
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License (LGPL) as 
+ *  published by the Free Software Foundation, either version 3 of the License, 
+ *  or any later version.
+ *	
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU Lesser General Public License for more details.
+ *	
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package info.softex.dictionary.core.testutils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import info.softex.dictionary.core.attributes.BasePropertiesInfo;
+import info.softex.dictionary.core.collation.BasicCollatorFactory;
+import info.softex.dictionary.core.database.BasicSQLiteConnectionFactory;
+import info.softex.dictionary.core.formats.dsl.DSLBaseReader;
+import info.softex.dictionary.core.formats.fdb.FDBBaseReader;
+import info.softex.dictionary.core.formats.fdb.FDBConstants;
+import info.softex.dictionary.core.formats.source.SourceFileNames;
+import info.softex.dictionary.core.testutils.SyntheticBaseGenerator.ArticleSizeDistribution;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @since version 4.8, 10/17/2026
+ * 
+ * @author Dmitry Viktorov
+ *
+ */
+public class SyntheticBaseGeneratorTest {
+	
+	protected final static int HEADWORDS_NUMBER = 3000;
+	
+	protected static SyntheticBaseGenerator createGenerator() {
+		SyntheticBaseGenerator generator = new SyntheticBaseGenerator();
+		generator.setHeadwordsNumber(HEADWORDS_NUMBER);
+		generator.setArticleSizeDistribution(ArticleSizeDistribution.GEOMETRIC, 1, 6);
+		generator.setRedirectsRatio(0.2);
+		generator.setMappingsRatio(0.1);
+		generator.setAbbreviationsNumber(15);
+		generator.setMediaResources(10, 256, 0.2);
+		return generator;
+	}
+	
+	@Test
+	public void testDSLBaseIsDeterministic() throws Exception {
+		
+		File dir1 = MavenUtils.getMavenTestFile("synthetic_dsl_1");
+		File dir2 = MavenUtils.getMavenTestFile("synthetic_dsl_2");
+		
+		createGenerator().generateDSLBase(dir1);
+		createGenerator().generateDSLBase(dir2);
+		
+		String articles = SourceFileNames.FILE_DSL_ARTICLES_NO_EXT + SourceFileNames.FILE_DSL_EXT_MAIN;
+		assertArrayEquals(
+			Files.readAllBytes(new File(dir1, articles).toPath()), 
+			Files.readAllBytes(new File(dir2, articles).toPath())
+		);
+		
+		SyntheticBaseGenerator generator = createGenerator();
+		generator.setSeed(SyntheticBaseGenerator.DEFAULT_SEED + 1);
+		generator.generateDSLBase(dir2);
+		assertTrue(Files.size(new File(dir2, articles).toPath()) != Files.size(new File(dir1, articles).toPath()));
+		
+	}
+	
+	@Test
+	public void testDSLAndFDBBasesContent() throws Exception {
+		
+		File dslDir = MavenUtils.getMavenTestFile("synthetic_dsl_3");
+		File fdbFile = MavenUtils.getMavenTestDictFile("synthetic_base.fdb");
+		
+		// Split the base into several parts
+		Map<String, String> writerParams = new HashMap<String, String>();
+		writerParams.put(FDBConstants.PARAM_KEY_BASE_SECONDARY_SIZE_LIMIT, "100000");
+		
+		SyntheticBaseGenerator generator = createGenerator();
+		generator.generateFDBBase(dslDir, fdbFile, writerParams);
+		
+		BasePropertiesInfo props = generator.getExpectedProperties();
+		assertEquals(HEADWORDS_NUMBER, props.getWordsNumber());
+		assertTrue(props.getWordsRelationsNumber() > 0);
+		assertTrue(props.getWordsMappingsNumber() > 0);
+		assertEquals(props.getWordsNumber() - props.getWordsRelationsNumber(), props.getArticlesActualNumber());
+		
+		DSLBaseReader dslReader = new DSLBaseReader(dslDir);
+		dslReader.load();
+		BaseReaderAssertUtils.assertMainBaseReaderParametersEqualByProperties(props, dslReader);
+		dslReader.close();
+		
+		FDBBaseReader fdbReader = new FDBBaseReader(fdbFile, new BasicSQLiteConnectionFactory(), null, new BasicCollatorFactory());
+		fdbReader.load();
+		assertTrue(fdbReader.getBasePropertiesInfo().getBasePartsTotalNumber() > 1);
+		assertEquals(HEADWORDS_NUMBER, fdbReader.getWords().size());
+		assertEquals(props.getWordsRelationsNumber(), fdbReader.getWordsRedirects().size());
+		assertEquals(props.getAbbreviationsNumber(), fdbReader.getAbbreviationKeys().size());
+		assertEquals(props.getMediaResourcesNumber(), fdbReader.getMediaResourceKeys().size());
+		fdbReader.close();
+		
+	}
+
+}
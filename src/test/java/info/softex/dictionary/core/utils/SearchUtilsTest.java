@@ -20,9 +20,16 @@
 package info.softex.dictionary.core.utils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -125,6 +132,46 @@ public class SearchUtilsTest {
     	assertTrue(result.containsValue(WORD_UPPERCASE_TEST));
     }
 	
+	@Test
+	public void getSQLLikePrefixTest() {
+		assertEquals("test", SearchUtils.getSQLLikePrefix("test%"));
+		assertEquals("te%", SearchUtils.getSQLLikePrefix("te%%"));
+		assertNull(SearchUtils.getSQLLikePrefix("%test%"));
+		assertNull(SearchUtils.getSQLLikePrefix("te_t%"));
+		assertNull(SearchUtils.getSQLLikePrefix("test"));
+		assertNull(SearchUtils.getSQLLikePrefix("t%"));
+		assertNull(SearchUtils.getSQLLikePrefix(null));
+	}
+	
+	@Test
+	public void searchPrefixTest() {
+		Collator collator = Collator.getInstance(Locale.ENGLISH);
+		collator.setStrength(Collator.TERTIARY);
+		List<String> words = new ArrayList<String>(SEARCH_ENTRIES);
+		words.addAll(Arrays.asList("Test", "test", "Tester", "testing", "tesla", "tex", "a test", "some", "Some thing"));
+		Collections.sort(words, collator);
+		
+		for (String prefix : new String[] {"test", "Tes", "some", "so", "line", "x", "3rd", " 12"}) {
+			TreeMap<Integer, String> expected = SearchUtils.searchSQLLike(words, prefix + "%", SIZE_DEF);
+			assertEquals(prefix, expected, SearchUtils.searchPrefix(words, collator, prefix, SIZE_DEF));
+			assertEquals(prefix, Math.min(2, expected.size()), SearchUtils.searchPrefix(words, collator, prefix, 2).size());
+		}
+	}
+	
+	@Test
+	public void searchPrefixIgnorableTest() {
+		Collator collator = Collator.getInstance(Locale.ENGLISH);
+		collator.setStrength(Collator.TERTIARY);
+		List<String> words = new ArrayList<String>(Arrays.asList("ab", "abc", "a-bd", "abe", "a'bg", "abf", "ab-h", "b", "a-c", "o'clock", "oc", "ocean"));
+		Collections.sort(words, collator);
+		
+		for (String prefix : new String[] {"ab", "a-b", "oc", "o'c", "a-"}) {
+			TreeMap<Integer, String> expected = SearchUtils.searchSQLLike(words, prefix + "%", SIZE_DEF);
+			assertEquals(prefix, expected, SearchUtils.searchPrefix(words, collator, prefix, SIZE_DEF));
+		}
+		assertEquals(Arrays.asList("ab", "abc", "abe", "abf", "ab-h"), new ArrayList<String>(SearchUtils.searchPrefix(words, collator, "ab", SIZE_DEF).values()));
+	}
+	
 	@Test
 	public void escapeSQLLikeTest() {
 		int count = 0;